@@ -23,6 +23,8 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.dao.PersistenceExceptionTranslationAutoConfiguration;
 import org.springframework.boot.autoconfigure.gson.GsonAutoConfiguration;
 import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
 import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
 import org.springframework.context.annotation.Configuration;
 
@@ -43,6 +45,11 @@ import org.springframework.context.annotation.Configuration;
         JacksonAutoConfiguration.class,
         PersistenceExceptionTranslationAutoConfiguration.class,
         TransactionAutoConfiguration.class,
+        /*
+         * The agent provides its own shared executor and scheduler beans
+         */
+        TaskExecutionAutoConfiguration.class,
+        TaskSchedulingAutoConfiguration.class,
     }
 )
 public class GenieAgentApplication {
@@ -60,6 +67,9 @@ public class GenieAgentApplication {
         final SpringApplication app = new SpringApplication(GenieAgentApplication.class);
         // Disable parsing of command-line arguments into properties.
         app.setAddCommandLineProperties(false);
+        // Commands other than 'exec' (help, info, ping, ...) only need a small fraction of the beans, defer creation
+        // of everything else (gRPC channels, services, execution stages, ...) until actually needed.
+        app.setLazyInitialization(!Util.isExecCommand(args));
 
         //TODO: workaround for https://jira.spring.io/browse/SPR-17416
         // Spring chokes on argument '--' (a.k.a. bare double dash) conventionally used to separate options from
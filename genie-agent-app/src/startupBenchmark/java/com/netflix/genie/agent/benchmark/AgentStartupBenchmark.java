@@ -0,0 +1,195 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.benchmark;
+
+import com.netflix.genie.proto.HandshakeRequest;
+import com.netflix.genie.proto.HandshakeResponse;
+import com.netflix.genie.proto.JobServiceGrpc;
+import io.grpc.Server;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures the time it takes an agent to go from process launch to its first server RPC (the handshake).
+ * <p>
+ * A stub gRPC server is started in this process. It records when the handshake request arrives and rejects it, so
+ * the agent gives up right after and no further server interaction is needed.
+ * The agent is launched repeatedly as an {@code exec} command pointed at the stub, with and without the AppCDS archive
+ * (if one is available).
+ * <p>
+ * Arguments:
+ * <ol>
+ * <li>number of iterations</li>
+ * <li>agent classpath (plain jars, as required by AppCDS)</li>
+ * <li>agent main class</li>
+ * <li>(optional) path of the AppCDS archive</li>
+ * </ol>
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+public final class AgentStartupBenchmark {
+
+    private static final long HANDSHAKE_TIMEOUT_SECONDS = 60;
+    private static final long EXIT_TIMEOUT_SECONDS = 30;
+
+    private final AtomicReference<CompletableFuture<Long>> pendingHandshake = new AtomicReference<>();
+
+    private AgentStartupBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the arguments (see class documentation)
+     * @throws Exception in case of error
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: <iterations> <agent classpath> <main class> [cds archive]");
+        }
+        final int iterations = Integer.parseInt(args[0]);
+        final String classpath = args[1];
+        final String mainClass = args[2];
+
+        final Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("default", Collections.emptyList());
+        if (args.length > 3 && !args[3].isEmpty() && new File(args[3]).exists()) {
+            variants.put("appcds", Collections.singletonList("-XX:SharedArchiveFile=" + args[3]));
+        }
+
+        new AgentStartupBenchmark().run(iterations, classpath, mainClass, variants);
+    }
+
+    private void run(
+        final int iterations,
+        final String classpath,
+        final String mainClass,
+        final Map<String, List<String>> variants
+    ) throws Exception {
+        final Server server = NettyServerBuilder
+            .forAddress(new InetSocketAddress("localhost", 0))
+            .addService(new StubJobService())
+            .build()
+            .start();
+        try {
+            for (final Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                final List<Long> elapsedMillis = new ArrayList<>(iterations);
+                for (int i = 0; i < iterations; i++) {
+                    elapsedMillis.add(
+                        this.launchToHandshake(classpath, mainClass, variant.getValue(), server.getPort())
+                    );
+                }
+                System.out.printf(
+                    "Agent launch to handshake (%s): average %dms, min %dms, max %dms over %d runs%n",
+                    variant.getKey(),
+                    elapsedMillis.stream().mapToLong(Long::longValue).sum() / iterations,
+                    Collections.min(elapsedMillis),
+                    Collections.max(elapsedMillis),
+                    iterations
+                );
+            }
+        } finally {
+            server.shutdownNow().awaitTermination(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private long launchToHandshake(
+        final String classpath,
+        final String mainClass,
+        final List<String> jvmArgs,
+        final int port
+    ) throws Exception {
+        final List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getAbsolutePath());
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList("-cp", classpath, mainClass));
+        command.addAll(
+            Arrays.asList(
+                "exec",
+                "--server-host", "localhost",
+                "--server-port", String.valueOf(port),
+                "--command-criterion", "TAGS=benchmark",
+                "--cluster-criterion", "TAGS=benchmark"
+            )
+        );
+
+        final CompletableFuture<Long> handshake = new CompletableFuture<>();
+        this.pendingHandshake.set(handshake);
+
+        final File output = File.createTempFile("agent-startup-benchmark", ".log");
+        final long start = System.nanoTime();
+        final Process process = this.launch(command, output);
+        try {
+            final long handshakeTime = handshake.get(HANDSHAKE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return TimeUnit.NANOSECONDS.toMillis(handshakeTime - start);
+        } catch (final TimeoutException e) {
+            throw new IllegalStateException("Agent did not perform a handshake within the time limit", e);
+        } finally {
+            this.pendingHandshake.set(null);
+            if (!process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            if (!output.delete()) {
+                output.deleteOnExit();
+            }
+        }
+    }
+
+    private Process launch(final List<String> command, final File output) throws IOException {
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(output)
+            .start();
+    }
+
+    private class StubJobService extends JobServiceGrpc.JobServiceImplBase {
+        @Override
+        public void handshake(
+            final HandshakeRequest request,
+            final StreamObserver<HandshakeResponse> responseObserver
+        ) {
+            final long now = System.nanoTime();
+            final CompletableFuture<Long> handshake = pendingHandshake.get();
+            if (handshake != null) {
+                handshake.complete(now);
+            }
+            responseObserver.onNext(
+                HandshakeResponse.newBuilder()
+                    .setType(HandshakeResponse.Type.REJECTED)
+                    .setMessage("Startup benchmark")
+                    .build()
+            );
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -103,4 +103,21 @@ public final class Util {
         }
         return temporary.toArray(new String[temporary.size()]);
     }
+
+    /**
+     * Whether the given (raw) arguments select the job execution command.
+     * This is a lightweight check meant to be performed before the application context is created, it does not
+     * validate arguments.
+     *
+     * @param args the raw array of arguments
+     * @return true if the first argument that is not an option is the name of the execution command
+     */
+    public static boolean isExecCommand(final String[] args) {
+        for (final String arg : getOptionArguments(args)) {
+            if (!arg.startsWith("-")) {
+                return CommandNames.EXEC.equals(arg);
+            }
+        }
+        return false;
+    }
 }
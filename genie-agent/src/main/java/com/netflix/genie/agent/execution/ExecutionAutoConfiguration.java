@@ -26,6 +26,7 @@ import com.netflix.genie.agent.execution.services.AgentFileStreamService;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.services.AgentJobKillService;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.DownloadService;
 import com.netflix.genie.agent.execution.services.JobMonitorService;
 import com.netflix.genie.agent.execution.services.JobSetupService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
@@ -36,6 +37,8 @@ import com.netflix.genie.agent.execution.statemachine.States;
 import com.netflix.genie.agent.execution.statemachine.listeners.ConsoleLogListener;
 import com.netflix.genie.agent.execution.statemachine.listeners.JobExecutionListener;
 import com.netflix.genie.agent.execution.statemachine.listeners.LoggingListener;
+import com.netflix.genie.agent.execution.statemachine.listeners.PrefetchCancellationListener;
+import com.netflix.genie.agent.execution.statemachine.listeners.StartupTimingListener;
 import com.netflix.genie.agent.execution.statemachine.stages.ArchiveJobOutputsStage;
 import com.netflix.genie.agent.execution.statemachine.stages.ClaimJobStage;
 import com.netflix.genie.agent.execution.statemachine.stages.CleanupJobDirectoryStage;
@@ -50,6 +53,7 @@ import com.netflix.genie.agent.execution.statemachine.stages.InitializeAgentStag
 import com.netflix.genie.agent.execution.statemachine.stages.LaunchJobStage;
 import com.netflix.genie.agent.execution.statemachine.stages.LogExecutionErrorsStage;
 import com.netflix.genie.agent.execution.statemachine.stages.ObtainJobSpecificationStage;
+import com.netflix.genie.agent.execution.statemachine.stages.PrefetchDependenciesStage;
 import com.netflix.genie.agent.execution.statemachine.stages.RefreshManifestStage;
 import com.netflix.genie.agent.execution.statemachine.stages.RelocateLogFileStage;
 import com.netflix.genie.agent.execution.statemachine.stages.ReserveJobIdStage;
@@ -66,12 +70,15 @@ import com.netflix.genie.agent.execution.statemachine.stages.StopKillServiceStag
 import com.netflix.genie.agent.execution.statemachine.stages.WaitJobCompletionStage;
 import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.common.internal.services.JobArchiveService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import javax.validation.constraints.NotEmpty;
 import java.util.Collection;
@@ -115,6 +122,31 @@ public class ExecutionAutoConfiguration {
         return new ConsoleLogListener();
     }
 
+    /**
+     * Provide a lazy {@link StartupTimingListener} bean.
+     *
+     * @return A {@link StartupTimingListener} instance
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean(StartupTimingListener.class)
+    public StartupTimingListener startupTimingListener() {
+        return new StartupTimingListener();
+    }
+
+    /**
+     * Provide a lazy {@link PrefetchCancellationListener} bean.
+     *
+     * @param downloadService the download service
+     * @return A {@link PrefetchCancellationListener} instance
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean(PrefetchCancellationListener.class)
+    public PrefetchCancellationListener prefetchCancellationListener(final DownloadService downloadService) {
+        return new PrefetchCancellationListener(downloadService);
+    }
+
     /**
      * Provide the {@link ExecutionContext} bean.
      *
@@ -127,15 +159,43 @@ public class ExecutionAutoConfiguration {
         return new ExecutionContext(agentProperties);
     }
 
+    /**
+     * Provide a lazy {@link AsyncTaskExecutor} used by the state machine to execute independent stages concurrently.
+     *
+     * @param agentProperties the agent properties
+     * @return A {@link ThreadPoolTaskExecutor} instance
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean(name = "executionStagesTaskExecutor", value = AsyncTaskExecutor.class)
+    AsyncTaskExecutor executionStagesTaskExecutor(final AgentProperties agentProperties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(agentProperties.getStateMachine().getMaxConcurrentStages());
+        executor.setThreadNamePrefix("agent-stage-executor-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(
+            (int) agentProperties.getShutdown().getInternalExecutorsLeeway().getSeconds()
+        );
+        return executor;
+    }
+
     @Bean
     @Lazy
     JobExecutionStateMachine jobExecutionStateMachine(
         @NotEmpty final List<ExecutionStage> executionStages,
         final ExecutionContext executionContext,
         final Collection<JobExecutionListener> listeners,
-        final JobProcessManager jobProcessManager
+        final JobProcessManager jobProcessManager,
+        final AgentProperties agentProperties,
+        @Qualifier("executionStagesTaskExecutor") final AsyncTaskExecutor executionStagesTaskExecutor
     ) {
-        return new JobExecutionStateMachineImpl(executionStages, executionContext, listeners, jobProcessManager);
+        return new JobExecutionStateMachineImpl(
+            executionStages,
+            executionContext,
+            listeners,
+            jobProcessManager,
+            agentProperties.getStateMachine().isConcurrentStagesEnabled() ? executionStagesTaskExecutor : null
+        );
     }
 
     /**
@@ -233,6 +293,19 @@ public class ExecutionAutoConfiguration {
         return new ObtainJobSpecificationStage(agentJobService);
     }
 
+    /**
+     * Create a {@link PrefetchDependenciesStage} bean if one is not already defined.
+     *
+     * @param jobSetupService the job setup service
+     */
+    @Bean
+    @Lazy
+    @Order(55)
+    @ConditionalOnMissingBean(PrefetchDependenciesStage.class)
+    PrefetchDependenciesStage prefetchDependenciesStage(final JobSetupService jobSetupService) {
+        return new PrefetchDependenciesStage(jobSetupService);
+    }
+
     /**
      * Create a {@link CreateJobDirectoryStage} bean if one is not already defined.
      *
@@ -49,6 +49,24 @@ public interface DownloadService {
      */
     void download(Manifest downloadsManifest) throws DownloadException;
 
+    /**
+     * Asynchronously fetch the given resources into the local cache, so that a later download of the same
+     * resources does not need to wait for the transfer.
+     * Errors during prefetch are not propagated, resources that failed to prefetch are retrieved normally during
+     * download.
+     * A download waits for the completion of an in-progress prefetch before proceeding.
+     *
+     * @param sourceFileUris the set of resources to prefetch
+     */
+    void prefetch(Set<URI> sourceFileUris);
+
+    /**
+     * Cancel the prefetch in progress, if any, because its resources are no longer needed (e.g., the execution was
+     * aborted).
+     * A download that follows does not wait for the cancelled prefetch and retrieves all resources normally.
+     */
+    void cancelPrefetch();
+
     /**
      * Manifest containing source (URIs) and their expected destination on disk after download.
      * This abstraction is used by different services to set up the job working directory.
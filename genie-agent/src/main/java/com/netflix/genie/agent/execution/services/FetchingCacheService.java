@@ -51,4 +51,15 @@ public interface FetchingCacheService {
      * @throws IOException       if downloading or copying the file to destination fails
      */
     void get(Set<Pair<URI, File>> sourceDestinationPairs) throws DownloadException, IOException;
+
+    /**
+     * Download a given resource into the cache (if not already cached), without copying it anywhere.
+     * Used to speculatively populate the cache ahead of the time a resource is actually needed.
+     *
+     * @param sourceFileUri the resource URI
+     * @return the number of bytes downloaded, zero if the resource was already present in the cache
+     * @throws DownloadException if the resource is not found or fails to download
+     * @throws IOException       if downloading the file fails
+     */
+    long prefetch(URI sourceFileUri) throws DownloadException, IOException;
 }
@@ -64,6 +64,17 @@ public interface JobSetupService {
         File jobDirectory
     ) throws SetUpJobException;
 
+    /**
+     * Start fetching all the job files (dependencies, configurations, ...) into the local cache in the background,
+     * so that they are available locally by the time {@link #downloadJobResources(JobSpecification, File)} is invoked.
+     *
+     * @param jobSpecification the job specification
+     * @throws SetUpJobException if the list of job files cannot be composed
+     */
+    void prefetchJobResources(
+        JobSpecification jobSpecification
+    ) throws SetUpJobException;
+
 
     /**
      * Creates the executable script that executes setup and runs the job (a.k.a. run file).
@@ -22,19 +22,27 @@ import com.google.common.collect.Sets;
 import com.netflix.genie.agent.execution.exceptions.DownloadException;
 import com.netflix.genie.agent.execution.services.DownloadService;
 import com.netflix.genie.agent.execution.services.FetchingCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -46,10 +54,24 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 class DownloadServiceImpl implements DownloadService {
+    private static final String PREFETCH_LOOKUP_COUNTER_NAME = "genie.agent.download.prefetch.lookup.counter";
+    private static final String RESULT_TAG = "result";
+    private static final String HIT = "hit";
+    private static final String MISS = "miss";
+
     private final FetchingCacheService fetchingCacheService;
+    private final AsyncTaskExecutor prefetchTaskExecutor;
+    private final MeterRegistry registry;
+    private volatile Future<PrefetchResult> prefetchFuture;
 
-    DownloadServiceImpl(final FetchingCacheService fetchingCacheService) {
+    DownloadServiceImpl(
+        final FetchingCacheService fetchingCacheService,
+        final AsyncTaskExecutor prefetchTaskExecutor,
+        final MeterRegistry registry
+    ) {
         this.fetchingCacheService = fetchingCacheService;
+        this.prefetchTaskExecutor = prefetchTaskExecutor;
+        this.registry = registry;
     }
 
     /**
@@ -60,12 +82,120 @@ class DownloadServiceImpl implements DownloadService {
         return new ManifestImpl.Builder();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void prefetch(final Set<URI> sourceFileUris) {
+        if (this.prefetchFuture != null) {
+            log.warn("Ignoring prefetch request, another prefetch is already in progress");
+            return;
+        }
+        log.info("Starting prefetch of {} resources", sourceFileUris.size());
+        this.prefetchFuture = this.prefetchTaskExecutor.submit(() -> this.prefetchResources(sourceFileUris));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancelPrefetch() {
+        // Not synchronized, a download may be holding the lock while waiting for the prefetch to complete
+        final Future<PrefetchResult> future = this.prefetchFuture;
+        if (future != null && future.cancel(true)) {
+            log.info("Cancelled prefetch");
+        }
+    }
+
+    private PrefetchResult prefetchResources(final Set<URI> sourceFileUris) {
+        final Instant start = Instant.now();
+        final Set<URI> prefetchedUris = Sets.newHashSet();
+        long bytes = 0;
+        int failures = 0;
+        for (final URI sourceFileUri : sourceFileUris) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Prefetch interrupted, skipping remaining resources");
+                break;
+            }
+            try {
+                bytes += this.fetchingCacheService.prefetch(sourceFileUri);
+                prefetchedUris.add(sourceFileUri);
+            } catch (final DownloadException | IOException | RuntimeException e) {
+                // Not fatal, the resource will be retrieved (or fail) during download
+                log.warn("Failed to prefetch {}: {}", sourceFileUri, e.getMessage());
+                failures++;
+            }
+        }
+        return new PrefetchResult(
+            sourceFileUris.size(),
+            failures,
+            bytes,
+            Duration.between(start, Instant.now()),
+            prefetchedUris
+        );
+    }
+
+    /**
+     * Wait for the prefetch (if one was started) to complete, then report its outcome.
+     * The time saved is the portion of the prefetch that overlapped with other work, i.e. the prefetch duration minus
+     * the time spent here waiting for it to complete.
+     *
+     * @return the resources successfully prefetched, or null if no prefetch was started
+     */
+    @Nullable
+    private synchronized Set<URI> awaitPrefetchCompletion() {
+        if (this.prefetchFuture == null) {
+            return null;
+        }
+
+        final Instant waitStart = Instant.now();
+        try {
+            final PrefetchResult result = this.prefetchFuture.get();
+            final Duration waitTime = Duration.between(waitStart, Instant.now());
+            final Duration timeSaved = result.getDuration().minus(waitTime);
+            log.info(
+                "Prefetched {} bytes ({} resources, {} failed) in {}ms, waited {}ms for completion, saved ~{}ms",
+                result.getBytes(),
+                result.getResources(),
+                result.getFailures(),
+                result.getDuration().toMillis(),
+                waitTime.toMillis(),
+                timeSaved.isNegative() ? 0 : timeSaved.toMillis()
+            );
+            return result.getPrefetchedUris();
+        } catch (final CancellationException e) {
+            log.warn("Prefetch was cancelled");
+        } catch (final ExecutionException e) {
+            log.warn("Prefetch failed: {}", e.getMessage(), e);
+        } catch (final InterruptedException e) {
+            log.warn("Interrupted while waiting for prefetch to complete");
+            Thread.currentThread().interrupt();
+        } finally {
+            this.prefetchFuture = null;
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * Count the resources to download that were (hit) or weren't (miss) successfully prefetched.
+     */
+    private void recordPrefetchLookups(final Set<URI> sourceFileUris, final Set<URI> prefetchedUris) {
+        final long hits = sourceFileUris.stream().filter(prefetchedUris::contains).count();
+        final long misses = sourceFileUris.size() - hits;
+        log.info("Downloading {} resources, {} prefetched, {} not prefetched", sourceFileUris.size(), hits, misses);
+        this.registry.counter(PREFETCH_LOOKUP_COUNTER_NAME, RESULT_TAG, HIT).increment(hits);
+        this.registry.counter(PREFETCH_LOOKUP_COUNTER_NAME, RESULT_TAG, MISS).increment(misses);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void download(final Manifest downloadsManifest) throws DownloadException {
 
+        // Prefetch and download share the cache, which does not support concurrent access from the same agent
+        final Set<URI> prefetchedUris = this.awaitPrefetchCompletion();
+
         // Validate all destination directories exist
         for (final File targetDirectory : downloadsManifest.getTargetDirectories()) {
             if (!targetDirectory.exists()) {
@@ -86,6 +216,10 @@ class DownloadServiceImpl implements DownloadService {
             }
         }
 
+        if (prefetchedUris != null) {
+            this.recordPrefetchLookups(downloadsManifest.getSourceFileUris(), prefetchedUris);
+        }
+
         try {
             fetchingCacheService.get(downloadsManifest.getEntries());
         } catch (final IOException e) {
@@ -93,6 +227,16 @@ class DownloadServiceImpl implements DownloadService {
         }
     }
 
+    @Getter
+    @AllArgsConstructor
+    private static final class PrefetchResult {
+        private final int resources;
+        private final int failures;
+        private final long bytes;
+        private final Duration duration;
+        private final Set<URI> prefetchedUris;
+    }
+
     @Getter
     private static final class ManifestImpl implements Manifest {
         private final Map<URI, File> uriFileMap;
@@ -34,6 +34,7 @@ import org.springframework.util.DigestUtils;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.FileSystemUtils;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -116,6 +117,14 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long prefetch(final URI sourceFileUri) throws DownloadException, IOException {
+        return lookupOrDownload(sourceFileUri, null);
+    }
+
     /* Get a handle to the resource represented by the sourceFileURI.
      * The lastModifedTimeStamp represents the version number of the resource.
      * Create the directory structure with resourceCacheId/version(lastModifiedTimeStamp)
@@ -124,12 +133,13 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
      * If it exists copy to the target file and release the lock. Else,
      * download the file to resourceCacheId/version/DATA_DOWNLOAD_FILE_NAME download file. Move it
      * to the data file(this operation is guaranteed to be atomic by the OS). Copy data
-     * file to target file and release the lock.
+     * file to target file (if one is given) and release the lock.
      * Before exiting delete the previous versions of the resource
+     * Returns the number of bytes downloaded (zero in case of cache hit).
      */
-    private void lookupOrDownload(
+    private long lookupOrDownload(
         final URI sourceFileUri,
-        final File destinationFile
+        @Nullable final File destinationFile
     ) throws DownloadException, IOException {
 
         final String uriString = sourceFileUri.toASCIIString();
@@ -168,6 +178,8 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
         //Create the resource version dir in cache if it does not exist
         createDirectoryStructureIfNotExists(cacheResourceVersionDir);
 
+        long downloadedBytes = 0;
+
         try (
             CloseableLock lock = fileLockFactory.getLock(
                 touchCacheResourceVersionLockFile(
@@ -205,6 +217,7 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
                     FileCopyUtils.copy(in, out);
                     Files.move(cachedResourceVersionDownloadFile, cachedResourceVersionDataFile);
                 }
+                downloadedBytes = cachedResourceVersionDataFile.length();
             } else {
                 log.debug(
                     "Cache hit: {} (id: {})",
@@ -214,7 +227,9 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
             }
 
             //Copy from cache data file resourceCacheId/version/DATA_FILE_NAME to targetFile
-            Files.copy(cachedResourceVersionDataFile, destinationFile);
+            if (destinationFile != null) {
+                Files.copy(cachedResourceVersionDataFile, destinationFile);
+            }
             //Critical section end
         } catch (LockException e) {
             throw new DownloadException("Error downloading dependency", e);
@@ -224,6 +239,8 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
         cleanUpTaskExecutor.execute(
             new CleanupOlderVersionsTask(resourceCacheId, resourceLastModified)
         );
+
+        return downloadedBytes;
     }
 
     @VisibleForTesting
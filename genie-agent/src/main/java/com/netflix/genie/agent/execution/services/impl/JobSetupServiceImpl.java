@@ -20,6 +20,7 @@ package com.netflix.genie.agent.execution.services.impl;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.netflix.genie.agent.execution.CleanupStrategy;
 import com.netflix.genie.agent.execution.exceptions.DownloadException;
 import com.netflix.genie.agent.execution.exceptions.SetUpJobException;
@@ -156,6 +157,39 @@ class JobSetupServiceImpl implements JobSetupService {
         return jobDownloadsManifest.getTargetFiles();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void prefetchJobResources(final JobSpecification jobSpecification) throws SetUpJobException {
+        final List<ExecutionEnvironment> executionEnvironments = Lists.newArrayList();
+        jobSpecification.getApplications().forEach(
+            application -> executionEnvironments.add(application.getExecutionEnvironment())
+        );
+        executionEnvironments.add(jobSpecification.getCluster().getExecutionEnvironment());
+        executionEnvironments.add(jobSpecification.getCommand().getExecutionEnvironment());
+        executionEnvironments.add(jobSpecification.getJob().getExecutionEnvironment());
+
+        final Set<URI> sourceFileUris = Sets.newHashSet();
+        try {
+            for (final ExecutionEnvironment executionEnvironment : executionEnvironments) {
+                if (executionEnvironment.getSetupFile().isPresent()) {
+                    sourceFileUris.add(new URI(executionEnvironment.getSetupFile().get()));
+                }
+                for (final String dependencyUriString : executionEnvironment.getDependencies()) {
+                    sourceFileUris.add(new URI(dependencyUriString));
+                }
+                for (final String configUriString : executionEnvironment.getConfigs()) {
+                    sourceFileUris.add(new URI(configUriString));
+                }
+            }
+        } catch (final URISyntaxException e) {
+            throw new SetUpJobException("Failed to compose prefetch list", e);
+        }
+
+        this.downloadService.prefetch(sourceFileUris);
+    }
+
     /**
      * {@inheritDoc}
      */
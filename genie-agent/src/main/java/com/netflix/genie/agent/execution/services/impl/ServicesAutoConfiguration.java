@@ -29,6 +29,7 @@ import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory;
 import com.netflix.genie.common.internal.configs.AwsAutoConfiguration;
 import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -38,6 +39,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
 
@@ -63,13 +65,19 @@ public class ServicesAutoConfiguration {
      * Provide a lazy {@link DownloadService} bean if one hasn't already been defined.
      *
      * @param fetchingCacheService The cache service to use
+     * @param taskExecutor         The task executor to use for prefetching
+     * @param registry             The metrics registry to use
      * @return A {@link DownloadServiceImpl} instance
      */
     @Bean
     @Lazy
     @ConditionalOnMissingBean(DownloadService.class)
-    public DownloadService downloadService(final FetchingCacheService fetchingCacheService) {
-        return new DownloadServiceImpl(fetchingCacheService);
+    public DownloadService downloadService(
+        final FetchingCacheService fetchingCacheService,
+        @Qualifier("sharedAgentTaskExecutor") final AsyncTaskExecutor taskExecutor,
+        final MeterRegistry registry
+    ) {
+        return new DownloadServiceImpl(fetchingCacheService, taskExecutor, registry);
     }
 
     /**
@@ -49,6 +49,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Stores runtime information that is passed from one state to the next.
  * Example, exceptions encountered during execution, whether a job process was launched or not, the local job directory,
  * if one was created, etc.
+ * <p>
+ * Stages may execute concurrently, and kill requests arrive from other threads, so every accessor (including the
+ * Lombok-generated getters and setters) synchronizes on the same lock.
  *
  * @author mprimi
  * @since 4.0.0
@@ -201,6 +204,7 @@ public class ExecutionContext {
      * @param state             the state in which the exception occurred
      * @param recordedException the exception
      */
+    @Synchronized
     public void recordTransitionException(final States state, final Exception recordedException) {
         this.transitionExceptionRecords.add(
             new TransitionExceptionRecord(state, recordedException)
@@ -212,6 +216,7 @@ public class ExecutionContext {
      *
      * @return a list of exception records
      */
+    @Synchronized
     public List<TransitionExceptionRecord> getTransitionExceptionRecords() {
         return ImmutableList.copyOf(this.transitionExceptionRecords);
     }
@@ -222,6 +227,7 @@ public class ExecutionContext {
      *
      * @return whether the execution is aborted.
      */
+    @Synchronized
     public boolean isExecutionAborted() {
         return this.executionAbortedFatalException != null || this.isJobKilled;
     }
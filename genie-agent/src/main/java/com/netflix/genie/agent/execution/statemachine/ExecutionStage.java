@@ -17,9 +17,13 @@
  */
 package com.netflix.genie.agent.execution.statemachine;
 
+import com.google.common.collect.ImmutableSet;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+import java.util.Set;
+
 /**
  * Abstract base class for Genie Agent stage of execution.
  * The execution state machine is constructed as a sequence of stages that each job goes through (e.g., claim job,
@@ -31,6 +35,9 @@ import lombok.extern.slf4j.Slf4j;
  * - Critical vs. optional: if a critical stage fails, execution is aborted and the job is considered failed.
  * Optional stages can produce fatal error without compromising the overall execution (example: job file archival).
  * - Skippable vs. non-skippable: skippable stages are skipped if a job was aborted due to fatal error or kill.
+ * <p>
+ * By default a stage depends on all the stages preceding it. Stages can instead declare the (preceding) states they
+ * depend on, which allows the state machine to execute them concurrently with other independent stages.
  *
  * @author mprimi
  * @since 4.0.0
@@ -39,9 +46,11 @@ import lombok.extern.slf4j.Slf4j;
 @Getter
 public abstract class ExecutionStage {
     private final States state;
+    @Nullable
+    private final Set<States> dependencies;
 
     /**
-     * Constructor.
+     * Constructor for a stage that depends on all the stages preceding it.
      *
      * @param state the state machine state associated with this stage
      */
@@ -49,6 +58,32 @@ public abstract class ExecutionStage {
             final States state
     ) {
         this.state = state;
+        this.dependencies = null;
+    }
+
+    /**
+     * Constructor for a stage that only depends on the given states.
+     *
+     * @param state        the state machine state associated with this stage
+     * @param dependencies the states whose actions must be completed before this stage's action can be attempted,
+     *                     or null if the stage depends on all the stages preceding it
+     */
+    protected ExecutionStage(
+            final States state,
+            @Nullable final Set<States> dependencies
+    ) {
+        this.state = state;
+        this.dependencies = dependencies == null ? null : ImmutableSet.copyOf(dependencies);
+    }
+
+    /**
+     * Get the set of states this stage depends on.
+     *
+     * @return the set of states this stage depends on, or null if the stage depends on all the stages preceding it
+     */
+    @Nullable
+    public Set<States> getDependencies() {
+        return this.dependencies;
     }
 
     protected FatalJobExecutionException createFatalException(final String message, final Throwable cause) {
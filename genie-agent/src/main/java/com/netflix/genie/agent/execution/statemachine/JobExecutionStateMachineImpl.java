@@ -18,18 +18,32 @@
 package com.netflix.genie.agent.execution.statemachine;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.netflix.genie.agent.execution.process.JobProcessManager;
 import com.netflix.genie.agent.execution.services.KillService;
 import com.netflix.genie.agent.execution.statemachine.listeners.JobExecutionListener;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the job execution state machine.
+ * Stages are executed in order. If a task executor is provided, consecutive stages that declare their dependencies
+ * and do not depend on each other are executed concurrently. Each stage retains the same retry and fatal error
+ * semantics regardless of whether it executes alone or concurrently with other stages. If a stage aborts the execution,
+ * the stages executing concurrently with it that are skipped during aborted execution are interrupted and skipped, as
+ * they would have been if the stages were executed sequentially.
  *
  * @author mprimi
  * @since 4.0.0
@@ -43,9 +57,15 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
     private final ExecutionContext executionContext;
     private final JobExecutionListener listener;
     private final JobProcessManager jobProcessManager;
+    @Nullable
+    private final TaskExecutor stagesTaskExecutor;
+    // Threads attempting the action of a concurrently executing stage, and stages interrupted due to aborted execution.
+    // Guarded by this.
+    private final Map<States, Thread> concurrentStageThreads = Maps.newHashMap();
+    private final Set<States> cancelledStages = Sets.newHashSet();
 
     /**
-     * Constructor.
+     * Constructor for a state machine that executes stages sequentially.
      *
      * @param executionStages   the (ordered) list of execution stages
      * @param executionContext  the execution context passed across stages during execution
@@ -57,11 +77,32 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
         final ExecutionContext executionContext,
         final Collection<JobExecutionListener> listeners,
         final JobProcessManager jobProcessManager
+    ) {
+        this(executionStages, executionContext, listeners, jobProcessManager, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executionStages    the (ordered) list of execution stages
+     * @param executionContext   the execution context passed across stages during execution
+     * @param listeners          the list of listeners
+     * @param jobProcessManager  the job process manager
+     * @param stagesTaskExecutor the executor used to run independent stages concurrently, or null to execute all
+     *                           stages sequentially
+     */
+    public JobExecutionStateMachineImpl(
+        final List<ExecutionStage> executionStages,
+        final ExecutionContext executionContext,
+        final Collection<JobExecutionListener> listeners,
+        final JobProcessManager jobProcessManager,
+        @Nullable final TaskExecutor stagesTaskExecutor
     ) {
         this.executionStages = executionStages;
         this.executionContext = executionContext;
         this.listener = new CompositeListener(ImmutableSet.copyOf(listeners));
         this.jobProcessManager = jobProcessManager;
+        this.stagesTaskExecutor = stagesTaskExecutor;
     }
 
     /**
@@ -77,29 +118,109 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
 
         this.listener.stateMachineStarted();
 
-        for (final ExecutionStage executionStage : executionStages) {
-            final States state = executionStage.getState();
+        int nextStageIndex = 0;
+        while (nextStageIndex < this.executionStages.size()) {
+            final List<ExecutionStage> stagesGroup = this.getNextStagesGroup(nextStageIndex);
+            if (stagesGroup.size() == 1) {
+                this.executeStage(stagesGroup.get(0), false);
+            } else {
+                this.executeStagesConcurrently(stagesGroup);
+            }
+            nextStageIndex += stagesGroup.size();
+        }
 
-            log.debug("Execution stage: {} for state {} ({}, {}, {} retries)",
-                executionStage.getClass().getSimpleName(),
-                state.name(),
-                state.isCriticalState() ? "CRITICAL" : "NON-CRITICAL",
-                state.isSkippedDuringAbortedExecution() ? "SKIP" : "NON-SKIP",
-                state.getTransitionRetries()
-            );
+        this.listener.stateEntered(States.DONE);
+        this.listener.stateMachineStopped();
+    }
 
-            this.listener.stateEntered(state);
+    /**
+     * Select the group of stages to execute next, starting with the stage at the given index.
+     * The group is extended with the stages that follow as long as they declare dependencies, and none of their
+     * dependencies is a stage in the group.
+     */
+    private List<ExecutionStage> getNextStagesGroup(final int firstStageIndex) {
+        final List<ExecutionStage> stagesGroup = Lists.newArrayList(this.executionStages.get(firstStageIndex));
 
-            this.executeStageAction(state, executionStage);
+        if (this.stagesTaskExecutor == null) {
+            return stagesGroup;
+        }
 
-            this.listener.stateExited(state);
+        for (int i = firstStageIndex + 1; i < this.executionStages.size(); i++) {
+            final ExecutionStage candidateStage = this.executionStages.get(i);
+            final Set<States> dependencies = candidateStage.getDependencies();
+            if (dependencies == null) {
+                break;
+            }
+            final boolean dependsOnGroup = stagesGroup.stream()
+                .map(ExecutionStage::getState)
+                .anyMatch(dependencies::contains);
+            if (dependsOnGroup) {
+                break;
+            }
+            stagesGroup.add(candidateStage);
         }
 
-        this.listener.stateEntered(States.DONE);
-        this.listener.stateMachineStopped();
+        return stagesGroup;
     }
 
-    private void executeStageAction(final States state, final ExecutionStage executionStage) {
+    private void executeStagesConcurrently(final List<ExecutionStage> stagesGroup) {
+        assert this.stagesTaskExecutor != null;
+
+        log.debug(
+            "Executing stages concurrently: {}",
+            stagesGroup.stream().map(ExecutionStage::getState).collect(Collectors.toList())
+        );
+
+        // Execute all but the first stage in the executor, the first one in the current thread
+        final List<CompletableFuture<Void>> futures = stagesGroup.subList(1, stagesGroup.size())
+            .stream()
+            .map(stage -> CompletableFuture.runAsync(() -> this.executeStage(stage, true), this.stagesTaskExecutor))
+            .collect(Collectors.toList());
+
+        RuntimeException firstException = null;
+        try {
+            this.executeStage(stagesGroup.get(0), true);
+        } catch (final RuntimeException e) {
+            firstException = e;
+        }
+
+        // Wait for all stages to complete, even in case of errors
+        for (final CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (final CompletionException e) {
+                if (firstException == null) {
+                    firstException = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : e;
+                }
+            }
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    private void executeStage(final ExecutionStage executionStage, final boolean concurrent) {
+        final States state = executionStage.getState();
+
+        log.debug("Execution stage: {} for state {} ({}, {}, {} retries)",
+            executionStage.getClass().getSimpleName(),
+            state.name(),
+            state.isCriticalState() ? "CRITICAL" : "NON-CRITICAL",
+            state.isSkippedDuringAbortedExecution() ? "SKIP" : "NON-SKIP",
+            state.getTransitionRetries()
+        );
+
+        this.listener.stateEntered(state);
+
+        this.executeStageAction(state, executionStage, concurrent);
+
+        this.listener.stateExited(state);
+    }
+
+    private void executeStageAction(final States state, final ExecutionStage executionStage, final boolean concurrent) {
 
         // Reset retries backoff
         long currentRetryDelay = 0;
@@ -108,7 +229,7 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
         while (true) {
 
             // If execution is a aborted and this is a skip state, stop.
-            if (this.executionContext.isExecutionAborted() && state.isSkippedDuringAbortedExecution()) {
+            if (!this.startStageActionAttempt(state, concurrent)) {
                 this.listener.stateSkipped(state);
                 log.debug("Skipping stage {} due to aborted execution", state);
                 return;
@@ -117,11 +238,16 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
             // Attempt the stage action
             this.listener.beforeStateActionAttempt(state);
             Exception exception = null;
+            boolean cancelled = false;
             try {
                 executionStage.attemptStageAction(executionContext);
             } catch (Exception e) {
                 log.debug("Exception in state: " + state, e);
                 exception = e;
+            } finally {
+                if (concurrent) {
+                    cancelled = this.endConcurrentStageActionAttempt(state);
+                }
             }
             this.listener.afterStateActionAttempt(state, exception);
 
@@ -131,6 +257,13 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
                 return;
             }
 
+            // Interrupted because a concurrently executing stage aborted the execution, stop
+            if (cancelled) {
+                this.listener.stateSkipped(state);
+                log.debug("Skipping stage {} interrupted due to aborted execution", state);
+                return;
+            }
+
             // Record the raw exception
             this.executionContext.recordTransitionException(state, exception);
 
@@ -165,10 +298,14 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
 
             if (fatalJobExecutionException != null) {
 
-                if (state.isCriticalState() && !executionContext.isExecutionAborted()) {
-                    // Fatal exception in critical stage aborts execution, unless it's already aborted
-                    this.executionContext.setExecutionAbortedFatalException(fatalJobExecutionException);
-                    this.listener.executionAborted(state, fatalJobExecutionException);
+                // Synchronized since concurrently executing stages may fail at the same time
+                synchronized (this) {
+                    if (state.isCriticalState() && !executionContext.isExecutionAborted()) {
+                        // Fatal exception in critical stage aborts execution, unless it's already aborted
+                        this.executionContext.setExecutionAbortedFatalException(fatalJobExecutionException);
+                        this.listener.executionAborted(state, fatalJobExecutionException);
+                        this.cancelConcurrentStages();
+                    }
                 }
 
                 this.listener.fatalException(state, fatalJobExecutionException);
@@ -188,6 +325,51 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
         }
     }
 
+    /**
+     * Check whether the next attempt of the given stage action should proceed.
+     * If it should and the stage is executing concurrently with others, register the current thread so that it can be
+     * interrupted if another stage aborts the execution.
+     */
+    private synchronized boolean startStageActionAttempt(final States state, final boolean concurrent) {
+        if (this.executionContext.isExecutionAborted() && state.isSkippedDuringAbortedExecution()) {
+            return false;
+        }
+        if (concurrent) {
+            this.concurrentStageThreads.put(state, Thread.currentThread());
+        }
+        return true;
+    }
+
+    /**
+     * Unregister the thread attempting the given stage action.
+     * Returns true if the attempt was interrupted due to aborted execution, in which case the interrupt flag of the
+     * current thread is cleared, since the interrupt was not meant for whatever the thread does next.
+     */
+    private synchronized boolean endConcurrentStageActionAttempt(final States state) {
+        this.concurrentStageThreads.remove(state);
+        final boolean cancelled = this.cancelledStages.remove(state);
+        if (cancelled) {
+            Thread.interrupted();
+        }
+        return cancelled;
+    }
+
+    /**
+     * Interrupt the stages attempting their action concurrently that are skipped during aborted execution.
+     * Must be invoked while holding the lock on this.
+     */
+    private void cancelConcurrentStages() {
+        this.concurrentStageThreads.forEach(
+            (state, thread) -> {
+                if (state.isSkippedDuringAbortedExecution()) {
+                    log.info("Interrupting stage {} due to aborted execution", state);
+                    this.cancelledStages.add(state);
+                    thread.interrupt();
+                }
+            }
+        );
+    }
+
     @Override
     public void kill(final KillService.KillSource killSource) {
         log.info("Shutting down job execution (kill event source: {}", killSource);
@@ -198,6 +380,10 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
         this.jobProcessManager.kill(killSource);
     }
 
+    /**
+     * Notifies all listeners. Notifications are serialized, so listeners are never invoked concurrently even when
+     * stages are executing concurrently.
+     */
     private static final class CompositeListener implements JobExecutionListener {
         private final Collection<JobExecutionListener> listeners;
 
@@ -206,52 +392,52 @@ public class JobExecutionStateMachineImpl implements JobExecutionStateMachine {
         }
 
         @Override
-        public void stateEntered(final States state) {
+        public synchronized void stateEntered(final States state) {
             listeners.forEach(listener -> listener.stateEntered(state));
         }
 
         @Override
-        public void stateExited(final States state) {
+        public synchronized void stateExited(final States state) {
             listeners.forEach(listener -> listener.stateExited(state));
         }
 
         @Override
-        public void beforeStateActionAttempt(final States state) {
+        public synchronized void beforeStateActionAttempt(final States state) {
             listeners.forEach(listener -> listener.beforeStateActionAttempt(state));
         }
 
         @Override
-        public void afterStateActionAttempt(final States state, @Nullable final Exception exception) {
+        public synchronized void afterStateActionAttempt(final States state, @Nullable final Exception exception) {
             listeners.forEach(listener -> listener.afterStateActionAttempt(state, exception));
         }
 
         @Override
-        public void stateMachineStarted() {
+        public synchronized void stateMachineStarted() {
             listeners.forEach(JobExecutionListener::stateMachineStarted);
         }
 
         @Override
-        public void stateMachineStopped() {
+        public synchronized void stateMachineStopped() {
             listeners.forEach(JobExecutionListener::stateMachineStopped);
         }
 
         @Override
-        public void stateSkipped(final States state) {
+        public synchronized void stateSkipped(final States state) {
             listeners.forEach(listener -> listener.stateSkipped(state));
         }
 
         @Override
-        public void fatalException(final States state, final FatalJobExecutionException exception) {
+        public synchronized void fatalException(final States state, final FatalJobExecutionException exception) {
             listeners.forEach(listener -> listener.fatalException(state, exception));
         }
 
         @Override
-        public void executionAborted(final States state, final FatalJobExecutionException exception) {
+        public synchronized void executionAborted(final States state, final FatalJobExecutionException exception) {
             listeners.forEach(listener -> listener.executionAborted(state, exception));
         }
 
         @Override
-        public void delayedStateActionRetry(final States state, final long retryDelay) {
+        public synchronized void delayedStateActionRetry(final States state, final long retryDelay) {
             listeners.forEach(listener -> listener.delayedStateActionRetry(state, retryDelay));
         }
     }
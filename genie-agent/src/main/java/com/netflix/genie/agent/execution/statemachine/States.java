@@ -65,6 +65,11 @@ public enum States {
      */
     OBTAIN_JOB_SPECIFICATION(3, true, JobStatusMessages.FAILED_TO_OBTAIN_JOB_SPECIFICATION),
 
+    /**
+     * Start fetching job dependencies in the background, ahead of the download.
+     */
+    PREFETCH_DEPENDENCIES(0, true),
+
     /**
      * Claim the job for execution.
      */
@@ -0,0 +1,73 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.statemachine.listeners;
+
+import com.netflix.genie.agent.execution.services.DownloadService;
+import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException;
+import com.netflix.genie.agent.execution.statemachine.States;
+
+/**
+ * Listener that cancels the dependency prefetch in progress, if any, as soon as the prefetched resources cannot be
+ * used anymore: when the execution is aborted, when the download of dependencies is skipped (e.g., the job was killed)
+ * and when the job is cleaned up.
+ * This stops the prefetch from competing with the remaining stages and from delaying the agent shutdown.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+public class PrefetchCancellationListener implements JobExecutionListener {
+
+    private final DownloadService downloadService;
+
+    /**
+     * Constructor.
+     *
+     * @param downloadService the download service running the prefetch
+     */
+    public PrefetchCancellationListener(final DownloadService downloadService) {
+        this.downloadService = downloadService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stateEntered(final States state) {
+        if (state == States.CLEAN) {
+            this.downloadService.cancelPrefetch();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stateSkipped(final States state) {
+        if (state == States.DOWNLOAD_DEPENDENCIES) {
+            this.downloadService.cancelPrefetch();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executionAborted(final States state, final FatalJobExecutionException exception) {
+        this.downloadService.cancelPrefetch();
+    }
+}
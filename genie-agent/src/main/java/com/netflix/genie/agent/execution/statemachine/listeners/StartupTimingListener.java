@@ -0,0 +1,106 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.statemachine.listeners;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.genie.agent.execution.statemachine.States;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Listener that tracks agent startup time, measured from the launch of the JVM to the moment the server handshake
+ * completes.
+ * Used to keep an eye on the cost of bootstrapping the agent (JVM startup, class loading, Spring context creation,
+ * gRPC channel setup, ...) which can be a significant fraction of the total runtime of short jobs.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class StartupTimingListener implements JobExecutionListener {
+
+    private final Instant launchTime;
+    private final Supplier<Instant> clock;
+    private Duration timeToStateMachineStart;
+    private Duration timeToHandshake;
+
+    /**
+     * Constructor.
+     */
+    public StartupTimingListener() {
+        this(
+            Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()),
+            Instant::now
+        );
+    }
+
+    @VisibleForTesting
+    StartupTimingListener(final Instant launchTime, final Supplier<Instant> clock) {
+        this.launchTime = launchTime;
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stateMachineStarted() {
+        this.timeToStateMachineStart = Duration.between(this.launchTime, this.clock.get());
+        log.info("Execution started {}ms after launch", this.timeToStateMachineStart.toMillis());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stateExited(final States state) {
+        if (state == States.HANDSHAKE && this.timeToHandshake == null) {
+            this.timeToHandshake = Duration.between(this.launchTime, this.clock.get());
+            log.info(
+                "Handshake completed {}ms after launch ({}ms after execution start)",
+                this.timeToHandshake.toMillis(),
+                this.timeToStateMachineStart == null
+                    ? "?"
+                    : this.timeToHandshake.minus(this.timeToStateMachineStart).toMillis()
+            );
+        }
+    }
+
+    /**
+     * Get the time elapsed between the launch of the agent and the start of the execution state machine.
+     *
+     * @return the elapsed time, or empty if the state machine has not started yet
+     */
+    public synchronized Optional<Duration> getTimeToStateMachineStart() {
+        return Optional.ofNullable(this.timeToStateMachineStart);
+    }
+
+    /**
+     * Get the time elapsed between the launch of the agent and the completion of the server handshake.
+     *
+     * @return the elapsed time, or empty if the handshake has not been completed yet
+     */
+    public synchronized Optional<Duration> getTimeToHandshake() {
+        return Optional.ofNullable(this.timeToHandshake);
+    }
+}
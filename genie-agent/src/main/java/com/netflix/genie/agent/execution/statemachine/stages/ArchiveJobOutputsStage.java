@@ -34,6 +34,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 
 /**
  * Archive job output files and logs, if the job reached a state where it is appropriate to do so.
@@ -73,10 +74,18 @@ public class ArchiveJobOutputsStage extends ExecutionStage {
                 boolean success = false;
                 try {
                     log.info("Archive job folder to: " + archiveLocation);
-                    this.jobArchiveService.archiveDirectory(
+                    final long start = System.nanoTime();
+                    final long archivedBytes = this.jobArchiveService.archiveDirectory(
                         jobDirectory.toPath(),
                         new URI(archiveLocation)
                     );
+                    final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+                    log.info(
+                        "Archived {} bytes in {} ({} bytes/s)",
+                        archivedBytes,
+                        duration,
+                        getBytesPerSecond(archivedBytes, duration)
+                    );
                     success = true;
                 } catch (JobArchiveException | URISyntaxException e) {
                     // Swallow the error and move on.
@@ -94,5 +103,9 @@ public class ArchiveJobOutputsStage extends ExecutionStage {
             }
         }
     }
-}
 
+    private static long getBytesPerSecond(final long bytes, final Duration duration) {
+        final long millis = Math.max(1L, duration.toMillis());
+        return bytes * 1000L / millis;
+    }
+}
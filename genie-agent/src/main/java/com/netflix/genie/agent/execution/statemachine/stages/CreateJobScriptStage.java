@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.agent.execution.statemachine.stages;
 
+import com.google.common.collect.ImmutableSet;
 import com.netflix.genie.agent.execution.exceptions.SetUpJobException;
 import com.netflix.genie.agent.execution.services.JobSetupService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
@@ -45,7 +46,14 @@ public class CreateJobScriptStage extends ExecutionStage {
      * @param jobSetupService job setup service
      */
     public CreateJobScriptStage(final JobSetupService jobSetupService) {
-        super(States.CREATE_JOB_SCRIPT);
+        super(
+            States.CREATE_JOB_SCRIPT,
+            ImmutableSet.of(
+                States.OBTAIN_JOB_SPECIFICATION,
+                States.CREATE_JOB_DIRECTORY,
+                States.SET_STATUS_INIT
+            )
+        );
         this.jobSetupService = jobSetupService;
     }
 
@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.agent.execution.statemachine.stages;
 
+import com.google.common.collect.ImmutableSet;
 import com.netflix.genie.agent.cli.logging.ConsoleLog;
 import com.netflix.genie.agent.execution.exceptions.SetUpJobException;
 import com.netflix.genie.agent.execution.services.JobSetupService;
@@ -47,7 +48,14 @@ public class DownloadDependenciesStage extends ExecutionStage {
      * @param jobSetupService job setup service
      */
     public DownloadDependenciesStage(final JobSetupService jobSetupService) {
-        super(States.DOWNLOAD_DEPENDENCIES);
+        super(
+            States.DOWNLOAD_DEPENDENCIES,
+            ImmutableSet.of(
+                States.OBTAIN_JOB_SPECIFICATION,
+                States.CREATE_JOB_DIRECTORY,
+                States.SET_STATUS_INIT
+            )
+        );
         this.jobSetupService = jobSetupService;
     }
 
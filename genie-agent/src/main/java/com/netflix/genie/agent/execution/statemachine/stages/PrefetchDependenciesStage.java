@@ -0,0 +1,72 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.statemachine.stages;
+
+import com.netflix.genie.agent.execution.exceptions.SetUpJobException;
+import com.netflix.genie.agent.execution.services.JobSetupService;
+import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
+import com.netflix.genie.agent.execution.statemachine.ExecutionStage;
+import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException;
+import com.netflix.genie.agent.execution.statemachine.RetryableJobExecutionException;
+import com.netflix.genie.agent.execution.statemachine.States;
+import com.netflix.genie.common.external.dtos.v4.JobSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Start fetching dependencies attached to the job and its dependent entities into the local cache, as soon as the job
+ * specification is available. The actual download (into the job directory) happens in
+ * {@link DownloadDependenciesStage}, which waits for the prefetch to complete.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class PrefetchDependenciesStage extends ExecutionStage {
+    private final JobSetupService jobSetupService;
+
+    /**
+     * Constructor.
+     *
+     * @param jobSetupService job setup service
+     */
+    public PrefetchDependenciesStage(final JobSetupService jobSetupService) {
+        super(States.PREFETCH_DEPENDENCIES);
+        this.jobSetupService = jobSetupService;
+    }
+
+    @Override
+    protected void attemptStageAction(
+        final ExecutionContext executionContext
+    ) throws RetryableJobExecutionException, FatalJobExecutionException {
+
+        if (!executionContext.getAgentProperties().isDependencyPrefetchEnabled()) {
+            log.debug("Dependencies prefetch is disabled");
+            return;
+        }
+
+        final JobSpecification jobSpecification = executionContext.getJobSpecification();
+        assert jobSpecification != null;
+
+        log.info("Starting prefetch of job dependencies");
+        try {
+            this.jobSetupService.prefetchJobResources(jobSpecification);
+        } catch (SetUpJobException e) {
+            throw createFatalException(e);
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.agent.execution.statemachine.stages;
 
+import com.google.common.collect.ImmutableSet;
 import com.netflix.genie.agent.execution.services.AgentFileStreamService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
 import com.netflix.genie.agent.execution.statemachine.States;
@@ -41,7 +42,10 @@ public class StartFileServiceStage extends StartServiceStage {
      * @param agentFileStreamService agent file stream service
      */
     public StartFileServiceStage(final AgentFileStreamService agentFileStreamService) {
-        super(States.START_FILE_STREAM_SERVICE);
+        super(
+            States.START_FILE_STREAM_SERVICE,
+            ImmutableSet.of(States.CLAIM_JOB, States.CREATE_JOB_DIRECTORY)
+        );
         this.agentFileStreamService = agentFileStreamService;
     }
 
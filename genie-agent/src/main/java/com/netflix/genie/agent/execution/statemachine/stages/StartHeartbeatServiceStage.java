@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.agent.execution.statemachine.stages;
 
+import com.google.common.collect.ImmutableSet;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
 import com.netflix.genie.agent.execution.statemachine.States;
@@ -40,7 +41,10 @@ public class StartHeartbeatServiceStage extends StartServiceStage {
      * @param heartbeatService heartbeat service
      */
     public StartHeartbeatServiceStage(final AgentHeartBeatService heartbeatService) {
-        super(States.START_HEARTBEAT_SERVICE);
+        super(
+            States.START_HEARTBEAT_SERVICE,
+            ImmutableSet.of(States.CLAIM_JOB)
+        );
         this.heartbeatService = heartbeatService;
     }
 
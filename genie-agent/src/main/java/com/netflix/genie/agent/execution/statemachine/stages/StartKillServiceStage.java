@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.agent.execution.statemachine.stages;
 
+import com.google.common.collect.ImmutableSet;
 import com.netflix.genie.agent.execution.services.AgentJobKillService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
 import com.netflix.genie.agent.execution.statemachine.States;
@@ -40,7 +41,10 @@ public class StartKillServiceStage extends StartServiceStage {
      * @param killService kill service
      */
     public StartKillServiceStage(final AgentJobKillService killService) {
-        super(States.START_KILL_SERVICE);
+        super(
+            States.START_KILL_SERVICE,
+            ImmutableSet.of(States.CLAIM_JOB)
+        );
         this.killService = killService;
     }
 
@@ -26,6 +26,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.validation.constraints.NotBlank;
+import java.util.Set;
 
 /**
  * Base class for stages starting a service.
@@ -42,6 +43,16 @@ abstract class StartServiceStage extends ExecutionStage {
         super(state);
     }
 
+    /**
+     * Constructor.
+     *
+     * @param state        the associated state
+     * @param dependencies the states this stage depends on
+     */
+    StartServiceStage(final States state, final Set<States> dependencies) {
+        super(state, dependencies);
+    }
+
     @Override
     protected void attemptStageAction(
         final ExecutionContext executionContext
@@ -54,6 +54,12 @@ public class AgentProperties {
     @DurationMin(seconds = 1)
     private Duration forceManifestRefreshTimeout = Duration.ofSeconds(5);
 
+    /**
+     * Whether to start fetching job dependencies into the cache as soon as the job specification is obtained, rather
+     * than waiting for the download stage.
+     */
+    private boolean dependencyPrefetchEnabled = true;
+
     /**
      * FileStreamService properties.
      */
@@ -83,4 +89,10 @@ public class AgentProperties {
      */
     @Valid
     private ShutdownProperties shutdown = new ShutdownProperties();
+
+    /**
+     * Job execution state machine properties.
+     */
+    @Valid
+    private StateMachineProperties stateMachine = new StateMachineProperties();
 }
@@ -51,16 +51,4 @@ public class ShutdownProperties {
      */
     @DurationMin(seconds = 1)
     private Duration internalSchedulersLeeway = Duration.ofSeconds(30);
-
-    /**
-     * Time allowed to Spring task executor to complete running tasks before shutting them down.
-     */
-    @DurationMin(seconds = 1)
-    private Duration systemExecutorLeeway = Duration.ofSeconds(60);
-
-    /**
-     * Time allowed to Spring task scheduler to complete running tasks before shutting them down.
-     */
-    @DurationMin(seconds = 1)
-    private Duration systemSchedulerLeeway = Duration.ofSeconds(60);
 }
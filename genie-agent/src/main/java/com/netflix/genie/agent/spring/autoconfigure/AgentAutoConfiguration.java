@@ -23,10 +23,10 @@ import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory;
 import com.netflix.genie.common.internal.util.GenieHostInfo;
 import com.netflix.genie.common.internal.util.HostnameUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.boot.task.TaskExecutorCustomizer;
-import org.springframework.boot.task.TaskSchedulerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -77,6 +77,19 @@ public class AgentAutoConfiguration {
         return new AgentMetadataImpl(genieHostInfo.getHostname());
     }
 
+    /**
+     * Provide a {@link MeterRegistry} for the agent metrics if one isn't already defined.
+     * The default registry only keeps the metrics in memory, a registry for a monitoring system can be provided to
+     * publish them.
+     *
+     * @return A {@link SimpleMeterRegistry} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(MeterRegistry.class)
+    public MeterRegistry agentMeterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
     /**
      * Provide a lazy {@link FileLockFactory}.
      *
@@ -149,36 +162,4 @@ public class AgentAutoConfiguration {
         );
         return taskScheduler;
     }
-
-    /**
-     * Customizer for Spring's task executor.
-     *
-     * @param agentProperties the agent properties
-     * @return a customizer for the task executor
-     */
-    @Bean
-    TaskExecutorCustomizer taskExecutorCustomizer(final AgentProperties agentProperties) {
-        return taskExecutor -> {
-            taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
-            taskExecutor.setAwaitTerminationSeconds(
-                (int) agentProperties.getShutdown().getSystemExecutorLeeway().getSeconds()
-            );
-        };
-    }
-
-    /**
-     * Customizer for Spring's task scheduler.
-     *
-     * @param agentProperties the agent properties
-     * @return a customizer for the task scheduler
-     */
-    @Bean
-    TaskSchedulerCustomizer taskSchedulerCustomizer(final AgentProperties agentProperties) {
-        return taskScheduler -> {
-            taskScheduler.setWaitForTasksToCompleteOnShutdown(true);
-            taskScheduler.setAwaitTerminationSeconds(
-                (int) agentProperties.getShutdown().getSystemSchedulerLeeway().getSeconds()
-            );
-        };
-    }
 }
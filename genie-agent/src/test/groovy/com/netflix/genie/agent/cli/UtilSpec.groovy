@@ -56,4 +56,20 @@ class UtilSpec extends Specification {
         ["--", "--foo", "f"] as String[]                   | [] as String[]                 | ["--foo", "f"] as String[]
         ["--bar", "--baz", "--", "--foo", "f"] as String[] | ["--bar", "--baz"] as String[] | ["--foo", "f"] as String[]
     }
+
+    @Unroll
+    def "Detect exec command: #args"() {
+        expect:
+        expected == Util.isExecCommand(args)
+
+        where:
+        args                                                 | expected
+        [] as String[]                                       | false
+        ["help"] as String[]                                 | false
+        ["info", "--beans"] as String[]                      | false
+        ["exec", "--full-job-id", "123"] as String[]         | true
+        ["--foo", "exec"] as String[]                        | true
+        ["ping", "--", "exec"] as String[]                   | false
+        ["--", "exec"] as String[]                           | false
+    }
 }
@@ -20,12 +20,19 @@ package com.netflix.genie.agent.execution.services.impl
 import com.netflix.genie.agent.execution.exceptions.DownloadException
 import com.netflix.genie.agent.execution.services.DownloadService
 import com.netflix.genie.agent.execution.services.FetchingCacheService
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.apache.commons.lang3.tuple.Pair
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import org.mockito.internal.util.collections.Sets
+import org.springframework.core.task.AsyncTaskExecutor
+import org.springframework.core.task.SyncTaskExecutor
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor
 import spock.lang.Specification
 
+import java.util.concurrent.CancellationException
+import java.util.concurrent.Future
 import java.util.stream.Collectors
 
 class DownloadServiceImplSpec extends Specification {
@@ -33,6 +40,7 @@ class DownloadServiceImplSpec extends Specification {
     TemporaryFolder temporaryFolder
 
     FetchingCacheService cacheService
+    MeterRegistry registry
     DownloadServiceImpl downloadService
     DownloadService.Manifest manifest
     File cacheDir
@@ -42,7 +50,12 @@ class DownloadServiceImplSpec extends Specification {
 
     void setup() {
         cacheService = Mock()
-        downloadService = new DownloadServiceImpl(cacheService)
+        registry = new SimpleMeterRegistry()
+        downloadService = new DownloadServiceImpl(
+            cacheService,
+            new ConcurrentTaskExecutor(new SyncTaskExecutor()),
+            registry
+        )
         manifest = Mock()
         cacheDir = temporaryFolder.newFolder("cache")
         jobDir = temporaryFolder.newFolder("job")
@@ -158,4 +171,100 @@ class DownloadServiceImplSpec extends Specification {
         1 * cacheService.get(entries) >> { throw new IOException("test") }
         thrown(DownloadException)
     }
+
+    def "Prefetch then download"() {
+        setup:
+        URI uri1 = new URI("http:/foo/bar.txt")
+        URI uri2 = new URI("http:/foo/baz.txt")
+        URI uri3 = new URI("http:/foo/qux.txt")
+        Set<Pair<URI, File>> entries = new HashSet<>()
+
+        when:
+        downloadService.prefetch([uri1, uri2, uri3] as Set)
+
+        then:
+        1 * cacheService.prefetch(uri1) >> 100L
+        1 * cacheService.prefetch(uri2) >> 0L
+        1 * cacheService.prefetch(uri3) >> { throw new DownloadException("test") }
+
+        when:
+        downloadService.prefetch([uri1] as Set)
+
+        then:
+        0 * cacheService.prefetch(_)
+
+        when:
+        downloadService.download(manifest)
+
+        then:
+        1 * manifest.getTargetDirectories() >> new HashSet<File>()
+        1 * manifest.getTargetFiles() >> new HashSet<File>()
+        1 * manifest.getSourceFileUris() >> ([uri1, uri3, new URI("http:/foo/quux.txt")] as Set)
+        1 * manifest.getEntries() >> entries
+        1 * cacheService.get(entries)
+        registry.counter("genie.agent.download.prefetch.lookup.counter", "result", "hit").count() == 1
+        registry.counter("genie.agent.download.prefetch.lookup.counter", "result", "miss").count() == 2
+
+        when:
+        downloadService.prefetch([uri1] as Set)
+
+        then:
+        1 * cacheService.prefetch(uri1) >> 0L
+    }
+
+    def "Download without prefetch doesn't record prefetch lookups"() {
+        when:
+        downloadService.download(manifest)
+
+        then:
+        1 * manifest.getTargetDirectories() >> new HashSet<File>()
+        1 * manifest.getTargetFiles() >> new HashSet<File>()
+        0 * manifest.getSourceFileUris()
+        1 * manifest.getEntries() >> new HashSet<Pair<URI, File>>()
+        registry.find("genie.agent.download.prefetch.lookup.counter").counters().isEmpty()
+    }
+
+    def "Cancel prefetch"() {
+        setup:
+        AsyncTaskExecutor executor = Mock(AsyncTaskExecutor)
+        Future<?> future = Mock(Future)
+        downloadService = new DownloadServiceImpl(cacheService, executor, registry)
+        URI uri = new URI("http:/foo/bar.txt")
+
+        when:
+        downloadService.cancelPrefetch()
+
+        then:
+        noExceptionThrown()
+
+        when:
+        downloadService.prefetch([uri] as Set)
+
+        then:
+        1 * executor.submit(_) >> future
+
+        when:
+        downloadService.cancelPrefetch()
+
+        then:
+        1 * future.cancel(true) >> true
+
+        when:
+        downloadService.download(manifest)
+
+        then:
+        1 * future.get() >> { throw new CancellationException() }
+        1 * manifest.getTargetDirectories() >> new HashSet<File>()
+        1 * manifest.getTargetFiles() >> new HashSet<File>()
+        1 * manifest.getSourceFileUris() >> ([uri] as Set)
+        1 * manifest.getEntries() >> new HashSet<Pair<URI, File>>()
+        registry.counter("genie.agent.download.prefetch.lookup.counter", "result", "hit").count() == 0
+        registry.counter("genie.agent.download.prefetch.lookup.counter", "result", "miss").count() == 1
+
+        when:
+        downloadService.prefetch([uri] as Set)
+
+        then:
+        1 * executor.submit(_) >> future
+    }
 }
@@ -18,6 +18,9 @@
 package com.netflix.genie.agent.execution.services.impl
 
 import com.netflix.genie.agent.execution.services.DownloadService
+import com.netflix.genie.agent.execution.services.FetchingCacheService
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.core.task.AsyncTaskExecutor
 import spock.lang.Specification
 
 class DownloadServiceManifestImplSpec extends Specification {
@@ -25,8 +28,14 @@ class DownloadServiceManifestImplSpec extends Specification {
     URI uri2 = new URI("http://foo.com/file2.txt")
     File file1 = new File("/foo/file1.txt")
     File file2 = new File("/foo/file2.txt")
+    DownloadServiceImpl downloadService
 
     void setup() {
+        downloadService = new DownloadServiceImpl(
+            Mock(FetchingCacheService),
+            Mock(AsyncTaskExecutor),
+            new SimpleMeterRegistry()
+        )
     }
 
     void cleanup() {
@@ -34,7 +43,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "Build"() {
         when:
-        DownloadService.Manifest manifest = new DownloadServiceImpl().newManifestBuilder()
+        DownloadService.Manifest manifest = downloadService.newManifestBuilder()
             .addFileWithTargetFile(uri1, file1)
             .addFileWithTargetDirectory(uri2, file2.getParentFile())
             .build()
@@ -54,7 +63,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "Build with duplicate source"() {
         when:
-        DownloadService.Manifest manifest = new DownloadServiceImpl().newManifestBuilder()
+        DownloadService.Manifest manifest = downloadService.newManifestBuilder()
             .addFileWithTargetFile(uri1, file1)
             .addFileWithTargetFile(uri1, file2)
             .build()
@@ -72,7 +81,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "Build empty"() {
         when:
-        DownloadService.Manifest manifest = new DownloadServiceImpl().newManifestBuilder().build()
+        DownloadService.Manifest manifest = downloadService.newManifestBuilder().build()
 
         then:
         manifest != null
@@ -84,7 +93,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "Build with duplicate target"() {
         when:
-        new DownloadServiceImpl().newManifestBuilder()
+        downloadService.newManifestBuilder()
             .addFileWithTargetFile(uri1, file1)
             .addFileWithTargetFile(uri2, file1)
             .build()
@@ -95,7 +104,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "Build with invalid path-less uri"() {
         when:
-        new DownloadServiceImpl().newManifestBuilder()
+        downloadService.newManifestBuilder()
             .addFileWithTargetDirectory(new URI("http://foo.com"), file1.getParentFile())
 
         then:
@@ -104,7 +113,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "Build with invalid name-less uri"() {
         when:
-        new DownloadServiceImpl().newManifestBuilder()
+        downloadService.newManifestBuilder()
             .addFileWithTargetDirectory(new URI("http://foo.com/"), file1.getParentFile())
 
         then:
@@ -113,7 +122,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "Lookup target"() {
         setup:
-        DownloadService.Manifest manifest = new DownloadServiceImpl().newManifestBuilder()
+        DownloadService.Manifest manifest = downloadService.newManifestBuilder()
             .addFileWithTargetFile(uri1, file1)
             .addFileWithTargetFile(uri2, file2)
             .build()
@@ -128,7 +137,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "targetDirectories is immutable"() {
         setup:
-        DownloadService.Manifest manifest = new DownloadServiceImpl().newManifestBuilder().build()
+        DownloadService.Manifest manifest = downloadService.newManifestBuilder().build()
 
         when:
         manifest.getTargetDirectories().add(new File("/"))
@@ -139,7 +148,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "targetFiles is immutable"() {
         setup:
-        DownloadService.Manifest manifest = new DownloadServiceImpl().newManifestBuilder().build()
+        DownloadService.Manifest manifest = downloadService.newManifestBuilder().build()
 
         when:
         manifest.getTargetFiles().add(new File("/"))
@@ -150,7 +159,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "sourceFileUris is immutable"() {
         setup:
-        DownloadService.Manifest manifest = new DownloadServiceImpl().newManifestBuilder().build()
+        DownloadService.Manifest manifest = downloadService.newManifestBuilder().build()
 
         when:
         manifest.getSourceFileUris().add(new URI("http://www.foo.com/file.txt"))
@@ -161,7 +170,7 @@ class DownloadServiceManifestImplSpec extends Specification {
 
     def "entries is immutable"() {
         setup:
-        DownloadService.Manifest manifest = new DownloadServiceImpl().newManifestBuilder().build()
+        DownloadService.Manifest manifest = downloadService.newManifestBuilder().build()
 
         when:
         manifest.getEntries().add(null)
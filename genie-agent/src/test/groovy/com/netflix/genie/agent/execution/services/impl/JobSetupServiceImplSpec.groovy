@@ -299,6 +299,32 @@ class JobSetupServiceImplSpec extends Specification {
             ])
     }
 
+    def "Prefetch job resources"() {
+        setup:
+        def setupFileUri = URI.create("s3://my-bucket/my-org/my-job/setup.sh")
+        jobSetup = Optional.of(setupFileUri.toString())
+        commandSetup = Optional.of(setupFileUri.toString())
+        def dependencyUri = URI.create("s3://my-bucket/my-org/my-job/dependency.tar.gz")
+        app1Deps.add(dependencyUri.toString())
+        clusterDeps.add(dependencyUri.toString())
+        def configUri = URI.create("s3://my-bucket/my-org/my-job/cfg.xml")
+        app2Configs.add(configUri.toString())
+
+        when:
+        service.prefetchJobResources(spec)
+
+        then:
+        1 * downloadService.prefetch([setupFileUri, dependencyUri, configUri] as Set)
+
+        when:
+        jobDeps.add("://invalid")
+        service.prefetchJobResources(spec)
+
+        then:
+        0 * downloadService.prefetch(_)
+        thrown(SetUpJobException)
+    }
+
     def "Setup w/ dependencies"() {
         setup:
         jobServerEnvMap.put("SERVER_ENVIRONMENT_Z", "VALUE_Z")
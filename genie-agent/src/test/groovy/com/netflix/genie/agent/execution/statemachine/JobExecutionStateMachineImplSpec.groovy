@@ -21,9 +21,13 @@ import com.netflix.genie.agent.execution.process.JobProcessManager
 import com.netflix.genie.agent.execution.services.KillService
 import com.netflix.genie.agent.execution.statemachine.listeners.JobExecutionListener
 import com.netflix.genie.agent.execution.statemachine.listeners.LoggingListener
+import org.springframework.core.task.SimpleAsyncTaskExecutor
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicBoolean
 
 class JobExecutionStateMachineImplSpec extends Specification {
@@ -378,6 +382,155 @@ class JobExecutionStateMachineImplSpec extends Specification {
         KillService.KillSource.REMOTE_STATUS_MONITOR | _
     }
 
+    def "Independent stages execute concurrently"() {
+        setup:
+        CountDownLatch latch = new CountDownLatch(3)
+        Queue<States> completedStates = new ConcurrentLinkedQueue<>()
+        stages.addAll([
+            new LatchExecutionStage(States.CLAIM_JOB, null, null, completedStates),
+            new LatchExecutionStage(States.START_HEARTBEAT_SERVICE, [States.CLAIM_JOB] as Set, latch, completedStates),
+            new LatchExecutionStage(States.START_KILL_SERVICE, [States.CLAIM_JOB] as Set, latch, completedStates),
+            new LatchExecutionStage(States.START_FILE_STREAM_SERVICE, [States.CLAIM_JOB] as Set, latch, completedStates),
+            new LatchExecutionStage(States.SET_STATUS_INIT, null, null, completedStates),
+        ])
+        sm = new JobExecutionStateMachineImpl(stages, context, listeners, jobProcessManager, new SimpleAsyncTaskExecutor())
+
+        when:
+        sm.run()
+
+        then:
+        1 * context.getStarted() >> started
+        0 * context.recordTransitionException(_, _)
+        3 * mockListener.stateEntered({ it in [States.START_HEARTBEAT_SERVICE, States.START_KILL_SERVICE, States.START_FILE_STREAM_SERVICE] })
+        3 * mockListener.stateExited({ it in [States.START_HEARTBEAT_SERVICE, States.START_KILL_SERVICE, States.START_FILE_STREAM_SERVICE] })
+        latch.getCount() == 0
+        completedStates.size() == 5
+        completedStates.first() == States.CLAIM_JOB
+        completedStates.last() == States.SET_STATUS_INIT
+    }
+
+    def "Dependent stages and stages without declared dependencies execute sequentially"() {
+        setup:
+        Queue<States> completedStates = new ConcurrentLinkedQueue<>()
+        stages.addAll([
+            new LatchExecutionStage(States.CREATE_JOB_DIRECTORY, null, null, completedStates),
+            new LatchExecutionStage(States.RELOCATE_LOG, [States.CREATE_JOB_DIRECTORY] as Set, null, completedStates),
+            new LatchExecutionStage(States.CLAIM_JOB, [States.RELOCATE_LOG] as Set, null, completedStates),
+            new LatchExecutionStage(States.SET_STATUS_INIT, null, null, completedStates),
+        ])
+        sm = new JobExecutionStateMachineImpl(stages, context, listeners, jobProcessManager, new SimpleAsyncTaskExecutor())
+
+        when:
+        sm.run()
+
+        then:
+        1 * context.getStarted() >> started
+        completedStates as List == [
+            States.CREATE_JOB_DIRECTORY,
+            States.RELOCATE_LOG,
+            States.CLAIM_JOB,
+            States.SET_STATUS_INIT
+        ]
+    }
+
+    def "Fatal exception in concurrent stage aborts execution"() {
+        setup:
+        Throwable fatalException = new FatalJobExecutionException(States.START_KILL_SERVICE, "...", new IOException())
+        ExecutionStage failingStage = Mock(ExecutionStage) {
+            getState() >> States.START_KILL_SERVICE
+            getDependencies() >> ([States.CLAIM_JOB] as Set)
+        }
+        Queue<States> completedStates = new ConcurrentLinkedQueue<>()
+        stages.addAll([
+            new LatchExecutionStage(States.CLAIM_JOB, null, null, completedStates),
+            new LatchExecutionStage(States.START_HEARTBEAT_SERVICE, [States.CLAIM_JOB] as Set, null, completedStates),
+            failingStage,
+        ])
+        sm = new JobExecutionStateMachineImpl(stages, context, listeners, jobProcessManager, new SimpleAsyncTaskExecutor())
+
+        when:
+        sm.run()
+
+        then:
+        1 * context.getStarted() >> started
+        1 * failingStage.attemptStageAction(context) >> { throw fatalException }
+        1 * context.recordTransitionException(States.START_KILL_SERVICE, fatalException)
+        1 * context.setExecutionAbortedFatalException(fatalException)
+        1 * mockListener.executionAborted(States.START_KILL_SERVICE, fatalException)
+        1 * mockListener.stateMachineStopped()
+        completedStates as List == [States.CLAIM_JOB, States.START_HEARTBEAT_SERVICE]
+    }
+
+    def "Fatal exception in concurrent stage interrupts and skips the stages executing concurrently"() {
+        setup:
+        AtomicBoolean aborted = new AtomicBoolean(false)
+        Throwable fatalException = new FatalJobExecutionException(States.START_KILL_SERVICE, "...", new IOException())
+        BlockingExecutionStage blockingStage = new BlockingExecutionStage(
+            States.START_HEARTBEAT_SERVICE,
+            [States.CLAIM_JOB] as Set
+        )
+        ExecutionStage failingStage = Mock(ExecutionStage) {
+            getState() >> States.START_KILL_SERVICE
+            getDependencies() >> ([States.CLAIM_JOB] as Set)
+        }
+        Queue<States> completedStates = new ConcurrentLinkedQueue<>()
+        stages.addAll([
+            new LatchExecutionStage(States.CLAIM_JOB, null, null, completedStates),
+            failingStage,
+            blockingStage,
+            new LatchExecutionStage(States.SET_STATUS_INIT, null, null, completedStates),
+        ])
+        sm = new JobExecutionStateMachineImpl(stages, context, listeners, jobProcessManager, new SimpleAsyncTaskExecutor())
+
+        when:
+        sm.run()
+
+        then:
+        1 * context.getStarted() >> started
+        _ * context.isExecutionAborted() >> { aborted.get() }
+        1 * failingStage.attemptStageAction(context) >> {
+            assert blockingStage.attemptStarted.await(10, TimeUnit.SECONDS)
+            throw fatalException
+        }
+        1 * context.recordTransitionException(States.START_KILL_SERVICE, fatalException)
+        1 * context.setExecutionAbortedFatalException(fatalException) >> { aborted.set(true) }
+        1 * mockListener.executionAborted(States.START_KILL_SERVICE, fatalException)
+        0 * context.recordTransitionException(States.START_HEARTBEAT_SERVICE, _)
+        0 * mockListener.fatalException(States.START_HEARTBEAT_SERVICE, _)
+        1 * mockListener.stateSkipped(States.START_HEARTBEAT_SERVICE)
+        1 * mockListener.stateSkipped(States.SET_STATUS_INIT)
+        1 * mockListener.stateMachineStopped()
+        blockingStage.interrupted
+        !Thread.currentThread().isInterrupted()
+        completedStates as List == [States.CLAIM_JOB]
+    }
+
+    // A stage that records its completion and optionally waits for other stages to run concurrently.
+    private class LatchExecutionStage extends ExecutionStage {
+        CountDownLatch latch
+        Queue<States> completedStates
+
+        protected LatchExecutionStage(
+            States state,
+            Set<States> dependencies,
+            CountDownLatch latch,
+            Queue<States> completedStates
+        ) {
+            super(state, dependencies)
+            this.latch = latch
+            this.completedStates = completedStates
+        }
+
+        @Override
+        protected void attemptStageAction(final ExecutionContext executionContext) throws RetryableJobExecutionException, FatalJobExecutionException {
+            if (latch != null) {
+                latch.countDown()
+                assert latch.await(10, TimeUnit.SECONDS)
+            }
+            completedStates.add(getState())
+        }
+    }
+
     // A stage that takes a certain amount of time to complete its action.
     private class SleepExecutionStage extends ExecutionStage {
         int actionDuration
@@ -392,4 +545,25 @@ class JobExecutionStateMachineImplSpec extends Specification {
             sleep(actionDuration)
         }
     }
+
+    // A stage whose action blocks until it is interrupted.
+    private class BlockingExecutionStage extends ExecutionStage {
+        CountDownLatch attemptStarted = new CountDownLatch(1)
+        volatile boolean interrupted
+
+        protected BlockingExecutionStage(States state, Set<States> dependencies) {
+            super(state, dependencies)
+        }
+
+        @Override
+        protected void attemptStageAction(final ExecutionContext executionContext) throws RetryableJobExecutionException, FatalJobExecutionException {
+            attemptStarted.countDown()
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30))
+            } catch (InterruptedException e) {
+                interrupted = true
+                throw new FatalJobExecutionException(getState(), "Interrupted", e)
+            }
+        }
+    }
 }
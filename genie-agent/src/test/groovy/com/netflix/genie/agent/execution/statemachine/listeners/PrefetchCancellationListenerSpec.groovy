@@ -0,0 +1,61 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.statemachine.listeners
+
+import com.netflix.genie.agent.execution.services.DownloadService
+import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException
+import com.netflix.genie.agent.execution.statemachine.States
+import spock.lang.Specification
+
+class PrefetchCancellationListenerSpec extends Specification {
+    DownloadService downloadService
+    PrefetchCancellationListener listener
+
+    void setup() {
+        this.downloadService = Mock(DownloadService)
+        this.listener = new PrefetchCancellationListener(downloadService)
+    }
+
+    def "Cancel prefetch when its resources can no longer be used"() {
+        when:
+        listener.stateEntered(States.CLAIM_JOB)
+        listener.stateSkipped(States.SET_STATUS_INIT)
+        listener.stateExited(States.DOWNLOAD_DEPENDENCIES)
+
+        then:
+        0 * downloadService.cancelPrefetch()
+
+        when:
+        listener.executionAborted(States.CLAIM_JOB, Mock(FatalJobExecutionException))
+
+        then:
+        1 * downloadService.cancelPrefetch()
+
+        when:
+        listener.stateSkipped(States.DOWNLOAD_DEPENDENCIES)
+
+        then:
+        1 * downloadService.cancelPrefetch()
+
+        when:
+        listener.stateEntered(States.CLEAN)
+
+        then:
+        1 * downloadService.cancelPrefetch()
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.statemachine.listeners
+
+import com.netflix.genie.agent.execution.statemachine.States
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+import java.util.function.Supplier
+
+class StartupTimingListenerSpec extends Specification {
+
+    def "Track time to handshake"() {
+        setup:
+        Instant launchTime = Instant.now()
+        Supplier<Instant> clock = Mock(Supplier)
+        StartupTimingListener listener = new StartupTimingListener(launchTime, clock)
+
+        expect:
+        !listener.getTimeToStateMachineStart().isPresent()
+        !listener.getTimeToHandshake().isPresent()
+
+        when:
+        listener.stateMachineStarted()
+
+        then:
+        1 * clock.get() >> launchTime.plusMillis(800)
+        listener.getTimeToStateMachineStart().get() == Duration.ofMillis(800)
+        !listener.getTimeToHandshake().isPresent()
+
+        when:
+        listener.stateExited(States.INITIALIZE_AGENT)
+
+        then:
+        0 * clock.get()
+        !listener.getTimeToHandshake().isPresent()
+
+        when:
+        listener.stateExited(States.HANDSHAKE)
+
+        then:
+        1 * clock.get() >> launchTime.plusMillis(1000)
+        listener.getTimeToHandshake().get() == Duration.ofMillis(1000)
+
+        when:
+        listener.stateExited(States.HANDSHAKE)
+
+        then:
+        0 * clock.get()
+        listener.getTimeToHandshake().get() == Duration.ofMillis(1000)
+    }
+
+    def "Default constructor uses JVM start time"() {
+        setup:
+        StartupTimingListener listener = new StartupTimingListener()
+
+        when:
+        listener.stateExited(States.HANDSHAKE)
+
+        then:
+        listener.getTimeToHandshake().get() > Duration.ZERO
+    }
+}
@@ -62,7 +62,7 @@ class ArchiveJobOutputsStageSpec extends Specification {
         1 * executionContext.getClaimedJobId() >> jobId
         1 * jobSpec.getArchiveLocation() >> Optional.of(archiveLocation)
         1 * jobDir.toPath() >> jobDirPath
-        1 * jobArchiveService.archiveDirectory(jobDirPath, _ as URI)
+        1 * jobArchiveService.archiveDirectory(jobDirPath, _ as URI) >> 1024L
         1 * agentJobService.changeJobArchiveStatus(jobId, ArchiveStatus.ARCHIVED)
     }
 
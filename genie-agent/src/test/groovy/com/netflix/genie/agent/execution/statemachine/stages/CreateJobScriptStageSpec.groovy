@@ -22,6 +22,7 @@ import com.netflix.genie.agent.execution.services.JobSetupService
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext
 import com.netflix.genie.agent.execution.statemachine.ExecutionStage
 import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException
+import com.netflix.genie.agent.execution.statemachine.States
 import com.netflix.genie.common.external.dtos.v4.JobSpecification
 import spock.lang.Specification
 
@@ -42,6 +43,15 @@ class CreateJobScriptStageSpec extends Specification {
         this.stage = new CreateJobScriptStage(jobSetupService)
     }
 
+    def "Depends on the job status being set to INIT"() {
+        expect:
+        stage.getDependencies() == [
+            States.OBTAIN_JOB_SPECIFICATION,
+            States.CREATE_JOB_DIRECTORY,
+            States.SET_STATUS_INIT
+        ] as Set
+    }
+
     def "AttemptTransition -- success"() {
         when:
         stage.attemptStageAction(executionContext)
@@ -0,0 +1,88 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.statemachine.stages
+
+import com.netflix.genie.agent.execution.exceptions.SetUpJobException
+import com.netflix.genie.agent.execution.services.JobSetupService
+import com.netflix.genie.agent.execution.statemachine.ExecutionContext
+import com.netflix.genie.agent.execution.statemachine.ExecutionStage
+import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException
+import com.netflix.genie.agent.execution.statemachine.States
+import com.netflix.genie.agent.properties.AgentProperties
+import com.netflix.genie.common.external.dtos.v4.JobSpecification
+import spock.lang.Specification
+
+class PrefetchDependenciesStageSpec extends Specification {
+    ExecutionStage stage
+    ExecutionContext executionContext
+    JobSetupService jobSetupService
+    JobSpecification jobSpec
+    AgentProperties agentProperties
+
+    void setup() {
+        this.jobSetupService = Mock(JobSetupService)
+        this.jobSpec = Mock(JobSpecification)
+        this.executionContext = Mock(ExecutionContext)
+        this.agentProperties = new AgentProperties()
+        this.stage = new PrefetchDependenciesStage(jobSetupService)
+    }
+
+    def "Non-critical state"() {
+        expect:
+        !stage.getState().isCriticalState()
+        stage.getState() == States.PREFETCH_DEPENDENCIES
+    }
+
+    def "AttemptTransition -- success"() {
+        when:
+        stage.attemptStageAction(executionContext)
+
+        then:
+        1 * executionContext.getAgentProperties() >> agentProperties
+        1 * executionContext.getJobSpecification() >> jobSpec
+        1 * jobSetupService.prefetchJobResources(jobSpec)
+    }
+
+    def "AttemptTransition -- disabled"() {
+        setup:
+        agentProperties.setDependencyPrefetchEnabled(false)
+
+        when:
+        stage.attemptStageAction(executionContext)
+
+        then:
+        1 * executionContext.getAgentProperties() >> agentProperties
+        0 * executionContext.getJobSpecification()
+        0 * jobSetupService.prefetchJobResources(_)
+    }
+
+    def "AttemptTransition -- error"() {
+        setup:
+        SetUpJobException setupException = Mock(SetUpJobException)
+
+        when:
+        stage.attemptStageAction(executionContext)
+
+        then:
+        1 * executionContext.getAgentProperties() >> agentProperties
+        1 * executionContext.getJobSpecification() >> jobSpec
+        1 * jobSetupService.prefetchJobResources(jobSpec) >> { throw setupException }
+        def e = thrown(FatalJobExecutionException)
+        e.getCause() == setupException
+    }
+}
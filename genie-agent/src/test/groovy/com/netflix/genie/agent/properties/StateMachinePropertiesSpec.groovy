@@ -0,0 +1,40 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.properties
+
+import spock.lang.Specification
+
+class StateMachinePropertiesSpec extends Specification {
+
+    def "Defaults, setters, getters"() {
+        setup:
+        StateMachineProperties props = new StateMachineProperties()
+
+        expect:
+        props.isConcurrentStagesEnabled()
+        props.getMaxConcurrentStages() == 4
+
+        when:
+        props.setConcurrentStagesEnabled(false)
+        props.setMaxConcurrentStages(2)
+
+        then:
+        !props.isConcurrentStagesEnabled()
+        props.getMaxConcurrentStages() == 2
+    }
+}
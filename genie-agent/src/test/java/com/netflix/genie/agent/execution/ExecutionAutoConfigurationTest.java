@@ -28,6 +28,7 @@ import com.netflix.genie.agent.execution.services.AgentFileStreamService;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.services.AgentJobKillService;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.DownloadService;
 import com.netflix.genie.agent.execution.services.JobMonitorService;
 import com.netflix.genie.agent.execution.services.JobSetupService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
@@ -35,6 +36,8 @@ import com.netflix.genie.agent.execution.statemachine.ExecutionStage;
 import com.netflix.genie.agent.execution.statemachine.JobExecutionStateMachine;
 import com.netflix.genie.agent.execution.statemachine.listeners.ConsoleLogListener;
 import com.netflix.genie.agent.execution.statemachine.listeners.LoggingListener;
+import com.netflix.genie.agent.execution.statemachine.listeners.PrefetchCancellationListener;
+import com.netflix.genie.agent.execution.statemachine.listeners.StartupTimingListener;
 import com.netflix.genie.agent.execution.statemachine.stages.ArchiveJobOutputsStage;
 import com.netflix.genie.agent.execution.statemachine.stages.ClaimJobStage;
 import com.netflix.genie.agent.execution.statemachine.stages.CleanupJobDirectoryStage;
@@ -49,6 +52,7 @@ import com.netflix.genie.agent.execution.statemachine.stages.InitializeAgentStag
 import com.netflix.genie.agent.execution.statemachine.stages.LaunchJobStage;
 import com.netflix.genie.agent.execution.statemachine.stages.LogExecutionErrorsStage;
 import com.netflix.genie.agent.execution.statemachine.stages.ObtainJobSpecificationStage;
+import com.netflix.genie.agent.execution.statemachine.stages.PrefetchDependenciesStage;
 import com.netflix.genie.agent.execution.statemachine.stages.RefreshManifestStage;
 import com.netflix.genie.agent.execution.statemachine.stages.RelocateLogFileStage;
 import com.netflix.genie.agent.execution.statemachine.stages.ReserveJobIdStage;
@@ -105,6 +109,7 @@ class ExecutionAutoConfigurationTest {
         LaunchJobStage.class,
         LogExecutionErrorsStage.class,
         ObtainJobSpecificationStage.class,
+        PrefetchDependenciesStage.class,
         RelocateLogFileStage.class,
         ReserveJobIdStage.class,
         SetJobStatusFinal.class,
@@ -133,6 +138,8 @@ class ExecutionAutoConfigurationTest {
             context -> {
                 Assertions.assertThat(context).hasSingleBean(LoggingListener.class);
                 Assertions.assertThat(context).hasSingleBean(ConsoleLogListener.class);
+                Assertions.assertThat(context).hasSingleBean(StartupTimingListener.class);
+                Assertions.assertThat(context).hasSingleBean(PrefetchCancellationListener.class);
                 Assertions.assertThat(context).hasSingleBean(ExecutionContext.class);
                 Assertions.assertThat(context).hasSingleBean(JobExecutionStateMachine.class);
                 Assertions.assertThat(context).hasSingleBean(AgentProperties.class);
@@ -175,6 +182,11 @@ class ExecutionAutoConfigurationTest {
             return Mockito.mock(JobSetupService.class);
         }
 
+        @Bean
+        DownloadService downloadService() {
+            return Mockito.mock(DownloadService.class);
+        }
+
         @Bean
         JobRequestConverter jobRequestConverter() {
             return Mockito.mock(JobRequestConverter.class);
@@ -28,6 +28,8 @@ import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
 import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory;
 import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Files;
 import org.junit.jupiter.api.Test;
@@ -37,7 +39,7 @@ import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
 
 import java.io.File;
@@ -109,8 +111,13 @@ class ServicesAutoConfigurationTest {
         }
 
         @Bean(name = "sharedAgentTaskExecutor")
-        TaskExecutor taskExecutor() {
-            return Mockito.mock(TaskExecutor.class);
+        AsyncTaskExecutor taskExecutor() {
+            return Mockito.mock(AsyncTaskExecutor.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
         }
 
         @Bean(name = "sharedAgentTaskScheduler")
@@ -21,12 +21,10 @@ import com.netflix.genie.agent.AgentMetadataImpl;
 import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory;
 import com.netflix.genie.common.internal.util.GenieHostInfo;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
-import org.springframework.boot.task.TaskExecutorCustomizer;
-import org.springframework.boot.task.TaskSchedulerCustomizer;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -52,6 +50,7 @@ class AgentAutoConfigurationTest {
                 Assertions.assertThat(context).hasSingleBean(GenieHostInfo.class);
                 Assertions.assertThat(context).hasSingleBean(AgentMetadataImpl.class);
                 Assertions.assertThat(context).hasSingleBean(FileLockFactory.class);
+                Assertions.assertThat(context).hasSingleBean(MeterRegistry.class);
                 Assertions
                     .assertThat(context)
                     .getBean("sharedAgentTaskExecutor")
@@ -67,29 +66,7 @@ class AgentAutoConfigurationTest {
                     .getBean("heartBeatServiceTaskScheduler")
                     .isOfAnyClassIn(ThreadPoolTaskScheduler.class);
                 Assertions.assertThat(context).hasSingleBean(AgentProperties.class);
-                Assertions.assertThat(context).hasSingleBean(TaskExecutorCustomizer.class);
-                Assertions.assertThat(context).hasSingleBean(TaskSchedulerCustomizer.class);
             }
         );
     }
-
-    @Test
-    void testTaskExecutorCustomizer() {
-        final AgentProperties properties = new AgentProperties();
-        final TaskExecutorCustomizer customizer = new AgentAutoConfiguration().taskExecutorCustomizer(properties);
-        final ThreadPoolTaskExecutor taskExecutor = Mockito.mock(ThreadPoolTaskExecutor.class);
-        customizer.customize(taskExecutor);
-        Mockito.verify(taskExecutor).setWaitForTasksToCompleteOnShutdown(true);
-        Mockito.verify(taskExecutor).setAwaitTerminationSeconds(60);
-    }
-
-    @Test
-    void testTaskSchedulerCustomizer() {
-        final AgentProperties properties = new AgentProperties();
-        final TaskSchedulerCustomizer customizer = new AgentAutoConfiguration().taskSchedulerCustomizer(properties);
-        final ThreadPoolTaskScheduler taskScheduler = Mockito.mock(ThreadPoolTaskScheduler.class);
-        customizer.customize(taskScheduler);
-        Mockito.verify(taskScheduler).setWaitForTasksToCompleteOnShutdown(true);
-        Mockito.verify(taskScheduler).setAwaitTerminationSeconds(60);
-    }
 }
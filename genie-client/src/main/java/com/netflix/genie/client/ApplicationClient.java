@@ -34,6 +34,8 @@ import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Client library for the Application Service.
@@ -143,6 +145,76 @@ public class ApplicationClient {
         );
     }
 
+    /**
+     * Method to asynchronously get a list of applications from Genie for the query parameters specified.
+     *
+     * @param name       The name of the commands.
+     * @param user       The user who created the command.
+     * @param statusList The list of Command statuses.
+     * @param tagList    The list of tags.
+     * @param type       The type of the application.
+     * @return A future completed with the first page of applications. Completed exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and other
+     * IO issues.
+     */
+    public CompletableFuture<List<Application>> getApplicationsAsync(
+        @Nullable final String name,
+        @Nullable final String user,
+        @Nullable final List<String> statusList,
+        @Nullable final List<String> tagList,
+        @Nullable final String type
+    ) {
+        return GenieClientUtils.executeAsync(
+            this.applicationService.getApplications(
+                name,
+                user,
+                statusList,
+                tagList,
+                type
+            ),
+            response -> GenieClientUtils.parseSearchResultsResponse(response, "applicationList", Application.class)
+        );
+    }
+
+    /**
+     * Method to lazily get all the applications from Genie matching the query parameters specified, one page at a
+     * time. The next page is fetched in the background while the current one is consumed.
+     *
+     * @param name       The name of the commands.
+     * @param user       The user who created the command.
+     * @param statusList The list of Command statuses.
+     * @param tagList    The list of tags.
+     * @param type       The type of the application.
+     * @param pageSize   The number of applications to fetch per request. Must be at least 1.
+     * @return A sequential stream of applications. Consuming it throws an {@link java.io.UncheckedIOException} if a
+     * page can't be fetched. Should be closed if not fully consumed.
+     */
+    public Stream<Application> getApplicationsStream(
+        @Nullable final String name,
+        @Nullable final String user,
+        @Nullable final List<String> statusList,
+        @Nullable final List<String> tagList,
+        @Nullable final String type,
+        final int pageSize
+    ) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+        return GenieClientUtils.searchResultsStream(
+            page -> this.applicationService.getApplications(
+                name,
+                user,
+                statusList,
+                tagList,
+                type,
+                page,
+                pageSize
+            ),
+            "applicationList",
+            Application.class
+        );
+    }
+
     /**
      * Method to get a Application from Genie.
      *
@@ -158,6 +230,38 @@ public class ApplicationClient {
         return this.applicationService.getApplication(applicationId).execute().body();
     }
 
+    /**
+     * Method to get several applications from Genie. The ids are sent in as few requests as the server allows.
+     *
+     * @param applicationIds The ids of the applications to get.
+     * @return The applications in the same order as the ids.
+     * @throws GenieClientException If the response received is not 2xx, e.g. if any of the applications doesn't exist.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public List<Application> getApplicationsById(
+        final List<String> applicationIds
+    ) throws IOException, GenieClientException {
+        if (applicationIds == null || applicationIds.stream().anyMatch(StringUtils::isEmpty)) {
+            throw new IllegalArgumentException("Application ids cannot be null or empty");
+        }
+        return GenieClientUtils.executeInBatches(applicationIds, this.applicationService::getApplicationsById);
+    }
+
+    /**
+     * Method to asynchronously get a Application from Genie.
+     *
+     * @param applicationId The id of the application to get.
+     * @return A future completed with the application details. Completed exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and other
+     * IO issues.
+     */
+    public CompletableFuture<Application> getApplicationAsync(final String applicationId) {
+        if (StringUtils.isEmpty(applicationId)) {
+            throw new IllegalArgumentException("Missing required parameter: applicationId.");
+        }
+        return GenieClientUtils.executeAsync(this.applicationService.getApplication(applicationId));
+    }
+
     /**
      * Method to delete a application from Genie.
      *
@@ -34,6 +34,8 @@ import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Client library for the Cluster Service.
@@ -150,6 +152,76 @@ public class ClusterClient {
         );
     }
 
+    /**
+     * Method to asynchronously get a list of clusters from Genie for the query parameters specified.
+     *
+     * @param name          The name of the cluster.
+     * @param statusList    The list of statuses.
+     * @param tagList       The list of tags.
+     * @param minUpdateTime Minimum Time after which cluster was updated.
+     * @param maxUpdateTime Maximum Time before which cluster was updated.
+     * @return A future completed with the first page of clusters. Completed exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and other
+     * IO issues.
+     */
+    public CompletableFuture<List<Cluster>> getClustersAsync(
+        @Nullable final String name,
+        @Nullable final List<String> statusList,
+        @Nullable final List<String> tagList,
+        @Nullable final Long minUpdateTime,
+        @Nullable final Long maxUpdateTime
+    ) {
+        return GenieClientUtils.executeAsync(
+            this.clusterService.getClusters(
+                name,
+                statusList,
+                tagList,
+                minUpdateTime,
+                maxUpdateTime
+            ),
+            response -> GenieClientUtils.parseSearchResultsResponse(response, "clusterList", Cluster.class)
+        );
+    }
+
+    /**
+     * Method to lazily get all the clusters from Genie matching the query parameters specified, one page at a time.
+     * The next page is fetched in the background while the current one is consumed.
+     *
+     * @param name          The name of the cluster.
+     * @param statusList    The list of statuses.
+     * @param tagList       The list of tags.
+     * @param minUpdateTime Minimum Time after which cluster was updated.
+     * @param maxUpdateTime Maximum Time before which cluster was updated.
+     * @param pageSize      The number of clusters to fetch per request. Must be at least 1.
+     * @return A sequential stream of clusters. Consuming it throws an {@link java.io.UncheckedIOException} if a page
+     * can't be fetched. Should be closed if not fully consumed.
+     */
+    public Stream<Cluster> getClustersStream(
+        @Nullable final String name,
+        @Nullable final List<String> statusList,
+        @Nullable final List<String> tagList,
+        @Nullable final Long minUpdateTime,
+        @Nullable final Long maxUpdateTime,
+        final int pageSize
+    ) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+        return GenieClientUtils.searchResultsStream(
+            page -> this.clusterService.getClusters(
+                name,
+                statusList,
+                tagList,
+                minUpdateTime,
+                maxUpdateTime,
+                page,
+                pageSize
+            ),
+            "clusterList",
+            Cluster.class
+        );
+    }
+
     /**
      * Method to get a Cluster from Genie.
      *
@@ -167,6 +239,38 @@ public class ClusterClient {
         return clusterService.getCluster(clusterId).execute().body();
     }
 
+    /**
+     * Method to get several clusters from Genie. The ids are sent in as few requests as the server allows.
+     *
+     * @param clusterIds The ids of the clusters to get.
+     * @return The clusters in the same order as the ids.
+     * @throws GenieClientException If the response received is not 2xx, e.g. if any of the clusters doesn't exist.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public List<Cluster> getClustersById(
+        final List<String> clusterIds
+    ) throws IOException, GenieClientException {
+        if (clusterIds == null || clusterIds.stream().anyMatch(StringUtils::isEmpty)) {
+            throw new IllegalArgumentException("Cluster ids cannot be null or empty");
+        }
+        return GenieClientUtils.executeInBatches(clusterIds, clusterService::getClustersById);
+    }
+
+    /**
+     * Method to asynchronously get a Cluster from Genie.
+     *
+     * @param clusterId The id of the cluster to get.
+     * @return A future completed with the cluster details. Completed exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and other
+     * IO issues.
+     */
+    public CompletableFuture<Cluster> getClusterAsync(final String clusterId) {
+        if (StringUtils.isEmpty(clusterId)) {
+            throw new IllegalArgumentException("Missing required parameter: clusterId.");
+        }
+        return GenieClientUtils.executeAsync(this.clusterService.getCluster(clusterId));
+    }
+
     /**
      * Method to delete a cluster from Genie.
      *
@@ -35,6 +35,8 @@ import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Client library for the Command Service.
@@ -142,6 +144,70 @@ public class CommandClient {
         );
     }
 
+    /**
+     * Method to asynchronously get a list of commands from Genie for the query parameters specified.
+     *
+     * @param name       The name of the commands.
+     * @param user       The user who created the command.
+     * @param statusList The list of Command statuses.
+     * @param tagList    The list of tags.
+     * @return A future completed with the first page of commands. Completed exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and other
+     * IO issues.
+     */
+    public CompletableFuture<List<Command>> getCommandsAsync(
+        @Nullable final String name,
+        @Nullable final String user,
+        @Nullable final List<String> statusList,
+        @Nullable final List<String> tagList
+    ) {
+        return GenieClientUtils.executeAsync(
+            this.commandService.getCommands(
+                name,
+                user,
+                statusList,
+                tagList
+            ),
+            response -> GenieClientUtils.parseSearchResultsResponse(response, "commandList", Command.class)
+        );
+    }
+
+    /**
+     * Method to lazily get all the commands from Genie matching the query parameters specified, one page at a time.
+     * The next page is fetched in the background while the current one is consumed.
+     *
+     * @param name       The name of the commands.
+     * @param user       The user who created the command.
+     * @param statusList The list of Command statuses.
+     * @param tagList    The list of tags.
+     * @param pageSize   The number of commands to fetch per request. Must be at least 1.
+     * @return A sequential stream of commands. Consuming it throws an {@link java.io.UncheckedIOException} if a page
+     * can't be fetched. Should be closed if not fully consumed.
+     */
+    public Stream<Command> getCommandsStream(
+        @Nullable final String name,
+        @Nullable final String user,
+        @Nullable final List<String> statusList,
+        @Nullable final List<String> tagList,
+        final int pageSize
+    ) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+        return GenieClientUtils.searchResultsStream(
+            page -> this.commandService.getCommands(
+                name,
+                user,
+                statusList,
+                tagList,
+                page,
+                pageSize
+            ),
+            "commandList",
+            Command.class
+        );
+    }
+
     /**
      * Method to get a Command from Genie.
      *
@@ -159,6 +225,38 @@ public class CommandClient {
         return commandService.getCommand(commandId).execute().body();
     }
 
+    /**
+     * Method to get several commands from Genie. The ids are sent in as few requests as the server allows.
+     *
+     * @param commandIds The ids of the commands to get.
+     * @return The commands in the same order as the ids.
+     * @throws GenieClientException If the response received is not 2xx, e.g. if any of the commands doesn't exist.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public List<Command> getCommandsById(
+        final List<String> commandIds
+    ) throws IOException, GenieClientException {
+        if (commandIds == null || commandIds.stream().anyMatch(StringUtils::isEmpty)) {
+            throw new IllegalArgumentException("Command ids cannot be null or empty");
+        }
+        return GenieClientUtils.executeInBatches(commandIds, commandService::getCommandsById);
+    }
+
+    /**
+     * Method to asynchronously get a Command from Genie.
+     *
+     * @param commandId The id of the command to get.
+     * @return A future completed with the command details. Completed exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and other
+     * IO issues.
+     */
+    public CompletableFuture<Command> getCommandAsync(final String commandId) {
+        if (StringUtils.isEmpty(commandId)) {
+            throw new IllegalArgumentException("Missing required parameter: commandId.");
+        }
+        return GenieClientUtils.executeAsync(this.commandService.getCommand(commandId));
+    }
+
     /**
      * Method to delete a command from Genie.
      *
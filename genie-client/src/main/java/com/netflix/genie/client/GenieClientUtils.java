@@ -24,19 +24,32 @@ import com.netflix.genie.client.configs.GenieNetworkConfiguration;
 import com.netflix.genie.client.exceptions.GenieClientException;
 import com.netflix.genie.client.interceptors.ResponseMappingInterceptor;
 import com.netflix.genie.common.external.util.GenieObjectMapper;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import org.apache.commons.lang3.StringUtils;
+import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
 import javax.annotation.Nullable;
 import javax.validation.constraints.NotBlank;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 /**
  * Utility methods for the Genie client.
@@ -47,7 +60,11 @@ import java.util.concurrent.TimeUnit;
 final class GenieClientUtils {
 
     static final String LOCATION_HEADER = "location";
+    static final int MAX_BATCH_SIZE = 100;
     private static final String SLASH = "/";
+    private static final String PAGE_KEY = "page";
+    private static final String PAGE_NUMBER_KEY = "number";
+    private static final String TOTAL_PAGES_KEY = "totalPages";
 
     /**
      * Utility class doesn't need a public constructor.
@@ -89,6 +106,26 @@ final class GenieClientUtils {
             }
 
             builder.retryOnConnectionFailure(genieNetworkConfiguration.isRetryOnConnectionFailure());
+
+            // Asynchronous calls are queued by the dispatcher once these limits are reached
+            final Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(genieNetworkConfiguration.getMaxRequests());
+            dispatcher.setMaxRequestsPerHost(genieNetworkConfiguration.getMaxRequestsPerHost());
+            builder.dispatcher(dispatcher);
+
+            builder.connectionPool(
+                new ConnectionPool(
+                    genieNetworkConfiguration.getMaxIdleConnections(),
+                    genieNetworkConfiguration.getKeepAliveDuration(),
+                    TimeUnit.MILLISECONDS
+                )
+            );
+
+            // Responses carrying an entity tag are stored and revalidated with a conditional request before use
+            final File cacheDirectory = genieNetworkConfiguration.getCacheDirectory();
+            if (cacheDirectory != null) {
+                builder.cache(new Cache(cacheDirectory, genieNetworkConfiguration.getCacheMaxSize()));
+            }
         }
 
         // Add the interceptor to map the retrofit response code to corresponding Genie Exceptions in case of
@@ -129,6 +166,119 @@ final class GenieClientUtils {
         return location.substring(location.lastIndexOf(SLASH) + 1);
     }
 
+    /**
+     * Execute the given call asynchronously and map its response once received.
+     *
+     * @param call   The call to execute
+     * @param mapper The function to map the response with
+     * @param <T>    The type of the response body
+     * @param <R>    The type the response is mapped to
+     * @return A {@link CompletableFuture} completed with the mapped response or exceptionally if the call or the
+     * mapping failed
+     */
+    static <T, R> CompletableFuture<R> executeAsync(final Call<T> call, final ResponseMapper<T, R> mapper) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        call.enqueue(
+            new Callback<T>() {
+                @Override
+                public void onResponse(final Call<T> completedCall, final Response<T> response) {
+                    try {
+                        future.complete(mapper.map(response));
+                    } catch (final IOException | RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void onFailure(final Call<T> failedCall, final Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        );
+        return future;
+    }
+
+    /**
+     * Execute the given call asynchronously and return the response body. Unsuccessful responses are already mapped to
+     * a {@link GenieClientException} by the {@link ResponseMappingInterceptor}.
+     *
+     * @param call The call to execute
+     * @param <T>  The type of the response body
+     * @return A {@link CompletableFuture} completed with the response body or exceptionally if the call failed
+     */
+    static <T> CompletableFuture<T> executeAsync(final Call<T> call) {
+        return executeAsync(call, Response::body);
+    }
+
+    /**
+     * Fetch resources from a Genie batch API. The ids are split into as many requests as needed to stay within the
+     * number of ids the server accepts at once.
+     *
+     * @param ids          The ids of the resources to get
+     * @param batchRequest Function creating the call to fetch a batch of ids
+     * @param <T>          The type of the resources
+     * @return The resources in the order the server returned them for each batch
+     * @throws IOException          For network and other IO issues
+     * @throws GenieClientException If any of the responses is not 2xx
+     */
+    static <T> List<T> executeInBatches(
+        final List<String> ids,
+        final Function<List<String>, Call<List<T>>> batchRequest
+    ) throws IOException {
+        final List<T> resources = new ArrayList<>(ids.size());
+        for (final List<String> batch : Lists.partition(ids, MAX_BATCH_SIZE)) {
+            final List<T> body = batchRequest.apply(batch).execute().body();
+            if (body != null) {
+                resources.addAll(body);
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * Fetch resources keyed by id from a Genie batch API. The ids are split into as many requests as needed to stay
+     * within the number of ids the server accepts at once.
+     *
+     * @param ids          The ids to get the resources for
+     * @param batchRequest Function creating the call to fetch a batch of ids
+     * @param <T>          The type of the resources
+     * @return The resources keyed by id. Ids the server returned nothing for are omitted.
+     * @throws IOException          For network and other IO issues
+     * @throws GenieClientException If any of the responses is not 2xx
+     */
+    static <T> Map<String, T> executeMapInBatches(
+        final Set<String> ids,
+        final Function<List<String>, Call<Map<String, T>>> batchRequest
+    ) throws IOException {
+        final Map<String, T> resources = new LinkedHashMap<>();
+        for (final List<String> batch : Lists.partition(new ArrayList<>(ids), MAX_BATCH_SIZE)) {
+            final Map<String, T> body = batchRequest.apply(batch).execute().body();
+            if (body != null) {
+                resources.putAll(body);
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * Create a lazy {@link Stream} over all the results of a paginated Genie search API. Pages are requested as the
+     * stream is consumed and the next page is fetched in the background while the current one is being consumed.
+     *
+     * @param pageRequest     Function creating the call to fetch the given page number
+     * @param searchResultKey The JSON key the search result list is expected to exist under
+     * @param clazz           The expected response type to bind to
+     * @param <T>             The type of POJO to bind to
+     * @return A sequential {@link Stream} of {@literal T}. Closing it cancels any outstanding page request.
+     */
+    static <T> Stream<T> searchResultsStream(
+        final IntFunction<Call<JsonNode>> pageRequest,
+        final String searchResultKey,
+        final Class<T> clazz
+    ) {
+        final SearchResultsIterator<T> iterator = new SearchResultsIterator<>(pageRequest, searchResultKey, clazz);
+        return iterator.stream().onClose(iterator::cancel);
+    }
+
     /**
      * Given a response from a Genie search API parse the results from the list.
      *
@@ -145,15 +295,43 @@ final class GenieClientUtils {
         final String searchResultKey,
         final Class<T> clazz
     ) throws IOException {
+        return parseSearchResults(getSearchResponseBody(response), searchResultKey, clazz);
+    }
+
+    /**
+     * Get the body of a response from a Genie search API.
+     *
+     * @param response The response from the server
+     * @return The response JSON, if any
+     * @throws GenieClientException On unsuccessful query
+     */
+    @Nullable
+    static JsonNode getSearchResponseBody(final Response<JsonNode> response) throws GenieClientException {
         if (!response.isSuccessful()) {
             throw new GenieClientException(
                 "Search failed due to "
                     + (response.errorBody() == null ? response.message() : response.errorBody().toString())
             );
         }
+        return response.body();
+    }
 
+    /**
+     * Parse the results from the body of a successful response from a Genie search API.
+     *
+     * @param body            The response JSON from the server
+     * @param searchResultKey The JSON key the search result list is expected to exist under
+     * @param clazz           The expected response type to bind to
+     * @param <T>             The type of POJO to bind to
+     * @return A {@link List} of {@literal T} or empty if no results
+     * @throws IOException On error binding the results
+     */
+    static <T> List<T> parseSearchResults(
+        @Nullable final JsonNode body,
+        final String searchResultKey,
+        final Class<T> clazz
+    ) throws IOException {
         // Request returned some 2xx
-        final JsonNode body = response.body();
         if (body == null || body.getNodeType() != JsonNodeType.OBJECT) {
             return Lists.newArrayList();
         }
@@ -174,4 +352,46 @@ final class GenieClientUtils {
         }
         return searchList;
     }
+
+    /**
+     * Whether the page metadata in the body of a response from a Genie search API indicates there are more pages of
+     * results after this one.
+     *
+     * @param body The response JSON from the server
+     * @return {@literal true} if there is a next page. {@literal false} if not or if the response has no page metadata
+     */
+    static boolean hasNextPage(@Nullable final JsonNode body) {
+        if (body == null || body.getNodeType() != JsonNodeType.OBJECT) {
+            return false;
+        }
+        final JsonNode page = body.get(PAGE_KEY);
+        if (page == null || page.getNodeType() != JsonNodeType.OBJECT) {
+            return false;
+        }
+        final JsonNode number = page.get(PAGE_NUMBER_KEY);
+        final JsonNode totalPages = page.get(TOTAL_PAGES_KEY);
+        if (number == null || !number.canConvertToInt() || totalPages == null || !totalPages.canConvertToInt()) {
+            return false;
+        }
+        return number.asInt() + 1 < totalPages.asInt();
+    }
+
+    /**
+     * Maps a {@link Response} to a value, possibly failing with an {@link IOException}.
+     *
+     * @param <T> The type of the response body
+     * @param <R> The type the response is mapped to
+     */
+    @FunctionalInterface
+    interface ResponseMapper<T, R> {
+
+        /**
+         * Map the response.
+         *
+         * @param response The response received from the server
+         * @return The mapped value
+         * @throws IOException On error reading or binding the response
+         */
+        R map(Response<T> response) throws IOException;
+    }
 }
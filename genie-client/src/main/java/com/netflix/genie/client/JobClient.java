@@ -52,6 +52,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Client library for the Job Service.
@@ -343,6 +345,148 @@ public class JobClient {
         );
     }
 
+    /**
+     * Method to asynchronously get a list of jobs from Genie for the query parameters specified.
+     *
+     * @param id               id for job
+     * @param name             name of job (can be a SQL-style pattern such as HIVE%)
+     * @param user             user who submitted job
+     * @param statuses         statuses of jobs to find
+     * @param tags             tags for the job
+     * @param clusterName      the name of the cluster
+     * @param clusterId        the id of the cluster
+     * @param commandName      the name of the command run by the job
+     * @param commandId        the id of the command run by the job
+     * @param minStarted       The time which the job had to start after in order to be return (inclusive)
+     * @param maxStarted       The time which the job had to start before in order to be returned (exclusive)
+     * @param minFinished      The time which the job had to finish after in order to be return (inclusive)
+     * @param maxFinished      The time which the job had to finish before in order to be returned (exclusive)
+     * @param grouping         The grouping the job should be a member of
+     * @param groupingInstance The grouping instance the job should be a member of
+     * @param page             The page offset of the search results
+     * @param size             The number of search results per page
+     * @return A future completed with the list of jobs. Completed exceptionally with a {@link GenieClientException}
+     * if the response received is not 2xx or an {@link IOException} for network and other IO issues.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public CompletableFuture<List<JobSearchResult>> getJobsAsync(
+        @Nullable final String id,
+        @Nullable final String name,
+        @Nullable final String user,
+        @Nullable final Set<String> statuses,
+        @Nullable final Set<String> tags,
+        @Nullable final String clusterName,
+        @Nullable final String clusterId,
+        @Nullable final String commandName,
+        @Nullable final String commandId,
+        @Nullable final Long minStarted,
+        @Nullable final Long maxStarted,
+        @Nullable final Long minFinished,
+        @Nullable final Long maxFinished,
+        @Nullable final String grouping,
+        @Nullable final String groupingInstance,
+        @Nullable final Integer page,
+        @Nullable final Integer size
+    ) {
+        return GenieClientUtils.executeAsync(
+            this.jobService.getJobs(
+                id,
+                name,
+                user,
+                statuses,
+                tags,
+                clusterName,
+                clusterId,
+                commandName,
+                commandId,
+                minStarted,
+                maxStarted,
+                minFinished,
+                maxFinished,
+                grouping,
+                groupingInstance,
+                page,
+                size
+            ),
+            response -> GenieClientUtils.parseSearchResultsResponse(
+                response,
+                "jobSearchResultList",
+                JobSearchResult.class
+            )
+        );
+    }
+
+    /**
+     * Method to lazily get all the jobs from Genie matching the query parameters specified, one page at a time.
+     * The next page is fetched in the background while the current one is consumed, which makes this suitable for
+     * walking through large numbers of jobs without holding them all in memory.
+     *
+     * @param id               id for job
+     * @param name             name of job (can be a SQL-style pattern such as HIVE%)
+     * @param user             user who submitted job
+     * @param statuses         statuses of jobs to find
+     * @param tags             tags for the job
+     * @param clusterName      the name of the cluster
+     * @param clusterId        the id of the cluster
+     * @param commandName      the name of the command run by the job
+     * @param commandId        the id of the command run by the job
+     * @param minStarted       The time which the job had to start after in order to be return (inclusive)
+     * @param maxStarted       The time which the job had to start before in order to be returned (exclusive)
+     * @param minFinished      The time which the job had to finish after in order to be return (inclusive)
+     * @param maxFinished      The time which the job had to finish before in order to be returned (exclusive)
+     * @param grouping         The grouping the job should be a member of
+     * @param groupingInstance The grouping instance the job should be a member of
+     * @param pageSize         The number of jobs to fetch per request. Must be at least 1.
+     * @return A sequential stream of jobs. Consuming it throws an {@link java.io.UncheckedIOException} if a page
+     * can't be fetched. Should be closed if not fully consumed.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public Stream<JobSearchResult> getJobsStream(
+        @Nullable final String id,
+        @Nullable final String name,
+        @Nullable final String user,
+        @Nullable final Set<String> statuses,
+        @Nullable final Set<String> tags,
+        @Nullable final String clusterName,
+        @Nullable final String clusterId,
+        @Nullable final String commandName,
+        @Nullable final String commandId,
+        @Nullable final Long minStarted,
+        @Nullable final Long maxStarted,
+        @Nullable final Long minFinished,
+        @Nullable final Long maxFinished,
+        @Nullable final String grouping,
+        @Nullable final String groupingInstance,
+        final int pageSize
+    ) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+        return GenieClientUtils.searchResultsStream(
+            page -> this.jobService.getJobs(
+                id,
+                name,
+                user,
+                statuses,
+                tags,
+                clusterName,
+                clusterId,
+                commandName,
+                commandId,
+                minStarted,
+                maxStarted,
+                minFinished,
+                maxFinished,
+                grouping,
+                groupingInstance,
+                page,
+                pageSize
+            ),
+            "jobSearchResultList",
+            JobSearchResult.class
+        );
+    }
+
     /**
      * Method to get a job from Genie.
      *
@@ -360,6 +504,20 @@ public class JobClient {
         return jobService.getJob(jobId).execute().body();
     }
 
+    /**
+     * Method to asynchronously get a job from Genie.
+     *
+     * @param jobId The id of the job to get.
+     * @return A future completed with the job details. Completed exceptionally with a {@link GenieClientException}
+     * if the response received is not 2xx or an {@link IOException} for network and other IO issues.
+     */
+    public CompletableFuture<Job> getJobAsync(final String jobId) {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
+        }
+        return GenieClientUtils.executeAsync(this.jobService.getJob(jobId));
+    }
+
     /**
      * Method to get the cluster on which the job executes.
      *
@@ -460,6 +618,53 @@ public class JobClient {
         return jobService.getJobApplications(jobId).execute().body();
     }
 
+    /**
+     * Method to get the clusters on which several jobs execute. The ids are sent in as few requests as the server
+     * allows.
+     *
+     * @param jobIds The ids of the jobs.
+     * @return The cluster of each job keyed by job id. Jobs which haven't been assigned a cluster yet are omitted.
+     * @throws GenieClientException If the response received is not 2xx, e.g. if any of the jobs doesn't exist.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public Map<String, Cluster> getJobsClusters(
+        final Set<String> jobIds
+    ) throws IOException, GenieClientException {
+        checkJobIds(jobIds);
+        return GenieClientUtils.executeMapInBatches(jobIds, this.jobService::getJobsClusters);
+    }
+
+    /**
+     * Method to get the commands with which several jobs execute. The ids are sent in as few requests as the server
+     * allows.
+     *
+     * @param jobIds The ids of the jobs.
+     * @return The command of each job keyed by job id. Jobs which haven't been assigned a command yet are omitted.
+     * @throws GenieClientException If the response received is not 2xx, e.g. if any of the jobs doesn't exist.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public Map<String, Command> getJobsCommands(
+        final Set<String> jobIds
+    ) throws IOException, GenieClientException {
+        checkJobIds(jobIds);
+        return GenieClientUtils.executeMapInBatches(jobIds, this.jobService::getJobsCommands);
+    }
+
+    /**
+     * Method to get the Applications of several jobs. The ids are sent in as few requests as the server allows.
+     *
+     * @param jobIds The ids of the jobs.
+     * @return The list of Applications of each job keyed by job id.
+     * @throws GenieClientException If the response received is not 2xx, e.g. if any of the jobs doesn't exist.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public Map<String, List<Application>> getJobsApplications(
+        final Set<String> jobIds
+    ) throws IOException, GenieClientException {
+        checkJobIds(jobIds);
+        return GenieClientUtils.executeMapInBatches(jobIds, this.jobService::getJobsApplications);
+    }
+
     /**
      * Method to fetch the stdout of a job from Genie.
      *
@@ -529,19 +734,54 @@ public class JobClient {
         if (StringUtils.isEmpty(jobId)) {
             throw new IllegalArgumentException("Missing required parameter: jobId.");
         }
-        final JsonNode jsonNode = this.jobService.getJobStatus(jobId).execute().body();
-        if (jsonNode == null || jsonNode.getNodeType() != JsonNodeType.OBJECT) {
-            throw new GenieClientException("Unknown response from server: " + jsonNode);
+        return this.parseJobStatus(this.jobService.getJobStatus(jobId).execute().body());
+    }
+
+    /**
+     * Method to asynchronously get the status of a Job. Many status checks can be in flight at once, bounded by the
+     * dispatcher limits of the {@link GenieNetworkConfiguration}.
+     *
+     * @param jobId The id of the job.
+     * @return A future completed with the status of the job. Completed exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and other
+     * IO issues.
+     */
+    public CompletableFuture<JobStatus> getJobStatusAsync(final String jobId) {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
         }
-        try {
-            final JsonNode statusNode = jsonNode.get(STATUS);
-            if (statusNode == null || statusNode.getNodeType() != JsonNodeType.STRING) {
-                throw new GenieClientException("Unknown response format for status: " + statusNode);
-            }
-            return JobStatus.parse(statusNode.asText());
-        } catch (GeniePreconditionException ge) {
-            throw new GenieClientException(ge.getMessage());
+        return GenieClientUtils.executeAsync(
+            this.jobService.getJobStatus(jobId),
+            response -> this.parseJobStatus(response.body())
+        );
+    }
+
+    /**
+     * Method to wait for the status of a job to change from the one known to the caller.
+     * The server holds the request until the status changes or the timeout expires, which avoids repeatedly polling
+     * for a status that didn't change. The timeout should be shorter than the read timeout of the client.
+     *
+     * @param jobId       The id of the job.
+     * @param knownStatus The last status of the job known to the caller.
+     * @param timeout     The maximum time (in ms) to wait for a change.
+     * @return The status of the Job. Same as {@code knownStatus} if it didn't change before the timeout.
+     * @throws GenieClientException If the response recieved is not 2xx.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public JobStatus waitForJobStatusChange(
+        final String jobId,
+        final JobStatus knownStatus,
+        final long timeout
+    ) throws IOException, GenieClientException {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
         }
+        if (knownStatus == null) {
+            throw new IllegalArgumentException("Missing required parameter: knownStatus.");
+        }
+        return this.parseJobStatus(
+            this.jobService.watchJobStatus(jobId, knownStatus.toString(), timeout).execute().body()
+        );
     }
 
     /**
@@ -627,4 +867,89 @@ public class JobClient {
         final long pollTime = 10000L;
         return waitForCompletion(jobId, blockTimeout, pollTime);
     }
+
+    /**
+     * Wait for job to complete, until the given timeout.
+     * Unlike {@link #waitForCompletion(String, long, long)}, rather than polling at a fixed interval each request is
+     * held by the server until the job status changes (see {@link #waitForJobStatusChange(String, JobStatus, long)}),
+     * so completion is noticed as soon as it happens. Servers that don't support this answer immediately, in which
+     * case this falls back to polling every {@code watchTimeout} ms.
+     *
+     * @param jobId        the Genie job ID to wait for completion
+     * @param blockTimeout the time to block for (in ms), after which a
+     *                     GenieClientException will be thrown
+     * @param watchTimeout the maximum time (in ms) each request waits for a change, should be shorter than the read
+     *                     timeout of the client
+     * @return The job status for the job after completion
+     * @throws InterruptedException  on thread errors.
+     * @throws GenieClientException  If the response received is not 2xx.
+     * @throws IOException           For Network and other IO issues.
+     * @throws GenieTimeoutException If the job times out.
+     */
+    public JobStatus waitForCompletionWithStatusWatch(
+        final String jobId,
+        final long blockTimeout,
+        final long watchTimeout
+    ) throws GenieClientException, InterruptedException, IOException, GenieTimeoutException {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
+        }
+
+        final long startTime = System.currentTimeMillis();
+        int errorCount = 0;
+        JobStatus status = null;
+
+        while (true) {
+            final long requestStartTime = System.currentTimeMillis();
+            try {
+                status = status == null
+                    ? this.getJobStatus(jobId)
+                    : this.waitForJobStatusChange(jobId, status, watchTimeout);
+
+                if (status.isFinished()) {
+                    return status;
+                }
+
+                // reset the error count
+                errorCount = 0;
+            } catch (final IOException ioe) {
+                errorCount++;
+                // Ignore for 5 times in a row
+                if (errorCount >= this.maxStatusRetries) {
+                    throw ioe;
+                }
+            }
+
+            final long elapsed = System.currentTimeMillis() - startTime;
+            if (elapsed >= blockTimeout) {
+                throw new GenieTimeoutException("Timed out waiting for job to finish: " + jobId);
+            }
+            // Don't spin if the server answered right away without a change (or failed)
+            final long requestTime = System.currentTimeMillis() - requestStartTime;
+            if (requestTime < watchTimeout) {
+                Thread.sleep(Math.min(watchTimeout - requestTime, blockTimeout - elapsed));
+            }
+        }
+    }
+
+    private JobStatus parseJobStatus(@Nullable final JsonNode jsonNode) throws GenieClientException {
+        if (jsonNode == null || jsonNode.getNodeType() != JsonNodeType.OBJECT) {
+            throw new GenieClientException("Unknown response from server: " + jsonNode);
+        }
+        try {
+            final JsonNode statusNode = jsonNode.get(STATUS);
+            if (statusNode == null || statusNode.getNodeType() != JsonNodeType.STRING) {
+                throw new GenieClientException("Unknown response format for status: " + statusNode);
+            }
+            return JobStatus.parse(statusNode.asText());
+        } catch (GeniePreconditionException ge) {
+            throw new GenieClientException(ge.getMessage());
+        }
+    }
+
+    private static void checkJobIds(@Nullable final Set<String> jobIds) {
+        if (jobIds == null || jobIds.stream().anyMatch(StringUtils::isEmpty)) {
+            throw new IllegalArgumentException("Job ids cannot be null or empty");
+        }
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import retrofit2.Call;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An {@link Iterator} over all the results of a paginated Genie search API.
+ * <p>
+ * Pages are requested lazily. As soon as a page is received the request for the following page, if any, is sent
+ * asynchronously so that it is likely available by the time the current page has been consumed. At most one page
+ * request is outstanding at any time.
+ * <p>
+ * Pages are requested by number, so results created or modified while iterating may be skipped or returned twice.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <T> The type of the search results
+ * @author agent
+ * @since 4.0.0
+ */
+class SearchResultsIterator<T> implements Iterator<T> {
+
+    private final IntFunction<Call<JsonNode>> pageRequest;
+    private final String searchResultKey;
+    private final Class<T> clazz;
+
+    private Iterator<T> currentPage = Collections.emptyIterator();
+    private int nextPageNumber;
+    @Nullable
+    private Call<JsonNode> nextPageCall;
+    @Nullable
+    private CompletableFuture<JsonNode> nextPage;
+
+    /**
+     * Constructor. Sends the request for the first page.
+     *
+     * @param pageRequest     Function creating the call to fetch the given page number
+     * @param searchResultKey The JSON key the search result list is expected to exist under
+     * @param clazz           The expected response type to bind to
+     */
+    SearchResultsIterator(
+        final IntFunction<Call<JsonNode>> pageRequest,
+        final String searchResultKey,
+        final Class<T> clazz
+    ) {
+        this.pageRequest = pageRequest;
+        this.searchResultKey = searchResultKey;
+        this.clazz = clazz;
+        this.requestNextPage();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException If a page of results could not be fetched or parsed
+     */
+    @Override
+    public boolean hasNext() {
+        while (!this.currentPage.hasNext()) {
+            if (this.nextPage == null) {
+                return false;
+            }
+            final JsonNode body = this.awaitNextPage();
+            final List<T> results;
+            try {
+                results = GenieClientUtils.parseSearchResults(body, this.searchResultKey, this.clazz);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!results.isEmpty() && GenieClientUtils.hasNextPage(body)) {
+                this.requestNextPage();
+            }
+            this.currentPage = results.iterator();
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException If a page of results could not be fetched or parsed
+     */
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.currentPage.next();
+    }
+
+    /**
+     * Cancel the outstanding page request, if any. The iterator returns no further pages afterwards.
+     */
+    void cancel() {
+        if (this.nextPageCall != null) {
+            this.nextPageCall.cancel();
+            this.nextPageCall = null;
+        }
+        this.nextPage = null;
+    }
+
+    /**
+     * Get a sequential {@link Stream} backed by this iterator.
+     *
+     * @return The stream
+     */
+    Stream<T> stream() {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false
+        );
+    }
+
+    private void requestNextPage() {
+        final Call<JsonNode> call = this.pageRequest.apply(this.nextPageNumber++);
+        this.nextPageCall = call;
+        this.nextPage = GenieClientUtils.executeAsync(call, GenieClientUtils::getSearchResponseBody);
+    }
+
+    @Nullable
+    private JsonNode awaitNextPage() {
+        final CompletableFuture<JsonNode> page = this.nextPage;
+        this.nextPage = null;
+        this.nextPageCall = null;
+        try {
+            return page.join();
+        } catch (final CompletionException | CancellationException e) {
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new UncheckedIOException(new IOException("Failed to fetch page of search results", cause));
+            }
+        }
+    }
+}
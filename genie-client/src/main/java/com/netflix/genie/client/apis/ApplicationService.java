@@ -87,6 +87,29 @@ public interface ApplicationService {
         @Query("type") String type
     );
 
+    /**
+     * Method to get a page of applications from Genie.
+     *
+     * @param name       The name of the commands.
+     * @param user       The user who created the command.
+     * @param statusList The list of Command statuses.
+     * @param tagList    The list of tags.
+     * @param type       The type of the application.
+     * @param page       The page offset of the search results
+     * @param size       The number of search results per page
+     * @return A callable object.
+     */
+    @GET(APPLICATION_URL_SUFFIX)
+    Call<JsonNode> getApplications(
+        @Query("name") String name,
+        @Query("user") String user,
+        @Query("status") List<String> statusList,
+        @Query("tag") List<String> tagList,
+        @Query("type") String type,
+        @Query("page") Integer page,
+        @Query("size") Integer size
+    );
+
     /**
      * Method to fetch a single job from Genie.
      *
@@ -96,6 +119,15 @@ public interface ApplicationService {
     @GET(APPLICATION_URL_SUFFIX + "/{id}")
     Call<Application> getApplication(@Path("id") String applicationId);
 
+    /**
+     * Method to get several applications from Genie in a single request.
+     *
+     * @param applicationIds The ids of the applications to get.
+     * @return A callable object.
+     */
+    @GET(APPLICATION_URL_SUFFIX + "/batch")
+    Call<List<Application>> getApplicationsById(@Query("id") List<String> applicationIds);
+
     /**
      * Method to delete a application in Genie.
      *
@@ -87,6 +87,29 @@ public interface ClusterService {
         @Query("maxUpdateTime") Long maxUpdateTime
     );
 
+    /**
+     * Method to get a page of clusters from Genie based on filters specified.
+     *
+     * @param name          The name of the cluster.
+     * @param statusList    The list of statuses.
+     * @param tagList       The list of tags.
+     * @param minUpdateTime Minimum Time after which cluster was updated.
+     * @param maxUpdateTime Maximum Time before which cluster was updated.
+     * @param page          The page offset of the search results
+     * @param size          The number of search results per page
+     * @return A callable object.
+     */
+    @GET(CLUSTER_URL_SUFFIX)
+    Call<JsonNode> getClusters(
+        @Query("name") String name,
+        @Query("status") List<String> statusList,
+        @Query("tag") List<String> tagList,
+        @Query("minUpdateTime") Long minUpdateTime,
+        @Query("maxUpdateTime") Long maxUpdateTime,
+        @Query("page") Integer page,
+        @Query("size") Integer size
+    );
+
     /**
      *  getClusters(
      @RequestParam(value = "name", required = false) String name,
@@ -109,6 +132,15 @@ public interface ClusterService {
     @GET(CLUSTER_URL_SUFFIX + "/{id}")
     Call<Cluster> getCluster(@Path("id") String clusterId);
 
+    /**
+     * Method to get several clusters from Genie in a single request.
+     *
+     * @param clusterIds The ids of the clusters to get.
+     * @return A callable object.
+     */
+    @GET(CLUSTER_URL_SUFFIX + "/batch")
+    Call<List<Cluster>> getClustersById(@Query("id") List<String> clusterIds);
+
     /**
      * Method to delete a cluster in Genie.
      *
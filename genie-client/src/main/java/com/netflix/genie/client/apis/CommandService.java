@@ -86,6 +86,27 @@ public interface CommandService {
         @Query("tag") List<String> tagList
     );
 
+    /**
+     * Method to get a page of commands from Genie filtered based on query params.
+     *
+     * @param name       The name of the commands.
+     * @param user       The user who created the command.
+     * @param statusList The list of Command statuses.
+     * @param tagList    The list of tags.
+     * @param page       The page offset of the search results
+     * @param size       The number of search results per page
+     * @return A callable object.
+     */
+    @GET(COMMAND_URL_SUFFIX)
+    Call<JsonNode> getCommands(
+        @Query("name") String name,
+        @Query("user") String user,
+        @Query("status") List<String> statusList,
+        @Query("tag") List<String> tagList,
+        @Query("page") Integer page,
+        @Query("size") Integer size
+    );
+
     /**
      * Method to fetch a single job from Genie.
      *
@@ -95,6 +116,15 @@ public interface CommandService {
     @GET(COMMAND_URL_SUFFIX + "/{id}")
     Call<Command> getCommand(@Path("id") String commandId);
 
+    /**
+     * Method to get several commands from Genie in a single request.
+     *
+     * @param commandIds The ids of the commands to get.
+     * @return A callable object.
+     */
+    @GET(COMMAND_URL_SUFFIX + "/batch")
+    Call<List<Command>> getCommandsById(@Query("id") List<String> commandIds);
+
     /**
      * Method to delete a command in Genie.
      *
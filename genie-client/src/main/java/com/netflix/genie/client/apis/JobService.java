@@ -39,6 +39,7 @@ import retrofit2.http.Query;
 import retrofit2.http.Streaming;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -156,6 +157,22 @@ public interface JobService {
     @GET(JOBS_URL_SUFFIX + "/{id}/status")
     Call<JsonNode> getJobStatus(@Path("id") String jobId);
 
+    /**
+     * Method to wait for the status of a job to change.
+     * The server holds the request until the status differs from the given one or the timeout expires.
+     *
+     * @param jobId       The id of the job whose status is desired.
+     * @param knownStatus The last status of the job known to the caller.
+     * @param timeout     The maximum time (in ms) the server should hold the request.
+     * @return A callable object.
+     */
+    @GET(JOBS_URL_SUFFIX + "/{id}/status")
+    Call<JsonNode> watchJobStatus(
+        @Path("id") String jobId,
+        @Query("waitForChangeFrom") String knownStatus,
+        @Query("timeout") long timeout
+    );
+
     /**
      * Method to get the cluster information on which a job is run.
      *
@@ -210,6 +227,33 @@ public interface JobService {
     @GET(JOBS_URL_SUFFIX + "/{id}/applications")
     Call<List<Application>> getJobApplications(@Path("id") String jobId);
 
+    /**
+     * Method to get the clusters of several jobs in a single request.
+     *
+     * @param jobIds The ids of the jobs.
+     * @return A callable object.
+     */
+    @GET(JOBS_URL_SUFFIX + "/batch/cluster")
+    Call<Map<String, Cluster>> getJobsClusters(@Query("id") List<String> jobIds);
+
+    /**
+     * Method to get the commands of several jobs in a single request.
+     *
+     * @param jobIds The ids of the jobs.
+     * @return A callable object.
+     */
+    @GET(JOBS_URL_SUFFIX + "/batch/command")
+    Call<Map<String, Command>> getJobsCommands(@Query("id") List<String> jobIds);
+
+    /**
+     * Method to get the Applications of several jobs in a single request.
+     *
+     * @param jobIds The ids of the jobs.
+     * @return A callable object.
+     */
+    @GET(JOBS_URL_SUFFIX + "/batch/applications")
+    Call<Map<String, List<Application>>> getJobsApplications(@Query("id") List<String> jobIds);
+
     /**
      * Method to send a job kill request to Genie.
      *
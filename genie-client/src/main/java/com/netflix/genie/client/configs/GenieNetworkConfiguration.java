@@ -20,6 +20,9 @@ package com.netflix.genie.client.configs;
 import lombok.Getter;
 import lombok.Setter;
 
+import javax.annotation.Nullable;
+import java.io.File;
+
 /**
  * An object that encapsulates network configurations for Genie client HTTP requests.
  *
@@ -40,6 +43,31 @@ public class GenieNetworkConfiguration {
      */
     public static final int DEFAULT_NUM_RETRIES = 5;
 
+    /**
+     * The default maximum number of requests executed concurrently by the client. Same as the OkHttp default.
+     */
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+
+    /**
+     * The default maximum number of requests executed concurrently against a single host. Same as the OkHttp default.
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+    /**
+     * The default maximum number of idle connections kept in the pool. Same as the OkHttp default.
+     */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+    /**
+     * The default time in milliseconds idle connections are kept in the pool. Same as the OkHttp default.
+     */
+    public static final long DEFAULT_KEEP_ALIVE_DURATION = 300_000L;
+
+    /**
+     * The default maximum size in bytes of the response cache.
+     */
+    public static final long DEFAULT_CACHE_MAX_SIZE = 10L * 1024L * 1024L;
+
     // The default read timeout for new connections.
     private long readTimeout = DEFAULT_TIMEOUT;
 
@@ -54,4 +82,24 @@ public class GenieNetworkConfiguration {
 
     // The number of times to retry checks for job status within wait for completion
     private int maxStatusRetries = DEFAULT_NUM_RETRIES;
+
+    // The maximum number of requests, including asynchronous ones, executed concurrently
+    private int maxRequests = DEFAULT_MAX_REQUESTS;
+
+    // The maximum number of requests, including asynchronous ones, executed concurrently against a single host
+    private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    // The maximum number of idle connections kept in the connection pool
+    private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+
+    // The time in milliseconds idle connections are kept in the connection pool before being evicted
+    private long keepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION;
+
+    // The directory to cache responses in. Cached responses are revalidated with the server using their entity tags.
+    // No responses are cached if not set.
+    @Nullable
+    private File cacheDirectory;
+
+    // The maximum size in bytes of the response cache
+    private long cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
 }
@@ -18,10 +18,12 @@
 package com.netflix.genie.client
 
 import com.fasterxml.jackson.databind.JsonNode
+import com.netflix.genie.client.configs.GenieNetworkConfiguration
 import com.netflix.genie.client.exceptions.GenieClientException
 import com.netflix.genie.common.dto.JobStatus
 import com.netflix.genie.common.dto.search.JobSearchResult
 import com.netflix.genie.common.external.util.GenieObjectMapper
+import okhttp3.OkHttpClient
 import okhttp3.ResponseBody
 import retrofit2.Response
 import spock.lang.Specification
@@ -66,4 +68,44 @@ class GenieClientUtilsSpec extends Specification {
         then:
         thrown(GenieClientException)
     }
+
+    @Unroll
+    def "#body has next page #expected"() {
+        expect:
+        GenieClientUtils.hasNextPage(GenieObjectMapper.getMapper().readTree(body)) == expected
+
+        where:
+        body                                                    | expected
+        "[]"                                                    | false
+        "{}"                                                    | false
+        "{\"page\": []}"                                        | false
+        "{\"page\": {\"number\": 0}}"                           | false
+        "{\"page\": {\"number\": \"a\", \"totalPages\": 2}}"    | false
+        "{\"page\": {\"number\": 0, \"totalPages\": 0}}"        | false
+        "{\"page\": {\"number\": 0, \"totalPages\": 1}}"        | false
+        "{\"page\": {\"number\": 0, \"totalPages\": 2}}"        | true
+        "{\"page\": {\"number\": 1, \"totalPages\": 2}}"        | false
+    }
+
+    def "Network configuration limits are applied to the HTTP client"() {
+        setup:
+        def configuration = new GenieNetworkConfiguration()
+        configuration.setMaxRequests(128)
+        configuration.setMaxRequestsPerHost(32)
+
+        when:
+        def retrofit = GenieClientUtils.createRetrofitInstance("http://genie.example.com", null, configuration)
+        def client = (OkHttpClient) retrofit.callFactory()
+
+        then:
+        client.dispatcher().getMaxRequests() == 128
+        client.dispatcher().getMaxRequestsPerHost() == 32
+        client.connectionPool() != null
+
+        when:
+        GenieClientUtils.createRetrofitInstance(" ", null, configuration)
+
+        then:
+        thrown(GenieClientException)
+    }
 }
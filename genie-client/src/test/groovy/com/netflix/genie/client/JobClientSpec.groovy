@@ -17,6 +17,8 @@
  */
 package com.netflix.genie.client
 
+import com.netflix.genie.client.exceptions.GenieClientException
+import com.netflix.genie.common.dto.JobStatus
 import com.netflix.genie.common.external.util.GenieObjectMapper
 import okhttp3.OkHttpClient
 import okhttp3.mockwebserver.MockResponse
@@ -26,6 +28,9 @@ import retrofit2.converter.jackson.JacksonConverterFactory
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.CompletionException
+import java.util.stream.Collectors
+
 /**
  * Specifications for {@link JobClient}.
  *
@@ -67,4 +72,189 @@ class JobClientSpec extends Specification {
         "{\"_embedded\": {\"jobSearchResultList\": {}}}" | _
         "{\"_embedded\": {\"jobSearchResultList\": []}}" | _
     }
+
+    def "Can wait for job completion with status watch"() {
+        setup:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().setBody("{\"status\": \"INIT\"}"))
+        server.enqueue(new MockResponse().setBody("{\"status\": \"RUNNING\"}"))
+        server.enqueue(new MockResponse().setBody("{\"status\": \"SUCCEEDED\"}"))
+        server.start()
+        def url = server.url("")
+        def okHttpClient = new OkHttpClient.Builder().build()
+        def retrofit = new Retrofit.Builder()
+            .baseUrl(url)
+            .client(okHttpClient)
+            .addConverterFactory(JacksonConverterFactory.create(GenieObjectMapper.getMapper()))
+            .build()
+        def jobClient = new JobClient(retrofit, 5)
+
+        when:
+        def status = jobClient.waitForCompletionWithStatusWatch("foo", 10_000L, 1L)
+
+        then:
+        status == JobStatus.SUCCEEDED
+        server.getRequestCount() == 3
+        server.takeRequest().getPath() == "/api/v3/jobs/foo/status"
+        server.takeRequest().getPath() == "/api/v3/jobs/foo/status?waitForChangeFrom=INIT&timeout=1"
+        server.takeRequest().getPath() == "/api/v3/jobs/foo/status?waitForChangeFrom=RUNNING&timeout=1"
+
+        cleanup:
+        server.shutdown()
+    }
+
+    def "Can get job statuses asynchronously"() {
+        setup:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().setBody("{\"status\": \"RUNNING\"}"))
+        server.enqueue(new MockResponse().setBody("{\"status\": \"RUNNING\"}"))
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"message\": \"No job\"}"))
+        server.start()
+        def jobClient = new JobClient(createRetrofit(server), 5)
+
+        when:
+        def futures = ["foo", "bar", "baz"].collect { jobClient.getJobStatusAsync(it) }
+
+        then:
+        futures.size() == 3
+        server.takeRequest().getPath().startsWith("/api/v3/jobs/")
+        server.takeRequest().getPath().startsWith("/api/v3/jobs/")
+        server.takeRequest().getPath().startsWith("/api/v3/jobs/")
+
+        when:
+        def results = futures.collect {
+            try {
+                return it.join()
+            } catch (final CompletionException e) {
+                return e.getCause()
+            }
+        }
+
+        then:
+        results.count { it == JobStatus.RUNNING } == 2
+        results.count { it instanceof GenieClientException && it.getErrorCode() == 404 } == 1
+
+        cleanup:
+        server.shutdown()
+    }
+
+    def "Can stream jobs across pages"() {
+        setup:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().setBody(createJobsPage(["1", "2"], 0, 2)))
+        server.enqueue(new MockResponse().setBody(createJobsPage(["3"], 1, 2)))
+        server.start()
+        def jobClient = new JobClient(createRetrofit(server), 5)
+
+        when:
+        def stream = jobClient.getJobsStream(
+            null,
+            null,
+            "tgianos",
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            2
+        )
+
+        then: "The first page is requested eagerly"
+        server.takeRequest().getPath() == "/api/v3/jobs?user=tgianos&page=0&size=2"
+
+        when:
+        def ids = stream.map { it.getId() }.collect(Collectors.toList())
+        stream.close()
+
+        then: "The second page is requested and all results are returned in order"
+        ids == ["1", "2", "3"]
+        server.getRequestCount() == 2
+        server.takeRequest().getPath() == "/api/v3/jobs?user=tgianos&page=1&size=2"
+
+        cleanup:
+        server.shutdown()
+    }
+
+    def "Streaming jobs stops at an empty page and rejects invalid page sizes"() {
+        setup:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().setBody("{}"))
+        server.start()
+        def jobClient = new JobClient(createRetrofit(server), 5)
+
+        when:
+        def count = jobClient.getJobsStream(
+            null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, 10
+        ).count()
+
+        then:
+        count == 0
+        server.getRequestCount() == 1
+
+        when:
+        jobClient.getJobsStream(
+            null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, 0
+        )
+
+        then:
+        thrown(IllegalArgumentException)
+
+        cleanup:
+        server.shutdown()
+    }
+
+    def "Can get the applications of many jobs in batches"() {
+        setup:
+        def server = new MockWebServer()
+        server.enqueue(new MockResponse().setBody("{\"job0\": [], \"job1\": []}"))
+        server.enqueue(new MockResponse().setBody("{\"job149\": []}"))
+        server.start()
+        def jobClient = new JobClient(createRetrofit(server), 5)
+        def jobIds = (0..<150).collect { "job" + it }.toSet()
+
+        when:
+        def applications = jobClient.getJobsApplications(jobIds)
+
+        then:
+        applications.keySet() == ["job0", "job1", "job149"].toSet()
+        applications.values().every { it.isEmpty() }
+        server.getRequestCount() == 2
+        def firstBatch = server.takeRequest().getRequestUrl()
+        firstBatch.encodedPath() == "/api/v3/jobs/batch/applications"
+        firstBatch.queryParameterValues("id").size() == GenieClientUtils.MAX_BATCH_SIZE
+        def secondBatch = server.takeRequest().getRequestUrl()
+        secondBatch.queryParameterValues("id").size() == 150 - GenieClientUtils.MAX_BATCH_SIZE
+        (firstBatch.queryParameterValues("id") + secondBatch.queryParameterValues("id")).toSet() == jobIds
+
+        when:
+        jobClient.getJobsApplications(["job0", ""].toSet())
+
+        then:
+        thrown(IllegalArgumentException)
+        server.getRequestCount() == 2
+
+        cleanup:
+        server.shutdown()
+    }
+
+    private static Retrofit createRetrofit(final MockWebServer server) {
+        return GenieClientUtils.createRetrofitInstance(server.url("").toString(), null, null)
+    }
+
+    private static String createJobsPage(final List<String> ids, final int number, final int totalPages) {
+        def jobs = ids.collect {
+            "{\"id\":\"" + it + "\",\"name\":\"testJob\",\"user\":\"tgianos\",\"status\":\"SUCCEEDED\"," +
+                "\"started\":\"1970-01-01T00:00:50Z\",\"finished\":\"1970-01-01T00:00:52Z\"}"
+        }
+        return "{\"_embedded\": {\"jobSearchResultList\": [" + jobs.join(",") + "]}, " +
+            "\"page\": {\"size\": 2, \"totalElements\": 3, \"totalPages\": " + totalPages +
+            ", \"number\": " + number + "}}"
+    }
 }
@@ -37,6 +37,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import javax.annotation.Nullable;
 import java.util.Collections;
@@ -44,6 +45,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 
 /**
  * An {@link AmazonS3} client factory class. Given {@link AmazonS3URI} instances and the configuration of the system
@@ -57,12 +59,16 @@ public class S3ClientFactory {
 
     @VisibleForTesting
     static final String BUCKET_PROPERTIES_ROOT_KEY = "genie.aws.s3.buckets";
+    @VisibleForTesting
+    static final String TRANSFER_MANAGER_PROPERTIES_ROOT_KEY = "genie.aws.s3.transfer-manager";
+    private static final String TRANSFER_MANAGER_THREAD_NAME_PREFIX = "genie-s3-transfer-manager-";
 
     private final AWSCredentialsProvider awsCredentialsProvider;
     private final Map<String, S3ClientKey> bucketToClientKey;
     private final ConcurrentHashMap<S3ClientKey, AmazonS3> clientCache;
     private final ConcurrentHashMap<AmazonS3, TransferManager> transferManagerCache;
     private final Map<String, BucketProperties> bucketProperties;
+    private final TransferManagerProperties transferManagerProperties;
     private final AWSSecurityTokenService stsClient;
     private final Regions defaultRegion;
 
@@ -101,6 +107,15 @@ public class S3ClientFactory {
             )
             .orElse(Collections.emptyMap());
 
+        // The settings used for all the transfer managers, e.g. genie.aws.s3.transfer-manager.max-threads = 20
+        this.transferManagerProperties = Binder
+            .get(environment)
+            .bind(
+                TRANSFER_MANAGER_PROPERTIES_ROOT_KEY,
+                Bindable.of(TransferManagerProperties.class)
+            )
+            .orElseGet(TransferManagerProperties::new);
+
         // Set the initial size to the number of special cases defined in properties + 1 for the default client
         // NOTE: Should we proactively create all necessary clients or be lazy about it? For now, lazy.
         final int initialCapacity = this.bucketProperties.size() + 1;
@@ -226,8 +241,19 @@ public class S3ClientFactory {
     }
 
     private TransferManager buildTransferManager(final AmazonS3 s3Client) {
-        // TODO: Perhaps want to supply more options?
-        return TransferManagerBuilder.standard().withS3Client(s3Client).build();
+        final int maxThreads = this.transferManagerProperties.getMaxThreads();
+        return TransferManagerBuilder
+            .standard()
+            .withS3Client(s3Client)
+            .withExecutorFactory(
+                () -> Executors.newFixedThreadPool(
+                    maxThreads,
+                    new CustomizableThreadFactory(TRANSFER_MANAGER_THREAD_NAME_PREFIX)
+                )
+            )
+            .withMultipartUploadThreshold(this.transferManagerProperties.getMultipartUploadThreshold().toBytes())
+            .withMinimumUploadPartSize(this.transferManagerProperties.getMinimumUploadPartSize().toBytes())
+            .build();
     }
 
     /**
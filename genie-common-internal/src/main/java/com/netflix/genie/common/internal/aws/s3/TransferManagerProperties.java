@@ -0,0 +1,61 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.aws.s3;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A property class which holds the settings used to build the S3
+ * {@link com.amazonaws.services.s3.transfer.TransferManager} instances.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Validated
+@Getter
+@Setter
+@EqualsAndHashCode(doNotUseGetters = true)
+@ToString(doNotUseGetters = true)
+public class TransferManagerProperties {
+
+    /**
+     * Maximum number of threads used by each transfer manager to upload files and parts concurrently.
+     */
+    @Min(1)
+    private int maxThreads = 10;
+
+    /**
+     * Size above which uploads are split in multiple parts uploaded in parallel.
+     */
+    @NotNull
+    private DataSize multipartUploadThreshold = DataSize.ofMegabytes(16);
+
+    /**
+     * Minimum size of each part of a multipart upload.
+     */
+    @NotNull
+    private DataSize minimumUploadPartSize = DataSize.ofMegabytes(8);
+}
@@ -25,6 +25,7 @@ import com.amazonaws.regions.Regions;
 import com.netflix.genie.common.internal.aws.s3.S3ClientFactory;
 import com.netflix.genie.common.internal.aws.s3.S3ProtocolResolver;
 import com.netflix.genie.common.internal.aws.s3.S3ProtocolResolverRegistrar;
+import com.netflix.genie.common.internal.properties.JobArchiverProperties;
 import com.netflix.genie.common.internal.services.JobArchiver;
 import com.netflix.genie.common.internal.services.impl.S3JobArchiverImpl;
 import lombok.extern.slf4j.Slf4j;
@@ -57,7 +58,11 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  * @since 4.0.0
  */
 @Configuration
-@EnableConfigurationProperties
+@EnableConfigurationProperties(
+    {
+        JobArchiverProperties.class
+    }
+)
 @AutoConfigureAfter(
     {
         ContextCredentialsAutoConfiguration.class,
@@ -197,12 +202,16 @@ public class AwsAutoConfiguration {
      * Provide an implementation of {@link JobArchiver} to handle archiving
      * to S3.
      *
-     * @param s3ClientFactory The factory for creating S3 clients
+     * @param s3ClientFactory       The factory for creating S3 clients
+     * @param jobArchiverProperties The archiver properties
      * @return A {@link S3JobArchiverImpl} instance
      */
     @Bean
     @Order(S3_JOB_ARCHIVER_PRECEDENCE)
-    public S3JobArchiverImpl s3JobArchiver(final S3ClientFactory s3ClientFactory) {
-        return new S3JobArchiverImpl(s3ClientFactory);
+    public S3JobArchiverImpl s3JobArchiver(
+        final S3ClientFactory s3ClientFactory,
+        final JobArchiverProperties jobArchiverProperties
+    ) {
+        return new S3JobArchiverImpl(s3ClientFactory, jobArchiverProperties);
     }
 }
@@ -20,6 +20,8 @@ package com.netflix.genie.common.internal.configs;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.netflix.genie.common.internal.dtos.DirectoryManifest;
+import com.netflix.genie.common.internal.properties.DirectoryManifestProperties;
+import com.netflix.genie.common.internal.properties.JobArchiverProperties;
 import com.netflix.genie.common.internal.properties.RegexDirectoryManifestProperties;
 import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.internal.services.JobArchiver;
@@ -38,6 +40,7 @@ import org.springframework.core.annotation.Order;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -49,7 +52,9 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 @EnableConfigurationProperties(
     {
-        RegexDirectoryManifestProperties.class
+        RegexDirectoryManifestProperties.class,
+        DirectoryManifestProperties.class,
+        JobArchiverProperties.class
     }
 )
 public class CommonServicesAutoConfiguration {
@@ -64,12 +69,13 @@ public class CommonServicesAutoConfiguration {
     /**
      * Provide a {@link JobArchiver} implementation that will copy from one place on the filesystem to another.
      *
+     * @param jobArchiverProperties The archiver properties
      * @return A {@link FileSystemJobArchiverImpl} instance
      */
     @Bean
     @Order(FILE_SYSTEM_JOB_ARCHIVER_PRECEDENCE)
-    public FileSystemJobArchiverImpl fileSystemJobArchiver() {
-        return new FileSystemJobArchiverImpl();
+    public FileSystemJobArchiverImpl fileSystemJobArchiver(final JobArchiverProperties jobArchiverProperties) {
+        return new FileSystemJobArchiverImpl(jobArchiverProperties);
     }
 
     /**
@@ -120,18 +126,39 @@ public class CommonServicesAutoConfiguration {
             .build();
     }
 
+    /**
+     * Provide a {@link ForkJoinPool} named "directoryManifestForkJoinPool" used to compute manifest entries in parallel,
+     * if no override is defined. The pool is shut down when the context is closed.
+     *
+     * @param directoryManifestProperties the properties controlling how file entries are computed
+     * @return a {@link ForkJoinPool}
+     */
+    @Bean(name = "directoryManifestForkJoinPool", destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "directoryManifestForkJoinPool")
+    public ForkJoinPool directoryManifestForkJoinPool(final DirectoryManifestProperties directoryManifestProperties) {
+        return new ForkJoinPool(directoryManifestProperties.getParallelism());
+    }
+
     /**
      * Provide a {@link DirectoryManifest.Factory} if no override is defined.
      *
-     * @param directoryManifestFilter the filter used during manifest creation
+     * @param directoryManifestFilter       the filter used during manifest creation
+     * @param directoryManifestProperties   the properties controlling how file entries are computed
+     * @param directoryManifestForkJoinPool the pool used to compute file entries
      * @return a directory manifest factory
      */
     @Bean
     @ConditionalOnMissingBean(DirectoryManifest.Factory.class)
     public DirectoryManifest.Factory directoryManifestFactory(
-        final DirectoryManifest.Filter directoryManifestFilter
+        final DirectoryManifest.Filter directoryManifestFilter,
+        final DirectoryManifestProperties directoryManifestProperties,
+        @Qualifier("directoryManifestForkJoinPool") final ForkJoinPool directoryManifestForkJoinPool
     ) {
-        return new DirectoryManifest.Factory(directoryManifestFilter);
+        return new DirectoryManifest.Factory(
+            directoryManifestFilter,
+            directoryManifestForkJoinPool,
+            directoryManifestProperties.isFastChecksumEnabled()
+        );
     }
 
     /**
@@ -23,12 +23,18 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.tika.config.TikaConfig;
@@ -40,7 +46,9 @@ import org.apache.tika.mime.MediaType;
 import javax.annotation.Nullable;
 import javax.validation.constraints.Min;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystemLoopException;
@@ -52,11 +60,15 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A manifest of all the files and subdirectories in a directory.
@@ -80,18 +92,30 @@ public class DirectoryManifest {
     private DirectoryManifest(
         final Path directory,
         final boolean calculateFileChecksums,
-        final Filter filter
+        final boolean calculateFastFileChecksums,
+        final Filter filter,
+        final ForkJoinPool fileAnalysisPool
     ) throws IOException {
-        // Walk the directory
-        final ImmutableMap.Builder<String, ManifestEntry> builder = ImmutableMap.builder();
+        // Walk the directory. File entries are completed asynchronously in the pool since checksum and mime type
+        // detection need to read the file contents.
+        final List<CompletableFuture<ManifestEntry>> pendingEntries = Lists.newArrayList();
         final ManifestVisitor manifestVisitor = new ManifestVisitor(
             directory,
-            builder,
+            pendingEntries,
             calculateFileChecksums,
-            filter
+            calculateFastFileChecksums,
+            filter,
+            fileAnalysisPool
         );
         final EnumSet<FileVisitOption> options = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
         Files.walkFileTree(directory, options, Integer.MAX_VALUE, manifestVisitor);
+
+        // Collect the entries in the order they were visited
+        final ImmutableMap.Builder<String, ManifestEntry> builder = ImmutableMap.builder();
+        for (final CompletableFuture<ManifestEntry> pendingEntry : pendingEntries) {
+            final ManifestEntry entry = pendingEntry.join();
+            builder.put(entry.getPath(), entry);
+        }
         this.entries = builder.build();
 
         final ImmutableSet.Builder<ManifestEntry> filesBuilder = ImmutableSet.builder();
@@ -274,12 +298,15 @@ public class DirectoryManifest {
 
     /**
      * Factory that encapsulates directory manifest creation.
+     * Checksums and mime types of files are computed in parallel using the given {@link ForkJoinPool}.
      */
     public static class Factory {
 
         private static final Filter ACCEPT_ALL_FILTER = new DirectoryManifest.Filter() {
         };
         private final Filter filter;
+        private final ForkJoinPool fileAnalysisPool;
+        private final boolean includeFastChecksum;
 
         /**
          * Constructor with no filters.
@@ -289,12 +316,31 @@ public class DirectoryManifest {
         }
 
         /**
-         * Constructor with filter.
+         * Constructor with filter. Files are analyzed using the common {@link ForkJoinPool} and no fast checksum is
+         * computed.
          *
          * @param filter the manifest filter
          */
         public Factory(final Filter filter) {
+            this(filter, ForkJoinPool.commonPool(), false);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param filter              the manifest filter
+         * @param fileAnalysisPool    the pool used to compute checksums and detect mime types of files
+         * @param includeFastChecksum whether to also compute a fast non-cryptographic checksum (murmur3) when
+         *                            checksums are requested
+         */
+        public Factory(
+            final Filter filter,
+            final ForkJoinPool fileAnalysisPool,
+            final boolean includeFastChecksum
+        ) {
             this.filter = filter;
+            this.fileAnalysisPool = fileAnalysisPool;
+            this.includeFastChecksum = includeFastChecksum;
         }
 
         /**
@@ -309,31 +355,47 @@ public class DirectoryManifest {
             final Path directory,
             final boolean includeChecksum
         ) throws IOException {
-            return new DirectoryManifest(directory, includeChecksum, this.filter);
+            return new DirectoryManifest(
+                directory,
+                includeChecksum,
+                includeChecksum && this.includeFastChecksum,
+                this.filter,
+                this.fileAnalysisPool
+            );
         }
     }
 
     @Slf4j
     private static class ManifestVisitor extends SimpleFileVisitor<Path> {
 
+        private static final HashFunction FAST_HASH_FUNCTION = Hashing.murmur3_128();
+        private static final int READ_BUFFER_SIZE = 64 * 1024;
+        // Small files are read through a regular channel, mapping them costs more than it saves
+        private static final long MEMORY_MAP_THRESHOLD = 1024L * 1024L;
+        private static final long MAX_MAPPED_REGION_SIZE = 64L * 1024L * 1024L;
+
         private final Path root;
-        private final ImmutableMap.Builder<String, ManifestEntry> builder;
-        private final Metadata metadata;
+        private final List<CompletableFuture<ManifestEntry>> pendingEntries;
         private final TikaConfig tikaConfig;
         private final boolean checksumFiles;
+        private final boolean fastChecksumFiles;
         private final Filter filter;
+        private final ForkJoinPool fileAnalysisPool;
 
         ManifestVisitor(
             final Path root,
-            final ImmutableMap.Builder<String, ManifestEntry> builder,
+            final List<CompletableFuture<ManifestEntry>> pendingEntries,
             final boolean checksumFiles,
-            final Filter filter
+            final boolean fastChecksumFiles,
+            final Filter filter,
+            final ForkJoinPool fileAnalysisPool
         ) throws IOException {
             this.root = root;
-            this.builder = builder;
+            this.pendingEntries = pendingEntries;
             this.checksumFiles = checksumFiles;
+            this.fastChecksumFiles = fastChecksumFiles;
             this.filter = filter;
-            this.metadata = new Metadata();
+            this.fileAnalysisPool = fileAnalysisPool;
             try {
                 this.tikaConfig = new TikaConfig();
             } catch (final TikaException te) {
@@ -347,9 +409,9 @@ public class DirectoryManifest {
          */
         @Override
         public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-            final ManifestEntry entry = this.buildEntry(dir, attrs, true);
+            final ManifestEntry entry = this.buildDirectoryEntry(dir, attrs);
             if (this.filter.includeDirectory(dir, attrs)) {
-                this.builder.put(entry.getPath(), entry);
+                this.pendingEntries.add(CompletableFuture.completedFuture(entry));
                 log.debug("Created manifest entry for directory {}", entry);
                 if (this.filter.walkDirectory(dir, attrs)) {
                     return FileVisitResult.CONTINUE;
@@ -364,11 +426,18 @@ public class DirectoryManifest {
          * {@inheritDoc}
          */
         @Override
-        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
             if (this.filter.includeFile(file, attrs)) {
-                final ManifestEntry entry = this.buildEntry(file, attrs, false);
-                log.debug("Created manifest entry for file {}", entry);
-                this.builder.put(entry.getPath(), entry);
+                this.pendingEntries.add(
+                    CompletableFuture.supplyAsync(
+                        () -> {
+                            final ManifestEntry entry = this.buildFileEntry(file, attrs);
+                            log.debug("Created manifest entry for file {}", entry);
+                            return entry;
+                        },
+                        this.fileAnalysisPool
+                    )
+                );
             } else {
                 log.debug("Skipped manifest entry for file {}", file.toAbsolutePath());
             }
@@ -401,45 +470,47 @@ public class DirectoryManifest {
             value = "RCN_REDUNDANT_NULLCHECK_WOULD_HAVE_BEEN_A_NPE",
             justification = "https://github.com/spotbugs/spotbugs/issues/756"
         )
+        private ManifestEntry buildDirectoryEntry(
+            final Path directory,
+            final BasicFileAttributes attributes
+        ) throws IOException {
+            final Set<String> children = Sets.newHashSet();
+            try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory)) {
+                for (final Path child : directoryStream) {
+                    children.add(this.root.relativize(child).toString());
+                }
+            }
+            return this.buildEntry(directory, attributes, true, null, null, children);
+        }
+
+        private ManifestEntry buildFileEntry(final Path file, final BasicFileAttributes attributes) {
+            FileChecksums checksums = null;
+            if (this.checksumFiles) {
+                try {
+                    checksums = this.calculateChecksums(file);
+                } catch (final IOException ioe) {
+                    // For now MD5 isn't critical or required so we'll swallow errors here
+                    log.error("Unable to create MD5 for {} due to error", file, ioe);
+                }
+            }
+            final String mimeType = this.getMimeType(file);
+            return this.buildEntry(file, attributes, false, checksums, mimeType, Sets.newHashSet());
+        }
+
         private ManifestEntry buildEntry(
             final Path entry,
             final BasicFileAttributes attributes,
-            final boolean directory
-        ) throws IOException {
+            final boolean directory,
+            @Nullable final FileChecksums checksums,
+            @Nullable final String mimeType,
+            final Set<String> children
+        ) {
             final String path = this.root.relativize(entry).toString();
-            final Path fileName = entry.getFileName();
-            final String name = fileName == null
-                ? EMPTY_STRING
-                : fileName.toString();
             final Instant lastModifiedTime = attributes.lastModifiedTime().toInstant();
             final Instant lastAccessTime = attributes.lastAccessTime().toInstant();
             final Instant creationTime = attributes.creationTime().toInstant();
             final long size = attributes.size();
 
-            String md5 = null;
-            String mimeType = null;
-            if (!directory) {
-                if (this.checksumFiles) {
-                    try (InputStream data = Files.newInputStream(entry, StandardOpenOption.READ)) {
-                        md5 = DigestUtils.md5Hex(data);
-                    } catch (final IOException ioe) {
-                        // For now MD5 isn't critical or required so we'll swallow errors here
-                        log.error("Unable to create MD5 for {} due to error", entry, ioe);
-                    }
-                }
-
-                mimeType = this.getMimeType(name, entry);
-            }
-
-            final Set<String> children = Sets.newHashSet();
-            if (directory) {
-                try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(entry)) {
-                    for (final Path child : directoryStream) {
-                        children.add(this.root.relativize(child).toString());
-                    }
-                }
-            }
-
             String parent = null;
             if (StringUtils.isNotEmpty(path)) {
                 // Not the root
@@ -448,30 +519,112 @@ public class DirectoryManifest {
 
             return new ManifestEntry(
                 path,
-                name,
+                getName(entry),
                 lastModifiedTime,
                 lastAccessTime,
                 creationTime,
                 directory,
                 size,
-                md5,
+                checksums == null ? null : checksums.getMd5(),
                 mimeType,
                 parent,
-                children
+                children,
+                checksums == null ? null : checksums.getMurmur3()
+            );
+        }
+
+        /*
+         * Compute the checksums of the file in a single pass over its contents. Large files are memory mapped (in
+         * regions, since a single mapping is limited to 2GB) to avoid copying them through the kernel.
+         */
+        @SuppressFBWarnings(
+            value = "RCN_REDUNDANT_NULLCHECK_WOULD_HAVE_BEEN_A_NPE",
+            justification = "https://github.com/spotbugs/spotbugs/issues/756"
+        )
+        private FileChecksums calculateChecksums(final Path file) throws IOException {
+            final MessageDigest md5Digest = DigestUtils.getMd5Digest();
+            final Hasher fastHasher = this.fastChecksumFiles ? FAST_HASH_FUNCTION.newHasher() : null;
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long size = channel.size();
+                if (size >= MEMORY_MAP_THRESHOLD) {
+                    for (long position = 0; position < size; position += MAX_MAPPED_REGION_SIZE) {
+                        final MappedByteBuffer region = channel.map(
+                            FileChannel.MapMode.READ_ONLY,
+                            position,
+                            Math.min(MAX_MAPPED_REGION_SIZE, size - position)
+                        );
+                        updateChecksums(md5Digest, fastHasher, region);
+                    }
+                } else {
+                    final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+                    while (channel.read(buffer) != -1) {
+                        buffer.flip();
+                        updateChecksums(md5Digest, fastHasher, buffer);
+                        buffer.clear();
+                    }
+                }
+            }
+
+            return new FileChecksums(
+                Hex.encodeHexString(md5Digest.digest()),
+                fastHasher == null ? null : fastHasher.hash().toString()
             );
         }
 
-        private String getMimeType(final String name, final Path path) {
+        /*
+         * Feed the remaining content of the buffer to the checksums. The buffer is handed to the digest directly
+         * (rather than copied to an array first) so mapped regions are read straight from the page cache.
+         */
+        private static void updateChecksums(
+            final MessageDigest md5Digest,
+            @Nullable final Hasher fastHasher,
+            final ByteBuffer data
+        ) {
+            if (fastHasher != null) {
+                // Both consumers advance the buffer position, give the hasher its own view of the same content
+                putBytes(fastHasher, data.duplicate());
+            }
+            md5Digest.update(data);
+        }
+
+        /*
+         * The Guava version in use has no Hasher.putBytes(ByteBuffer). Heap buffers are hashed in place, only mapped
+         * (direct) buffers are copied, in chunks, and only when the optional fast checksum is enabled.
+         */
+        private static void putBytes(final Hasher hasher, final ByteBuffer data) {
+            if (data.hasArray()) {
+                hasher.putBytes(data.array(), data.arrayOffset() + data.position(), data.remaining());
+                data.position(data.limit());
+                return;
+            }
+            final byte[] chunk = new byte[Math.min(READ_BUFFER_SIZE, data.remaining())];
+            while (data.hasRemaining()) {
+                final int length = Math.min(chunk.length, data.remaining());
+                data.get(chunk, 0, length);
+                hasher.putBytes(chunk, 0, length);
+            }
+        }
+
+        private static String getName(final Path entry) {
+            final Path fileName = entry.getFileName();
+            return fileName == null
+                ? EMPTY_STRING
+                : fileName.toString();
+        }
+
+        private String getMimeType(final Path path) {
             // TODO: Move configuration of special handling cases to external configuration for flexibility
             //       probably a map of filename -> type or extension -> type or produced mime-type -> desired mime-type
-            switch (name) {
+            switch (getName(path)) {
                 case "stdout":
                 case "stderr":
                 case "run":
                     return MediaType.TEXT_PLAIN.toString();
                 default:
+                    // Metadata is not thread safe and files are analyzed concurrently so use a new instance each time
                     try (TikaInputStream inputStream = TikaInputStream.get(path)) {
-                        return this.tikaConfig.getDetector().detect(inputStream, this.metadata).toString();
+                        return this.tikaConfig.getDetector().detect(inputStream, new Metadata()).toString();
                     } catch (final IOException ioe) {
                         log.error("Unable to detect mime type for {} due to error", path, ioe);
                         return MediaType.OCTET_STREAM.toString();
@@ -480,6 +633,13 @@ public class DirectoryManifest {
         }
     }
 
+    @Getter
+    @AllArgsConstructor
+    private static class FileChecksums {
+        private final String md5;
+        private final String murmur3;
+    }
+
     /**
      * Representation of the metadata for a job file on a given underlying storage system.
      *
@@ -502,6 +662,51 @@ public class DirectoryManifest {
         private final String mimeType;
         private final String parent;
         private final Set<String> children;
+        private final String murmur3;
+
+        /**
+         * Constructor for an entry without a murmur3 checksum.
+         *
+         * @param path             The relative path to the entry from the root of the job directory
+         * @param name             The name of the entry
+         * @param lastModifiedTime The time the entry was last modified
+         * @param lastAccessTime   The time the entry was last accessed
+         * @param creationTime     The time the entry was created
+         * @param directory        Whether this entry is a directory or not
+         * @param size             The current size of the entry within the storage system in bytes. Min 0
+         * @param md5              The md5 hex of the file contents if it's not a directory
+         * @param mimeType         The mime type of the file. Null if its a directory
+         * @param parent           Optional entry for the path of this entries parent relative to root
+         * @param children         The set of paths, from the root, representing children of this entry if any
+         */
+        public ManifestEntry(
+            final String path,
+            final String name,
+            final Instant lastModifiedTime,
+            final Instant lastAccessTime,
+            final Instant creationTime,
+            final boolean directory,
+            final long size,
+            @Nullable final String md5,
+            @Nullable final String mimeType,
+            @Nullable final String parent,
+            final Set<String> children
+        ) {
+            this(
+                path,
+                name,
+                lastModifiedTime,
+                lastAccessTime,
+                creationTime,
+                directory,
+                size,
+                md5,
+                mimeType,
+                parent,
+                children,
+                null
+            );
+        }
 
         /**
          * Constructor.
@@ -517,6 +722,7 @@ public class DirectoryManifest {
          * @param mimeType         The mime type of the file. Null if its a directory
          * @param parent           Optional entry for the path of this entries parent relative to root
          * @param children         The set of paths, from the root, representing children of this entry if any
+         * @param murmur3          The murmur3 (128 bit) hex of the file contents if it was calculated
          */
         @JsonCreator
         public ManifestEntry(
@@ -530,7 +736,8 @@ public class DirectoryManifest {
             @JsonProperty(value = "md5") @Nullable final String md5,
             @JsonProperty(value = "mimeType") @Nullable final String mimeType,
             @JsonProperty(value = "parent") @Nullable final String parent,
-            @JsonProperty(value = "children", required = true) final Set<String> children
+            @JsonProperty(value = "children", required = true) final Set<String> children,
+            @JsonProperty(value = "murmur3") @Nullable final String murmur3
         ) {
             this.path = path;
             this.name = name;
@@ -543,6 +750,7 @@ public class DirectoryManifest {
             this.mimeType = mimeType;
             this.parent = parent;
             this.children = ImmutableSet.copyOf(children);
+            this.murmur3 = murmur3;
         }
 
         /**
@@ -554,6 +762,16 @@ public class DirectoryManifest {
             return Optional.ofNullable(this.md5);
         }
 
+        /**
+         * Get the murmur3 (128 bit) hash of the file (as 32 hex characters) if it was calculated.
+         * This is a fast non-cryptographic alternative to the MD5 suitable for detecting changes in file contents.
+         *
+         * @return The murmur3 value or {@link Optional#empty()}
+         */
+        public Optional<String> getMurmur3() {
+            return Optional.ofNullable(this.murmur3);
+        }
+
         /**
          * Get the mime type of this file if it was calculated.
          *
@@ -0,0 +1,53 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties for {@link com.netflix.genie.common.internal.dtos.DirectoryManifest.Factory}.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = DirectoryManifestProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class DirectoryManifestProperties {
+    /**
+     * Properties prefix.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.files.manifest";
+
+    /**
+     * Number of threads used to checksum and detect the mime type of files while creating a manifest.
+     */
+    @Min(1)
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Whether to also compute a fast non-cryptographic checksum for each file when checksums are requested.
+     */
+    private boolean fastChecksumEnabled;
+}
@@ -0,0 +1,54 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties for the {@link com.netflix.genie.common.internal.services.JobArchiver} implementations.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobArchiverProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobArchiverProperties {
+    /**
+     * Properties prefix.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.archiver";
+
+    /**
+     * Maximum number of files copied concurrently by the file system archiver.
+     */
+    @Min(1)
+    private int concurrency = 4;
+
+    /**
+     * Whether to skip files that a previous, interrupted, attempt already archived to the same location.
+     * The job directory manifest is used to determine whether the archived copy is up to date.
+     */
+    private boolean resumeEnabled = true;
+}
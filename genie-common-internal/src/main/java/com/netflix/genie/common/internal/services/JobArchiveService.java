@@ -49,7 +49,9 @@ public interface JobArchiveService {
      *
      * @param directory {@link Path} to the directory to archive
      * @param targetURI target {@link URI} for the root archive location
+     * @return The number of bytes written to the target. Files skipped because they were already archived by a previous
+     * attempt are not counted. 0 if no archiver could archive to the target.
      * @throws JobArchiveException if archival fails
      */
-    void archiveDirectory(Path directory, URI targetURI) throws JobArchiveException;
+    long archiveDirectory(Path directory, URI targetURI) throws JobArchiveException;
 }
@@ -17,13 +17,16 @@
  */
 package com.netflix.genie.common.internal.services;
 
+import com.netflix.genie.common.internal.dtos.DirectoryManifest;
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException;
 import org.springframework.core.io.WritableResource;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.OptionalLong;
 
 /**
  * Implementations of this interface should be able to a write job files to a {@link WritableResource} root location.
@@ -46,4 +49,29 @@ public interface JobArchiver {
      * @throws JobArchiveException If an exception happened during archival
      */
     boolean archiveDirectory(Path directory, List<File> filesList, URI target) throws JobArchiveException;
+
+    /**
+     * Attempt to archive a directory located at {@code directory} to the {@code target}. Implementations can use the
+     * {@code manifest} to skip files which were already archived to {@code target} by a previous attempt that was
+     * interrupted. By default the manifest is ignored and all the files are archived.
+     *
+     * @param directory The directory to archive
+     * @param filesList The list of files to archive
+     * @param manifest  The manifest of {@code directory}, if one is available
+     * @param target    The root of a writable location to archive to.
+     * @return empty if this implementation doesn't support archiving to {@code target}. Otherwise, the number of bytes
+     * actually written to {@code target} by a successful archival (excluding files skipped because already archived)
+     * @throws JobArchiveException If an exception happened during archival
+     */
+    default OptionalLong archiveDirectory(
+        final Path directory,
+        final List<File> filesList,
+        @Nullable final DirectoryManifest manifest,
+        final URI target
+    ) throws JobArchiveException {
+        if (!this.archiveDirectory(directory, filesList, target)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(filesList.stream().mapToLong(File::length).sum());
+    }
 }
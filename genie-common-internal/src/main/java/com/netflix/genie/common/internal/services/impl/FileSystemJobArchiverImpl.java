@@ -17,10 +17,14 @@
  */
 package com.netflix.genie.common.internal.services.impl;
 
+import com.netflix.genie.common.internal.dtos.DirectoryManifest;
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException;
+import com.netflix.genie.common.internal.properties.JobArchiverProperties;
 import com.netflix.genie.common.internal.services.JobArchiver;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -29,11 +33,23 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An implementation of {@link JobArchiver} which attempts to copy the job directory somewhere else on the file
  * system for backup. A convenient example of this would be a NFS mounted to the Genie host.
+ * <p>
+ * Files are copied concurrently. If resume is enabled, files that already exist in the target with the same size and
+ * modification time recorded in the manifest are not copied again.
  *
  * @author tgianos
  * @since 4.0.0
@@ -46,6 +62,25 @@ public class FileSystemJobArchiverImpl implements JobArchiver {
         StandardCopyOption.COPY_ATTRIBUTES,
         StandardCopyOption.REPLACE_EXISTING,
     };
+    private static final String THREAD_NAME_PREFIX = "genie-fs-archiver-";
+
+    private final JobArchiverProperties properties;
+
+    /**
+     * Constructor using default properties.
+     */
+    public FileSystemJobArchiverImpl() {
+        this(new JobArchiverProperties());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param properties The archiver properties
+     */
+    public FileSystemJobArchiverImpl(final JobArchiverProperties properties) {
+        this.properties = properties;
+    }
 
     /**
      * {@inheritDoc}
@@ -55,9 +90,22 @@ public class FileSystemJobArchiverImpl implements JobArchiver {
         final Path directory,
         final List<File> filesList,
         final URI target
+    ) throws JobArchiveException {
+        return this.archiveDirectory(directory, filesList, null, target).isPresent();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OptionalLong archiveDirectory(
+        final Path directory,
+        final List<File> filesList,
+        @Nullable final DirectoryManifest manifest,
+        final URI target
     ) throws JobArchiveException {
         if (!target.getScheme().equalsIgnoreCase(FILE_SCHEME)) {
-            return false;
+            return OptionalLong.empty();
         }
 
         final Path targetDirectoryPath = Paths.get(target.getPath());
@@ -72,23 +120,111 @@ public class FileSystemJobArchiverImpl implements JobArchiver {
             throw new JobArchiveException(targetDirectoryPath + " exist and isn't a directory. Unable to copy");
         }
 
-        for (final File file : filesList) {
-            final Path sourceFilePath = file.toPath();
-            final Path sourceFileRelativePath = directory.relativize(sourceFilePath);
-            final Path destinationFilePath = targetDirectoryPath.resolve(sourceFileRelativePath);
-            try {
-                final Path parentDirectory = destinationFilePath.getParent();
-                if (parentDirectory != null) {
-                    log.info("Creating parent directory for {}", destinationFilePath);
-                    Files.createDirectories(parentDirectory);
-                }
-                log.info("Copying {} to {}", sourceFilePath, destinationFilePath);
-                Files.copy(sourceFilePath, destinationFilePath, COPY_OPTIONS);
-            } catch (IOException e) {
-                log.warn("Failed to archive file {} to {}: {}", sourceFilePath, destinationFilePath, e.getMessage(), e);
+        if (filesList.isEmpty()) {
+            return OptionalLong.of(0L);
+        }
+
+        final AtomicInteger skippedFiles = new AtomicInteger();
+        final AtomicLong skippedBytes = new AtomicLong();
+        final AtomicLong copiedBytes = new AtomicLong();
+        final int threads = Math.min(this.properties.getConcurrency(), filesList.size());
+        final ExecutorService executorService = Executors.newFixedThreadPool(
+            threads,
+            new CustomizableThreadFactory(THREAD_NAME_PREFIX)
+        );
+        try {
+            CompletableFuture.allOf(
+                filesList
+                    .stream()
+                    .map(
+                        file -> CompletableFuture.runAsync(
+                            () -> this.archiveFile(
+                                directory,
+                                targetDirectoryPath,
+                                file,
+                                manifest,
+                                skippedFiles,
+                                skippedBytes,
+                                copiedBytes
+                            ),
+                            executorService
+                        )
+                    )
+                    .toArray(CompletableFuture[]::new)
+            ).join();
+        } finally {
+            executorService.shutdown();
+        }
+
+        if (skippedFiles.get() > 0) {
+            log.info(
+                "Resumed archival of {}: skipped {} files ({} bytes) already present in {}",
+                directory,
+                skippedFiles.get(),
+                skippedBytes.get(),
+                targetDirectoryPath
+            );
+        }
+
+        return OptionalLong.of(copiedBytes.get());
+    }
+
+    /*
+     * Copy a single file, unless it's already archived. Updates the tally of skipped files and bytes, or of bytes
+     * copied.
+     */
+    private void archiveFile(
+        final Path directory,
+        final Path targetDirectoryPath,
+        final File file,
+        @Nullable final DirectoryManifest manifest,
+        final AtomicInteger skippedFiles,
+        final AtomicLong skippedBytes,
+        final AtomicLong copiedBytes
+    ) {
+        final Path sourceFilePath = file.toPath();
+        final Path sourceFileRelativePath = directory.relativize(sourceFilePath);
+        final Path destinationFilePath = targetDirectoryPath.resolve(sourceFileRelativePath);
+        try {
+            final Optional<DirectoryManifest.ManifestEntry> manifestEntry = manifest == null
+                ? Optional.empty()
+                : manifest.getEntry(sourceFileRelativePath.toString());
+            if (
+                this.properties.isResumeEnabled()
+                    && manifestEntry.isPresent()
+                    && isArchived(destinationFilePath, manifestEntry.get())
+            ) {
+                log.debug("Skipping {}, already archived to {}", sourceFilePath, destinationFilePath);
+                skippedFiles.incrementAndGet();
+                skippedBytes.addAndGet(manifestEntry.get().getSize());
+                return;
+            }
+
+            final Path parentDirectory = destinationFilePath.getParent();
+            if (parentDirectory != null) {
+                log.info("Creating parent directory for {}", destinationFilePath);
+                Files.createDirectories(parentDirectory);
             }
+            log.info("Copying {} to {}", sourceFilePath, destinationFilePath);
+            Files.copy(sourceFilePath, destinationFilePath, COPY_OPTIONS);
+            copiedBytes.addAndGet(Files.size(destinationFilePath));
+        } catch (IOException e) {
+            log.warn("Failed to archive file {} to {}: {}", sourceFilePath, destinationFilePath, e.getMessage(), e);
         }
+    }
 
-        return true;
+    private static boolean isArchived(
+        final Path destinationFilePath,
+        final DirectoryManifest.ManifestEntry manifestEntry
+    ) throws IOException {
+        if (!Files.exists(destinationFilePath)) {
+            return false;
+        }
+        // Copies preserve the modification time, compare at millisecond precision as not all file systems store more
+        final BasicFileAttributes attributes = Files.readAttributes(destinationFilePath, BasicFileAttributes.class);
+        final Instant lastModifiedTime = attributes.lastModifiedTime().toInstant();
+        return attributes.isRegularFile()
+            && attributes.size() == manifestEntry.getSize()
+            && lastModifiedTime.toEpochMilli() == manifestEntry.getLastModifiedTime().toEpochMilli();
     }
 }
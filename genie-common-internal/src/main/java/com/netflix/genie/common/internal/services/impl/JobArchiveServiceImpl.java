@@ -33,6 +33,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.stream.Collectors;
 
 /**
@@ -65,7 +66,7 @@ public class JobArchiveServiceImpl implements JobArchiveService {
      * {@inheritDoc}
      */
     @Override
-    public void archiveDirectory(final Path directory, final URI target) throws JobArchiveException {
+    public long archiveDirectory(final Path directory, final URI target) throws JobArchiveException {
         // TODO: This relies highly on convention. Might be nicer to better abstract with database
         //       record that points directly to where the manifest is or other solution?
         final DirectoryManifest manifest;
@@ -106,16 +107,18 @@ public class JobArchiveServiceImpl implements JobArchiveService {
             )
             .build();
         for (final JobArchiver archiver : this.jobArchivers) {
-            // TODO: Perhaps we should pass the manifest down to the archive implementations if they want to use it?
-            if (archiver.archiveDirectory(directory, filesList, target)) {
+            // The manifest allows implementations to resume a previous, interrupted, archival
+            final OptionalLong archivedBytes = archiver.archiveDirectory(directory, filesList, manifest, target);
+            if (archivedBytes.isPresent()) {
                 log.info(
-                    "Successfully archived job directory {} to {} using {} ({} files)",
+                    "Successfully archived job directory {} to {} using {} ({} files, {} bytes written)",
                     directory.toString(),
                     uriString,
                     archiver.getClass().getSimpleName(),
-                    filesList.size()
+                    filesList.size(),
+                    archivedBytes.getAsLong()
                 );
-                return;
+                return archivedBytes.getAsLong();
             }
         }
 
@@ -125,5 +128,6 @@ public class JobArchiveServiceImpl implements JobArchiveService {
             directory.toString(),
             uriString
         );
+        return 0L;
     }
 }
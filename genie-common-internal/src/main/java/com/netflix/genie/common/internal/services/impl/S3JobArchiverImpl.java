@@ -17,23 +17,40 @@
  */
 package com.netflix.genie.common.internal.services.impl;
 
+import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3URI;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.TransferManager;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.netflix.genie.common.internal.aws.s3.S3ClientFactory;
+import com.netflix.genie.common.internal.dtos.DirectoryManifest;
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException;
+import com.netflix.genie.common.internal.properties.JobArchiverProperties;
 import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.internal.services.JobArchiver;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.Nullable;
 import javax.validation.constraints.NotNull;
 import java.io.File;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Implementation of {@link JobArchiveService} for S3 destinations.
+ * <p>
+ * Uploads are performed by the S3 {@link TransferManager}, which uploads files (and parts of large files) in parallel.
+ * When a manifest is available, the MD5 of each file is stored in the object metadata and, if resume is enabled,
+ * files already uploaded by a previous attempt with matching size and MD5 are not uploaded again.
  *
  * @author standon
  * @author tgianos
@@ -42,15 +59,32 @@ import java.util.List;
 @Slf4j
 public class S3JobArchiverImpl implements JobArchiver {
 
+    static final String MD5_METADATA_KEY = "genie-md5";
+    private static final String KEY_SEPARATOR = "/";
+    // ETags of objects uploaded in multiple parts are not the MD5 of the content, they contain the number of parts
+    private static final String MULTIPART_ETAG_SEPARATOR = "-";
+
     private final S3ClientFactory s3ClientFactory;
+    private final JobArchiverProperties properties;
 
     /**
-     * Constructor.
+     * Constructor using default properties.
      *
      * @param s3ClientFactory The factory to use to get S3 client instances for a given S3 bucket.
      */
     public S3JobArchiverImpl(final S3ClientFactory s3ClientFactory) {
+        this(s3ClientFactory, new JobArchiverProperties());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param s3ClientFactory The factory to use to get S3 client instances for a given S3 bucket.
+     * @param properties      The archiver properties
+     */
+    public S3JobArchiverImpl(final S3ClientFactory s3ClientFactory, final JobArchiverProperties properties) {
         this.s3ClientFactory = s3ClientFactory;
+        this.properties = properties;
     }
 
     /**
@@ -61,6 +95,19 @@ public class S3JobArchiverImpl implements JobArchiver {
         @NotNull final Path directory,
         final List<File> filesList,
         @NotNull final URI target
+    ) throws JobArchiveException {
+        return this.archiveDirectory(directory, filesList, null, target).isPresent();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OptionalLong archiveDirectory(
+        @NotNull final Path directory,
+        final List<File> filesList,
+        @Nullable final DirectoryManifest manifest,
+        @NotNull final URI target
     ) throws JobArchiveException {
         final String uriString = target.toString();
         final AmazonS3URI s3URI;
@@ -68,7 +115,7 @@ public class S3JobArchiverImpl implements JobArchiver {
             s3URI = new AmazonS3URI(target);
         } catch (final IllegalArgumentException iae) {
             log.debug("{} is not a valid S3 URI", uriString);
-            return false;
+            return OptionalLong.empty();
         }
         final String directoryString = directory.toString();
         log.debug(
@@ -79,20 +126,143 @@ public class S3JobArchiverImpl implements JobArchiver {
         );
 
         try {
+            final List<File> filesToUpload = manifest != null && this.properties.isResumeEnabled()
+                ? this.getFilesNotArchived(s3URI, directory, filesList, manifest)
+                : filesList;
+
+            if (filesToUpload.isEmpty()) {
+                log.info("All files in {} are already archived to {}", directoryString, uriString);
+                return OptionalLong.of(0L);
+            }
+
             final TransferManager transferManager = this.s3ClientFactory.getTransferManager(s3URI);
 
-            final MultipleFileUpload upload = transferManager.uploadFileList(
-                s3URI.getBucket(),
-                s3URI.getKey(),
-                directory.toFile(),
-                filesList
-            );
+            final MultipleFileUpload upload;
+            if (manifest == null) {
+                upload = transferManager.uploadFileList(
+                    s3URI.getBucket(),
+                    s3URI.getKey(),
+                    directory.toFile(),
+                    filesToUpload
+                );
+            } else {
+                upload = transferManager.uploadFileList(
+                    s3URI.getBucket(),
+                    s3URI.getKey(),
+                    directory.toFile(),
+                    filesToUpload,
+                    (file, metadata) -> getManifestEntry(manifest, directory, file)
+                        .flatMap(DirectoryManifest.ManifestEntry::getMd5)
+                        .ifPresent(md5 -> metadata.addUserMetadata(MD5_METADATA_KEY, md5))
+                );
+            }
 
             upload.waitForCompletion();
-            return true;
+            return OptionalLong.of(filesToUpload.stream().mapToLong(File::length).sum());
         } catch (final Exception e) {
             log.error("Error archiving to S3 location: {} ", uriString, e);
             throw new JobArchiveException("Error archiving " + directoryString, e);
         }
     }
+
+    /*
+     * Resume is best effort, if anything goes wrong while looking at what was previously archived then all the files
+     * are uploaded.
+     */
+    private List<File> getFilesNotArchived(
+        final AmazonS3URI s3URI,
+        final Path directory,
+        final List<File> filesList,
+        final DirectoryManifest manifest
+    ) {
+        final String bucket = s3URI.getBucket();
+        // Same key composition as TransferManager.uploadFileList
+        final String keyPrefix = StringUtils.isEmpty(s3URI.getKey())
+            ? StringUtils.EMPTY
+            : StringUtils.appendIfMissing(s3URI.getKey(), KEY_SEPARATOR);
+
+        try {
+            final AmazonS3 s3Client = this.s3ClientFactory.getClient(s3URI);
+            final Map<String, S3ObjectSummary> archivedObjects = Maps.newHashMap();
+            final ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucket)
+                .withPrefix(keyPrefix);
+            ListObjectsV2Result result;
+            do {
+                result = s3Client.listObjectsV2(request);
+                for (final S3ObjectSummary objectSummary : result.getObjectSummaries()) {
+                    archivedObjects.put(objectSummary.getKey(), objectSummary);
+                }
+                request.setContinuationToken(result.getNextContinuationToken());
+            } while (result.isTruncated());
+
+            if (archivedObjects.isEmpty()) {
+                return filesList;
+            }
+
+            final List<File> filesNotArchived = Lists.newArrayList();
+            long skippedBytes = 0L;
+            for (final File file : filesList) {
+                final Optional<DirectoryManifest.ManifestEntry> manifestEntry = getManifestEntry(
+                    manifest,
+                    directory,
+                    file
+                );
+                final String key = keyPrefix + getRelativePath(directory, file).replace('\\', '/');
+                final S3ObjectSummary objectSummary = archivedObjects.get(key);
+                if (
+                    manifestEntry.isPresent()
+                        && objectSummary != null
+                        && isArchived(s3Client, objectSummary, manifestEntry.get())
+                ) {
+                    skippedBytes += objectSummary.getSize();
+                } else {
+                    filesNotArchived.add(file);
+                }
+            }
+
+            log.info(
+                "Resuming archival to {}: skipping {} files ({} bytes) already archived",
+                s3URI,
+                filesList.size() - filesNotArchived.size(),
+                skippedBytes
+            );
+            return filesNotArchived;
+        } catch (final Exception e) {
+            log.warn("Unable to determine files previously archived to {}, archiving all files", s3URI, e);
+            return filesList;
+        }
+    }
+
+    private static boolean isArchived(
+        final AmazonS3 s3Client,
+        final S3ObjectSummary objectSummary,
+        final DirectoryManifest.ManifestEntry manifestEntry
+    ) {
+        final String md5 = manifestEntry.getMd5().orElse(null);
+        if (md5 == null || objectSummary.getSize() != manifestEntry.getSize()) {
+            return false;
+        }
+        final String eTag = objectSummary.getETag();
+        if (eTag != null && !eTag.contains(MULTIPART_ETAG_SEPARATOR)) {
+            return md5.equalsIgnoreCase(eTag);
+        }
+        return md5.equalsIgnoreCase(
+            s3Client
+                .getObjectMetadata(objectSummary.getBucketName(), objectSummary.getKey())
+                .getUserMetaDataOf(MD5_METADATA_KEY)
+        );
+    }
+
+    private static Optional<DirectoryManifest.ManifestEntry> getManifestEntry(
+        final DirectoryManifest manifest,
+        final Path directory,
+        final File file
+    ) {
+        return manifest.getEntry(getRelativePath(directory, file));
+    }
+
+    private static String getRelativePath(final Path directory, final File file) {
+        return directory.toAbsolutePath().relativize(file.toPath().toAbsolutePath()).toString();
+    }
 }
@@ -22,6 +22,7 @@ import com.amazonaws.regions.AwsRegionProvider
 import com.amazonaws.regions.Regions
 import com.amazonaws.services.s3.AmazonS3URI
 import org.springframework.mock.env.MockEnvironment
+import org.springframework.util.unit.DataSize
 import spock.lang.Specification
 
 /**
@@ -43,6 +44,7 @@ class S3ClientFactorySpec extends Specification {
         1 * regionProvider.getRegion() >> Regions.US_EAST_1.getName()
         factory.defaultRegion == Regions.US_EAST_1
         factory.bucketProperties.isEmpty()
+        factory.transferManagerProperties == new TransferManagerProperties()
         factory.stsClient != null
         factory.bucketToClientKey.isEmpty()
         factory.clientCache.isEmpty()
@@ -81,6 +83,14 @@ class S3ClientFactorySpec extends Specification {
             S3ClientFactory.BUCKET_PROPERTIES_ROOT_KEY + "." + bucket2Name + ".region",
             bucket2Region
         )
+        environment.withProperty(
+            S3ClientFactory.TRANSFER_MANAGER_PROPERTIES_ROOT_KEY + ".max-threads",
+            "20"
+        )
+        environment.withProperty(
+            S3ClientFactory.TRANSFER_MANAGER_PROPERTIES_ROOT_KEY + ".minimum-upload-part-size",
+            "32MB"
+        )
 
         when:
         def factory = new S3ClientFactory(credentialsProvider, regionProvider, environment)
@@ -98,6 +108,9 @@ class S3ClientFactorySpec extends Specification {
         factory.bucketProperties.containsKey(bucket2Name)
         factory.bucketProperties.get(bucket2Name).getRegion().orElse(null) == bucket2Region
         factory.bucketProperties.get(bucket2Name).getRoleARN().orElse(null) == bucket2Role
+        factory.transferManagerProperties.getMaxThreads() == 20
+        factory.transferManagerProperties.getMinimumUploadPartSize() == DataSize.ofMegabytes(32)
+        factory.transferManagerProperties.getMultipartUploadThreshold() == DataSize.ofMegabytes(16)
         factory.stsClient != null
         factory.bucketToClientKey.isEmpty()
         factory.clientCache.isEmpty()
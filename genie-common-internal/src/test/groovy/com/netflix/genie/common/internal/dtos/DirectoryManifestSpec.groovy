@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.common.internal.dtos
 
+import com.google.common.hash.Hashing
 import com.netflix.genie.common.external.util.GenieObjectMapper
 import org.apache.commons.codec.digest.DigestUtils
 import org.junit.Rule
@@ -29,6 +30,7 @@ import java.nio.charset.StandardCharsets
 import java.nio.file.Files
 import java.nio.file.Path
 import java.nio.file.attribute.BasicFileAttributes
+import java.util.concurrent.ForkJoinPool
 
 /**
  * Specifications for {@link DirectoryManifest}.
@@ -164,6 +166,47 @@ class DirectoryManifestSpec extends Specification {
         false      | _
     }
 
+    def "can compute checksums of large files in parallel with fast checksum"() {
+        setup:
+        def pool = new ForkJoinPool(2)
+        def directory = this.temporaryFolder.newFolder().toPath()
+        def random = new Random()
+        def smallFileContents = new byte[1024]
+        random.nextBytes(smallFileContents)
+        def largeFileContents = new byte[3 * 1024 * 1024 + 17]
+        random.nextBytes(largeFileContents)
+        def smallFile = Files.write(directory.resolve("small.bin"), smallFileContents)
+        def largeFile = Files.write(directory.resolve("large.bin"), largeFileContents)
+        def emptyFile = Files.write(directory.resolve("empty.bin"), new byte[0])
+        def factory = new DirectoryManifest.Factory(new DirectoryManifest.Filter() {}, pool, true)
+
+        when:
+        def manifest = factory.getDirectoryManifest(directory, true)
+        def json = GenieObjectMapper.getMapper().writeValueAsString(manifest)
+        def manifest2 = GenieObjectMapper.getMapper().readValue(json, DirectoryManifest.class)
+
+        then:
+        manifest == manifest2
+        manifest.getNumFiles() == 3
+        manifest.getTotalSizeOfFiles() == smallFileContents.length + largeFileContents.length
+        [smallFile, largeFile, emptyFile].each { file ->
+            def entry = manifest.getEntry(file.getFileName().toString()).orElseThrow({ new IllegalArgumentException() })
+            def contents = Files.readAllBytes(file)
+            assert entry.getMd5().orElse(null) == DigestUtils.md5Hex(contents)
+            assert entry.getMurmur3().orElse(null) == Hashing.murmur3_128().hashBytes(contents).toString()
+            assert entry.getMimeType().isPresent()
+        }
+
+        when:
+        manifest = factory.getDirectoryManifest(directory, false)
+
+        then:
+        manifest.getFiles().every { !it.getMd5().isPresent() && !it.getMurmur3().isPresent() }
+
+        cleanup:
+        pool.shutdown()
+    }
+
     def "can create a manifest with filter"() {
         when:
         def manifest = new DirectoryManifest.Factory(new DirectoryManifest.Filter() {
@@ -403,6 +446,7 @@ class DirectoryManifestSpec extends Specification {
             } else {
                 assert !entry.getMd5().isPresent()
             }
+            assert !entry.getMurmur3().isPresent()
             assert entry.getMimeType().isPresent()
         }
         if (expectedParent == null) {
@@ -0,0 +1,43 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.properties
+
+import spock.lang.Specification
+
+class DirectoryManifestPropertiesSpec extends Specification {
+
+    DirectoryManifestProperties properties
+
+    def setup() {
+        this.properties = new DirectoryManifestProperties()
+    }
+
+    def "Defaults, setters, getters"() {
+        expect:
+        properties.getParallelism() == Runtime.getRuntime().availableProcessors()
+        !properties.isFastChecksumEnabled()
+
+        when:
+        properties.setParallelism(3)
+        properties.setFastChecksumEnabled(true)
+
+        then:
+        properties.getParallelism() == 3
+        properties.isFastChecksumEnabled()
+    }
+}
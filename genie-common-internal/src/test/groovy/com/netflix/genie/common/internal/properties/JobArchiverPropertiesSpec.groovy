@@ -0,0 +1,43 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.properties
+
+import spock.lang.Specification
+
+class JobArchiverPropertiesSpec extends Specification {
+
+    JobArchiverProperties properties
+
+    def setup() {
+        this.properties = new JobArchiverProperties()
+    }
+
+    def "Defaults, setters, getters"() {
+        expect:
+        properties.getConcurrency() == 4
+        properties.isResumeEnabled()
+
+        when:
+        properties.setConcurrency(10)
+        properties.setResumeEnabled(false)
+
+        then:
+        properties.getConcurrency() == 10
+        !properties.isResumeEnabled()
+    }
+}
@@ -17,7 +17,9 @@
  */
 package com.netflix.genie.common.internal.services.impl
 
+import com.netflix.genie.common.internal.dtos.DirectoryManifest
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException
+import com.netflix.genie.common.internal.properties.JobArchiverProperties
 import org.apache.commons.codec.digest.DigestUtils
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
@@ -30,6 +32,7 @@ import java.nio.file.Files
 import java.nio.file.Path
 import java.nio.file.Paths
 import java.nio.file.attribute.BasicFileAttributes
+import java.nio.file.attribute.FileTime
 import java.util.stream.Collectors
 import java.util.stream.Stream
 
@@ -96,6 +99,42 @@ class FileSystemJobArchiverImplSpec extends Specification {
         sourceVisitor.visitedFiles == targetVisitor.visitedFiles
     }
 
+    def "Can resume archival of job directory"() {
+        setup:
+        def source = this.temporaryFolder.newFolder().toPath()
+        def target = this.temporaryFolder.newFolder().toPath()
+        def properties = new JobArchiverProperties()
+        properties.setConcurrency(2)
+        def archiver = new FileSystemJobArchiverImpl(properties)
+        def archivedFile = Files.write(source.resolve("stdout"), "archived".getBytes(StandardCharsets.UTF_8))
+        def modifiedFile = Files.write(source.resolve("stderr"), "modified".getBytes(StandardCharsets.UTF_8))
+        def newFile = Files.write(source.resolve("run"), "new".getBytes(StandardCharsets.UTF_8))
+        def filesList = [archivedFile, modifiedFile, newFile].collect { it.toFile() }
+
+        when: "Archival is interrupted after copying some files"
+        archiver.archiveDirectory(source, [archivedFile.toFile(), modifiedFile.toFile()], target.toUri())
+        Files.write(target.resolve("stdout"), "sentinel".getBytes(StandardCharsets.UTF_8))
+        Files.setLastModifiedTime(target.resolve("stdout"), Files.getLastModifiedTime(archivedFile))
+        Files.write(modifiedFile, "modified again".getBytes(StandardCharsets.UTF_8))
+        Files.setLastModifiedTime(modifiedFile, FileTime.fromMillis(System.currentTimeMillis() + 10000))
+        def manifest = new DirectoryManifest.Factory().getDirectoryManifest(source, false)
+        def copiedBytes = archiver.archiveDirectory(source, filesList, manifest, target.toUri())
+
+        then: "Only files not matching the manifest are copied again"
+        copiedBytes == OptionalLong.of(Files.size(modifiedFile) + Files.size(newFile))
+        new String(Files.readAllBytes(target.resolve("stdout")), StandardCharsets.UTF_8) == "sentinel"
+        new String(Files.readAllBytes(target.resolve("stderr")), StandardCharsets.UTF_8) == "modified again"
+        new String(Files.readAllBytes(target.resolve("run")), StandardCharsets.UTF_8) == "new"
+
+        when: "Resume is disabled"
+        properties.setResumeEnabled(false)
+        copiedBytes = archiver.archiveDirectory(source, filesList, manifest, target.toUri())
+
+        then: "All files are copied"
+        copiedBytes == OptionalLong.of(filesList.sum { it.length() } as long)
+        new String(Files.readAllBytes(target.resolve("stdout")), StandardCharsets.UTF_8) == "archived"
+    }
+
     class FileListVisitor implements FileVisitor<Path> {
 
         Path root
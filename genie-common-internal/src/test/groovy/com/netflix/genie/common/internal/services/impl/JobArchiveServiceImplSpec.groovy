@@ -60,13 +60,14 @@ class JobArchiveServiceImplSpec extends Specification {
         def filesList = [manifestPath, someFilePath].stream().map({path -> path.toFile()}).collect(Collectors.toList())
 
         when:
-        service.archiveDirectory(jobDirectory, target)
+        def archivedBytes = service.archiveDirectory(jobDirectory, target)
 
         then:
         1 * directoryManifestFactory.getDirectoryManifest(jobDirectory, true) >> originalManifest
         Files.exists(manifestPath)
-        1 * skippedArchiver.archiveDirectory(jobDirectory, filesList, target) >> false
-        1 * archiver.archiveDirectory(jobDirectory, filesList, target) >> true
+        1 * skippedArchiver.archiveDirectory(jobDirectory, filesList, originalManifest, target) >> OptionalLong.empty()
+        1 * archiver.archiveDirectory(jobDirectory, filesList, originalManifest, target) >> OptionalLong.of(10L)
+        archivedBytes == 10L
 
         when:
         def manifest = GenieObjectMapper.getMapper().readValue(manifestPath.toFile(), DirectoryManifest)
@@ -18,11 +18,19 @@
 package com.netflix.genie.common.internal.services.impl
 
 import com.amazonaws.AmazonServiceException
+import com.amazonaws.services.s3.AmazonS3
 import com.amazonaws.services.s3.AmazonS3URI
+import com.amazonaws.services.s3.model.ListObjectsV2Request
+import com.amazonaws.services.s3.model.ListObjectsV2Result
+import com.amazonaws.services.s3.model.ObjectMetadata
+import com.amazonaws.services.s3.model.S3ObjectSummary
 import com.amazonaws.services.s3.transfer.MultipleFileUpload
+import com.amazonaws.services.s3.transfer.ObjectMetadataProvider
 import com.amazonaws.services.s3.transfer.TransferManager
 import com.netflix.genie.common.internal.aws.s3.S3ClientFactory
+import com.netflix.genie.common.internal.dtos.DirectoryManifest
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException
+import org.apache.commons.codec.digest.DigestUtils
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
@@ -166,5 +174,102 @@ class S3JobArchiverImplSpec extends Specification {
         ) >> { throw new AmazonServiceException("test") }
         thrown(JobArchiveException)
     }
-}
 
+    def "Archival resumes from the objects previously uploaded"() {
+        def upload = Mock(MultipleFileUpload)
+        def s3Client = Mock(AmazonS3)
+        def manifest = new DirectoryManifest.Factory().getDirectoryManifest(this.jobDir.toPath(), true)
+        def keyPrefix = this.archivalLocationS3URI.getKey() + "/"
+        def stdoutSummary = this.createObjectSummary(keyPrefix + "stdout", this.stdout, DigestUtils.md5Hex(this.stdout.bytes))
+        def stderrSummary = this.createObjectSummary(keyPrefix + "stderr", this.stderr, "abc-2")
+        def runSummary = this.createObjectSummary(keyPrefix + "run", this.run, "abc-2")
+        def logSummary = this.createObjectSummary(keyPrefix + "genie/logs/genie.log", this.logFile, "def")
+        def firstPage = new ListObjectsV2Result()
+        firstPage.getObjectSummaries().addAll([stdoutSummary, stderrSummary])
+        firstPage.setTruncated(true)
+        firstPage.setNextContinuationToken("next")
+        def secondPage = new ListObjectsV2Result()
+        secondPage.getObjectSummaries().addAll([runSummary, logSummary])
+        secondPage.setTruncated(false)
+        def stderrMetadata = new ObjectMetadata()
+        stderrMetadata.addUserMetadata(S3JobArchiverImpl.MD5_METADATA_KEY, DigestUtils.md5Hex(this.stderr.bytes))
+        def runMetadata = new ObjectMetadata()
+        ObjectMetadataProvider metadataProvider
+
+        when:
+        def result = this.s3ArchivalService.archiveDirectory(
+            this.jobDir.toPath(),
+            this.allFiles,
+            manifest,
+            this.archivalLocationS3URI.getURI()
+        )
+
+        then:
+        1 * this.s3ClientFactory.getClient(_ as AmazonS3URI) >> s3Client
+        1 * s3Client.listObjectsV2({ ListObjectsV2Request request ->
+            request.getPrefix() == keyPrefix && request.getContinuationToken() == null
+        } as ListObjectsV2Request) >> firstPage
+        1 * s3Client.listObjectsV2({ ListObjectsV2Request request ->
+            request.getContinuationToken() == "next"
+        } as ListObjectsV2Request) >> secondPage
+        1 * s3Client.getObjectMetadata(this.bucketName, keyPrefix + "stderr") >> stderrMetadata
+        1 * s3Client.getObjectMetadata(this.bucketName, keyPrefix + "run") >> runMetadata
+        1 * this.s3ClientFactory.getTransferManager(_ as AmazonS3URI) >> this.transferManager
+        1 * this.transferManager.uploadFileList(
+            this.archivalLocationS3URI.getBucket(),
+            this.archivalLocationS3URI.getKey(),
+            this.jobDir,
+            [this.run, this.hadoopCoreSite, this.sparkShellSetUp, this.logFile],
+            _ as ObjectMetadataProvider
+        ) >> { args ->
+            metadataProvider = args[4] as ObjectMetadataProvider
+            return upload
+        }
+        1 * upload.waitForCompletion()
+        result == OptionalLong.of(
+            [this.run, this.hadoopCoreSite, this.sparkShellSetUp, this.logFile].sum { it.length() } as long
+        )
+
+        when:
+        def metadata = new ObjectMetadata()
+        metadataProvider.provideObjectMetadata(this.run, metadata)
+
+        then:
+        metadata.getUserMetaDataOf(S3JobArchiverImpl.MD5_METADATA_KEY) == DigestUtils.md5Hex(this.run.bytes)
+    }
+
+    def "Archival uploads all files if previous uploads can't be listed"() {
+        def upload = Mock(MultipleFileUpload)
+        def manifest = new DirectoryManifest.Factory().getDirectoryManifest(this.jobDir.toPath(), true)
+
+        when:
+        def result = this.s3ArchivalService.archiveDirectory(
+            this.jobDir.toPath(),
+            this.allFiles,
+            manifest,
+            this.archivalLocationS3URI.getURI()
+        )
+
+        then:
+        1 * this.s3ClientFactory.getClient(_ as AmazonS3URI) >> { throw new AmazonServiceException("test") }
+        1 * this.s3ClientFactory.getTransferManager(_ as AmazonS3URI) >> this.transferManager
+        1 * this.transferManager.uploadFileList(
+            this.archivalLocationS3URI.getBucket(),
+            this.archivalLocationS3URI.getKey(),
+            this.jobDir,
+            this.allFiles,
+            _ as ObjectMetadataProvider
+        ) >> upload
+        1 * upload.waitForCompletion()
+        result == OptionalLong.of(this.allFiles.sum { it.length() } as long)
+    }
+
+    S3ObjectSummary createObjectSummary(String key, File file, String eTag) {
+        def objectSummary = new S3ObjectSummary()
+        objectSummary.setBucketName(this.bucketName)
+        objectSummary.setKey(key)
+        objectSummary.setSize(file.length())
+        objectSummary.setETag(eTag)
+        return objectSummary
+    }
+}
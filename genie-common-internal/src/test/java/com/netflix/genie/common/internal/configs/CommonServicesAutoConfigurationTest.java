@@ -18,6 +18,8 @@
 package com.netflix.genie.common.internal.configs;
 
 import com.netflix.genie.common.internal.dtos.DirectoryManifest;
+import com.netflix.genie.common.internal.properties.DirectoryManifestProperties;
+import com.netflix.genie.common.internal.properties.JobArchiverProperties;
 import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.internal.services.JobArchiver;
 import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService;
@@ -31,6 +33,8 @@ import org.springframework.cloud.aws.autoconfigure.context.ContextCredentialsAut
 import org.springframework.cloud.aws.autoconfigure.context.ContextRegionProviderAutoConfiguration;
 import org.springframework.cloud.aws.autoconfigure.context.ContextResourceLoaderAutoConfiguration;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Tests for behavior of {@link CommonServicesAutoConfiguration}.
  *
@@ -56,6 +60,7 @@ class CommonServicesAutoConfigurationTest {
     void testExpectedContext() {
         this.contextRunner.run(
             (context) -> {
+                Assertions.assertThat(context).hasSingleBean(JobArchiverProperties.class);
                 Assertions.assertThat(context).hasSingleBean(FileSystemJobArchiverImpl.class);
                 Assertions.assertThat(context).hasSingleBean(JobArchiver.class);
                 Assertions.assertThat(context).hasSingleBean(JobArchiveService.class);
@@ -125,7 +130,14 @@ class CommonServicesAutoConfigurationTest {
     @Test
     void testDirectoryManifestFactory() {
         this.contextRunner.run(
-            context -> Assertions.assertThat(context).hasSingleBean(DirectoryManifest.Factory.class)
+            context -> {
+                Assertions.assertThat(context).hasSingleBean(DirectoryManifestProperties.class);
+                Assertions.assertThat(context).hasSingleBean(DirectoryManifest.Factory.class);
+                Assertions.assertThat(context).hasSingleBean(ForkJoinPool.class);
+                final ForkJoinPool pool = context.getBean("directoryManifestForkJoinPool", ForkJoinPool.class);
+                context.close();
+                Assertions.assertThat(pool.isShutdown()).isTrue();
+            }
         );
     }
 
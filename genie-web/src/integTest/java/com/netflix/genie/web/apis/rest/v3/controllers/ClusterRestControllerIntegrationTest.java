@@ -37,6 +37,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.payload.PayloadDocumentation;
@@ -315,6 +316,111 @@ class ClusterRestControllerIntegrationTest extends RestControllerIntegrationTest
         Assertions.assertThat(this.clusterRepository.count()).isEqualTo(3L);
     }
 
+    @Test
+    void canFindClustersCompactly() throws Exception {
+        final String name = "Test " + UUID.randomUUID().toString();
+        final String id1 = this.createConfigResource(
+            new Cluster.Builder(name, USER, VERSION, ClusterStatus.UP).build(),
+            null
+        );
+        final String id2 = this.createConfigResource(
+            new Cluster.Builder(name, USER, VERSION, ClusterStatus.UP).build(),
+            null
+        );
+
+        final JsonNode responseJsonNode = GenieObjectMapper
+            .getMapper()
+            .readTree(
+                RestAssured
+                    .given(this.getRequestSpecification())
+                    .param("name", name)
+                    .param("compact", true)
+                    .param("size", 1)
+                    .when()
+                    .port(this.port)
+                    .get(CLUSTERS_API)
+                    .then()
+                    .statusCode(Matchers.is(HttpStatus.OK.value()))
+                    .contentType(Matchers.containsString(MediaTypes.HAL_JSON_VALUE))
+                    .body(CLUSTERS_LIST_PATH, Matchers.hasSize(1))
+                    .body(CLUSTERS_ID_LIST_PATH, Matchers.everyItem(Matchers.anyOf(Matchers.is(id1), Matchers.is(id2))))
+                    .body(CLUSTERS_LIST_PATH + "[0]", Matchers.not(Matchers.hasKey(LINKS_PATH)))
+                    .body("page.totalElements", Matchers.is(2))
+                    .body(LINKS_PATH, Matchers.hasKey("next"))
+                    .body(LINKS_PATH, Matchers.not(Matchers.hasKey("prev")))
+                    .extract()
+                    .asByteArray()
+            );
+
+        final JsonNode itemLink = responseJsonNode.get(LINKS_PATH).get("item");
+        Assertions.assertThat(itemLink.get("href").asText()).endsWith(CLUSTERS_API + "/{id}");
+        Assertions.assertThat(itemLink.get("templated").asBoolean()).isTrue();
+
+        final Map<String, String> params = Maps.newHashMap();
+        URLEncodedUtils
+            .parse(new URI(responseJsonNode.get(LINKS_PATH).get("next").get("href").asText()), StandardCharsets.UTF_8)
+            .forEach(nameValuePair -> params.put(nameValuePair.getName(), nameValuePair.getValue()));
+        Assertions.assertThat(params).containsEntry("name", name).containsEntry("page", "1");
+    }
+
+    @Test
+    void canStreamClusters() throws Exception {
+        final String name = UUID.randomUUID().toString();
+        final String id1 = this.createConfigResource(
+            new Cluster.Builder(name, USER, VERSION, ClusterStatus.UP).build(),
+            null
+        );
+        Thread.sleep(1000);
+        final String id2 = this.createConfigResource(
+            new Cluster.Builder(name, USER, VERSION, ClusterStatus.UP).build(),
+            null
+        );
+        this.createConfigResource(
+            new Cluster.Builder(UUID.randomUUID().toString(), USER, VERSION, ClusterStatus.UP).build(),
+            null
+        );
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .param("name", name)
+            .param("stream", true)
+            .when()
+            .port(this.port)
+            .get(CLUSTERS_API)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .contentType(Matchers.containsString(MediaTypes.HAL_JSON_VALUE))
+            .body(CLUSTERS_ID_LIST_PATH, Matchers.contains(id2, id1))
+            .body(CLUSTERS_LIST_PATH + "[0].name", Matchers.is(name))
+            .body(CLUSTERS_LIST_PATH + "[0]", Matchers.not(Matchers.hasKey(LINKS_PATH)))
+            .body("page.totalElements", Matchers.is(2))
+            .body("page.totalPages", Matchers.is(1))
+            .body(LINKS_PATH, Matchers.hasKey(SELF_LINK_KEY))
+            .body(LINKS_PATH + ".item.templated", Matchers.is(true));
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .param("tag", "genie.id:" + id1)
+            .param("stream", true)
+            .when()
+            .port(this.port)
+            .get(CLUSTERS_API)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .body(CLUSTERS_ID_LIST_PATH, Matchers.contains(id1))
+            .body("page.totalElements", Matchers.is(1));
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .param("status", "not a status")
+            .param("stream", true)
+            .when()
+            .port(this.port)
+            .get(CLUSTERS_API)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.PRECONDITION_FAILED.value()));
+    }
+
     @Test
     void canUpdateCluster() throws Exception {
         this.createConfigResource(
@@ -440,6 +546,132 @@ class ClusterRestControllerIntegrationTest extends RestControllerIntegrationTest
         Assertions.assertThat(this.clusterRepository.count()).isEqualTo(1L);
     }
 
+    @Test
+    void canGetClusterConditionally() throws Exception {
+        this.createConfigResource(
+            new Cluster.Builder(NAME, USER, VERSION, ClusterStatus.UP).withId(ID).build(),
+            null
+        );
+        final String clusterResource = CLUSTERS_API + "/{id}";
+
+        final String eTag = RestAssured
+            .given(this.getRequestSpecification())
+            .when()
+            .port(this.port)
+            .get(clusterResource, ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .header(HttpHeaders.ETAG, Matchers.notNullValue())
+            .header(HttpHeaders.CACHE_CONTROL, Matchers.containsString("no-cache"))
+            .body(ID_PATH, Matchers.is(ID))
+            .extract()
+            .header(HttpHeaders.ETAG);
+
+        // The client has the current representation so nothing is sent back
+        final byte[] notModifiedBody = RestAssured
+            .given(this.getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .when()
+            .port(this.port)
+            .get(clusterResource, ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NOT_MODIFIED.value()))
+            .header(HttpHeaders.ETAG, Matchers.is(eTag))
+            .extract()
+            .asByteArray();
+        Assertions.assertThat(notModifiedBody).isEmpty();
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + UUID.randomUUID().toString() + "\"")
+            .when()
+            .port(this.port)
+            .get(clusterResource, ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .header(HttpHeaders.ETAG, Matchers.is(eTag))
+            .body(ID_PATH, Matchers.is(ID));
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .body(GenieObjectMapper.getMapper().writeValueAsBytes(Sets.newHashSet("foo")))
+            .when()
+            .port(this.port)
+            .post(CLUSTERS_API + "/{id}/tags", ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NO_CONTENT.value()));
+
+        // The cluster changed so the new representation is sent
+        RestAssured
+            .given(this.getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .when()
+            .port(this.port)
+            .get(clusterResource, ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .header(HttpHeaders.ETAG, Matchers.not(eTag))
+            .body(TAGS_PATH, Matchers.hasItem("foo"));
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .when()
+            .port(this.port)
+            .get(clusterResource, UUID.randomUUID().toString())
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NOT_FOUND.value()));
+    }
+
+    @Test
+    void canGetClustersInBatch() throws Exception {
+        final String id1 = this.createConfigResource(
+            new Cluster.Builder(NAME, USER, VERSION, ClusterStatus.UP).build(),
+            null
+        );
+        final String id2 = this.createConfigResource(
+            new Cluster.Builder(NAME, USER, VERSION, ClusterStatus.OUT_OF_SERVICE).build(),
+            null
+        );
+        final String batchResource = CLUSTERS_API + "/batch";
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .queryParam("id", id2, id1)
+            .when()
+            .port(this.port)
+            .get(batchResource)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .contentType(Matchers.containsString(MediaTypes.HAL_JSON_VALUE))
+            .body("$", Matchers.hasSize(2))
+            .body(ID_PATH, Matchers.contains(id2, id1))
+            .body(STATUS_PATH, Matchers.contains(ClusterStatus.OUT_OF_SERVICE.toString(), ClusterStatus.UP.toString()));
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .queryParam("id", id1, UUID.randomUUID().toString())
+            .when()
+            .port(this.port)
+            .get(batchResource)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NOT_FOUND.value()));
+
+        final List<String> tooManyIds = Lists.newArrayList();
+        for (int i = 0; i <= ControllerUtils.MAX_BATCH_SIZE; i++) {
+            tooManyIds.add(id1);
+        }
+        RestAssured
+            .given(this.getRequestSpecification())
+            .queryParam("id", tooManyIds)
+            .when()
+            .port(this.port)
+            .get(batchResource)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.BAD_REQUEST.value()));
+    }
+
     @Test
     void canDeleteAllClusters() throws Exception {
         this.createConfigResource(new Cluster.Builder(NAME, USER, VERSION, ClusterStatus.UP).build(), null);
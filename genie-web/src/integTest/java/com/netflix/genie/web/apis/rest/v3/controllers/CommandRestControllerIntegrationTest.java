@@ -34,12 +34,14 @@ import com.netflix.genie.common.external.dtos.v4.ResolvedResources;
 import com.netflix.genie.common.external.util.GenieObjectMapper;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
 import org.assertj.core.api.Assertions;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.payload.PayloadDocumentation;
@@ -48,6 +50,7 @@ import org.springframework.restdocs.restassured3.RestAssuredRestDocumentation;
 import org.springframework.restdocs.restassured3.RestDocumentationFilter;
 import org.springframework.restdocs.snippet.Attributes;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -947,6 +950,116 @@ class CommandRestControllerIntegrationTest extends RestControllerIntegrationTest
         this.canDeleteTagForResource(api, ID, NAME, deleteFilter);
     }
 
+    @Test
+    void canGetApplicationsForACommandConditionally() throws Exception {
+        this.createConfigResource(
+            new Command
+                .Builder(NAME, USER, VERSION, CommandStatus.ACTIVE, EXECUTABLE_AND_ARGS, CHECK_DELAY)
+                .withId(ID)
+                .build(),
+            null
+        );
+        final String commandApplicationsAPI = COMMANDS_API + "/{id}/applications";
+        final String placeholder = UUID.randomUUID().toString();
+        final String applicationId1 = UUID.randomUUID().toString();
+        final String applicationId2 = UUID.randomUUID().toString();
+        for (final String applicationId : Lists.newArrayList(applicationId1, applicationId2)) {
+            this.createConfigResource(
+                new Application
+                    .Builder(placeholder, placeholder, placeholder, ApplicationStatus.ACTIVE)
+                    .withId(applicationId)
+                    .build(),
+                null
+            );
+        }
+        RestAssured
+            .given(this.getRequestSpecification())
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .body(
+                GenieObjectMapper
+                    .getMapper()
+                    .writeValueAsBytes(Lists.newArrayList(applicationId1, applicationId2))
+            )
+            .when()
+            .port(this.port)
+            .post(commandApplicationsAPI, ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NO_CONTENT.value()));
+
+        final String eTag = this.getETag(commandApplicationsAPI, null);
+        this.assertNotModified(commandApplicationsAPI, eTag);
+
+        // Updating one of the applications changes the list
+        RestAssured
+            .given(this.getRequestSpecification())
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .body(GenieObjectMapper.getMapper().writeValueAsBytes(Sets.newHashSet("foo")))
+            .when()
+            .port(this.port)
+            .post(APPLICATIONS_API + "/{id}/tags", applicationId2)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NO_CONTENT.value()));
+        final String applicationUpdatedETag = this.getETag(commandApplicationsAPI, eTag);
+        Assertions.assertThat(applicationUpdatedETag).isNotEqualTo(eTag);
+        this.assertNotModified(commandApplicationsAPI, applicationUpdatedETag);
+
+        // Removing one of the applications changes the list
+        RestAssured
+            .given(this.getRequestSpecification())
+            .when()
+            .port(this.port)
+            .delete(commandApplicationsAPI + "/{applicationId}", ID, applicationId1)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NO_CONTENT.value()));
+        final String applicationRemovedETag = this.getETag(commandApplicationsAPI, applicationUpdatedETag);
+        Assertions.assertThat(applicationRemovedETag).isNotEqualTo(applicationUpdatedETag);
+        this.assertNotModified(commandApplicationsAPI, applicationRemovedETag);
+
+        // The command itself can also be fetched conditionally
+        final String commandETag = RestAssured
+            .given(this.getRequestSpecification())
+            .when()
+            .port(this.port)
+            .get(COMMANDS_API + "/{id}", ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .extract()
+            .header(HttpHeaders.ETAG);
+        this.assertNotModified(COMMANDS_API + "/{id}", commandETag);
+    }
+
+    private String getETag(final String api, @Nullable final String ifNoneMatch) {
+        final RequestSpecification request = RestAssured.given(this.getRequestSpecification());
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request
+            .when()
+            .port(this.port)
+            .get(api, ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .contentType(Matchers.containsString(MediaTypes.HAL_JSON_VALUE))
+            .header(HttpHeaders.CACHE_CONTROL, Matchers.containsString("no-cache"))
+            .extract()
+            .header(HttpHeaders.ETAG);
+    }
+
+    private void assertNotModified(final String api, final String eTag) {
+        final byte[] body = RestAssured
+            .given(this.getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .when()
+            .port(this.port)
+            .get(api, ID)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NOT_MODIFIED.value()))
+            .header(HttpHeaders.ETAG, Matchers.is(eTag))
+            .extract()
+            .asByteArray();
+        Assertions.assertThat(body).isEmpty();
+    }
+
     @Test
     void canAddApplicationsForACommand() throws Exception {
         this.createConfigResource(
@@ -20,6 +20,7 @@ package com.netflix.genie.web.data.services.impl.jpa;
 import com.github.springtestdbunit.annotation.DatabaseSetup;
 import com.github.springtestdbunit.annotation.ExpectedDatabase;
 import com.github.springtestdbunit.assertion.DatabaseAssertionMode;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.external.dtos.v4.Application;
 import com.netflix.genie.common.external.dtos.v4.ApplicationMetadata;
@@ -29,6 +30,8 @@ import com.netflix.genie.common.external.dtos.v4.Command;
 import com.netflix.genie.common.internal.exceptions.checked.GenieCheckedException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -37,6 +40,7 @@ import org.springframework.data.domain.Sort;
 
 import javax.validation.ConstraintViolationException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -119,6 +123,47 @@ class JpaPersistenceServiceImplApplicationsIntegrationTest extends JpaPersistenc
             .isThrownBy(() -> this.service.getApplication(""));
     }
 
+    @Test
+    @DatabaseSetup("persistence/applications/init.xml")
+    void testGetApplications() throws NotFoundException {
+        Assertions
+            .assertThat(this.service.getApplications(Lists.newArrayList(APP_3_ID, APP_1_ID, APP_2_ID)))
+            .extracting(Application::getId)
+            .containsExactly(APP_3_ID, APP_1_ID, APP_2_ID);
+        Assertions.assertThat(this.service.getApplications(Lists.newArrayList())).isEmpty();
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.service.getApplications(Lists.newArrayList(APP_1_ID, UUID.randomUUID().toString())));
+    }
+
+    @Test
+    @DatabaseSetup("persistence/applications/init.xml")
+    void testGetApplicationsUsesFewerQueriesThanIndividualLoads() throws NotFoundException {
+        final List<String> ids = Lists.newArrayList(APP_1_ID, APP_2_ID, APP_3_ID);
+        final Statistics statistics = this.entityManager
+            .getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        this.entityManager.clear();
+        statistics.clear();
+        final List<Application> individually = Lists.newArrayList();
+        for (final String id : ids) {
+            individually.add(this.service.getApplication(id));
+        }
+        final long individualQueries = statistics.getPrepareStatementCount();
+
+        this.entityManager.clear();
+        statistics.clear();
+        final List<Application> inBulk = this.service.getApplications(ids);
+        final long bulkQueries = statistics.getPrepareStatementCount();
+
+        Assertions.assertThat(inBulk).isEqualTo(individually);
+        Assertions.assertThat(bulkQueries).isLessThan(individualQueries);
+    }
+
     @Test
     @DatabaseSetup("persistence/applications/init.xml")
     void testGetApplicationsByName() {
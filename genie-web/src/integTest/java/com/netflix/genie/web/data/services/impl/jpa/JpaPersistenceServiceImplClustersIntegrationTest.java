@@ -18,6 +18,7 @@
 package com.netflix.genie.web.data.services.impl.jpa;
 
 import com.github.springtestdbunit.annotation.DatabaseSetup;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.external.dtos.v4.Cluster;
 import com.netflix.genie.common.external.dtos.v4.ClusterMetadata;
@@ -28,6 +29,8 @@ import com.netflix.genie.common.external.dtos.v4.ExecutionEnvironment;
 import com.netflix.genie.common.internal.exceptions.checked.GenieCheckedException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +45,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -93,6 +97,46 @@ class JpaPersistenceServiceImplClustersIntegrationTest extends JpaPersistenceSer
         Assertions.assertThat(cluster2.getResources().getDependencies()).isEmpty();
     }
 
+    @Test
+    @DatabaseSetup("persistence/clusters/init.xml")
+    void testGetClusters() throws NotFoundException {
+        Assertions
+            .assertThat(this.service.getClusters(Lists.newArrayList(CLUSTER_2_ID, CLUSTER_1_ID)))
+            .extracting(Cluster::getId)
+            .containsExactly(CLUSTER_2_ID, CLUSTER_1_ID);
+        Assertions.assertThat(this.service.getClusters(Lists.newArrayList())).isEmpty();
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.service.getClusters(Lists.newArrayList(CLUSTER_1_ID, UUID.randomUUID().toString())));
+    }
+
+    @Test
+    @DatabaseSetup("persistence/clusters/init.xml")
+    void testGetUpdatedForClusterUsesFewerQueriesThanLoadingIt() throws NotFoundException {
+        final Statistics statistics = this.entityManager
+            .getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        this.entityManager.clear();
+        statistics.clear();
+        final Cluster cluster = this.service.getCluster(CLUSTER_1_ID);
+        final long loadQueries = statistics.getPrepareStatementCount();
+
+        this.entityManager.clear();
+        statistics.clear();
+        final Instant updated = this.service.getUpdatedForResource(CLUSTER_1_ID, Cluster.class);
+        final long updatedQueries = statistics.getPrepareStatementCount();
+
+        Assertions.assertThat(updated).isEqualTo(cluster.getUpdated());
+        Assertions.assertThat(updatedQueries).isEqualTo(1L).isLessThan(loadQueries);
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.service.getUpdatedForResource(UUID.randomUUID().toString(), Cluster.class));
+    }
+
     @Test
     @DatabaseSetup("persistence/clusters/init.xml")
     void testGetClustersByName() {
@@ -186,6 +230,33 @@ class JpaPersistenceServiceImplClustersIntegrationTest extends JpaPersistenceSer
         Assertions.assertThat(clusters.getContent().get(1).getId()).isEqualTo(CLUSTER_2_ID);
     }
 
+    @Test
+    @DatabaseSetup("persistence/clusters/init.xml")
+    void testStreamClusters() {
+        final List<Cluster> clusters = Lists.newArrayList();
+        Assertions
+            .assertThat(this.service.streamClusters(null, null, null, null, null, PAGE, clusters::add))
+            .isEqualTo(2L);
+        Assertions
+            .assertThat(clusters)
+            .isEqualTo(this.service.findClusters(null, null, null, null, null, PAGE).getContent());
+
+        clusters.clear();
+        final Pageable secondPage = PageRequest.of(1, 1, Sort.Direction.DESC, "updated");
+        Assertions
+            .assertThat(this.service.streamClusters(null, null, null, null, null, secondPage, clusters::add))
+            .isEqualTo(2L);
+        Assertions.assertThat(clusters).extracting(Cluster::getId).containsExactly(CLUSTER_1_ID);
+
+        clusters.clear();
+        Assertions
+            .assertThat(
+                this.service.streamClusters(null, null, Sets.newHashSet("nonexistent"), null, null, PAGE, clusters::add)
+            )
+            .isEqualTo(0L);
+        Assertions.assertThat(clusters).isEmpty();
+    }
+
     @Test
     @DatabaseSetup("persistence/clusters/init.xml")
     void testGetClustersOrderBysInvalidField() {
@@ -119,6 +119,19 @@ class JpaPersistenceServiceImplCommandsIntegrationTest extends JpaPersistenceSer
         Assertions.assertThat(command3.getResources().getDependencies().size()).isEqualTo(2);
     }
 
+    @Test
+    @DatabaseSetup("persistence/commands/init.xml")
+    void testGetCommands() throws GenieCheckedException {
+        Assertions
+            .assertThat(this.service.getCommands(Lists.newArrayList(COMMAND_3_ID, COMMAND_1_ID, COMMAND_2_ID)))
+            .extracting(Command::getId)
+            .containsExactly(COMMAND_3_ID, COMMAND_1_ID, COMMAND_2_ID);
+        Assertions.assertThat(this.service.getCommands(Lists.newArrayList())).isEmpty();
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.service.getCommands(Lists.newArrayList(COMMAND_1_ID, UUID.randomUUID().toString())));
+    }
+
     @Test
     @DatabaseSetup("persistence/commands/init.xml")
     void testGetCommandsByName() {
@@ -668,6 +681,22 @@ class JpaPersistenceServiceImplCommandsIntegrationTest extends JpaPersistenceSer
             .hasOnlyOneElementSatisfying(application -> Assertions.assertThat(application.getId()).isEqualTo(APP_1_ID));
     }
 
+    @Test
+    @DatabaseSetup("persistence/commands/init.xml")
+    void testGetApplicationsForCommandUpdated() throws GenieCheckedException {
+        final Instant command1Updated = this.service.getCommand(COMMAND_1_ID).getUpdated();
+        final Instant app1Updated = this.service.getApplication(APP_1_ID).getUpdated();
+        Assertions.assertThat(app1Updated).isBefore(command1Updated);
+        Assertions.assertThat(this.service.getApplicationsForCommandUpdated(COMMAND_1_ID)).isEqualTo(command1Updated);
+        Assertions
+            .assertThat(this.service.getApplicationsForCommandUpdated(COMMAND_2_ID))
+            .isEqualTo(this.service.getCommand(COMMAND_2_ID).getUpdated());
+
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.service.getApplicationsForCommandUpdated(UUID.randomUUID().toString()));
+    }
+
     @Test
     @DatabaseSetup("persistence/commands/init.xml")
     void testRemoveApplicationsForCommand() throws GenieCheckedException {
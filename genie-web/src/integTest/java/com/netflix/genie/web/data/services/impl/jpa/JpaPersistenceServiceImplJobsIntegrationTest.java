@@ -54,6 +54,7 @@ import com.netflix.genie.common.internal.dtos.v4.FinishedJob;
 import com.netflix.genie.common.internal.exceptions.checked.GenieCheckedException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieInvalidStatusException;
 import com.netflix.genie.test.suppliers.RandomSuppliers;
+import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.impl.jpa.entities.JobEntity;
 import com.netflix.genie.web.data.services.impl.jpa.queries.aggregates.JobInfoAggregate;
 import com.netflix.genie.web.data.services.impl.jpa.queries.projections.JobMetadataProjection;
@@ -61,9 +62,18 @@ import com.netflix.genie.web.dtos.JobSubmission;
 import com.netflix.genie.web.dtos.ResolvedJob;
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
+import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.services.JobKillService;
+import com.netflix.genie.web.services.JobResolverService;
+import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.impl.JobCoordinatorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
@@ -862,6 +872,84 @@ class JpaPersistenceServiceImplJobsIntegrationTest extends JpaPersistenceService
         Assertions.assertThat(jobs.getContent()).isEmpty();
     }
 
+    @Test
+    @DatabaseSetup("persistence/jobs/search.xml")
+    void canStreamJobs() {
+        final Pageable page = PageRequest.of(0, 2, Sort.Direction.DESC, "updated");
+        final List<JobSearchResult> results = Lists.newArrayList();
+        final long totalCount = this.service.streamJobs(
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            page,
+            results::add
+        );
+        Assertions.assertThat(totalCount).isEqualTo(5L);
+        Assertions.assertThat(results).hasSize(2);
+        final Page<JobSearchResult> jobs = this.service.findJobs(
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            page
+        );
+        Assertions
+            .assertThat(results)
+            .extracting(BaseSearchResult::getId)
+            .containsExactlyElementsOf(
+                jobs.getContent().stream().map(BaseSearchResult::getId).collect(Collectors.toList())
+            );
+
+        results.clear();
+        Assertions
+            .assertThat(
+                this.service.streamJobs(
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    UUID.randomUUID().toString(),
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    page,
+                    results::add
+                )
+            )
+            .isEqualTo(0L);
+        Assertions.assertThat(results).isEmpty();
+    }
+
     @Test
     @DatabaseSetup("persistence/jobs/search.xml")
     void canFindJobsWithTags() {
@@ -1253,6 +1341,191 @@ class JpaPersistenceServiceImplJobsIntegrationTest extends JpaPersistenceService
             .containsExactly("app1", "app2");
     }
 
+    @Test
+    @DatabaseSetup("persistence/jobs/search.xml")
+    void canCoordinateV3JobWithStatelessResolution() throws GenieException, GenieCheckedException {
+        // The V3 coordinator resolves the job without saving the resolution, the resources are loaded by the ids of
+        // the resolved specification and only saved with the runtime environment
+        final String jobId = UUID.randomUUID().toString();
+        final com.netflix.genie.common.dto.JobRequest jobRequest = new com.netflix.genie.common.dto.JobRequest.Builder(
+            NAME, USER, VERSION, CLUSTER_CRITERIA, COMMAND_CRITERION
+        )
+            .withId(jobId)
+            .withCommandArgs(COMMAND_ARGS)
+            .build();
+        final JobSpecification jobSpecification = new JobSpecification(
+            null,
+            null,
+            new JobSpecification.ExecutionResource(jobId, new ExecutionEnvironment(null, null, null)),
+            new JobSpecification.ExecutionResource("cluster1", new ExecutionEnvironment(null, null, null)),
+            new JobSpecification.ExecutionResource("command1", new ExecutionEnvironment(null, null, null)),
+            Lists.newArrayList(
+                new JobSpecification.ExecutionResource("app3", new ExecutionEnvironment(null, null, null)),
+                new JobSpecification.ExecutionResource("app1", new ExecutionEnvironment(null, null, null))
+            ),
+            null,
+            false,
+            new File("/tmp/genie/jobs/" + jobId),
+            null,
+            null
+        );
+        final JobResolverService jobResolverService = Mockito.mock(JobResolverService.class);
+        Mockito
+            .when(jobResolverService.resolveJob(Mockito.eq(jobId), Mockito.any(JobRequest.class), Mockito.eq(true)))
+            .thenReturn(
+                new ResolvedJob(jobSpecification, Mockito.mock(JobEnvironment.class), Mockito.mock(JobMetadata.class))
+            );
+        final JobStateService jobStateService = Mockito.mock(JobStateService.class);
+        final JobCoordinatorServiceImpl jobCoordinatorService = new JobCoordinatorServiceImpl(
+            new DataServices(this.service),
+            Mockito.mock(JobKillService.class),
+            jobStateService,
+            JobsProperties.getJobsPropertiesDefaults(),
+            jobResolverService,
+            new SimpleMeterRegistry(),
+            HOSTNAME,
+            null
+        );
+
+        Assertions
+            .assertThat(
+                jobCoordinatorService.coordinateJob(
+                    jobRequest,
+                    new com.netflix.genie.common.dto.JobMetadata.Builder().build()
+                )
+            )
+            .isEqualTo(jobId);
+
+        final ArgumentCaptor<Cluster> clusterCaptor = ArgumentCaptor.forClass(Cluster.class);
+        final ArgumentCaptor<Command> commandCaptor = ArgumentCaptor.forClass(Command.class);
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<Application>> applicationsCaptor
+            = ArgumentCaptor.forClass(List.class);
+        Mockito
+            .verify(jobStateService, Mockito.times(1))
+            .schedule(
+                Mockito.eq(jobId),
+                Mockito.eq(jobRequest),
+                clusterCaptor.capture(),
+                commandCaptor.capture(),
+                applicationsCaptor.capture(),
+                Mockito.anyInt()
+            );
+        Assertions.assertThat(clusterCaptor.getValue().getId()).isEqualTo("cluster1");
+        Assertions.assertThat(commandCaptor.getValue().getId()).isEqualTo("command1");
+        Assertions
+            .assertThat(applicationsCaptor.getValue())
+            .extracting(Application::getId)
+            .containsExactly("app3", "app1");
+
+        // The runtime environment saved the resolved resources with the job
+        Assertions.assertThat(this.service.getJobCluster(jobId).getId()).isEqualTo("cluster1");
+        Assertions.assertThat(this.service.getJobCommand(jobId).getId()).isEqualTo("command1");
+        Assertions
+            .assertThat(this.service.getJobApplications(jobId))
+            .extracting(Application::getId)
+            .containsExactly("app3", "app1");
+    }
+
+    @Test
+    @DatabaseSetup("persistence/jobs/search.xml")
+    void loadingJobResourcesInBulkUsesFewerQueriesThanIndividualLoads() throws GenieCheckedException {
+        final Statistics statistics = this.entityManager
+            .getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // What the V3 coordinator used to do: one load per resource and one per application
+        this.entityManager.clear();
+        statistics.clear();
+        this.service.getCluster("cluster1");
+        this.service.getCommand("command1");
+        final List<Application> applications = Lists.newArrayList(
+            this.service.getApplication("app1"),
+            this.service.getApplication("app3")
+        );
+        final long individualQueries = statistics.getPrepareStatementCount();
+
+        this.entityManager.clear();
+        statistics.clear();
+        this.service.getCluster("cluster1");
+        this.service.getCommand("command1");
+        final List<Application> inBulk = this.service.getApplications(Lists.newArrayList("app1", "app3"));
+        final long bulkQueries = statistics.getPrepareStatementCount();
+
+        Assertions.assertThat(inBulk).isEqualTo(applications);
+        Assertions.assertThat(bulkQueries).isLessThan(individualQueries);
+    }
+
+    @Test
+    @DatabaseSetup("persistence/jobs/search.xml")
+    void canGetResourcesForJobs() throws GenieCheckedException {
+        final Set<String> ids = Sets.newHashSet(JOB_1_ID, JOB_2_ID);
+
+        final Map<String, Cluster> clusters = this.service.getClustersForJobs(ids);
+        Assertions.assertThat(clusters).containsOnlyKeys(JOB_1_ID, JOB_2_ID);
+        Assertions.assertThat(clusters.get(JOB_1_ID).getId()).isEqualTo("cluster1");
+
+        final Map<String, Command> commands = this.service.getCommandsForJobs(ids);
+        Assertions.assertThat(commands).containsOnlyKeys(JOB_1_ID, JOB_2_ID);
+        Assertions.assertThat(commands.get(JOB_2_ID).getId()).isEqualTo("command1");
+
+        final Map<String, List<Application>> applications = this.service.getApplicationsForJobs(ids);
+        Assertions.assertThat(applications).containsOnlyKeys(JOB_1_ID, JOB_2_ID);
+        Assertions
+            .assertThat(applications.get(JOB_1_ID))
+            .extracting(Application::getId)
+            .containsExactly("app1", "app3");
+        Assertions
+            .assertThat(applications.get(JOB_2_ID))
+            .extracting(Application::getId)
+            .containsExactly("app1", "app2");
+
+        Assertions.assertThat(this.service.getClustersForJobs(Sets.newHashSet())).isEmpty();
+        final Set<String> withMissingJob = Sets.newHashSet(JOB_1_ID, UUID.randomUUID().toString());
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.service.getClustersForJobs(withMissingJob));
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.service.getCommandsForJobs(withMissingJob));
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.service.getApplicationsForJobs(withMissingJob));
+    }
+
+    @Test
+    @DatabaseSetup("persistence/jobs/search.xml")
+    void getResourcesForJobsUsesFewerQueriesThanPerJobLoads() throws GenieCheckedException {
+        final List<String> ids = Lists.newArrayList(JOB_1_ID, JOB_2_ID, JOB_3_ID);
+        final Statistics statistics = this.entityManager
+            .getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        this.entityManager.clear();
+        statistics.clear();
+        for (final String id : ids) {
+            this.service.getJobCluster(id);
+            this.service.getJobCommand(id);
+            this.service.getJobApplications(id);
+        }
+        final long perJobQueries = statistics.getPrepareStatementCount();
+
+        this.entityManager.clear();
+        statistics.clear();
+        final Set<String> idSet = Sets.newHashSet(ids);
+        this.service.getClustersForJobs(idSet);
+        this.service.getCommandsForJobs(idSet);
+        this.service.getApplicationsForJobs(idSet);
+        final long batchQueries = statistics.getPrepareStatementCount();
+
+        Assertions.assertThat(batchQueries).isLessThan(perJobQueries);
+    }
+
     @Test
     @DatabaseSetup("persistence/jobs/search.xml")
     void canGetActiveJobCountForUser() {
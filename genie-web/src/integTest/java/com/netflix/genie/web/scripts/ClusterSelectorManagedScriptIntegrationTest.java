@@ -123,6 +123,7 @@ class ClusterSelectorManagedScriptIntegrationTest {
         final ScriptManager scriptManager = new ScriptManager(
             scriptManagerProperties,
             taskScheduler,
+            taskScheduler,
             executorService,
             scriptEngineManager,
             resourceLoader,
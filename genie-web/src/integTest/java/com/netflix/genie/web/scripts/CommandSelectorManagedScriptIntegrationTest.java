@@ -135,6 +135,7 @@ class CommandSelectorManagedScriptIntegrationTest {
         final ScriptManager scriptManager = new ScriptManager(
             new ScriptManagerProperties(),
             new ConcurrentTaskScheduler(),
+            new ConcurrentTaskScheduler(),
             this.executorService,
             new ScriptEngineManager(),
             new DefaultResourceLoader(),
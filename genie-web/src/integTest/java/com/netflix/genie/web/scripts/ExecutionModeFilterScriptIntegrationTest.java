@@ -73,6 +73,7 @@ class ExecutionModeFilterScriptIntegrationTest {
         final ScriptManager scriptManager = new ScriptManager(
             scriptManagerProperties,
             taskScheduler,
+            taskScheduler,
             executorService,
             scriptEngineManager,
             resourceLoader,
@@ -48,6 +48,7 @@ import java.util.stream.Collectors;
 
 class ManagedScriptIntegrationTest {
 
+    private ScriptManagerProperties scriptManagerProperties;
     private TestScriptProperties scriptProperties;
     private TestScript script;
     private ObjectMapper objectMapper;
@@ -80,14 +81,15 @@ class ManagedScriptIntegrationTest {
     @BeforeEach
     void setUp() {
         final MeterRegistry meterRegistry = new SimpleMeterRegistry();
-        final ScriptManagerProperties scriptManagerProperties = new ScriptManagerProperties();
+        this.scriptManagerProperties = new ScriptManagerProperties();
         final TaskScheduler taskScheduler = new ConcurrentTaskScheduler();
         final ExecutorService executorService = Executors.newCachedThreadPool();
         final ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
         final ResourceLoader resourceLoader = new DefaultResourceLoader();
         this.objectMapper = GenieObjectMapper.getMapper();
         final ScriptManager scriptManager = new ScriptManager(
-            scriptManagerProperties,
+            this.scriptManagerProperties,
+            taskScheduler,
             taskScheduler,
             executorService,
             scriptEngineManager,
@@ -126,6 +128,23 @@ class ManagedScriptIntegrationTest {
             .hasCauseInstanceOf(TimeoutException.class);
     }
 
+    @ParameterizedTest(name = "Timeout evaluating {0} inline")
+    @ValueSource(strings = {"sleep.js", "sleep.groovy"})
+    void inlineScriptEvaluationTimeoutTest(
+        final String scriptFilename
+    ) throws Exception {
+        ManagedScriptIntegrationTest.loadScript(scriptFilename, this.script, this.scriptProperties);
+
+        this.scriptManagerProperties.setInlineEvaluation(true);
+        this.scriptProperties.setTimeout(1);
+
+        Assertions
+            .assertThatThrownBy(() -> this.script.evaluate())
+            .isInstanceOf(ScriptExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        Assertions.assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
     @Test
     void evaluateScriptNotLoadedTest() {
         Assertions
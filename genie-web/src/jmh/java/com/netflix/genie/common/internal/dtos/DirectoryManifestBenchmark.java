@@ -0,0 +1,148 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.dtos;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing and deserializing job directory manifests as JSON, as done when the agent publishes a manifest
+ * and when the server reads the manifest of an archived job.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DirectoryManifestBenchmark {
+
+    private static final int FILES_PER_DIRECTORY = 10;
+
+    @Param({"100", "10000"})
+    private int fileCount;
+
+    private ObjectMapper mapper;
+    private DirectoryManifest manifest;
+    private String manifestJson;
+
+    /**
+     * Build a manifest of a job directory with the given number of files.
+     *
+     * @throws JsonProcessingException if the manifest can't be serialized
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        this.mapper = GenieObjectMapper.getMapper();
+
+        final Instant now = Instant.now();
+        final Set<DirectoryManifest.ManifestEntry> entries = Sets.newHashSet();
+        final Set<String> directories = Sets.newHashSet();
+        final int directoryCount = Math.max(1, this.fileCount / FILES_PER_DIRECTORY);
+        for (int d = 0; d < directoryCount; d++) {
+            final String directory = "genie/applications/app" + d;
+            final Set<String> children = Sets.newHashSet();
+            for (int f = 0; f < FILES_PER_DIRECTORY; f++) {
+                final String file = directory + "/file" + f + ".xml";
+                children.add(file);
+                entries.add(
+                    new DirectoryManifest.ManifestEntry(
+                        file,
+                        "file" + f + ".xml",
+                        now,
+                        now,
+                        now,
+                        false,
+                        4_096L * f,
+                        "d41d8cd98f00b204e9800998ecf8427e",
+                        "application/xml",
+                        directory,
+                        ImmutableSet.of()
+                    )
+                );
+            }
+            directories.add(directory);
+            entries.add(
+                new DirectoryManifest.ManifestEntry(
+                    directory,
+                    "app" + d,
+                    now,
+                    now,
+                    now,
+                    true,
+                    0L,
+                    null,
+                    null,
+                    "",
+                    children
+                )
+            );
+        }
+        entries.add(
+            new DirectoryManifest.ManifestEntry("", "", now, now, now, true, 0L, null, null, null, directories)
+        );
+
+        this.manifest = new DirectoryManifest(entries);
+        this.manifestJson = this.mapper.writeValueAsString(this.manifest);
+    }
+
+    /**
+     * Serialize the manifest.
+     *
+     * @return The manifest JSON
+     * @throws JsonProcessingException if the manifest can't be serialized
+     */
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return this.mapper.writeValueAsString(this.manifest);
+    }
+
+    /**
+     * Deserialize the manifest.
+     *
+     * @return The manifest
+     * @throws IOException if the manifest can't be deserialized
+     */
+    @Benchmark
+    public DirectoryManifest deserialize() throws IOException {
+        return this.mapper.readValue(this.manifestJson, DirectoryManifest.class);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.dtos.v4.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.dto.ClusterCriteria;
+import com.netflix.genie.common.exceptions.GeniePreconditionException;
+import com.netflix.genie.common.external.dtos.v4.Cluster;
+import com.netflix.genie.common.external.dtos.v4.ClusterMetadata;
+import com.netflix.genie.common.external.dtos.v4.ClusterRequest;
+import com.netflix.genie.common.external.dtos.v4.ClusterStatus;
+import com.netflix.genie.common.external.dtos.v4.ExecutionEnvironment;
+import com.netflix.genie.common.external.dtos.v4.JobRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting between the V3 and V4 DTOs, as done on every V3 API request.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConvertersBenchmark {
+
+    @Param({"5", "50"})
+    private int collectionSize;
+
+    private com.netflix.genie.common.dto.Cluster v3Cluster;
+    private Cluster v4Cluster;
+    private com.netflix.genie.common.dto.JobRequest v3JobRequest;
+    private JobRequest v4JobRequest;
+
+    /**
+     * Build the DTOs to convert.
+     *
+     * @throws GeniePreconditionException if the job request criteria are invalid
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws GeniePreconditionException {
+        final Set<String> tags = this.createStrings("tag:");
+        final Set<String> configs = this.createStrings("s3://genie/config/");
+        final Set<String> dependencies = this.createStrings("s3://genie/dependency/");
+
+        this.v3Cluster = new com.netflix.genie.common.dto.Cluster.Builder(
+            "cluster",
+            "genie",
+            "1.0",
+            com.netflix.genie.common.dto.ClusterStatus.UP
+        )
+            .withId(UUID.randomUUID().toString())
+            .withTags(tags)
+            .withConfigs(configs)
+            .withDependencies(dependencies)
+            .build();
+
+        this.v4Cluster = new Cluster(
+            UUID.randomUUID().toString(),
+            Instant.now(),
+            Instant.now(),
+            new ExecutionEnvironment(configs, dependencies, "s3://genie/cluster/setup.sh"),
+            new ClusterMetadata.Builder("cluster", "genie", "1.0", ClusterStatus.UP).withTags(tags).build()
+        );
+
+        final List<ClusterCriteria> clusterCriterias = Lists.newArrayList();
+        for (int i = 0; i < this.collectionSize; i++) {
+            clusterCriterias.add(new ClusterCriteria(ImmutableSet.of("sched:sla", "id:" + i)));
+        }
+        this.v3JobRequest = new com.netflix.genie.common.dto.JobRequest.Builder(
+            "job",
+            "genie",
+            "1.0",
+            clusterCriterias,
+            ImmutableSet.of("type:spark")
+        )
+            .withCommandArgs(ImmutableList.of("--class", "org.apache.spark.examples.SparkPi"))
+            .withTags(tags)
+            .withConfigs(configs)
+            .withDependencies(dependencies)
+            .build();
+        this.v4JobRequest = DtoConverters.toV4JobRequest(this.v3JobRequest);
+    }
+
+    /**
+     * Convert a V3 cluster into a V4 cluster request.
+     *
+     * @return The V4 cluster request
+     */
+    @Benchmark
+    public ClusterRequest toV4ClusterRequest() {
+        return DtoConverters.toV4ClusterRequest(this.v3Cluster);
+    }
+
+    /**
+     * Convert a V4 cluster into a V3 cluster.
+     *
+     * @return The V3 cluster
+     */
+    @Benchmark
+    public com.netflix.genie.common.dto.Cluster toV3Cluster() {
+        return DtoConverters.toV3Cluster(this.v4Cluster);
+    }
+
+    /**
+     * Convert a V3 job request into a V4 job request.
+     *
+     * @return The V4 job request
+     * @throws GeniePreconditionException if the criteria are invalid
+     */
+    @Benchmark
+    public JobRequest toV4JobRequest() throws GeniePreconditionException {
+        return DtoConverters.toV4JobRequest(this.v3JobRequest);
+    }
+
+    /**
+     * Convert a V4 job request into a V3 job request.
+     *
+     * @return The V3 job request
+     */
+    @Benchmark
+    public com.netflix.genie.common.dto.JobRequest toV3JobRequest() {
+        return DtoConverters.toV3JobRequest(this.v4JobRequest);
+    }
+
+    private Set<String> createStrings(final String prefix) {
+        final Set<String> strings = Sets.newHashSet();
+        for (int i = 0; i < this.collectionSize; i++) {
+            strings.add(prefix + i);
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.dtos.v4.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.external.dtos.v4.ExecutionEnvironment;
+import com.netflix.genie.common.external.dtos.v4.JobSpecification;
+import com.netflix.genie.proto.JobSpecificationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting job specifications to and from the protobuf messages exchanged with the agent.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobServiceProtoConverterBenchmark {
+
+    private static final int APPLICATION_COUNT = 3;
+
+    @Param({"5", "50"})
+    private int collectionSize;
+
+    private JobServiceProtoConverter converter;
+    private JobSpecification jobSpecification;
+    private com.netflix.genie.proto.JobSpecification jobSpecificationProto;
+
+    /**
+     * Build the job specification to convert.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.converter = new JobServiceProtoConverter();
+
+        final List<JobSpecification.ExecutionResource> applications = Lists.newArrayList();
+        for (int i = 0; i < APPLICATION_COUNT; i++) {
+            applications.add(this.createExecutionResource("application" + i));
+        }
+        final Map<String, String> environmentVariables = Maps.newHashMap();
+        for (int i = 0; i < this.collectionSize; i++) {
+            environmentVariables.put("GENIE_VARIABLE_" + i, UUID.randomUUID().toString());
+        }
+        this.jobSpecification = new JobSpecification(
+            ImmutableList.of("spark-submit", "--verbose"),
+            ImmutableList.of("--class", "org.apache.spark.examples.SparkPi", "spark-examples.jar"),
+            this.createExecutionResource("job"),
+            this.createExecutionResource("cluster"),
+            this.createExecutionResource("command"),
+            applications,
+            environmentVariables,
+            false,
+            new File("/tmp/genie/jobs"),
+            "s3://genie/archive",
+            3_600
+        );
+        this.jobSpecificationProto = this.converter.toJobSpecificationProto(this.jobSpecification);
+    }
+
+    /**
+     * Convert a job specification into the response sent to the agent.
+     *
+     * @return The response message
+     */
+    @Benchmark
+    public JobSpecificationResponse toJobSpecificationResponseProto() {
+        return this.converter.toJobSpecificationResponseProto(this.jobSpecification);
+    }
+
+    /**
+     * Convert a job specification message received by the agent back into a DTO.
+     *
+     * @return The job specification
+     */
+    @Benchmark
+    public JobSpecification toJobSpecificationDto() {
+        return this.converter.toJobSpecificationDto(this.jobSpecificationProto);
+    }
+
+    private JobSpecification.ExecutionResource createExecutionResource(final String id) {
+        final Set<String> configs = Sets.newHashSet();
+        final Set<String> dependencies = Sets.newHashSet();
+        for (int i = 0; i < this.collectionSize; i++) {
+            configs.add("s3://genie/" + id + "/config/" + i + ".xml");
+            dependencies.add("s3://genie/" + id + "/dependency/" + i + ".jar");
+        }
+        return new JobSpecification.ExecutionResource(
+            id,
+            new ExecutionEnvironment(configs, dependencies, "s3://genie/" + id + "/setup.sh")
+        );
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.apis.rest.v3.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.dto.search.JobSearchResult;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
+import com.netflix.genie.web.apis.rest.v3.hateoas.assemblers.JobSearchResultModelAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and serializing a page of job search results with the per result links added by the assemblers
+ * compared to the compact representation returned when {@literal compact=true} is requested.
+ * <p>
+ * The state is per thread as the links are built from the request bound to the current thread.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchResultsModelBenchmark {
+
+    private static final String JOBS_API = "/api/v3/jobs";
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private Page<JobSearchResult> page;
+    private PagedResourcesAssembler<JobSearchResult> pagedResourcesAssembler;
+    private JobSearchResultModelAssembler jobSearchResultModelAssembler;
+    private Link self;
+
+    /**
+     * Bind a search request to the thread and build the page of results to convert.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", JOBS_API);
+        request.setQueryString("user=genie&status=RUNNING&size=" + this.pageSize);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        this.mapper = GenieObjectMapper.getMapper();
+        final Instant now = Instant.now();
+        final List<JobSearchResult> results = Lists.newArrayListWithExpectedSize(this.pageSize);
+        for (int i = 0; i < this.pageSize; i++) {
+            results.add(
+                new JobSearchResult(
+                    UUID.randomUUID().toString(),
+                    "job" + i,
+                    "genie",
+                    JobStatus.RUNNING,
+                    now,
+                    null,
+                    "cluster",
+                    "spark"
+                )
+            );
+        }
+        this.page = new PageImpl<>(results, PageRequest.of(1, this.pageSize), 10L * this.pageSize);
+        this.pagedResourcesAssembler = new PagedResourcesAssembler<>(null, null);
+        this.jobSearchResultModelAssembler = new JobSearchResultModelAssembler();
+        this.self = new Link("http://localhost" + JOBS_API + "?user=genie&status=RUNNING&size=" + this.pageSize);
+    }
+
+    /**
+     * Unbind the search request from the thread.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Build the model with a self link per result, as done by default.
+     *
+     * @return The paged model
+     */
+    @Benchmark
+    public PagedModel<EntityModel<JobSearchResult>> assemblerModel() {
+        return this.pagedResourcesAssembler.toModel(this.page, this.jobSearchResultModelAssembler, this.self);
+    }
+
+    /**
+     * Build the compact model with a single templated item link.
+     *
+     * @return The paged model
+     */
+    @Benchmark
+    public PagedModel<JobSearchResult> compactModel() {
+        return ControllerUtils.toCompactPagedModel(this.page, JOBS_API + "/{id}");
+    }
+
+    /**
+     * Build and serialize the model with a self link per result.
+     *
+     * @return The JSON
+     * @throws JsonProcessingException if the model can't be serialized
+     */
+    @Benchmark
+    public String assemblerJson() throws JsonProcessingException {
+        return this.mapper.writeValueAsString(this.assemblerModel());
+    }
+
+    /**
+     * Build and serialize the compact model.
+     *
+     * @return The JSON
+     * @throws JsonProcessingException if the model can't be serialized
+     */
+    @Benchmark
+    public String compactJson() throws JsonProcessingException {
+        return this.mapper.writeValueAsString(this.compactModel());
+    }
+}
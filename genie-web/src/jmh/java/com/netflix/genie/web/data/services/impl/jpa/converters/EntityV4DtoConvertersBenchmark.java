@@ -0,0 +1,180 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.services.impl.jpa.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.external.dtos.v4.Cluster;
+import com.netflix.genie.common.external.dtos.v4.ClusterStatus;
+import com.netflix.genie.common.external.dtos.v4.Command;
+import com.netflix.genie.common.external.dtos.v4.CommandStatus;
+import com.netflix.genie.common.external.dtos.v4.JobRequest;
+import com.netflix.genie.web.data.services.impl.jpa.entities.ClusterEntity;
+import com.netflix.genie.web.data.services.impl.jpa.entities.CommandEntity;
+import com.netflix.genie.web.data.services.impl.jpa.entities.CriterionEntity;
+import com.netflix.genie.web.data.services.impl.jpa.entities.FileEntity;
+import com.netflix.genie.web.data.services.impl.jpa.entities.JobEntity;
+import com.netflix.genie.web.data.services.impl.jpa.entities.TagEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting detached JPA entities into V4 DTOs.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityV4DtoConvertersBenchmark {
+
+    @Param({"5", "50"})
+    private int collectionSize;
+
+    private ClusterEntity clusterEntity;
+    private CommandEntity commandEntity;
+    private JobEntity jobEntity;
+
+    /**
+     * Build the entities to convert.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.clusterEntity = new ClusterEntity();
+        this.clusterEntity.setUniqueId(UUID.randomUUID().toString());
+        this.clusterEntity.setName("cluster");
+        this.clusterEntity.setUser("genie");
+        this.clusterEntity.setVersion("1.0");
+        this.clusterEntity.setStatus(ClusterStatus.UP.name());
+        this.clusterEntity.setDescription("A benchmark cluster");
+        this.clusterEntity.setTags(this.createTags("cluster"));
+        this.clusterEntity.setConfigs(this.createFiles("config"));
+        this.clusterEntity.setDependencies(this.createFiles("dependency"));
+        this.clusterEntity.setSetupFile(new FileEntity("s3://genie/cluster/setup.sh"));
+
+        this.commandEntity = new CommandEntity();
+        this.commandEntity.setUniqueId(UUID.randomUUID().toString());
+        this.commandEntity.setName("spark");
+        this.commandEntity.setUser("genie");
+        this.commandEntity.setVersion("2.4.4");
+        this.commandEntity.setStatus(CommandStatus.ACTIVE.name());
+        this.commandEntity.setTags(this.createTags("command"));
+        this.commandEntity.setConfigs(this.createFiles("config"));
+        this.commandEntity.setDependencies(this.createFiles("dependency"));
+        this.commandEntity.setExecutable(Lists.newArrayList("spark-submit", "--verbose"));
+        this.commandEntity.setMemory(1_536);
+        this.commandEntity.setClusterCriteria(this.createCriteria());
+
+        this.jobEntity = new JobEntity();
+        this.jobEntity.setUniqueId(UUID.randomUUID().toString());
+        this.jobEntity.setName("job");
+        this.jobEntity.setUser("genie");
+        this.jobEntity.setVersion("1.0");
+        this.jobEntity.setTags(this.createTags("job"));
+        this.jobEntity.setConfigs(this.createFiles("config"));
+        this.jobEntity.setDependencies(this.createFiles("dependency"));
+        this.jobEntity.setCommandArgs(ImmutableList.of("--class", "org.apache.spark.examples.SparkPi"));
+        this.jobEntity.setClusterCriteria(this.createCriteria());
+        this.jobEntity.setCommandCriterion(
+            new CriterionEntity(null, null, null, null, ImmutableSet.of(new TagEntity("type:spark")))
+        );
+    }
+
+    /**
+     * Convert a cluster entity.
+     *
+     * @return The cluster DTO
+     */
+    @Benchmark
+    public Cluster toV4ClusterDto() {
+        return EntityV4DtoConverters.toV4ClusterDto(this.clusterEntity);
+    }
+
+    /**
+     * Convert a command entity.
+     *
+     * @return The command DTO
+     */
+    @Benchmark
+    public Command toV4CommandDto() {
+        return EntityV4DtoConverters.toV4CommandDto(this.commandEntity);
+    }
+
+    /**
+     * Convert a job entity into the original job request.
+     *
+     * @return The job request DTO
+     */
+    @Benchmark
+    public JobRequest toV4JobRequestDto() {
+        return EntityV4DtoConverters.toV4JobRequestDto(this.jobEntity);
+    }
+
+    private Set<TagEntity> createTags(final String prefix) {
+        final Set<TagEntity> tags = Sets.newHashSet();
+        for (int i = 0; i < this.collectionSize; i++) {
+            tags.add(new TagEntity(prefix + ":" + i));
+        }
+        return tags;
+    }
+
+    private Set<FileEntity> createFiles(final String prefix) {
+        final Set<FileEntity> files = Sets.newHashSet();
+        for (int i = 0; i < this.collectionSize; i++) {
+            files.add(new FileEntity("s3://genie/" + prefix + "/" + i + ".xml"));
+        }
+        return files;
+    }
+
+    private List<CriterionEntity> createCriteria() {
+        final List<CriterionEntity> criteria = Lists.newArrayList();
+        for (int i = 0; i < this.collectionSize; i++) {
+            criteria.add(
+                new CriterionEntity(
+                    null,
+                    null,
+                    null,
+                    null,
+                    ImmutableSet.of(new TagEntity("sched:sla"), new TagEntity("id:" + i))
+                )
+            );
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.scripts;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.external.dtos.v4.Cluster;
+import com.netflix.genie.common.external.dtos.v4.ClusterMetadata;
+import com.netflix.genie.common.external.dtos.v4.ClusterStatus;
+import com.netflix.genie.common.external.dtos.v4.Criterion;
+import com.netflix.genie.common.external.dtos.v4.ExecutionResourceCriteria;
+import com.netflix.genie.common.external.dtos.v4.JobMetadata;
+import com.netflix.genie.common.external.dtos.v4.JobRequest;
+import com.netflix.genie.web.exceptions.checked.ResourceSelectionException;
+import com.netflix.genie.web.properties.ClusterSelectorScriptProperties;
+import com.netflix.genie.web.properties.ScriptManagerProperties;
+import com.netflix.genie.web.selectors.ClusterSelectionContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.script.ScriptEngineManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of cluster selection through a Groovy {@link ClusterSelectorManagedScript}, with scripts evaluated on a
+ * separate thread or inline on the calling thread.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ClusterSelectorManagedScriptBenchmark {
+
+    private static final String SCRIPT = "selectCluster.groovy";
+
+    @Param({"false", "true"})
+    private boolean inlineEvaluation;
+
+    @Param({"3", "30"})
+    private int clusterCount;
+
+    private ExecutorService executorService;
+    private ThreadPoolTaskScheduler taskScheduler;
+    private ClusterSelectorManagedScript script;
+    private ClusterSelectionContext context;
+
+    /**
+     * Load the selector script and build the selection context.
+     *
+     * @throws Exception if the script cannot be loaded
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final ScriptManagerProperties scriptManagerProperties = new ScriptManagerProperties();
+        scriptManagerProperties.setInlineEvaluation(this.inlineEvaluation);
+        this.executorService = Executors.newCachedThreadPool();
+        this.taskScheduler = new ThreadPoolTaskScheduler();
+        this.taskScheduler.setPoolSize(2);
+        this.taskScheduler.initialize();
+
+        final ScriptManager scriptManager = new ScriptManager(
+            scriptManagerProperties,
+            this.taskScheduler,
+            this.taskScheduler,
+            this.executorService,
+            new ScriptEngineManager(),
+            new DefaultResourceLoader(),
+            registry
+        );
+        final ClusterSelectorScriptProperties scriptProperties = new ClusterSelectorScriptProperties();
+        scriptProperties.setSource(ClusterSelectorManagedScriptBenchmark.class.getResource(SCRIPT).toURI());
+        scriptProperties.setAutoLoadEnabled(true);
+        this.script = new ClusterSelectorManagedScript(scriptManager, scriptProperties, registry);
+        this.script.warmUp();
+
+        final Instant deadline = Instant.now().plus(30, ChronoUnit.SECONDS);
+        while (!this.script.isReadyToEvaluate()) {
+            if (Instant.now().isAfter(deadline)) {
+                throw new IllegalStateException("Timed out waiting for script " + SCRIPT + " to load");
+            }
+            Thread.sleep(100);
+        }
+
+        final Set<Cluster> clusters = Sets.newHashSet();
+        for (int i = 0; i < this.clusterCount; i++) {
+            clusters.add(
+                new Cluster(
+                    UUID.randomUUID().toString(),
+                    Instant.now(),
+                    Instant.now(),
+                    null,
+                    new ClusterMetadata.Builder("cluster" + i, "genie", "1.0", ClusterStatus.UP)
+                        .withTags(ImmutableSet.of("type:yarn", i % 3 == 0 ? "sched:adhoc" : "sched:sla"))
+                        .build()
+                )
+            );
+        }
+        final JobRequest jobRequest = new JobRequest(
+            null,
+            null,
+            ImmutableList.of("-f", "query.q"),
+            new JobMetadata.Builder("benchmark", "genie").build(),
+            new ExecutionResourceCriteria(
+                ImmutableList.of(new Criterion.Builder().withTags(ImmutableSet.of("type:yarn")).build()),
+                new Criterion.Builder().withTags(ImmutableSet.of("type:hive")).build(),
+                null
+            ),
+            null,
+            null
+        );
+        this.context = new ClusterSelectionContext(
+            UUID.randomUUID().toString(),
+            jobRequest,
+            true,
+            null,
+            clusters
+        );
+    }
+
+    /**
+     * Stop the threads created for the benchmark.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.taskScheduler.shutdown();
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Select a cluster.
+     *
+     * @return the selection result
+     * @throws ResourceSelectionException if the script fails
+     */
+    @Benchmark
+    public ResourceSelectorScriptResult<Cluster> selectCluster() throws ResourceSelectionException {
+        return this.script.selectResource(this.context);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.netflix.genie.web.exceptions.checked.SaveAttachmentException;
+import com.netflix.genie.web.properties.AttachmentStorageProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of saving large job attachments on the local filesystem and of copying them into the job directory, with and
+ * without content addressing.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileSystemAttachmentServiceBenchmark {
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private static final String ATTACHMENT_NAME = "attachment.dat";
+
+    @Param({"1", "64", "256"})
+    private int attachmentSizeMb;
+
+    @Param({"true", "false"})
+    private boolean contentAddressed;
+
+    private Path root;
+    private Path source;
+    private FileSystemAttachmentService service;
+    private String savedId;
+    private String requestId;
+    private Path jobDirectory;
+
+    /**
+     * Create the attachment to save and an already saved copy of it to copy into job directories.
+     *
+     * @throws IOException             on error writing the attachment
+     * @throws SaveAttachmentException on error saving the attachment
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SaveAttachmentException {
+        this.root = Files.createTempDirectory("genie-benchmark-attachments");
+        this.source = this.root.resolve(ATTACHMENT_NAME);
+        final byte[] chunk = new byte[CHUNK_SIZE];
+        final Random random = new Random();
+        try (OutputStream out = Files.newOutputStream(this.source)) {
+            for (int i = 0; i < this.attachmentSizeMb; i++) {
+                random.nextBytes(chunk);
+                out.write(chunk);
+            }
+        }
+
+        final AttachmentStorageProperties properties = new AttachmentStorageProperties();
+        properties.setContentAddressed(this.contentAddressed);
+        this.service = new FileSystemAttachmentService(
+            Files.createDirectories(this.root.resolve("attachments")).toUri().toString(),
+            properties,
+            new ConcurrentTaskScheduler(),
+            new SimpleMeterRegistry()
+        );
+        this.savedId = UUID.randomUUID().toString();
+        this.service.saveAttachments(this.savedId, ImmutableSet.of(new FileSystemResource(this.source)));
+    }
+
+    /**
+     * Pick new destinations for the next invocation.
+     */
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        this.requestId = UUID.randomUUID().toString();
+        this.jobDirectory = this.root.resolve(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Remove what the invocation wrote, so disk usage doesn't grow with the number of invocations.
+     *
+     * @throws IOException on error deleting files
+     */
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() throws IOException {
+        this.service.deleteAttachments(this.requestId);
+        this.service.deleteUnreferencedBlobs();
+        FileUtils.deleteDirectory(this.jobDirectory.toFile());
+    }
+
+    /**
+     * Remove all the files created by the benchmark.
+     *
+     * @throws IOException on error deleting files
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.root.toFile());
+    }
+
+    /**
+     * Save the attachment, as done when a job is submitted. With content addressing the content is already stored, so
+     * this measures the save of an attachment identical to one sent previously.
+     *
+     * @return The URIs of the saved attachments
+     * @throws SaveAttachmentException on error saving the attachment
+     */
+    @Benchmark
+    public Set<URI> saveAttachment() throws SaveAttachmentException {
+        return this.service.saveAttachments(this.requestId, ImmutableSet.of(new FileSystemResource(this.source)));
+    }
+
+    /**
+     * Copy the saved attachment into a job directory, as done when the job is set up.
+     *
+     * @throws IOException on error copying the attachment
+     */
+    @Benchmark
+    public void copyIntoJobDirectory() throws IOException {
+        this.service.copyAll(this.savedId, this.jobDirectory);
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.netflix.genie.common.external.dtos.v4.ApiClientMetadata;
+import com.netflix.genie.common.external.dtos.v4.ApplicationMetadata;
+import com.netflix.genie.common.external.dtos.v4.ApplicationRequest;
+import com.netflix.genie.common.external.dtos.v4.ApplicationStatus;
+import com.netflix.genie.common.external.dtos.v4.ClusterMetadata;
+import com.netflix.genie.common.external.dtos.v4.ClusterRequest;
+import com.netflix.genie.common.external.dtos.v4.ClusterStatus;
+import com.netflix.genie.common.external.dtos.v4.CommandMetadata;
+import com.netflix.genie.common.external.dtos.v4.CommandRequest;
+import com.netflix.genie.common.external.dtos.v4.CommandStatus;
+import com.netflix.genie.common.external.dtos.v4.Criterion;
+import com.netflix.genie.common.external.dtos.v4.ExecutionResourceCriteria;
+import com.netflix.genie.common.external.dtos.v4.JobMetadata;
+import com.netflix.genie.common.external.dtos.v4.JobRequest;
+import com.netflix.genie.common.external.dtos.v4.JobRequestMetadata;
+import com.netflix.genie.common.internal.exceptions.checked.GenieJobResolutionException;
+import com.netflix.genie.web.data.observers.PersistedJobStatusObserver;
+import com.netflix.genie.web.data.services.DataServices;
+import com.netflix.genie.web.data.services.PersistenceService;
+import com.netflix.genie.web.dtos.JobSubmission;
+import com.netflix.genie.web.dtos.ResolvedJob;
+import com.netflix.genie.web.properties.AttachmentStorageProperties;
+import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.selectors.impl.RandomClusterSelectorImpl;
+import com.netflix.genie.web.selectors.impl.RandomCommandSelectorImpl;
+import com.netflix.genie.web.services.AttachmentService;
+import com.netflix.genie.web.spring.autoconfigure.ValidationAutoConfiguration;
+import com.netflix.genie.web.spring.autoconfigure.data.DataAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of resolving a job request against an in-memory H2 database populated with a realistic number of
+ * applications, clusters, commands and jobs.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobResolverServiceImplBenchmark {
+
+    private static final int APPLICATION_COUNT = 20;
+    private static final int APPLICATIONS_PER_COMMAND = 3;
+    private static final int JOB_COUNT = 1_000;
+    private static final String USER = "genie";
+
+    @Param({"10", "100"})
+    private int clusterCount;
+
+    @Param({"10", "50"})
+    private int commandCount;
+
+    private ConfigurableApplicationContext context;
+    private JobResolverServiceImpl jobResolverService;
+    private JobRequest jobRequest;
+    private String jobId;
+
+    /**
+     * Start the persistence layer on a fresh in-memory database and populate it.
+     *
+     * @throws Exception if the database cannot be populated
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.context = new SpringApplicationBuilder(FixtureConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .properties("spring.datasource.url=jdbc:h2:mem:genie-benchmark-" + UUID.randomUUID())
+            .run();
+
+        final DataServices dataServices = this.context.getBean(DataServices.class);
+        final PersistenceService persistenceService = dataServices.getPersistenceService();
+
+        final List<String> applicationIds = Lists.newArrayList();
+        for (int i = 0; i < APPLICATION_COUNT; i++) {
+            applicationIds.add(
+                persistenceService.saveApplication(
+                    new ApplicationRequest.Builder(
+                        new ApplicationMetadata.Builder("app" + i, USER, "1." + i, ApplicationStatus.ACTIVE)
+                            .withTags(ImmutableSet.of("type:app" + i, "ver:1." + i))
+                            .build()
+                    ).build()
+                )
+            );
+        }
+
+        for (int i = 0; i < this.clusterCount; i++) {
+            persistenceService.saveCluster(
+                new ClusterRequest.Builder(
+                    new ClusterMetadata.Builder("cluster" + i, USER, "1.0", ClusterStatus.UP)
+                        .withTags(ImmutableSet.of("type:yarn", i % 3 == 0 ? "sched:adhoc" : "sched:sla", "id:" + i))
+                        .build()
+                ).build()
+            );
+        }
+
+        for (int i = 0; i < this.commandCount; i++) {
+            final String commandId = persistenceService.saveCommand(
+                new CommandRequest.Builder(
+                    new CommandMetadata.Builder("spark" + i, USER, "2." + i % 5, CommandStatus.ACTIVE)
+                        .withTags(ImmutableSet.of("type:spark", "ver:2." + i % 5))
+                        .build(),
+                    ImmutableList.of("spark-submit")
+                )
+                    .withClusterCriteria(
+                        ImmutableList.of(
+                            new Criterion.Builder().withTags(ImmutableSet.of("sched:adhoc")).build(),
+                            new Criterion.Builder().withTags(ImmutableSet.of("type:yarn")).build()
+                        )
+                    )
+                    .build()
+            );
+            final List<String> commandApplicationIds = Lists.newArrayList();
+            for (int j = 0; j < APPLICATIONS_PER_COMMAND; j++) {
+                commandApplicationIds.add(applicationIds.get((i + j) % APPLICATION_COUNT));
+            }
+            persistenceService.setApplicationsForCommand(commandId, commandApplicationIds);
+        }
+
+        final JobRequestMetadata jobRequestMetadata = new JobRequestMetadata(
+            new ApiClientMetadata("localhost", "benchmark"),
+            null,
+            0,
+            0L
+        );
+        for (int i = 0; i < JOB_COUNT; i++) {
+            persistenceService.saveJobSubmission(
+                new JobSubmission.Builder(this.createJobRequest(), jobRequestMetadata).build()
+            );
+        }
+
+        this.jobResolverService = new JobResolverServiceImpl(
+            dataServices,
+            ImmutableList.of(new RandomClusterSelectorImpl()),
+            new RandomCommandSelectorImpl(),
+            new SimpleMeterRegistry(),
+            JobsProperties.getJobsPropertiesDefaults(),
+            this.context.getEnvironment()
+        );
+        this.jobRequest = this.createJobRequest();
+        this.jobId = UUID.randomUUID().toString();
+    }
+
+    /**
+     * Shut down the application context and the in-memory database with it.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    /**
+     * Resolve a job request without saving anything.
+     *
+     * @return The resolved job
+     * @throws GenieJobResolutionException if resolution fails
+     */
+    @Benchmark
+    public ResolvedJob resolveJob() throws GenieJobResolutionException {
+        return this.jobResolverService.resolveJob(this.jobId, this.jobRequest, true);
+    }
+
+    private JobRequest createJobRequest() {
+        return new JobRequest(
+            null,
+            null,
+            ImmutableList.of("--class", "org.apache.spark.examples.SparkPi", "spark-examples.jar"),
+            new JobMetadata.Builder("benchmark", USER).build(),
+            new ExecutionResourceCriteria(
+                ImmutableList.of(new Criterion.Builder().withTags(ImmutableSet.of("sched:sla")).build()),
+                new Criterion.Builder().withTags(ImmutableSet.of("type:spark", "ver:2.1")).build(),
+                null
+            ),
+            null,
+            null
+        );
+    }
+
+    /**
+     * The subset of the Genie web application needed to run the persistence layer on an in-memory database.
+     * Everything else (schema, JPA settings) comes from the Genie default properties.
+     */
+    @Configuration
+    @ImportAutoConfiguration(
+        {
+            DataSourceAutoConfiguration.class,
+            FlywayAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class,
+            DataAutoConfiguration.class,
+            ValidationAutoConfiguration.class,
+        }
+    )
+    static class FixtureConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        PersistedJobStatusObserver persistedJobStatusObserver() {
+            return (jobId, previousStatus, currentStatus) -> {
+            };
+        }
+
+        @Bean
+        AttachmentService attachmentService(final MeterRegistry meterRegistry) throws IOException {
+            return new FileSystemAttachmentService(
+                Files.createTempDirectory("genie-benchmark-attachments").toUri().toString(),
+                new AttachmentStorageProperties(),
+                new ConcurrentTaskScheduler(),
+                meterRegistry
+            );
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.util;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to stream a file through a {@link StreamBuffer}, with one thread writing chunks as they would arrive from the
+ * agent and the calling thread reading them as the HTTP response would.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamBufferBenchmark {
+
+    private static final int FILE_SIZE = 16 * 1024 * 1024;
+
+    @Param({"4096", "65536"})
+    private int chunkSize;
+
+    @Param({"1024", "65536"})
+    private int readSize;
+
+    private ExecutorService writerExecutor;
+    private ByteString chunk;
+
+    /**
+     * Create the writer thread and the chunk of data to write.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.writerExecutor = Executors.newSingleThreadExecutor();
+        final byte[] data = new byte[this.chunkSize];
+        new Random().nextBytes(data);
+        this.chunk = ByteString.copyFrom(data);
+    }
+
+    /**
+     * Stop the writer thread.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.writerExecutor.shutdownNow();
+    }
+
+    /**
+     * Transfer a file through a new buffer.
+     *
+     * @return The number of bytes read
+     * @throws IOException          if reading fails
+     * @throws ExecutionException   if writing fails
+     * @throws InterruptedException if interrupted while waiting for the writer
+     */
+    @Benchmark
+    public long transfer() throws IOException, ExecutionException, InterruptedException {
+        final StreamBuffer buffer = new StreamBuffer(0);
+        final Future<?> writer = this.writerExecutor.submit(
+            () -> {
+                for (int written = 0; written < FILE_SIZE; written += this.chunkSize) {
+                    buffer.write(this.chunk);
+                }
+                buffer.closeForCompleted();
+            }
+        );
+
+        final byte[] readBuffer = new byte[this.readSize];
+        long bytesRead = 0;
+        try (InputStream inputStream = buffer.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(readBuffer, 0, readBuffer.length)) != -1) {
+                bytesRead += read;
+            }
+        }
+        writer.get();
+        return bytesRead;
+    }
+}
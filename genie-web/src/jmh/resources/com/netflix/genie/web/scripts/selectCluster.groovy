@@ -0,0 +1,41 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.scripts
+
+import com.netflix.genie.common.external.dtos.v4.Cluster
+import com.netflix.genie.web.selectors.ClusterSelectionContext
+
+/**
+ * Cluster selector script used by benchmarks: selects the first cluster, by id, tagged for ad-hoc workloads.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+
+def binding = this.getBinding()
+
+ClusterSelectionContext context = GroovyScriptUtils.getClusterSelectionContext(binding)
+
+Cluster selectedCluster = context.getClusters()
+    .findAll { it.getMetadata().getTags().contains("sched:adhoc") }
+    .min { it.getId() }
+
+return new ResourceSelectorScriptResult.Builder<Cluster>()
+    .withResource(selectedCluster)
+    .withRationale(selectedCluster == null ? "No ad-hoc cluster available" : "Selected ad-hoc cluster")
+    .build()
@@ -17,6 +17,8 @@
  */
 package com.netflix.genie.web.agent.apis.rpc.v4.endpoints;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.netflix.genie.common.external.dtos.v4.AgentClientMetadata;
 import com.netflix.genie.common.external.dtos.v4.ArchiveStatus;
 import com.netflix.genie.common.external.dtos.v4.JobRequest;
@@ -43,24 +45,45 @@ import com.netflix.genie.proto.JobSpecificationResponse;
 import com.netflix.genie.proto.ReserveJobIdRequest;
 import com.netflix.genie.proto.ReserveJobIdResponse;
 import com.netflix.genie.web.agent.services.AgentJobService;
+import com.netflix.genie.web.properties.JobSpecificationCacheProperties;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 
 /**
  * Extension of {@link JobServiceGrpc.JobServiceImplBase} to provide
  * functionality for resolving and fetching specifications for jobs to be run by the Genie Agent.
+ * <p>
+ * A job specification can't change once resolved, so unless disabled the response sent to the agent is kept in memory
+ * and repeated requests for the same job (fetches after resolution, retries) are served without going back to the
+ * database or converting the specification again.
  *
  * @author tgianos
  * @since 4.0.0
  */
 @Slf4j
 public class GRpcJobServiceImpl extends JobServiceGrpc.JobServiceImplBase {
+    private static final String SPECIFICATION_CACHE_LOOKUP_COUNTER
+        = "genie.agents.jobSpecificationCache.lookup.counter";
+    private static final String RPC_TAG_KEY = "rpc";
+    private static final String RESULT_TAG_KEY = "result";
+    private static final Tag RESOLVE_RPC_TAG = Tag.of(RPC_TAG_KEY, "resolveJobSpecification");
+    private static final Tag GET_RPC_TAG = Tag.of(RPC_TAG_KEY, "getJobSpecification");
+    private static final Tag HIT_TAG = Tag.of(RESULT_TAG_KEY, "hit");
+    private static final Tag MISS_TAG = Tag.of(RESULT_TAG_KEY, "miss");
+
     private final AgentJobService agentJobService;
     private final JobServiceProtoConverter jobServiceProtoConverter;
     private final JobServiceProtoErrorComposer protoErrorComposer;
+    private final MeterRegistry registry;
+    @Nullable
+    private final Cache<String, JobSpecificationResponse> specificationCache;
 
     // TODO: Metrics which I believe can be captured by an interceptor
 
@@ -70,15 +93,28 @@ public class GRpcJobServiceImpl extends JobServiceGrpc.JobServiceImplBase {
      * @param agentJobService          The implementation of the {@link AgentJobService} to use
      * @param jobServiceProtoConverter DTO/Proto converter
      * @param protoErrorComposer       proto error message composer
+     * @param cacheProperties          The job specification cache properties
+     * @param registry                 The meter registry
      */
     public GRpcJobServiceImpl(
         final AgentJobService agentJobService,
         final JobServiceProtoConverter jobServiceProtoConverter,
-        final JobServiceProtoErrorComposer protoErrorComposer
+        final JobServiceProtoErrorComposer protoErrorComposer,
+        final JobSpecificationCacheProperties cacheProperties,
+        final MeterRegistry registry
     ) {
         this.agentJobService = agentJobService;
         this.jobServiceProtoConverter = jobServiceProtoConverter;
         this.protoErrorComposer = protoErrorComposer;
+        this.registry = registry;
+        if (cacheProperties.isEnabled()) {
+            this.specificationCache = Caffeine.newBuilder()
+                .expireAfterAccess(cacheProperties.getExpiration())
+                .maximumSize(cacheProperties.getMaxSize())
+                .build();
+        } else {
+            this.specificationCache = null;
+        }
     }
 
     /**
@@ -184,8 +220,13 @@ public class GRpcJobServiceImpl extends JobServiceGrpc.JobServiceImplBase {
     ) {
         try {
             final String id = request.getId();
-            final JobSpecification jobSpec = this.agentJobService.resolveJobSpecification(id);
-            responseObserver.onNext(jobServiceProtoConverter.toJobSpecificationResponseProto(jobSpec));
+            JobSpecificationResponse response = this.getCachedResponse(id, RESOLVE_RPC_TAG);
+            if (response == null) {
+                final JobSpecification jobSpec = this.agentJobService.resolveJobSpecification(id);
+                response = jobServiceProtoConverter.toJobSpecificationResponseProto(jobSpec);
+                this.cacheResponse(id, response);
+            }
+            responseObserver.onNext(response);
         } catch (final Exception e) {
             log.error(e.getMessage(), e);
             responseObserver.onNext(protoErrorComposer.toProtoJobSpecificationResponse(e));
@@ -207,8 +248,13 @@ public class GRpcJobServiceImpl extends JobServiceGrpc.JobServiceImplBase {
     ) {
         try {
             final String id = request.getId();
-            final JobSpecification jobSpecification = this.agentJobService.getJobSpecification(id);
-            responseObserver.onNext(jobServiceProtoConverter.toJobSpecificationResponseProto(jobSpecification));
+            JobSpecificationResponse response = this.getCachedResponse(id, GET_RPC_TAG);
+            if (response == null) {
+                final JobSpecification jobSpecification = this.agentJobService.getJobSpecification(id);
+                response = jobServiceProtoConverter.toJobSpecificationResponseProto(jobSpecification);
+                this.cacheResponse(id, response);
+            }
+            responseObserver.onNext(response);
         } catch (final Exception e) {
             log.error(e.getMessage(), e);
             responseObserver.onNext(protoErrorComposer.toProtoJobSpecificationResponse(e));
@@ -339,4 +385,22 @@ public class GRpcJobServiceImpl extends JobServiceGrpc.JobServiceImplBase {
             responseObserver.onError(e);
         }
     }
+
+    @Nullable
+    private JobSpecificationResponse getCachedResponse(final String id, final Tag rpcTag) {
+        if (this.specificationCache == null) {
+            return null;
+        }
+        final JobSpecificationResponse response = this.specificationCache.getIfPresent(id);
+        this.registry
+            .counter(SPECIFICATION_CACHE_LOOKUP_COUNTER, Tags.of(rpcTag, response == null ? MISS_TAG : HIT_TAG))
+            .increment();
+        return response;
+    }
+
+    private void cacheResponse(final String id, final JobSpecificationResponse response) {
+        if (this.specificationCache != null) {
+            this.specificationCache.put(id, response);
+        }
+    }
 }
@@ -32,11 +32,17 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.PathChildrenCache;
+import org.apache.curator.framework.recipes.cache.PathChildrenCacheEvent;
 import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.framework.state.ConnectionStateListener;
+import org.apache.curator.utils.ZKPaths;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.apache.curator.x.discovery.ServiceInstance;
 import org.apache.curator.x.discovery.ServiceType;
+import org.apache.curator.x.discovery.details.InstanceSerializer;
+import org.apache.curator.x.discovery.details.JsonInstanceSerializer;
 import org.apache.zookeeper.KeeperException;
 import org.springframework.scheduling.TaskScheduler;
 
@@ -46,11 +52,19 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of {@link AgentRoutingService} that relies on Curator's Discovery extension.
  * Rather than the traditional use of this recipe (register a service for the node itself, this class registers one
  * service instance for each agent locally connected.
+ * <p>
+ * Lookups for agents connected to other nodes are served from a local routing table kept up to date by a
+ * {@link PathChildrenCache} watching the registrations. Since the table is updated asynchronously, a miss falls back
+ * to querying the discovery service directly (the agent may have connected moments ago). While the cache is not
+ * initialized or not in sync with Zookeeper (e.g. suspended or lost session), lookups always query the discovery
+ * service directly.
+ * The same table is used during reconciliation to only refresh registrations that went missing or changed owner.
  *
  * @author mprimi
  * @since 4.0.0
@@ -58,7 +72,10 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingService {
 
-    private static final String SERVICE_NAME = "agent_connections";
+    /**
+     * The name of the discovery service under which agent connections are registered.
+     */
+    public static final String SERVICE_NAME = "agent_connections";
     private static final String METRICS_PREFIX = "genie.agents.connections.";
     private static final String CONNECTED_AGENTS_GAUGE_NAME = METRICS_PREFIX + "connected.gauge";
     private static final String REGISTERED_AGENTS_GAUGE_NAME = METRICS_PREFIX + "registered.gauge";
@@ -68,7 +85,15 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
     private static final String AGENT_REFRESH_TIMER_NAME = METRICS_PREFIX + "refreshed.timer";
     private static final String AGENT_CONNECTED_COUNTER_NAME = METRICS_PREFIX + "connected.counter";
     private static final String AGENT_DISCONNECTED_COUNTER_NAME = METRICS_PREFIX + "disconnected.counter";
+    private static final String ROUTING_TABLE_GAUGE_NAME = METRICS_PREFIX + "routingTable.gauge";
+    private static final String ROUTING_TABLE_STALENESS_GAUGE_NAME = METRICS_PREFIX + "routingTable.staleness.gauge";
+    private static final String ROUTING_TABLE_LOOKUP_COUNTER_NAME = METRICS_PREFIX + "routingTable.lookup.counter";
     private static final String ZK_CONNECTION_STATE_TAG_NAME = "connectionState";
+    private static final String LOOKUP_RESULT_TAG_NAME = "result";
+    private static final Set<Tag> LOOKUP_HIT_TAGS = ImmutableSet.of(Tag.of(LOOKUP_RESULT_TAG_NAME, "hit"));
+    private static final Set<Tag> LOOKUP_MISS_TAGS = ImmutableSet.of(Tag.of(LOOKUP_RESULT_TAG_NAME, "miss"));
+    private static final Set<Tag> LOOKUP_BYPASS_TAGS = ImmutableSet.of(Tag.of(LOOKUP_RESULT_TAG_NAME, "bypass"));
+    private static final long IN_SYNC = 0L;
     private static final Set<Tag> EMPTY_TAG_SET = ImmutableSet.of();
     private final String localHostname;
     private final ServiceDiscovery<Agent> serviceDiscovery;
@@ -76,6 +101,9 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
     private final MeterRegistry registry;
     private final Set<String> connectedAgentsSet = Sets.newConcurrentHashSet();
     private final Map<String, ServiceInstance<Agent>> registeredAgentsMap = Maps.newConcurrentMap();
+    private final Map<String, String> routingTable = Maps.newConcurrentMap();
+    private final AtomicLong routingTableOutOfSyncSince = new AtomicLong(System.currentTimeMillis());
+    private final InstanceSerializer<Agent> instanceSerializer = new JsonInstanceSerializer<>(Agent.class);
     private final ExponentialBackOffTrigger trigger = new ExponentialBackOffTrigger(
         ExponentialBackOffTrigger.DelayType.FROM_PREVIOUS_EXECUTION_COMPLETION,
         100, // TODO make configurable
@@ -91,13 +119,16 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
      * @param taskScheduler                    The task scheduler
      * @param listenableCuratorConnectionState The listenable curator client connection status
      * @param registry                         The metrics registry
+     * @param routingCache                     The (not yet started) cache of the {@link #SERVICE_NAME} service
+     *                                         instances path, this instance takes care of starting it
      */
     public AgentRoutingServiceCuratorDiscoveryImpl(
         final GenieHostInfo genieHostInfo,
         final ServiceDiscovery<Agent> serviceDiscovery,
         final TaskScheduler taskScheduler,
         final Listenable<ConnectionStateListener> listenableCuratorConnectionState,
-        final MeterRegistry registry
+        final MeterRegistry registry,
+        final PathChildrenCache routingCache
     ) {
         this.localHostname = genieHostInfo.getHostname();
         this.serviceDiscovery = serviceDiscovery;
@@ -113,6 +144,69 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         // Create gauge metric for agents connected and registered
         registry.gauge(CONNECTED_AGENTS_GAUGE_NAME, EMPTY_TAG_SET, this.connectedAgentsSet, Set::size);
         registry.gaugeMapSize(REGISTERED_AGENTS_GAUGE_NAME, EMPTY_TAG_SET, this.registeredAgentsMap);
+
+        // Create gauge metrics for the routing table size and staleness
+        registry.gaugeMapSize(ROUTING_TABLE_GAUGE_NAME, EMPTY_TAG_SET, this.routingTable);
+        registry.gauge(
+            ROUTING_TABLE_STALENESS_GAUGE_NAME,
+            EMPTY_TAG_SET,
+            this.routingTableOutOfSyncSince,
+            AgentRoutingServiceCuratorDiscoveryImpl::computeStaleness
+        );
+
+        // Populate and keep the routing table up to date by watching the registrations
+        routingCache.getListenable().addListener((client, event) -> this.handleRoutingCacheEvent(event));
+        try {
+            routingCache.start(PathChildrenCache.StartMode.POST_INITIALIZED_EVENT);
+        } catch (Exception e) {
+            log.error("Failed to start agent routing cache, lookups will query the discovery service directly", e);
+        }
+    }
+
+    private static double computeStaleness(final AtomicLong outOfSyncSince) {
+        final long since = outOfSyncSince.get();
+        return since == IN_SYNC ? 0 : System.currentTimeMillis() - since;
+    }
+
+    private boolean isRoutingTableInSync() {
+        return this.routingTableOutOfSyncSince.get() == IN_SYNC;
+    }
+
+    private void handleRoutingCacheEvent(final PathChildrenCacheEvent event) {
+        switch (event.getType()) {
+            case CHILD_ADDED:
+            case CHILD_UPDATED:
+                final ChildData childData = event.getData();
+                final String jobId = ZKPaths.getNodeFromPath(childData.getPath());
+                try {
+                    final ServiceInstance<Agent> instance = this.instanceSerializer.deserialize(childData.getData());
+                    this.routingTable.put(jobId, instance.getAddress());
+                } catch (Exception e) {
+                    log.error("Failed to deserialize registration of agent executing job id: {}", jobId, e);
+                    this.routingTable.remove(jobId);
+                }
+                break;
+
+            case CHILD_REMOVED:
+                this.routingTable.remove(ZKPaths.getNodeFromPath(event.getData().getPath()));
+                break;
+
+            case INITIALIZED:
+            case CONNECTION_RECONNECTED:
+                // The cache re-reads the children upon re-connection and emits the differences as events
+                log.info("Agent routing table in sync ({} entries)", this.routingTable.size());
+                this.routingTableOutOfSyncSince.set(IN_SYNC);
+                break;
+
+            case CONNECTION_SUSPENDED:
+            case CONNECTION_LOST:
+                log.info("Agent routing table out of sync: {}", event.getType());
+                this.routingTableOutOfSyncSince.compareAndSet(IN_SYNC, System.currentTimeMillis());
+                break;
+
+            default:
+                log.debug("Ignoring agent routing cache event: {}", event.getType());
+        }
     }
 
     private void handleConnectionStateChange(final CuratorFramework client, final ConnectionState newState) {
@@ -209,12 +303,18 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
             }
         }
 
-        // Update all agent connections that are expected to exist.
+        // Update agent connections that are expected to exist.
         // This in necessary in case an entry was removed by a different node where the agent was previously connected.
+        // If the routing table is in sync, only touch the registrations that are missing or point to a different node,
+        // otherwise refresh all of them.
+        final boolean routingTableInSync = this.isRoutingTableInSync();
         for (final Map.Entry<String, ServiceInstance<Agent>> entry : this.registeredAgentsMap.entrySet()) {
             if (this.connectedAgentsSet.contains(entry.getKey())) {
 
                 final String jobId = entry.getKey();
+                if (routingTableInSync && this.localHostname.equals(this.routingTable.get(jobId))) {
+                    continue;
+                }
                 final ServiceInstance<Agent> serviceInstance = entry.getValue();
 
                 Set<Tag> tags = MetricsUtils.newSuccessTagsSet();
@@ -288,6 +388,18 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
             return Optional.of(localHostname);
         }
 
+        if (this.isRoutingTableInSync()) {
+            final String hostname = this.routingTable.get(jobId);
+            if (hostname != null) {
+                this.registry.counter(ROUTING_TABLE_LOOKUP_COUNTER_NAME, LOOKUP_HIT_TAGS).increment();
+                return Optional.of(hostname);
+            }
+            // The table is updated asynchronously, an agent that just connected may not be in it yet
+            this.registry.counter(ROUTING_TABLE_LOOKUP_COUNTER_NAME, LOOKUP_MISS_TAGS).increment();
+        } else {
+            this.registry.counter(ROUTING_TABLE_LOOKUP_COUNTER_NAME, LOOKUP_BYPASS_TAGS).increment();
+        }
+
         final ServiceInstance<Agent> instance;
         try {
             instance = serviceDiscovery.queryForInstance(SERVICE_NAME, jobId);
@@ -62,6 +62,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -250,19 +251,61 @@ public class ApplicationRestController {
     /**
      * Get Application for given id.
      *
-     * @param id unique id for application configuration
-     * @return The application configuration
+     * @param id          unique id for application configuration
+     * @param ifNoneMatch The entity tag of the representation of the application the client already has, if any
+     * @return The application configuration or not modified if the client already has its current representation
      * @throws NotFoundException If no application exists with the given id
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public EntityModel<Application> getApplication(@PathVariable("id") final String id) throws NotFoundException {
+    public ResponseEntity<EntityModel<Application>> getApplication(
+        @PathVariable("id") final String id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Nullable final String ifNoneMatch
+    ) throws NotFoundException {
         log.info("Called to get Application for id {}", id);
-        return this.applicationModelAssembler.toModel(
-            DtoConverters.toV3Application(this.persistenceService.getApplication(id))
+        if (ifNoneMatch != null) {
+            // Only the update time is needed to know whether the client has the current representation
+            final String eTag = ControllerUtils.getETag(
+                this.persistenceService.getUpdatedForResource(
+                    id,
+                    com.netflix.genie.common.external.dtos.v4.Application.class
+                )
+            );
+            if (ControllerUtils.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                return ControllerUtils.notModifiedResponse(eTag);
+            }
+        }
+        final com.netflix.genie.common.external.dtos.v4.Application application
+            = this.persistenceService.getApplication(id);
+        return ControllerUtils.cacheableResponse(
+            this.applicationModelAssembler.toModel(DtoConverters.toV3Application(application)),
+            application.getUpdated()
         );
     }
 
+    /**
+     * Get the applications with the given ids in a single request. At most
+     * {@link ControllerUtils#MAX_BATCH_SIZE} applications can be requested at once.
+     *
+     * @param ids The ids of the applications to get
+     * @return The applications in the same order as {@literal ids}
+     * @throws NotFoundException           If any of the applications doesn't exist
+     * @throws PreconditionFailedException If too many ids were requested
+     */
+    @GetMapping(value = "/batch", produces = MediaTypes.HAL_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<EntityModel<Application>> getApplicationsById(
+        @RequestParam("id") final List<String> ids
+    ) throws NotFoundException, PreconditionFailedException {
+        log.info("[getApplicationsById] Called with ids: {}", ids);
+        ControllerUtils.checkBatchSize(ids);
+        return this.persistenceService
+            .getApplications(ids)
+            .stream()
+            .map(DtoConverters::toV3Application)
+            .map(this.applicationModelAssembler::toModel)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Update application.
      *
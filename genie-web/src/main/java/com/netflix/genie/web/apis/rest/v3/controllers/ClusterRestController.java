@@ -24,6 +24,7 @@ import com.google.common.collect.Lists;
 import com.netflix.genie.common.dto.Cluster;
 import com.netflix.genie.common.dto.Command;
 import com.netflix.genie.common.exceptions.GenieException;
+import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.common.external.dtos.v4.ClusterStatus;
 import com.netflix.genie.common.external.util.GenieObjectMapper;
@@ -35,6 +36,7 @@ import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.exceptions.checked.PreconditionFailedException;
+import com.netflix.genie.web.properties.SearchStreamingProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -59,20 +61,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -88,20 +92,29 @@ import java.util.stream.Collectors;
 public class ClusterRestController {
 
     private static final List<EntityModel<Command>> EMPTY_COMMAND_LIST = new ArrayList<>(0);
+    private static final String CLUSTER_ITEM_PATH = "/api/v3/clusters/{id}";
+    private static final String CLUSTERS_RELATION = "clusterList";
 
     private final PersistenceService persistenceService;
     private final ClusterModelAssembler clusterModelAssembler;
+    private final SearchStreamingProperties searchStreamingProperties;
 
     /**
      * Constructor.
      *
-     * @param dataServices          The {@link DataServices} encapsulation instance to use.
-     * @param entityModelAssemblers The encapsulation of all available V3 resource assemblers
+     * @param dataServices              The {@link DataServices} encapsulation instance to use.
+     * @param entityModelAssemblers     The encapsulation of all available V3 resource assemblers
+     * @param searchStreamingProperties The properties related to streaming search results
      */
     @Autowired
-    public ClusterRestController(final DataServices dataServices, final EntityModelAssemblers entityModelAssemblers) {
+    public ClusterRestController(
+        final DataServices dataServices,
+        final EntityModelAssemblers entityModelAssemblers,
+        final SearchStreamingProperties searchStreamingProperties
+    ) {
         this.persistenceService = dataServices.getPersistenceService();
         this.clusterModelAssembler = entityModelAssemblers.getClusterModelAssembler();
+        this.searchStreamingProperties = searchStreamingProperties;
     }
 
     /**
@@ -132,19 +145,60 @@ public class ClusterRestController {
     /**
      * Get cluster configuration from unique id.
      *
-     * @param id id for the cluster
-     * @return the cluster
+     * @param id          id for the cluster
+     * @param ifNoneMatch The entity tag of the representation of the cluster the client already has, if any
+     * @return the cluster or not modified if the client already has its current representation
      * @throws NotFoundException If no cluster with {@literal id} exists
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public EntityModel<Cluster> getCluster(@PathVariable("id") final String id) throws NotFoundException {
+    public ResponseEntity<EntityModel<Cluster>> getCluster(
+        @PathVariable("id") final String id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Nullable final String ifNoneMatch
+    ) throws NotFoundException {
         log.info("[getCluster] Called with id: {}", id);
-        return this.clusterModelAssembler.toModel(
-            DtoConverters.toV3Cluster(this.persistenceService.getCluster(id))
+        if (ifNoneMatch != null) {
+            // Only the update time is needed to know whether the client has the current representation
+            final String eTag = ControllerUtils.getETag(
+                this.persistenceService.getUpdatedForResource(
+                    id,
+                    com.netflix.genie.common.external.dtos.v4.Cluster.class
+                )
+            );
+            if (ControllerUtils.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                return ControllerUtils.notModifiedResponse(eTag);
+            }
+        }
+        final com.netflix.genie.common.external.dtos.v4.Cluster cluster = this.persistenceService.getCluster(id);
+        return ControllerUtils.cacheableResponse(
+            this.clusterModelAssembler.toModel(DtoConverters.toV3Cluster(cluster)),
+            cluster.getUpdated()
         );
     }
 
+    /**
+     * Get the clusters with the given ids in a single request. At most
+     * {@link ControllerUtils#MAX_BATCH_SIZE} clusters can be requested at once.
+     *
+     * @param ids The ids of the clusters to get
+     * @return The clusters in the same order as {@literal ids}
+     * @throws NotFoundException           If any of the clusters doesn't exist
+     * @throws PreconditionFailedException If too many ids were requested
+     */
+    @GetMapping(value = "/batch", produces = MediaTypes.HAL_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<EntityModel<Cluster>> getClustersById(
+        @RequestParam("id") final List<String> ids
+    ) throws NotFoundException, PreconditionFailedException {
+        log.info("[getClustersById] Called with ids: {}", ids);
+        ControllerUtils.checkBatchSize(ids);
+        return this.persistenceService
+            .getClusters(ids)
+            .stream()
+            .map(DtoConverters::toV3Cluster)
+            .map(this.clusterModelAssembler::toModel)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Get cluster config based on user params. If empty strings are passed for
      * they are treated as nulls (not false).
@@ -154,6 +208,8 @@ public class ClusterRestController {
      * @param tags          tags for the cluster
      * @param minUpdateTime min time when cluster configuration was updated
      * @param maxUpdateTime max time when cluster configuration was updated
+     * @param compact       Whether to embed the clusters without per cluster links and only a single templated
+     *                      {@literal item} link on the page
      * @param page          The page to get
      * @param assembler     The paged resources assembler to use
      * @return the Clusters found matching the criteria
@@ -161,96 +217,40 @@ public class ClusterRestController {
      */
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public PagedModel<EntityModel<Cluster>> getClusters(
+    public PagedModel<?> getClusters(
         @RequestParam(value = "name", required = false) @Nullable final String name,
         @RequestParam(value = "status", required = false) @Nullable final Set<String> statuses,
         @RequestParam(value = "tag", required = false) @Nullable final Set<String> tags,
         @RequestParam(value = "minUpdateTime", required = false) @Nullable final Long minUpdateTime,
         @RequestParam(value = "maxUpdateTime", required = false) @Nullable final Long maxUpdateTime,
+        @RequestParam(value = "compact", defaultValue = "false") final boolean compact,
         @PageableDefault(size = 64, sort = {"updated"}, direction = Sort.Direction.DESC) final Pageable page,
         final PagedResourcesAssembler<Cluster> assembler
     ) throws GenieException {
         log.info(
-            "[getClusters] Called to find clusters [name | statuses | tags | minUpdateTime | maxUpdateTime | page]\n"
-                + "{} | {} | {} | {} | {} | {}",
+            "[getClusters] Called to find clusters "
+                + "[name | statuses | tags | minUpdateTime | maxUpdateTime | compact | page]\n"
+                + "{} | {} | {} | {} | {} | {} | {}",
             name,
             statuses,
             tags,
             minUpdateTime,
             maxUpdateTime,
+            compact,
             page
         );
-        //Create this conversion internal in case someone uses lower case by accident?
-        Set<ClusterStatus> enumStatuses = null;
-        if (statuses != null) {
-            enumStatuses = EnumSet.noneOf(ClusterStatus.class);
-            for (final String status : statuses) {
-                enumStatuses.add(
-                    DtoConverters.toV4ClusterStatus(com.netflix.genie.common.dto.ClusterStatus.parse(status))
-                );
-            }
-        }
 
+        final Set<ClusterStatus> enumStatuses = parseClusterStatuses(statuses);
         final Page<Cluster> clusters;
-        if (tags != null && tags.stream().filter(tag -> tag.startsWith(DtoConverters.GENIE_ID_PREFIX)).count() >= 1L) {
+        if (hasIdTag(tags)) {
             // TODO: This doesn't take into account others as compounded find...not sure if good or bad
-            final List<Cluster> clusterList = Lists.newArrayList();
-            final int prefixLength = DtoConverters.GENIE_ID_PREFIX.length();
-            tags
-                .stream()
-                .filter(tag -> tag.startsWith(DtoConverters.GENIE_ID_PREFIX))
-                .forEach(
-                    tag -> {
-                        final String id = tag.substring(prefixLength);
-                        try {
-                            clusterList.add(DtoConverters.toV3Cluster(this.persistenceService.getCluster(id)));
-                        } catch (final NotFoundException ge) {
-                            log.debug("No cluster with id {} found", id, ge);
-                        }
-                    }
-                );
-            clusters = new PageImpl<>(clusterList);
-        } else if (tags != null
-            && tags.stream().filter(tag -> tag.startsWith(DtoConverters.GENIE_NAME_PREFIX)).count() >= 1L) {
-            final Set<String> finalTags = tags
-                .stream()
-                .filter(tag -> !tag.startsWith(DtoConverters.GENIE_NAME_PREFIX))
-                .collect(Collectors.toSet());
-            if (name == null) {
-                final Optional<String> finalName = tags
-                    .stream()
-                    .filter(tag -> tag.startsWith(DtoConverters.GENIE_NAME_PREFIX))
-                    .map(tag -> tag.substring(DtoConverters.GENIE_NAME_PREFIX.length()))
-                    .findFirst();
-
-                clusters = this.persistenceService
-                    .findClusters(
-                        finalName.orElse(null),
-                        enumStatuses,
-                        finalTags,
-                        minUpdateTime == null ? null : Instant.ofEpochMilli(minUpdateTime),
-                        maxUpdateTime == null ? null : Instant.ofEpochMilli(maxUpdateTime),
-                        page
-                    )
-                    .map(DtoConverters::toV3Cluster);
-            } else {
-                clusters = this.persistenceService
-                    .findClusters(
-                        name,
-                        enumStatuses,
-                        finalTags,
-                        minUpdateTime == null ? null : Instant.ofEpochMilli(minUpdateTime),
-                        maxUpdateTime == null ? null : Instant.ofEpochMilli(maxUpdateTime),
-                        page
-                    )
-                    .map(DtoConverters::toV3Cluster);
-            }
+            clusters = new PageImpl<>(this.getClustersForIdTags(tags));
         } else {
             clusters = this.persistenceService
                 .findClusters(
-                    name,
+                    getSearchName(name, tags),
                     enumStatuses,
-                    tags,
+                    getSearchTags(tags),
                     minUpdateTime == null ? null : Instant.ofEpochMilli(minUpdateTime),
                     maxUpdateTime == null ? null : Instant.ofEpochMilli(maxUpdateTime),
                     page
@@ -258,6 +258,10 @@ public class ClusterRestController {
                 .map(DtoConverters::toV3Cluster);
         }
 
+        if (compact) {
+            return ControllerUtils.toCompactPagedModel(clusters, CLUSTER_ITEM_PATH);
+        }
+
         // Build the self link which will be used for the next, previous, etc links
         final Link self = WebMvcLinkBuilder
             .linkTo(
@@ -269,6 +273,7 @@ public class ClusterRestController {
                         tags,
                         minUpdateTime,
                         maxUpdateTime,
+                        compact,
                         page,
                         assembler
                     )
@@ -277,6 +282,76 @@ public class ClusterRestController {
         return assembler.toModel(clusters, this.clusterModelAssembler, self);
     }
 
+    /**
+     * Stream the clusters matching the given parameters. This is the same search as {@link #getClusters} but each
+     * cluster is written to the response as it is read from the database so memory use doesn't grow with the size of
+     * the page. The response has the compact representation, i.e. as if {@literal compact=true} was requested.
+     *
+     * @param name          cluster name (can be a pattern)
+     * @param statuses      valid types - Types.ClusterStatus
+     * @param tags          tags for the cluster
+     * @param minUpdateTime min time when cluster configuration was updated
+     * @param maxUpdateTime max time when cluster configuration was updated
+     * @param page          The page to get
+     * @param response      The response to stream the clusters to
+     * @return The task streaming the response
+     * @throws GenieException For any error
+     */
+    @GetMapping(produces = MediaTypes.HAL_JSON_VALUE, params = "stream=true")
+    public WebAsyncTask<Void> streamClusters(
+        @RequestParam(value = "name", required = false) @Nullable final String name,
+        @RequestParam(value = "status", required = false) @Nullable final Set<String> statuses,
+        @RequestParam(value = "tag", required = false) @Nullable final Set<String> tags,
+        @RequestParam(value = "minUpdateTime", required = false) @Nullable final Long minUpdateTime,
+        @RequestParam(value = "maxUpdateTime", required = false) @Nullable final Long maxUpdateTime,
+        @PageableDefault(size = 64, sort = {"updated"}, direction = Sort.Direction.DESC) final Pageable page,
+        final HttpServletResponse response
+    ) throws GenieException {
+        log.info(
+            "[streamClusters] Called to find clusters [name | statuses | tags | minUpdateTime | maxUpdateTime | page]\n"
+                + "{} | {} | {} | {} | {} | {}",
+            name,
+            statuses,
+            tags,
+            minUpdateTime,
+            maxUpdateTime,
+            page
+        );
+
+        final Set<ClusterStatus> enumStatuses = parseClusterStatuses(statuses);
+        if (hasIdTag(tags)) {
+            final List<Cluster> clusters = this.getClustersForIdTags(tags);
+            return ControllerUtils.<Cluster>toStreamingCompactPagedModel(
+                page,
+                CLUSTERS_RELATION,
+                CLUSTER_ITEM_PATH,
+                consumer -> {
+                    clusters.forEach(consumer);
+                    return clusters.size();
+                },
+                response,
+                this.searchStreamingProperties.getTimeout()
+            );
+        }
+
+        return ControllerUtils.<Cluster>toStreamingCompactPagedModel(
+            page,
+            CLUSTERS_RELATION,
+            CLUSTER_ITEM_PATH,
+            consumer -> this.persistenceService.streamClusters(
+                getSearchName(name, tags),
+                enumStatuses,
+                getSearchTags(tags),
+                minUpdateTime == null ? null : Instant.ofEpochMilli(minUpdateTime),
+                maxUpdateTime == null ? null : Instant.ofEpochMilli(maxUpdateTime),
+                page,
+                cluster -> consumer.accept(DtoConverters.toV3Cluster(cluster))
+            ),
+            response,
+            this.searchStreamingProperties.getTimeout()
+        );
+    }
+
     /**
      * Update a cluster configuration.
      *
@@ -661,4 +736,68 @@ public class ClusterRestController {
     ) {
         log.info("[removeCommandForCluster] Called with id {} and command id {}. No-op.", id, commandId);
     }
+
+    private List<Cluster> getClustersForIdTags(final Set<String> tags) {
+        final List<Cluster> clusterList = Lists.newArrayList();
+        final int prefixLength = DtoConverters.GENIE_ID_PREFIX.length();
+        tags
+            .stream()
+            .filter(tag -> tag.startsWith(DtoConverters.GENIE_ID_PREFIX))
+            .forEach(
+                tag -> {
+                    final String id = tag.substring(prefixLength);
+                    try {
+                        clusterList.add(DtoConverters.toV3Cluster(this.persistenceService.getCluster(id)));
+                    } catch (final NotFoundException ge) {
+                        log.debug("No cluster with id {} found", id, ge);
+                    }
+                }
+            );
+        return clusterList;
+    }
+
+    private static boolean hasIdTag(@Nullable final Set<String> tags) {
+        return tags != null && tags.stream().anyMatch(tag -> tag.startsWith(DtoConverters.GENIE_ID_PREFIX));
+    }
+
+    @Nullable
+    private static String getSearchName(@Nullable final String name, @Nullable final Set<String> tags) {
+        if (name != null || tags == null) {
+            return name;
+        }
+        return tags
+            .stream()
+            .filter(tag -> tag.startsWith(DtoConverters.GENIE_NAME_PREFIX))
+            .map(tag -> tag.substring(DtoConverters.GENIE_NAME_PREFIX.length()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Nullable
+    private static Set<String> getSearchTags(@Nullable final Set<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+        return tags
+            .stream()
+            .filter(tag -> !tag.startsWith(DtoConverters.GENIE_NAME_PREFIX))
+            .collect(Collectors.toSet());
+    }
+
+    @Nullable
+    private static Set<ClusterStatus> parseClusterStatuses(
+        @Nullable final Set<String> statuses
+    ) throws GeniePreconditionException {
+        //Create this conversion internal in case someone uses lower case by accident?
+        if (statuses == null) {
+            return null;
+        }
+        final Set<ClusterStatus> enumStatuses = EnumSet.noneOf(ClusterStatus.class);
+        for (final String status : statuses) {
+            enumStatuses.add(
+                DtoConverters.toV4ClusterStatus(com.netflix.genie.common.dto.ClusterStatus.parse(status))
+            );
+        }
+        return enumStatuses;
+    }
 }
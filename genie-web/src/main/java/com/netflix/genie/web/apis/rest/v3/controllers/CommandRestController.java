@@ -66,6 +66,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -76,6 +77,7 @@ import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
@@ -141,19 +143,60 @@ public class CommandRestController {
     /**
      * Get Command configuration for given id.
      *
-     * @param id unique id for command configuration
-     * @return The command configuration
+     * @param id          unique id for command configuration
+     * @param ifNoneMatch The entity tag of the representation of the command the client already has, if any
+     * @return The command configuration or not modified if the client already has its current representation
      * @throws NotFoundException When no {@link Command} with the given {@literal id} exists
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public EntityModel<Command> getCommand(@PathVariable("id") final String id) throws NotFoundException {
+    public ResponseEntity<EntityModel<Command>> getCommand(
+        @PathVariable("id") final String id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Nullable final String ifNoneMatch
+    ) throws NotFoundException {
         log.info("Called to get command with id {}", id);
-        return this.commandModelAssembler.toModel(
-            DtoConverters.toV3Command(this.persistenceService.getCommand(id))
+        if (ifNoneMatch != null) {
+            // Only the update time is needed to know whether the client has the current representation
+            final String eTag = ControllerUtils.getETag(
+                this.persistenceService.getUpdatedForResource(
+                    id,
+                    com.netflix.genie.common.external.dtos.v4.Command.class
+                )
+            );
+            if (ControllerUtils.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                return ControllerUtils.notModifiedResponse(eTag);
+            }
+        }
+        final com.netflix.genie.common.external.dtos.v4.Command command = this.persistenceService.getCommand(id);
+        return ControllerUtils.cacheableResponse(
+            this.commandModelAssembler.toModel(DtoConverters.toV3Command(command)),
+            command.getUpdated()
         );
     }
 
+    /**
+     * Get the commands with the given ids in a single request. At most
+     * {@link ControllerUtils#MAX_BATCH_SIZE} commands can be requested at once.
+     *
+     * @param ids The ids of the commands to get
+     * @return The commands in the same order as {@literal ids}
+     * @throws NotFoundException           If any of the commands doesn't exist
+     * @throws PreconditionFailedException If too many ids were requested
+     */
+    @GetMapping(value = "/batch", produces = MediaTypes.HAL_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<EntityModel<Command>> getCommandsById(
+        @RequestParam("id") final List<String> ids
+    ) throws NotFoundException, PreconditionFailedException {
+        log.info("[getCommandsById] Called with ids: {}", ids);
+        ControllerUtils.checkBatchSize(ids);
+        return this.persistenceService
+            .getCommands(ids)
+            .stream()
+            .map(DtoConverters::toV3Command)
+            .map(this.commandModelAssembler::toModel)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Get Command configuration based on user parameters.
      *
@@ -161,6 +204,8 @@ public class CommandRestController {
      * @param user      The user who created the configuration (optional)
      * @param statuses  The statuses of the commands to get (optional)
      * @param tags      The set of tags you want the command for.
+     * @param compact   Whether to embed the commands without per command links and only a single templated
+     *                  {@literal item} link on the page
      * @param page      The page to get
      * @param assembler The paged resources assembler to use
      * @return All the Commands matching the criteria or all if no criteria
@@ -168,20 +213,22 @@ public class CommandRestController {
      */
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public PagedModel<EntityModel<Command>> getCommands(
+    public PagedModel<?> getCommands(
         @RequestParam(value = "name", required = false) @Nullable final String name,
         @RequestParam(value = "user", required = false) @Nullable final String user,
         @RequestParam(value = "status", required = false) @Nullable final Set<String> statuses,
         @RequestParam(value = "tag", required = false) @Nullable final Set<String> tags,
+        @RequestParam(value = "compact", defaultValue = "false") final boolean compact,
         @PageableDefault(size = 64, sort = {"updated"}, direction = Sort.Direction.DESC) final Pageable page,
         final PagedResourcesAssembler<Command> assembler
     ) throws GenieException {
         log.info(
-            "Called [name | user | status | tags | page]\n{} | {} | {} | {} | {}",
+            "Called [name | user | status | tags | compact | page]\n{} | {} | {} | {} | {} | {}",
             name,
             user,
             statuses,
             tags,
+            compact,
             page
         );
 
@@ -259,6 +306,10 @@ public class CommandRestController {
                 .map(DtoConverters::toV3Command);
         }
 
+        if (compact) {
+            return ControllerUtils.toCompactPagedModel(commands, "/api/v3/commands/{id}");
+        }
+
         // Build the self link which will be used for the next, previous, etc links
         final Link self = WebMvcLinkBuilder
             .linkTo(
@@ -269,6 +320,7 @@ public class CommandRestController {
                         user,
                         statuses,
                         tags,
+                        compact,
                         page,
                         assembler
                     )
@@ -619,21 +671,32 @@ public class CommandRestController {
     /**
      * Get the applications configured for a given command.
      *
-     * @param id The id of the command to get the application files for. Not NULL/empty/blank.
-     * @return The active applications for the command.
+     * @param id          The id of the command to get the application files for. Not NULL/empty/blank.
+     * @param ifNoneMatch The entity tag of the list of applications the client already has, if any
+     * @return The active applications for the command or not modified if the client already has the current list
      * @throws NotFoundException When no {@link Command} with the given {@literal id} exists
      */
     @GetMapping(value = "/{id}/applications", produces = MediaTypes.HAL_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public List<EntityModel<Application>> getApplicationsForCommand(
-        @PathVariable("id") final String id
+    public ResponseEntity<List<EntityModel<Application>>> getApplicationsForCommand(
+        @PathVariable("id") final String id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Nullable final String ifNoneMatch
     ) throws NotFoundException {
         log.info("Called with id {}", id);
-        return this.persistenceService.getApplicationsForCommand(id)
-            .stream()
-            .map(DtoConverters::toV3Application)
-            .map(this.applicationModelAssembler::toModel)
-            .collect(Collectors.toList());
+        // The list changes when the command's applications are changed or when any of the applications is updated.
+        // Looked up before loading the applications so the entity tag can't be newer than the list returned.
+        final Instant updated = this.persistenceService.getApplicationsForCommandUpdated(id);
+        final String eTag = ControllerUtils.getETag(updated);
+        if (ControllerUtils.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return ControllerUtils.notModifiedResponse(eTag);
+        }
+        return ControllerUtils.cacheableResponse(
+            this.persistenceService.getApplicationsForCommand(id)
+                .stream()
+                .map(DtoConverters::toV3Application)
+                .map(this.applicationModelAssembler::toModel)
+                .collect(Collectors.toList()),
+            updated
+        );
     }
 
     /**
@@ -17,15 +17,43 @@
  */
 package com.netflix.genie.web.apis.rest.v3.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.collect.Lists;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
+import com.netflix.genie.web.exceptions.checked.PreconditionFailedException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.annotation.Nullable;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**
  * Utility methods re-used in various controllers.
@@ -36,7 +64,21 @@ import java.net.URL;
 @Slf4j
 public final class ControllerUtils {
 
+    /**
+     * The maximum number of resources which can be requested at once from the batch endpoints.
+     */
+    static final int MAX_BATCH_SIZE = 100;
+
     private static final String EMPTY_STRING = "";
+    private static final String ETAG_QUOTE = "\"";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final String ANY_ETAG = "*";
+    private static final String PAGE_PARAM = "page";
+    private static final String EMBEDDED_FIELD = "_embedded";
+    private static final String LINKS_FIELD = "_links";
+    private static final String PAGE_FIELD = "page";
+    private static final String HREF_FIELD = "href";
+    private static final String TEMPLATED_FIELD = "templated";
 
     /**
      * Constructor.
@@ -109,4 +151,247 @@ public final class ControllerUtils {
         final String newPath = StringUtils.removeEnd(currentPath, path);
         return new URL(request.getProtocol(), request.getHost(), request.getPort(), newPath);
     }
+
+    /**
+     * Get the strong entity tag of the representation of a resource which was last updated at the given time.
+     *
+     * @param updated The time the resource was last updated
+     * @return The quoted entity tag
+     * @since 4.0.0
+     */
+    static String getETag(final Instant updated) {
+        return ETAG_QUOTE + updated.toEpochMilli() + ETAG_QUOTE;
+    }
+
+    /**
+     * Whether the value of an {@code If-None-Match} request header matches the current entity tag of a resource, in
+     * which case the client already has the current representation. Uses the weak comparison required for this header.
+     *
+     * @param ifNoneMatch The value of the {@code If-None-Match} header, if any
+     * @param eTag        The current entity tag of the resource
+     * @return {@literal true} if the header matches the entity tag
+     * @since 4.0.0
+     */
+    static boolean matchesIfNoneMatch(@Nullable final String ifNoneMatch, final String eTag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        try {
+            return headers
+                .getIfNoneMatch()
+                .stream()
+                .anyMatch(candidate -> ANY_ETAG.equals(candidate)
+                    || StringUtils.removeStart(candidate, WEAK_ETAG_PREFIX).equals(eTag));
+        } catch (final IllegalArgumentException e) {
+            log.debug("Ignoring invalid {} header {}", HttpHeaders.IF_NONE_MATCH, ifNoneMatch, e);
+            return false;
+        }
+    }
+
+    /**
+     * Build a successful response for a resource which clients may cache as long as they revalidate it using its
+     * entity tag.
+     *
+     * @param body    The representation of the resource
+     * @param updated The time the resource was last updated
+     * @param <T>     The type of the representation
+     * @return The response
+     * @since 4.0.0
+     */
+    static <T> ResponseEntity<T> cacheableResponse(final T body, final Instant updated) {
+        return ResponseEntity
+            .ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(getETag(updated))
+            .body(body);
+    }
+
+    /**
+     * Build a response telling the client that the representation it has cached with the given entity tag is still
+     * current.
+     *
+     * @param eTag The current entity tag of the resource
+     * @param <T>  The type of the representation
+     * @return The response
+     * @since 4.0.0
+     */
+    static <T> ResponseEntity<T> notModifiedResponse(final String eTag) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_MODIFIED)
+            .cacheControl(CacheControl.noCache())
+            .eTag(eTag)
+            .build();
+    }
+
+    /**
+     * Make sure a request to one of the batch endpoints doesn't ask for more resources than can be fetched at once.
+     *
+     * @param ids The ids requested
+     * @throws PreconditionFailedException If more than {@link #MAX_BATCH_SIZE} ids were requested
+     * @since 4.0.0
+     */
+    static void checkBatchSize(final Collection<String> ids) throws PreconditionFailedException {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new PreconditionFailedException(
+                "Requested " + ids.size() + " ids but at most " + MAX_BATCH_SIZE + " can be fetched at once"
+            );
+        }
+    }
+
+    /**
+     * Build the compact representation of a page of search results. The results are embedded as they are instead of
+     * each being wrapped in an {@link org.springframework.hateoas.EntityModel} with links built through
+     * {@link org.springframework.hateoas.server.mvc.WebMvcLinkBuilder} proxies. A single templated {@literal item}
+     * link to the resource is added instead, so the cost of the links no longer grows with the size of the page.
+     *
+     * @param page     The page of results
+     * @param itemPath The path template, relative to the context path, of a single result e.g. /api/v3/jobs/{id}
+     * @param <T>      The type of the results
+     * @return The paged model with self, navigation and item links
+     * @since 4.0.0
+     */
+    static <T> PagedModel<T> toCompactPagedModel(final Page<T> page, final String itemPath) {
+        final PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(
+            page.getSize(),
+            page.getNumber(),
+            page.getTotalElements(),
+            page.getTotalPages()
+        );
+        return new PagedModel<>(
+            page.getContent(),
+            metadata,
+            getCompactPageLinks(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                ServletUriComponentsBuilder.fromCurrentContextPath().path(itemPath).build().toUriString(),
+                metadata
+            )
+        );
+    }
+
+    /**
+     * Stream the compact representation of a page of search results as it is read from the data store. The output is
+     * the same as serializing {@link #toCompactPagedModel(Page, String)} but no more than one result is held in
+     * memory at a time, whatever the size of the page.
+     * <p>
+     * The links are resolved from the current request before returning as the body is written on another thread.
+     * The response is written by an asynchronous task with its own timeout rather than the MVC default request timeout,
+     * which is too short to write a large page.
+     *
+     * @param page               The requested page
+     * @param collectionRelation The name the results are embedded under e.g. jobSearchResultList
+     * @param itemPath           The path template, relative to the context path, of a single result
+     * @param pageWriter         Hands each result of the page to the given consumer in order and returns the total
+     *                           number of results across all pages
+     * @param response           The response to write the HAL representation to
+     * @param timeout            The maximum time allowed to write the response
+     * @param <T>                The type of the results
+     * @return The task writing the response
+     * @since 4.0.0
+     */
+    static <T> WebAsyncTask<Void> toStreamingCompactPagedModel(
+        final Pageable page,
+        final String collectionRelation,
+        final String itemPath,
+        final ToLongFunction<Consumer<T>> pageWriter,
+        final HttpServletResponse response,
+        final Duration timeout
+    ) {
+        final UriComponentsBuilder requestUri = ServletUriComponentsBuilder.fromCurrentRequest();
+        final String itemHref = ServletUriComponentsBuilder
+            .fromCurrentContextPath()
+            .path(itemPath)
+            .build()
+            .toUriString();
+
+        final Callable<Void> writer = () -> {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaTypes.HAL_JSON_VALUE);
+            try (
+                JsonGenerator generator = GenieObjectMapper
+                    .getMapper()
+                    .getFactory()
+                    .createGenerator(response.getOutputStream())
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            ) {
+                generator.writeStartObject();
+                generator.writeObjectFieldStart(EMBEDDED_FIELD);
+                generator.writeArrayFieldStart(collectionRelation);
+                final long totalElements;
+                try {
+                    totalElements = pageWriter.applyAsLong(
+                        result -> {
+                            try {
+                                generator.writeObject(result);
+                            } catch (final IOException ioe) {
+                                throw new UncheckedIOException(ioe);
+                            }
+                        }
+                    );
+                } catch (final UncheckedIOException uioe) {
+                    throw uioe.getCause();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+
+                final PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(
+                    page.getPageSize(),
+                    page.getPageNumber(),
+                    totalElements
+                );
+                generator.writeObjectFieldStart(LINKS_FIELD);
+                for (final Link link : getCompactPageLinks(requestUri, itemHref, metadata)) {
+                    generator.writeObjectFieldStart(link.getRel().value());
+                    generator.writeStringField(HREF_FIELD, link.getHref());
+                    if (link.isTemplated()) {
+                        generator.writeBooleanField(TEMPLATED_FIELD, true);
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndObject();
+                generator.writeObjectField(PAGE_FIELD, metadata);
+                generator.writeEndObject();
+            }
+            response.flushBuffer();
+            return null;
+        };
+
+        return new WebAsyncTask<>(timeout.toMillis(), writer);
+    }
+
+    private static List<Link> getCompactPageLinks(
+        final UriComponentsBuilder requestUri,
+        final String itemHref,
+        final PagedModel.PageMetadata metadata
+    ) {
+        final List<Link> links = Lists.newArrayList(
+            new Link(requestUri.cloneBuilder().build().toUriString(), IanaLinkRelations.SELF)
+        );
+        if (metadata.getNumber() > 0) {
+            links.add(getPageLink(requestUri, 0, IanaLinkRelations.FIRST));
+            links.add(getPageLink(requestUri, metadata.getNumber() - 1, IanaLinkRelations.PREV));
+        }
+        if (metadata.getNumber() + 1 < metadata.getTotalPages()) {
+            links.add(getPageLink(requestUri, metadata.getNumber() + 1, IanaLinkRelations.NEXT));
+            links.add(getPageLink(requestUri, metadata.getTotalPages() - 1, IanaLinkRelations.LAST));
+        }
+        links.add(new Link(itemHref, IanaLinkRelations.ITEM));
+        return links;
+    }
+
+    private static Link getPageLink(
+        final UriComponentsBuilder requestUri,
+        final long pageNumber,
+        final LinkRelation relation
+    ) {
+        return new Link(
+            requestUri
+                .cloneBuilder()
+                .replaceQueryParam(PAGE_PARAM, pageNumber)
+                .build()
+                .toUriString(),
+            relation
+        );
+    }
 }
@@ -19,6 +19,8 @@ package com.netflix.genie.web.apis.rest.v3.controllers;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
 import com.netflix.genie.common.dto.Application;
 import com.netflix.genie.common.dto.Cluster;
@@ -32,11 +34,13 @@ import com.netflix.genie.common.dto.JobStatusMessages;
 import com.netflix.genie.common.dto.search.JobSearchResult;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.common.exceptions.GenieServerUnavailableException;
 import com.netflix.genie.common.external.dtos.v4.ApiClientMetadata;
 import com.netflix.genie.common.external.dtos.v4.ArchiveStatus;
 import com.netflix.genie.common.external.dtos.v4.JobRequestMetadata;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
 import com.netflix.genie.common.internal.dtos.v4.converters.DtoConverters;
 import com.netflix.genie.common.internal.exceptions.checked.GenieCheckedException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobNotFoundException;
@@ -56,11 +60,16 @@ import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.dtos.JobSubmission;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
+import com.netflix.genie.web.exceptions.checked.PreconditionFailedException;
+import com.netflix.genie.web.properties.JobStatusWatchProperties;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.SearchStreamingProperties;
 import com.netflix.genie.web.services.AttachmentService;
 import com.netflix.genie.web.services.JobCoordinatorService;
 import com.netflix.genie.web.services.JobDirectoryServerService;
 import com.netflix.genie.web.services.JobLaunchService;
+import com.netflix.genie.web.services.JobStatusWatchService;
+import com.netflix.genie.web.services.NodeCapacityService;
 import com.netflix.genie.web.util.JobExecutionModeSelector;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -69,6 +78,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
@@ -98,8 +108,11 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -121,6 +134,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -137,8 +152,13 @@ public class JobRestController {
     private static final String TRANSFER_ENCODING_HEADER = "Transfer-Encoding";
     private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
     private static final String NAME_HEADER_COOKIE = "cookie";
-    private static final String JOB_API_BASE_PATH = "/api/v3/jobs/";
+    private static final String JOBS_API_PATH = "/api/v3/jobs";
+    private static final String JOB_API_BASE_PATH = JOBS_API_PATH + "/";
     private static final String COMMA = ",";
+    private static final String STATUS_FIELD = "status";
+    private static final String WAIT_FOR_CHANGE_FROM_PARAM = "waitForChangeFrom";
+    private static final String JOB_SEARCH_RESULT_ITEM_PATH = JOB_API_BASE_PATH + "{id}";
+    private static final String JOB_SEARCH_RESULTS_RELATION = "jobSearchResultList";
 
     private final JobLaunchService jobLaunchService;
     private final JobCoordinatorService jobCoordinatorService;
@@ -157,6 +177,10 @@ public class JobRestController {
     private final AgentRoutingService agentRoutingService;
     private final PersistenceService persistenceService;
     private final Environment environment;
+    private final JobStatusWatchService jobStatusWatchService;
+    private final JobStatusWatchProperties jobStatusWatchProperties;
+    private final SearchStreamingProperties searchStreamingProperties;
+    private final NodeCapacityService nodeCapacityService;
 
     // TODO: V3 Execution only
     private final AttachmentService attachmentService;
@@ -165,6 +189,7 @@ public class JobRestController {
     // Metrics
     private final Counter submitJobWithoutAttachmentsRate;
     private final Counter submitJobWithAttachmentsRate;
+    private final Counter submitJobForwardedRate;
 
     /**
      * Constructor.
@@ -182,6 +207,11 @@ public class JobRestController {
      * @param environment               The application environment to pull dynamic properties from
      * @param attachmentService         The attachment service to use to save attachments.
      * @param jobExecutionModeSelector  The execution mode (agent vs. embedded) mode selector
+     * @param jobStatusWatchService     The service to wait for job status changes
+     * @param jobStatusWatchProperties  The properties related to waiting for job status changes
+     * @param searchStreamingProperties The properties related to streaming search results
+     * @param nodeCapacityService       The service to find a node with capacity for jobs this node can't run, if
+     *                                  submission forwarding is enabled
      */
     @Autowired
     @SuppressWarnings("checkstyle:parameternumber")
@@ -198,7 +228,11 @@ public class JobRestController {
         final AgentRoutingService agentRoutingService,
         final Environment environment,
         final AttachmentService attachmentService,
-        final JobExecutionModeSelector jobExecutionModeSelector
+        final JobExecutionModeSelector jobExecutionModeSelector,
+        final JobStatusWatchService jobStatusWatchService,
+        final JobStatusWatchProperties jobStatusWatchProperties,
+        final SearchStreamingProperties searchStreamingProperties,
+        @Nullable final NodeCapacityService nodeCapacityService
     ) {
         this.jobLaunchService = jobLaunchService;
         this.jobCoordinatorService = jobCoordinatorService;
@@ -217,6 +251,10 @@ public class JobRestController {
         this.agentRoutingService = agentRoutingService;
         this.persistenceService = dataServices.getPersistenceService();
         this.environment = environment;
+        this.jobStatusWatchService = jobStatusWatchService;
+        this.jobStatusWatchProperties = jobStatusWatchProperties;
+        this.searchStreamingProperties = searchStreamingProperties;
+        this.nodeCapacityService = nodeCapacityService;
 
         // TODO: V3 Only. Remove.
         this.attachmentService = attachmentService;
@@ -225,6 +263,7 @@ public class JobRestController {
         // Set up the metrics
         this.submitJobWithoutAttachmentsRate = registry.counter("genie.api.v3.jobs.submitJobWithoutAttachments.rate");
         this.submitJobWithAttachmentsRate = registry.counter("genie.api.v3.jobs.submitJobWithAttachments.rate");
+        this.submitJobForwardedRate = registry.counter("genie.api.v3.jobs.submitJobForwarded.rate");
     }
 
     /**
@@ -314,7 +353,7 @@ public class JobRestController {
         if (agentExecution) {
             jobId = this.agentExecution(jobRequest, attachments, localClientHost, userAgent);
         } else {
-            jobId = this.embeddedExecution(jobRequest, attachments, localClientHost, userAgent);
+            jobId = this.embeddedExecution(jobRequest, attachments, localClientHost, userAgent, httpServletRequest);
         }
 
         final HttpHeaders httpHeaders = new HttpHeaders();
@@ -352,13 +391,49 @@ public class JobRestController {
     @GetMapping(value = "/{id}/status", produces = MediaType.APPLICATION_JSON_VALUE)
     public JsonNode getJobStatus(@PathVariable("id") final String id) throws NotFoundException {
         log.info("[getJobStatus] Called for job with id: {}", id);
-        final JsonNodeFactory factory = JsonNodeFactory.instance;
-        return factory
-            .objectNode()
-            .set(
-                "status",
-                factory.textNode(DtoConverters.toV3JobStatus(this.persistenceService.getJobStatus(id)).toString())
-            );
+        return this.createJobStatusNode(DtoConverters.toV3JobStatus(this.persistenceService.getJobStatus(id)));
+    }
+
+    /**
+     * Wait for the status of the given job to change.
+     * <p>
+     * Long-polling alternative to repeatedly calling {@link #getJobStatus(String)}: the response is sent as soon as
+     * the job status is different from the one known by the caller or, if it doesn't change, once the timeout
+     * expires.
+     *
+     * @param id                The id of the job to get status for
+     * @param waitForChangeFrom The status of the job known to the caller
+     * @param timeout           The maximum time to wait for a change, in milliseconds. Capped by the server
+     *                          configuration, which is also the default
+     * @return The status of the job, in the same format as {@link #getJobStatus(String)}. If the status didn't change
+     * before the timeout it's the same as {@code waitForChangeFrom}
+     * @throws NotFoundException          When no job with {@literal id} exists
+     * @throws GeniePreconditionException When {@code waitForChangeFrom} is not a valid job status
+     */
+    @GetMapping(
+        value = "/{id}/status",
+        params = WAIT_FOR_CHANGE_FROM_PARAM,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public DeferredResult<JsonNode> watchJobStatus(
+        @PathVariable("id") final String id,
+        @RequestParam(WAIT_FOR_CHANGE_FROM_PARAM) final String waitForChangeFrom,
+        @RequestParam(value = "timeout", required = false) @Nullable final Long timeout
+    ) throws NotFoundException, GeniePreconditionException {
+        log.debug("[watchJobStatus] Called for job with id: {} and known status: {}", id, waitForChangeFrom);
+        final JobStatus knownStatus = JobStatus.parse(waitForChangeFrom);
+        final long maxWait = this.jobStatusWatchProperties.getMaxWait().toMillis();
+        final long wait = timeout == null ? maxWait : Math.max(1L, Math.min(timeout, maxWait));
+
+        final DeferredResult<JsonNode> result = new DeferredResult<>(wait, this.createJobStatusNode(knownStatus));
+        final CompletableFuture<com.netflix.genie.common.external.dtos.v4.JobStatus> statusFuture =
+            this.jobStatusWatchService.watchJobStatus(id, DtoConverters.toV4JobStatus(knownStatus));
+        statusFuture.thenAccept(
+            status -> result.setResult(this.createJobStatusNode(DtoConverters.toV3JobStatus(status)))
+        );
+        // Stop watching on timeout or if the client went away
+        result.onCompletion(() -> statusFuture.cancel(false));
+        return result;
     }
 
     /**
@@ -379,6 +454,8 @@ public class JobRestController {
      * @param maxFinished      The time which the job had to finish before in order to be returned (exclusive)
      * @param grouping         The grouping the job should be a member of
      * @param groupingInstance The grouping instance the job should be a member of
+     * @param compact          Whether to embed the results without per result links and only a single templated
+     *                         {@literal item} link on the page
      * @param page             page information for job
      * @param assembler        The paged resources assembler to use
      * @return successful response, or one with HTTP error code
@@ -387,7 +464,7 @@ public class JobRestController {
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
     @SuppressWarnings("checkstyle:parameternumber")
-    public PagedModel<EntityModel<JobSearchResult>> findJobs(
+    public PagedModel<?> findJobs(
         @RequestParam(value = "id", required = false) @Nullable final String id,
         @RequestParam(value = "name", required = false) @Nullable final String name,
         @RequestParam(value = "user", required = false) @Nullable final String user,
@@ -403,6 +480,7 @@ public class JobRestController {
         @RequestParam(value = "maxFinished", required = false) @Nullable final Long maxFinished,
         @RequestParam(value = "grouping", required = false) @Nullable final String grouping,
         @RequestParam(value = "groupingInstance", required = false) @Nullable final String groupingInstance,
+        @RequestParam(value = "compact", defaultValue = "false") final boolean compact,
         @PageableDefault(sort = {"created"}, direction = Sort.Direction.DESC) final Pageable page,
         final PagedResourcesAssembler<JobSearchResult> assembler
     ) throws GenieException {
@@ -410,8 +488,8 @@ public class JobRestController {
             "[getJobs] Called with "
                 + "[id | jobName | user | statuses | clusterName "
                 + "| clusterId | minStarted | maxStarted | minFinished | maxFinished | grouping | groupingInstance "
-                + "| page]\n"
-                + "{} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {}",
+                + "| compact | page]\n"
+                + "{} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {}",
             id,
             name,
             user,
@@ -427,17 +505,30 @@ public class JobRestController {
             maxFinished,
             grouping,
             groupingInstance,
+            compact,
             page
         );
 
-        Set<JobStatus> enumStatuses = null;
-        if (statuses != null && !statuses.isEmpty()) {
-            enumStatuses = EnumSet.noneOf(JobStatus.class);
-            for (final String status : statuses) {
-                if (StringUtils.isNotBlank(status)) {
-                    enumStatuses.add(JobStatus.parse(status));
-                }
-            }
+        final Page<JobSearchResult> jobs = this.persistenceService.findJobs(
+            id,
+            name,
+            user,
+            parseJobStatuses(statuses),
+            tags,
+            clusterName,
+            clusterId,
+            commandName,
+            commandId,
+            minStarted == null ? null : Instant.ofEpochMilli(minStarted),
+            maxStarted == null ? null : Instant.ofEpochMilli(maxStarted),
+            minFinished == null ? null : Instant.ofEpochMilli(minFinished),
+            maxFinished == null ? null : Instant.ofEpochMilli(maxFinished),
+            grouping,
+            groupingInstance,
+            page
+        );
+        if (compact) {
+            return ControllerUtils.toCompactPagedModel(jobs, JOB_SEARCH_RESULT_ITEM_PATH);
         }
 
         // Build the self link which will be used for the next, previous, etc links
@@ -461,13 +552,91 @@ public class JobRestController {
                         maxFinished,
                         grouping,
                         groupingInstance,
+                        compact,
                         page,
                         assembler
                     )
             ).withSelfRel();
 
-        return assembler.toModel(
-            this.persistenceService.findJobs(
+        return assembler.toModel(jobs, this.jobSearchResultModelAssembler, self);
+    }
+
+    /**
+     * Stream the jobs for the given filter criteria. This is the same search as {@link #findJobs} but each result is
+     * written to the response as it is read from the database so memory use doesn't grow with the size of the page.
+     * The response has the compact representation, i.e. as if {@literal compact=true} was requested.
+     *
+     * @param id               id for job
+     * @param name             name of job (can be a SQL-style pattern such as HIVE%)
+     * @param user             user who submitted job
+     * @param statuses         statuses of jobs to find
+     * @param tags             tags for the job
+     * @param clusterName      the name of the cluster
+     * @param clusterId        the id of the cluster
+     * @param commandName      the name of the command run by the job
+     * @param commandId        the id of the command run by the job
+     * @param minStarted       The time which the job had to start after in order to be return (inclusive)
+     * @param maxStarted       The time which the job had to start before in order to be returned (exclusive)
+     * @param minFinished      The time which the job had to finish after in order to be return (inclusive)
+     * @param maxFinished      The time which the job had to finish before in order to be returned (exclusive)
+     * @param grouping         The grouping the job should be a member of
+     * @param groupingInstance The grouping instance the job should be a member of
+     * @param page             page information for job
+     * @param response         The response to stream the jobs to
+     * @return The task streaming the response
+     * @throws GenieException For any error
+     */
+    @GetMapping(produces = MediaTypes.HAL_JSON_VALUE, params = "stream=true")
+    @SuppressWarnings("checkstyle:parameternumber")
+    public WebAsyncTask<Void> streamJobs(
+        @RequestParam(value = "id", required = false) @Nullable final String id,
+        @RequestParam(value = "name", required = false) @Nullable final String name,
+        @RequestParam(value = "user", required = false) @Nullable final String user,
+        @RequestParam(value = "status", required = false) @Nullable final Set<String> statuses,
+        @RequestParam(value = "tag", required = false) @Nullable final Set<String> tags,
+        @RequestParam(value = "clusterName", required = false) @Nullable final String clusterName,
+        @RequestParam(value = "clusterId", required = false) @Nullable final String clusterId,
+        @RequestParam(value = "commandName", required = false) @Nullable final String commandName,
+        @RequestParam(value = "commandId", required = false) @Nullable final String commandId,
+        @RequestParam(value = "minStarted", required = false) @Nullable final Long minStarted,
+        @RequestParam(value = "maxStarted", required = false) @Nullable final Long maxStarted,
+        @RequestParam(value = "minFinished", required = false) @Nullable final Long minFinished,
+        @RequestParam(value = "maxFinished", required = false) @Nullable final Long maxFinished,
+        @RequestParam(value = "grouping", required = false) @Nullable final String grouping,
+        @RequestParam(value = "groupingInstance", required = false) @Nullable final String groupingInstance,
+        @PageableDefault(sort = {"created"}, direction = Sort.Direction.DESC) final Pageable page,
+        final HttpServletResponse response
+    ) throws GenieException {
+        log.info(
+            "[streamJobs] Called with "
+                + "[id | jobName | user | statuses | clusterName "
+                + "| clusterId | minStarted | maxStarted | minFinished | maxFinished | grouping | groupingInstance "
+                + "| page]\n"
+                + "{} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {} | {}",
+            id,
+            name,
+            user,
+            statuses,
+            tags,
+            clusterName,
+            clusterId,
+            commandName,
+            commandId,
+            minStarted,
+            maxStarted,
+            minFinished,
+            maxFinished,
+            grouping,
+            groupingInstance,
+            page
+        );
+
+        final Set<JobStatus> enumStatuses = parseJobStatuses(statuses);
+        return ControllerUtils.<JobSearchResult>toStreamingCompactPagedModel(
+            page,
+            JOB_SEARCH_RESULTS_RELATION,
+            JOB_SEARCH_RESULT_ITEM_PATH,
+            consumer -> this.persistenceService.streamJobs(
                 id,
                 name,
                 user,
@@ -483,10 +652,11 @@ public class JobRestController {
                 maxFinished == null ? null : Instant.ofEpochMilli(maxFinished),
                 grouping,
                 groupingInstance,
-                page
+                page,
+                consumer
             ),
-            this.jobSearchResultModelAssembler,
-            self
+            response,
+            this.searchStreamingProperties.getTimeout()
         );
     }
 
@@ -656,6 +826,81 @@ public class JobRestController {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Get the clusters a batch of jobs ran on or are currently running on. At most
+     * {@link ControllerUtils#MAX_BATCH_SIZE} jobs can be requested at once.
+     *
+     * @param ids The ids of the jobs to get the clusters for
+     * @return The cluster of each job keyed by job id in the order the ids were requested. Jobs which haven't been
+     * assigned a cluster yet are omitted.
+     * @throws NotFoundException           When any of the jobs isn't found
+     * @throws PreconditionFailedException When too many jobs were requested
+     */
+    @GetMapping(value = "/batch/cluster", produces = MediaTypes.HAL_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, EntityModel<Cluster>> getJobsClusters(
+        @RequestParam("id") final List<String> ids
+    ) throws NotFoundException, PreconditionFailedException {
+        log.info("[getJobsClusters] Called for jobs with ids {}", ids);
+        ControllerUtils.checkBatchSize(ids);
+        return toModelsInRequestOrder(
+            ids,
+            this.persistenceService.getClustersForJobs(Sets.newHashSet(ids)),
+            cluster -> this.clusterModelAssembler.toModel(DtoConverters.toV3Cluster(cluster))
+        );
+    }
+
+    /**
+     * Get the commands a batch of jobs ran with or are currently running with. At most
+     * {@link ControllerUtils#MAX_BATCH_SIZE} jobs can be requested at once.
+     *
+     * @param ids The ids of the jobs to get the commands for
+     * @return The command of each job keyed by job id in the order the ids were requested. Jobs which haven't been
+     * assigned a command yet are omitted.
+     * @throws NotFoundException           When any of the jobs isn't found
+     * @throws PreconditionFailedException When too many jobs were requested
+     */
+    @GetMapping(value = "/batch/command", produces = MediaTypes.HAL_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, EntityModel<Command>> getJobsCommands(
+        @RequestParam("id") final List<String> ids
+    ) throws NotFoundException, PreconditionFailedException {
+        log.info("[getJobsCommands] Called for jobs with ids {}", ids);
+        ControllerUtils.checkBatchSize(ids);
+        return toModelsInRequestOrder(
+            ids,
+            this.persistenceService.getCommandsForJobs(Sets.newHashSet(ids)),
+            command -> this.commandModelAssembler.toModel(DtoConverters.toV3Command(command))
+        );
+    }
+
+    /**
+     * Get the applications used to run a batch of jobs. At most {@link ControllerUtils#MAX_BATCH_SIZE} jobs can be
+     * requested at once.
+     *
+     * @param ids The ids of the jobs to get the applications for
+     * @return The applications of each job keyed by job id in the order the ids were requested
+     * @throws NotFoundException           When any of the jobs isn't found
+     * @throws PreconditionFailedException When too many jobs were requested
+     */
+    @GetMapping(value = "/batch/applications", produces = MediaTypes.HAL_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, List<EntityModel<Application>>> getJobsApplications(
+        @RequestParam("id") final List<String> ids
+    ) throws NotFoundException, PreconditionFailedException {
+        log.info("[getJobsApplications] Called for jobs with ids {}", ids);
+        ControllerUtils.checkBatchSize(ids);
+        return toModelsInRequestOrder(
+            ids,
+            this.persistenceService.getApplicationsForJobs(Sets.newHashSet(ids)),
+            applications -> applications
+                .stream()
+                .map(DtoConverters::toV3Application)
+                .map(this.applicationModelAssembler::toModel)
+                .collect(Collectors.toList())
+        );
+    }
+
     /**
      * Get the job output directory.
      *
@@ -838,7 +1083,8 @@ public class JobRestController {
         final JobRequest jobRequest,
         @Nullable final MultipartFile[] attachments,
         final String clientHost,
-        @Nullable final String userAgent
+        @Nullable final String userAgent,
+        final HttpServletRequest request
     ) throws GenieException {
         final JobRequest jobRequestWithId;
         // If the job request does not contain an id create one else use the one provided.
@@ -878,6 +1124,11 @@ public class JobRestController {
             jobRequestWithId = builder.build();
         }
 
+        // Attachments are only saved on this node so only submissions without them can run elsewhere
+        if (attachments == null && this.forwardSubmissionIfNoCapacity(jobId, jobRequestWithId, request)) {
+            return jobId;
+        }
+
         // Download attachments
         int numAttachments = 0;
         long totalSizeOfAttachments = 0L;
@@ -916,6 +1167,70 @@ public class JobRestController {
         return jobId;
     }
 
+    private boolean forwardSubmissionIfNoCapacity(
+        final String jobId,
+        final JobRequest jobRequest,
+        final HttpServletRequest request
+    ) throws GenieException {
+        // Only forward once, the receiving node runs the job or rejects it like it would have been here
+        if (this.nodeCapacityService == null
+            || !this.jobsProperties.getForwarding().isEnabled()
+            || request.getHeader(JobConstants.GENIE_FORWARDED_FROM_HEADER) != null) {
+            return false;
+        }
+
+        // The memory of the command isn't known until the job is resolved, the default is the best guess until then
+        final int memory = jobRequest.getMemory().orElse(this.jobsProperties.getMemory().getDefaultJobMemory());
+        final Optional<String> forwardHostname = this.nodeCapacityService.findNodeForJob(memory);
+        if (!forwardHostname.isPresent()) {
+            return false;
+        }
+
+        final String forwardHost = this.buildForwardHost(forwardHostname.get());
+        log.info("Not enough memory on this node for job {}. Forwarding submission to {}", jobId, forwardHost);
+        try {
+            final byte[] body = GenieObjectMapper.getMapper().writeValueAsBytes(jobRequest);
+            this.restTemplate.execute(
+                forwardHost + JOBS_API_PATH,
+                HttpMethod.POST,
+                forwardRequest -> {
+                    copyRequestHeaders(request, forwardRequest);
+                    // The body is serialized again with the job id so the original length doesn't apply
+                    final HttpHeaders headers = forwardRequest.getHeaders();
+                    // The receiving node records the first address as the client host of the job
+                    final String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+                    headers.set(
+                        FORWARDED_FOR_HEADER,
+                        StringUtils.isBlank(forwardedFor)
+                            ? request.getRemoteAddr()
+                            : forwardedFor + COMMA + request.getRemoteAddr()
+                    );
+                    headers.remove(TRANSFER_ENCODING_HEADER);
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                    headers.setContentLength(body.length);
+                    forwardRequest.getBody().write(body);
+                },
+                forwardResponse -> null
+            );
+        } catch (final ResourceAccessException e) {
+            // Most likely the other node couldn't be reached and never saved the job so try it here. If it did save it
+            // the local attempt is rejected as a conflict.
+            log.warn("Failed forwarding job {} to {}, running it locally: {}", jobId, forwardHost, e.getMessage());
+            return false;
+        } catch (final HttpStatusCodeException e) {
+            // The other node may have already saved the job, it can't be submitted again with the same id
+            throw new GenieException(
+                e.getStatusCode().value(),
+                "Forwarded job submission failed: " + e.getMessage(),
+                e
+            );
+        } catch (final IOException e) {
+            throw new GenieServerException("Failed to forward job submission: " + e.getMessage(), e);
+        }
+        this.submitJobForwardedRate.increment();
+        return true;
+    }
+
     private String agentExecution(
         final JobRequest jobRequest,
         @Nullable final MultipartFile[] attachments,
@@ -955,4 +1270,40 @@ public class JobRestController {
 
         return this.jobLaunchService.launchJob(jobSubmissionBuilder.build());
     }
+
+    private JsonNode createJobStatusNode(final JobStatus status) {
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+        return factory
+            .objectNode()
+            .set(STATUS_FIELD, factory.textNode(status.toString()));
+    }
+
+    @Nullable
+    private static Set<JobStatus> parseJobStatuses(@Nullable final Set<String> statuses) throws GenieException {
+        if (statuses == null || statuses.isEmpty()) {
+            return null;
+        }
+        final Set<JobStatus> enumStatuses = EnumSet.noneOf(JobStatus.class);
+        for (final String status : statuses) {
+            if (StringUtils.isNotBlank(status)) {
+                enumStatuses.add(JobStatus.parse(status));
+            }
+        }
+        return enumStatuses;
+    }
+
+    private static <T, M> Map<String, M> toModelsInRequestOrder(
+        final List<String> ids,
+        final Map<String, T> resources,
+        final Function<T, M> toModel
+    ) {
+        final Map<String, M> models = Maps.newLinkedHashMap();
+        for (final String id : ids) {
+            final T resource = resources.get(id);
+            if (resource != null && !models.containsKey(id)) {
+                models.put(id, toModel.apply(resource));
+            }
+        }
+        return models;
+    }
 }
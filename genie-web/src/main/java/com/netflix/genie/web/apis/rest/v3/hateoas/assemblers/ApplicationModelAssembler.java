@@ -51,7 +51,7 @@ public class ApplicationModelAssembler implements RepresentationModelAssembler<A
                 WebMvcLinkBuilder.linkTo(
                     WebMvcLinkBuilder
                         .methodOn(ApplicationRestController.class)
-                        .getApplication(id)
+                        .getApplication(id, null)
                 ).withSelfRel()
             );
 
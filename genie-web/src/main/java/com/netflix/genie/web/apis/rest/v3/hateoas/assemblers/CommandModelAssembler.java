@@ -52,7 +52,7 @@ public class CommandModelAssembler implements RepresentationModelAssembler<Comma
                 WebMvcLinkBuilder.linkTo(
                     WebMvcLinkBuilder
                         .methodOn(CommandRestController.class)
-                        .getCommand(id)
+                        .getCommand(id, null)
                 ).withSelfRel()
             );
 
@@ -60,7 +60,7 @@ public class CommandModelAssembler implements RepresentationModelAssembler<Comma
                 WebMvcLinkBuilder.linkTo(
                     WebMvcLinkBuilder
                         .methodOn(CommandRestController.class)
-                        .getApplicationsForCommand(id)
+                        .getApplicationsForCommand(id, null)
                 ).withRel(APPLICATIONS_LINK)
             );
 
@@ -0,0 +1,85 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.aspects;
+
+import com.netflix.genie.web.data.routing.PrimaryRead;
+import com.netflix.genie.web.data.routing.ReadReplicaRoutingContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+/**
+ * Aspect deciding whether a data service call may read from the read replica.
+ * <p>
+ * Calls to methods annotated {@code @Transactional(readOnly = true)} are eligible, unless also annotated
+ * {@link PrimaryRead}. Nested data service calls follow the decision taken for the outermost one.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Aspect
+public class ReadReplicaRoutingAspect implements Ordered {
+
+    /**
+     * Record the routing decision for the data service call for the duration of the call.
+     *
+     * @param pjp join point
+     * @return the data method response
+     * @throws Throwable any exception thrown by the data service method
+     */
+    @Around("com.netflix.genie.web.aspects.SystemArchitecture.dataOperation()")
+    public Object route(final ProceedingJoinPoint pjp) throws Throwable {
+        if (ReadReplicaRoutingContext.isSet()) {
+            return pjp.proceed();
+        }
+        final Method method = AopUtils.getMostSpecificMethod(
+            ((MethodSignature) pjp.getSignature()).getMethod(),
+            AopUtils.getTargetClass(pjp.getTarget())
+        );
+        ReadReplicaRoutingContext.set(isReplicaEligible(method) ? method.getName() : null);
+        try {
+            return pjp.proceed();
+        } finally {
+            ReadReplicaRoutingContext.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getOrder() {
+        // After the retries so each attempt gets routed afresh, before the transaction interceptor
+        return 1;
+    }
+
+    private static boolean isReplicaEligible(final Method method) {
+        if (AnnotatedElementUtils.hasAnnotation(method, PrimaryRead.class)) {
+            return false;
+        }
+        final Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class);
+        return transactional != null && transactional.readOnly();
+    }
+}
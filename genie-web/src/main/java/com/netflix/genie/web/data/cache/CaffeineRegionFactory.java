@@ -0,0 +1,206 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflix.genie.web.data.routing.ReadReplicaRoutingContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * A Hibernate second level cache region factory keeping each region in a bounded, expiring Caffeine cache.
+ * <p>
+ * Caffeine is used directly rather than through JCache so that no JCache provider ends up on the classpath, where
+ * Spring Boot would pick it up to back the Spring cache abstraction.
+ * <p>
+ * Entities loaded through a connection to the read replica are not put in the cache. They may be older than what the
+ * primary holds and would otherwise be served to the callers that explicitly read from the primary.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    private final long maxSize;
+    private final Duration expiration;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize    The maximum number of entries of each domain data region
+     * @param expiration How long entries of domain data regions are kept after they were written
+     */
+    CaffeineRegionFactory(final long maxSize, final Duration expiration) {
+        this.maxSize = maxSize;
+        this.expiration = expiration;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+        final DomainDataRegionConfig regionConfig,
+        final DomainDataRegionBuildingContext buildingContext
+    ) {
+        log.debug("Creating entity cache region {}", regionConfig.getRegionName());
+        return new CaffeineStorageAccess(this.newBoundedCache());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(
+        final String regionName,
+        final SessionFactoryImplementor sessionFactory
+    ) {
+        return new CaffeineStorageAccess(this.newBoundedCache());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(
+        final String regionName,
+        final SessionFactoryImplementor sessionFactory
+    ) {
+        // Evicting update timestamps would let stale query results through
+        return new CaffeineStorageAccess(Caffeine.newBuilder().build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void prepareForUse(final SessionFactoryOptions settings, final Map configValues) {
+        // Regions are created on demand
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void releaseFromUse() {
+        // Regions release their entries when the session factory closes them
+    }
+
+    private Cache<Object, Object> newBoundedCache() {
+        return Caffeine
+            .newBuilder()
+            .maximumSize(this.maxSize)
+            .expireAfterWrite(this.expiration)
+            .build();
+    }
+
+    /**
+     * The storage of a region, backed by a Caffeine cache.
+     */
+    static final class CaffeineStorageAccess implements DomainDataStorageAccess {
+
+        private final Cache<Object, Object> cache;
+
+        CaffeineStorageAccess(final Cache<Object, Object> cache) {
+            this.cache = cache;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @Nullable
+        public Object getFromCache(final Object key, final SharedSessionContractImplementor session) {
+            return this.cache.getIfPresent(key);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void putIntoCache(final Object key, final Object value, final SharedSessionContractImplementor session) {
+            if (ReadReplicaRoutingContext.isRoutedToReplica()) {
+                // Transactions on the replica are read only, this is an entity they loaded and it may be stale
+                return;
+            }
+            this.cache.put(key, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(final Object key) {
+            return this.cache.asMap().containsKey(key);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void removeFromCache(final Object key, final SharedSessionContractImplementor session) {
+            this.cache.invalidate(key);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void clearCache(final SharedSessionContractImplementor session) {
+            this.cache.invalidateAll();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void evictData() {
+            this.cache.invalidateAll();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void evictData(final Object key) {
+            this.cache.invalidate(key);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void release() {
+            this.cache.invalidateAll();
+            this.cache.cleanUp();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.cache;
+
+import com.netflix.genie.web.properties.EntityCacheProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+
+import java.util.Map;
+
+/**
+ * Configures the Hibernate second level cache of the entities annotated with {@link Cache}, backed by Caffeine.
+ * <p>
+ * When enabled, each cached entity and cached entity collection gets its own bounded, expiring region and Hibernate
+ * statistics are turned on so that the per region hits and misses are published through the Hibernate metrics.
+ * The second level cache is otherwise explicitly turned off.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+public class EntityCacheHibernatePropertiesCustomizer implements HibernatePropertiesCustomizer {
+
+    private final EntityCacheProperties cacheProperties;
+
+    /**
+     * Constructor.
+     *
+     * @param cacheProperties The entity cache properties
+     */
+    public EntityCacheHibernatePropertiesCustomizer(final EntityCacheProperties cacheProperties) {
+        this.cacheProperties = cacheProperties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void customize(final Map<String, Object> hibernateProperties) {
+        if (!this.cacheProperties.isEnabled()) {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            return;
+        }
+
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        // One factory per session factory, each one starts and stops its own
+        hibernateProperties.put(
+            AvailableSettings.CACHE_REGION_FACTORY,
+            new CaffeineRegionFactory(this.cacheProperties.getMaxSize(), this.cacheProperties.getExpiration())
+        );
+        hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    }
+}
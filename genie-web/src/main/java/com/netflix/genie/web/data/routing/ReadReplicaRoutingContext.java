@@ -0,0 +1,89 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.routing;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * Holds the routing decision taken for the outermost persistence call executing on the current thread.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+public final class ReadReplicaRoutingContext {
+
+    private static final ThreadLocal<Optional<String>> REPLICA_ELIGIBLE_METHOD = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> ROUTED_TO_REPLICA = new ThreadLocal<>();
+
+    private ReadReplicaRoutingContext() {
+    }
+
+    /**
+     * Whether a persistence call is already in progress on the current thread.
+     *
+     * @return {@literal true} if a routing decision was already set for the current thread
+     */
+    public static boolean isSet() {
+        return REPLICA_ELIGIBLE_METHOD.get() != null;
+    }
+
+    /**
+     * Set the routing decision for the persistence call starting on the current thread.
+     *
+     * @param replicaEligibleMethod The name of the persistence method if it may read from the replica or
+     *                              {@literal null} if it must use the primary
+     */
+    public static void set(@Nullable final String replicaEligibleMethod) {
+        REPLICA_ELIGIBLE_METHOD.set(Optional.ofNullable(replicaEligibleMethod));
+    }
+
+    /**
+     * Get the persistence method executing on the current thread if it may read from the replica.
+     *
+     * @return The name of the method or {@link Optional#empty()} if the current thread must use the primary
+     */
+    public static Optional<String> getReplicaEligibleMethod() {
+        final Optional<String> method = REPLICA_ELIGIBLE_METHOD.get();
+        return method == null ? Optional.empty() : method;
+    }
+
+    /**
+     * Whether the persistence call executing on the current thread was handed a connection to the read replica.
+     *
+     * @return {@literal true} if the current thread reads from the replica
+     */
+    public static boolean isRoutedToReplica() {
+        return ROUTED_TO_REPLICA.get() != null;
+    }
+
+    /**
+     * Record that the persistence call executing on the current thread was handed a connection to the read replica.
+     */
+    static void setRoutedToReplica() {
+        ROUTED_TO_REPLICA.set(Boolean.TRUE);
+    }
+
+    /**
+     * Clear the routing decision of the current thread.
+     */
+    public static void clear() {
+        REPLICA_ELIGIBLE_METHOD.remove();
+        ROUTED_TO_REPLICA.remove();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.routing;
+
+import com.google.common.collect.ImmutableMap;
+import com.netflix.genie.web.properties.DataReplicaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A {@link DataSource} handing out connections of the read replica to read only transactions of persistence calls
+ * eligible for it, and connections of the primary to everything else.
+ * <p>
+ * The lookup happens when the connection is acquired. The read only flag of the transaction is only known at that
+ * point if this data source is wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, as the JPA transaction manager acquires
+ * the connection before exposing the transaction attributes.
+ * <p>
+ * Handing out a replica connection is recorded in the {@link ReadReplicaRoutingContext}, so that the entities loaded
+ * through it are kept out of the second level cache.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String CONNECTIONS_COUNTER_NAME = "genie.data.routing.connections.counter";
+    private static final String POOL_TAG = "pool";
+    private static final String REASON_TAG = "reason";
+    private static final String PRIMARY_REQUIRED_REASON = "primaryRequired";
+    private static final String READ_WRITE_REASON = "readWrite";
+    private static final String LAG_UNKNOWN_REASON = "lagUnknown";
+    private static final String LAG_EXCEEDED_REASON = "lagExceeded";
+    private static final String WITHIN_LAG_REASON = "withinLag";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final DataReplicaProperties replicaProperties;
+    private final MeterRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param primaryDataSource The {@link DataSource} of the primary database
+     * @param replicaDataSource The {@link DataSource} of the read replica
+     * @param lagMonitor        The {@link ReplicaLagMonitor} tracking the replication lag of the replica
+     * @param replicaProperties The replica properties
+     * @param registry          The metrics registry
+     */
+    public ReadReplicaRoutingDataSource(
+        final DataSource primaryDataSource,
+        final DataSource replicaDataSource,
+        final ReplicaLagMonitor lagMonitor,
+        final DataReplicaProperties replicaProperties,
+        final MeterRegistry registry
+    ) {
+        this.lagMonitor = lagMonitor;
+        this.replicaProperties = replicaProperties;
+        this.registry = registry;
+        this.setTargetDataSources(ImmutableMap.of(Pool.PRIMARY, primaryDataSource, Pool.REPLICA, replicaDataSource));
+        this.setDefaultTargetDataSource(primaryDataSource);
+        this.setLenientFallback(false);
+        this.afterPropertiesSet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Pool determineCurrentLookupKey() {
+        final Optional<String> method = ReadReplicaRoutingContext.getReplicaEligibleMethod();
+        if (!method.isPresent()) {
+            return this.route(Pool.PRIMARY, PRIMARY_REQUIRED_REASON);
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return this.route(Pool.PRIMARY, READ_WRITE_REASON);
+        }
+        final Optional<Duration> lag = this.lagMonitor.getLag();
+        if (!lag.isPresent()) {
+            return this.route(Pool.PRIMARY, LAG_UNKNOWN_REASON);
+        }
+        if (lag.get().compareTo(this.replicaProperties.getMaxLag(method.get())) > 0) {
+            log.debug("Replica lags {}, routing {} to the primary", lag.get(), method.get());
+            return this.route(Pool.PRIMARY, LAG_EXCEEDED_REASON);
+        }
+        ReadReplicaRoutingContext.setRoutedToReplica();
+        return this.route(Pool.REPLICA, WITHIN_LAG_REASON);
+    }
+
+    private Pool route(final Pool pool, final String reason) {
+        this.registry.counter(CONNECTIONS_COUNTER_NAME, POOL_TAG, pool.getTagValue(), REASON_TAG, reason).increment();
+        return pool;
+    }
+
+    /**
+     * The connection pools connections are routed to.
+     */
+    public enum Pool {
+        /**
+         * The primary database.
+         */
+        PRIMARY("primary"),
+
+        /**
+         * The read replica.
+         */
+        REPLICA("replica");
+
+        private final String tagValue;
+
+        Pool(final String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        /**
+         * Get the value identifying this pool in metrics tags.
+         *
+         * @return The tag value
+         */
+        public String getTagValue() {
+            return this.tagValue;
+        }
+    }
+}
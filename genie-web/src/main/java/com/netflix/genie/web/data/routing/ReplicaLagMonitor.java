@@ -0,0 +1,98 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.routing;
+
+import com.netflix.genie.web.properties.DataReplicaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Periodically measures the replication lag of the read replica.
+ * <p>
+ * The lag is unknown until the first successful measurement and whenever the lag query fails or returns
+ * {@literal NULL} (e.g. replication stopped or the replica is unreachable). Without a lag query the lag is never
+ * known, so no reads are routed to the replica.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_GAUGE_NAME = "genie.data.replica.lag.gauge";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private volatile Duration lag;
+
+    /**
+     * Constructor.
+     *
+     * @param replicaDataSource The {@link DataSource} of the read replica
+     * @param replicaProperties The replica properties
+     * @param taskScheduler     The task scheduler used to periodically measure the lag
+     * @param registry          The metrics registry
+     */
+    public ReplicaLagMonitor(
+        final DataSource replicaDataSource,
+        final DataReplicaProperties replicaProperties,
+        final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = replicaProperties.getLagQuery();
+
+        registry.gauge(
+            LAG_GAUGE_NAME,
+            this,
+            monitor -> monitor.getLag().map(value -> value.toMillis() / 1_000.0).orElse(Double.NaN)
+        );
+
+        if (StringUtils.isBlank(this.lagQuery)) {
+            log.warn("No lag query configured for the read replica, all reads will use the primary");
+        } else {
+            taskScheduler.scheduleWithFixedDelay(this::measure, replicaProperties.getLagCheckInterval());
+        }
+    }
+
+    /**
+     * Get the last measured replication lag.
+     *
+     * @return The lag or {@link Optional#empty()} if it is currently unknown
+     */
+    public Optional<Duration> getLag() {
+        return Optional.ofNullable(this.lag);
+    }
+
+    void measure() {
+        try {
+            final Double seconds = this.replicaJdbcTemplate.queryForObject(this.lagQuery, Double.class);
+            this.lag = seconds == null ? null : Duration.ofMillis(Math.max(0L, Math.round(seconds * 1_000)));
+        } catch (final RuntimeException e) {
+            log.warn("Unable to measure the replication lag of the read replica", e);
+            this.lag = null;
+        }
+    }
+}
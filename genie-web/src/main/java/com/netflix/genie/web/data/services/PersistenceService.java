@@ -66,6 +66,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service API for all Genie persistence related operations.
@@ -96,6 +97,15 @@ public interface PersistenceService {
      */
     Application getApplication(@NotBlank String id) throws NotFoundException;
 
+    /**
+     * Get the application metadata for all the given ids in a single round trip to the data store.
+     *
+     * @param ids The unique ids of the applications to get
+     * @return The {@link Application}s in the same order as {@literal ids}
+     * @throws NotFoundException if any of the applications doesn't exist
+     */
+    List<Application> getApplications(@NotNull List<@NotBlank String> ids) throws NotFoundException;
+
     /**
      * Find applications which match the given filter criteria.
      *
@@ -190,6 +200,15 @@ public interface PersistenceService {
      */
     Cluster getCluster(@NotBlank String id) throws NotFoundException;
 
+    /**
+     * Get the cluster metadata for all the given ids in a single round trip to the data store.
+     *
+     * @param ids The unique ids of the clusters to get
+     * @return The {@link Cluster}s in the same order as {@literal ids}
+     * @throws NotFoundException if any of the clusters doesn't exist
+     */
+    List<Cluster> getClusters(@NotNull List<@NotBlank String> ids) throws NotFoundException;
+
     /**
      * Find and {@link Cluster}s that match the given parameters. Null or empty parameters are ignored.
      *
@@ -210,6 +229,31 @@ public interface PersistenceService {
         Pageable page
     );
 
+    /**
+     * Find the {@link Cluster}s that match the given parameters like {@link #findClusters} but hand each cluster of
+     * the page to {@literal consumer} as it is read from the data store instead of collecting them in memory.
+     * <p>
+     * The consumer is invoked within the read transaction so it should not block for long.
+     *
+     * @param name          cluster name
+     * @param statuses      {@link ClusterStatus} that clusters must be in to be matched
+     * @param tags          tags attached to this cluster
+     * @param minUpdateTime min time when cluster was updated
+     * @param maxUpdateTime max time when cluster was updated
+     * @param page          The page to get
+     * @param consumer      The consumer of each cluster in the page, in order
+     * @return The total number of clusters matching the criteria across all pages
+     */
+    long streamClusters(
+        @Nullable String name,
+        @Nullable Set<ClusterStatus> statuses,
+        @Nullable Set<String> tags,
+        @Nullable Instant minUpdateTime,
+        @Nullable Instant maxUpdateTime,
+        Pageable page,
+        Consumer<Cluster> consumer
+    );
+
     /**
      * Update a {@link Cluster} with the given information.
      *
@@ -292,6 +336,15 @@ public interface PersistenceService {
      */
     Command getCommand(@NotBlank String id) throws NotFoundException;
 
+    /**
+     * Get the command metadata for all the given ids in a single round trip to the data store.
+     *
+     * @param ids The unique ids of the commands to get
+     * @return The {@link Command}s in the same order as {@literal ids}
+     * @throws NotFoundException if any of the commands doesn't exist
+     */
+    List<Command> getCommands(@NotNull List<@NotBlank String> ids) throws NotFoundException;
+
     /**
      * Find commands matching the given filter criteria.
      *
@@ -375,6 +428,16 @@ public interface PersistenceService {
      */
     List<Application> getApplicationsForCommand(String id) throws NotFoundException;
 
+    /**
+     * Get the latest time the command with the given id or any of its applications was updated without loading the
+     * applications themselves.
+     *
+     * @param id The id of the command. Not null/empty/blank.
+     * @return The latest update time of the command and its applications
+     * @throws NotFoundException If no {@link Command} exists with the given {@literal id}
+     */
+    Instant getApplicationsForCommandUpdated(@NotBlank String id) throws NotFoundException;
+
     /**
      * Remove all the applications from the command.
      *
@@ -690,6 +753,52 @@ public interface PersistenceService {
         @Nullable String groupingInstance,
         @NotNull Pageable page
     );
+
+    /**
+     * Find jobs which match the given filter criteria like {@link #findJobs} but hand each result of the page to
+     * {@literal consumer} as it is read from the data store instead of collecting them in memory.
+     * <p>
+     * The consumer is invoked within the read transaction so it should not block for long.
+     *
+     * @param id               id for job
+     * @param name             name of job
+     * @param user             user who submitted job
+     * @param statuses         statuses of job
+     * @param tags             tags for the job
+     * @param clusterName      name of cluster for job
+     * @param clusterId        id of cluster for job
+     * @param commandName      name of the command run in the job
+     * @param commandId        id of the command run in the job
+     * @param minStarted       The time which the job had to start after in order to be return (inclusive)
+     * @param maxStarted       The time which the job had to start before in order to be returned (exclusive)
+     * @param minFinished      The time which the job had to finish after in order to be return (inclusive)
+     * @param maxFinished      The time which the job had to finish before in order to be returned (exclusive)
+     * @param grouping         The job grouping to search for
+     * @param groupingInstance The job grouping instance to search for
+     * @param page             Page information of job to get
+     * @param consumer         The consumer of each result in the page, in order
+     * @return The total number of jobs matching the criteria across all pages
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    long streamJobs(
+        @Nullable String id,
+        @Nullable String name,
+        @Nullable String user,
+        @Nullable Set<com.netflix.genie.common.dto.JobStatus> statuses,
+        @Nullable Set<String> tags,
+        @Nullable String clusterName,
+        @Nullable String clusterId,
+        @Nullable String commandName,
+        @Nullable String commandId,
+        @Nullable Instant minStarted,
+        @Nullable Instant maxStarted,
+        @Nullable Instant minFinished,
+        @Nullable Instant maxFinished,
+        @Nullable String grouping,
+        @Nullable String groupingInstance,
+        @NotNull Pageable page,
+        @NotNull Consumer<JobSearchResult> consumer
+    );
     //endregion
 
     //region V4 Job APIs
@@ -911,6 +1020,37 @@ public interface PersistenceService {
      */
     List<Application> getJobApplications(@NotBlank String id) throws NotFoundException;
 
+    /**
+     * Get the clusters the given jobs used or are using in a single round trip to the data store.
+     *
+     * @param ids The ids of the jobs to get the clusters for
+     * @return The {@link Cluster} of each job keyed by job id. Jobs which haven't been assigned a cluster yet are
+     * omitted.
+     * @throws NotFoundException If any of the jobs doesn't exist
+     */
+    Map<String, Cluster> getClustersForJobs(@NotNull Set<@NotBlank String> ids) throws NotFoundException;
+
+    /**
+     * Get the commands the given jobs used or are using in a single round trip to the data store.
+     *
+     * @param ids The ids of the jobs to get the commands for
+     * @return The {@link Command} of each job keyed by job id. Jobs which haven't been assigned a command yet are
+     * omitted.
+     * @throws NotFoundException If any of the jobs doesn't exist
+     */
+    Map<String, Command> getCommandsForJobs(@NotNull Set<@NotBlank String> ids) throws NotFoundException;
+
+    /**
+     * Get the applications the given jobs used or are using in a single round trip to the data store.
+     *
+     * @param ids The ids of the jobs to get the applications for
+     * @return The {@link Application}s of each job, in setup order, keyed by job id
+     * @throws NotFoundException If any of the jobs doesn't exist
+     */
+    Map<String, List<Application>> getApplicationsForJobs(
+        @NotNull Set<@NotBlank String> ids
+    ) throws NotFoundException;
+
     /**
      * Get the hostname a job is running on.
      *
@@ -1190,6 +1330,20 @@ public interface PersistenceService {
         @NotBlank String tag,
         Class<R> resourceClass
     ) throws NotFoundException;
+
+    /**
+     * Get the time the resource with the given id was last updated without loading the rest of the resource.
+     *
+     * @param <R>           The resource type
+     * @param id            The id of the resource. Not null/empty/blank.
+     * @param resourceClass The class of the resource
+     * @return The time the resource was last updated
+     * @throws NotFoundException If no resource of type {@link R} with {@literal id} exists
+     */
+    <R extends CommonResource> Instant getUpdatedForResource(
+        @NotBlank String id,
+        Class<R> resourceClass
+    ) throws NotFoundException;
     //endregion
 
     //region Agent Connection APIs
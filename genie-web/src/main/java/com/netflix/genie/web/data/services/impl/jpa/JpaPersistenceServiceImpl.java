@@ -20,6 +20,7 @@ package com.netflix.genie.web.data.services.impl.jpa;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.Job;
 import com.netflix.genie.common.dto.JobExecution;
@@ -63,6 +64,7 @@ import com.netflix.genie.common.internal.exceptions.checked.GenieCheckedExceptio
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieInvalidStatusException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobAlreadyClaimedException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieRuntimeException;
+import com.netflix.genie.web.data.routing.PrimaryRead;
 import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.data.services.impl.jpa.converters.EntityV3DtoConverters;
 import com.netflix.genie.web.data.services.impl.jpa.converters.EntityV4DtoConverters;
@@ -85,9 +87,14 @@ import com.netflix.genie.web.data.services.impl.jpa.queries.predicates.Applicati
 import com.netflix.genie.web.data.services.impl.jpa.queries.predicates.ClusterPredicates;
 import com.netflix.genie.web.data.services.impl.jpa.queries.predicates.CommandPredicates;
 import com.netflix.genie.web.data.services.impl.jpa.queries.predicates.JobPredicates;
+import com.netflix.genie.web.data.services.impl.jpa.queries.projections.AuditProjection;
+import com.netflix.genie.web.data.services.impl.jpa.queries.projections.JobApplicationsProjection;
+import com.netflix.genie.web.data.services.impl.jpa.queries.projections.JobClusterProjection;
+import com.netflix.genie.web.data.services.impl.jpa.queries.projections.JobCommandProjection;
 import com.netflix.genie.web.data.services.impl.jpa.queries.projections.JobExecutionProjection;
 import com.netflix.genie.web.data.services.impl.jpa.queries.projections.JobMetadataProjection;
 import com.netflix.genie.web.data.services.impl.jpa.queries.projections.JobProjection;
+import com.netflix.genie.web.data.services.impl.jpa.queries.projections.UniqueIdProjection;
 import com.netflix.genie.web.data.services.impl.jpa.queries.projections.v4.FinishedJobProjection;
 import com.netflix.genie.web.data.services.impl.jpa.queries.projections.v4.JobSpecificationProjection;
 import com.netflix.genie.web.data.services.impl.jpa.repositories.JpaAgentConnectionRepository;
@@ -122,6 +129,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Order;
@@ -142,6 +150,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -195,6 +204,22 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         .collect(Collectors.toSet());
 
     private static final String LOAD_GRAPH_HINT = "javax.persistence.loadgraph";
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+    /**
+     * The number of rows fetched per round trip when streaming search results. Note MySQL Connector/J only honors
+     * this with {@literal useCursorFetch=true} on the JDBC URL and otherwise reads the whole result set.
+     */
+    private static final int STREAMING_FETCH_SIZE = 256;
+    private static final String IDS_PARAMETER = "ids";
+    private static final List<String> CLUSTER_COLLECTIONS_QUERIES = Stream
+        .of("configs", "dependencies", "tags")
+        .map(
+            collection -> "SELECT DISTINCT c FROM ClusterEntity c LEFT JOIN FETCH c."
+                + collection
+                + " WHERE c.id IN :"
+                + IDS_PARAMETER
+        )
+        .collect(Collectors.toList());
     private static final int MAX_STATUS_MESSAGE_LENGTH = 255;
 
     private final EntityManager entityManager;
@@ -272,6 +297,32 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @PrimaryRead
+    @Transactional(readOnly = true)
+    public List<Application> getApplications(@NotNull final List<@NotBlank String> ids) throws NotFoundException {
+        log.debug("[getApplications] Called for {}", ids);
+        if (ids.isEmpty()) {
+            return Lists.newArrayList();
+        }
+        final Map<String, ApplicationEntity> entities = this.applicationRepository
+            .getApplicationDtos(Sets.newHashSet(ids))
+            .stream()
+            .collect(Collectors.toMap(ApplicationEntity::getUniqueId, Function.identity()));
+        final List<Application> applications = Lists.newArrayList();
+        for (final String id : ids) {
+            final ApplicationEntity entity = entities.get(id);
+            if (entity == null) {
+                throw new NotFoundException("No application with id " + id + " exists");
+            }
+            applications.add(EntityV4DtoConverters.toV4ApplicationDto(entity));
+        }
+        return applications;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -514,6 +565,31 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Cluster> getClusters(@NotNull final List<@NotBlank String> ids) throws NotFoundException {
+        log.debug("[getClusters] Called for {}", ids);
+        if (ids.isEmpty()) {
+            return Lists.newArrayList();
+        }
+        final Map<String, ClusterEntity> entities = this.clusterRepository
+            .getClusterDtos(Sets.newHashSet(ids))
+            .stream()
+            .collect(Collectors.toMap(ClusterEntity::getUniqueId, Function.identity()));
+        final List<Cluster> clusters = Lists.newArrayList();
+        for (final String id : ids) {
+            final ClusterEntity entity = entities.get(id);
+            if (entity == null) {
+                throw new NotFoundException("No cluster with id " + id + " exists");
+            }
+            clusters.add(EntityV4DtoConverters.toV4ClusterDto(entity));
+        }
+        return clusters;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -527,12 +603,6 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         @Nullable final Instant maxUpdateTime,
         final Pageable page
     ) {
-        /*
-         * NOTE: This is implemented this way for a reason:
-         * 1. To solve the JPA N+1 problem: https://vladmihalcea.com/n-plus-1-query-problem/
-         * 2. To address this: https://vladmihalcea.com/fix-hibernate-hhh000104-entity-fetch-pagination-warning-message/
-         * This reduces the number of queries from potentially 100's to 3
-         */
         log.debug(
             "[findClusters] Called with name = {}, statuses = {}, tags = {}, minUpdateTime = {}, maxUpdateTime = {}",
             name,
@@ -541,6 +611,140 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
             minUpdateTime,
             maxUpdateTime
         );
+        return this.queryClusters(
+            name,
+            statuses,
+            tags,
+            minUpdateTime,
+            maxUpdateTime,
+            page,
+            ClusterEntity.DTO_ENTITY_GRAPH,
+            new PageImpl<>(new ArrayList<>(0)),
+            (contentQuery, totalCount) -> new PageImpl<>(
+                contentQuery
+                    .getResultStream()
+                    .map(EntityV4DtoConverters::toV4ClusterDto)
+                    .collect(Collectors.toList()),
+                page,
+                totalCount
+            )
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long streamClusters(
+        @Nullable final String name,
+        @Nullable final Set<ClusterStatus> statuses,
+        @Nullable final Set<String> tags,
+        @Nullable final Instant minUpdateTime,
+        @Nullable final Instant maxUpdateTime,
+        final Pageable page,
+        final Consumer<Cluster> consumer
+    ) {
+        log.debug(
+            "[streamClusters] Called with name = {}, statuses = {}, tags = {}, minUpdateTime = {}, maxUpdateTime = {}",
+            name,
+            statuses,
+            tags,
+            minUpdateTime,
+            maxUpdateTime
+        );
+        return this.queryClusters(
+            name,
+            statuses,
+            tags,
+            minUpdateTime,
+            maxUpdateTime,
+            page,
+            ClusterEntity.STREAMING_ENTITY_GRAPH,
+            0L,
+            (contentQuery, totalCount) -> {
+                // The query doesn't join the collections, as one row per element would defeat the fetch size, so
+                // they're loaded for a batch of clusters at a time
+                final List<ClusterEntity> batch = new ArrayList<>(STREAMING_FETCH_SIZE);
+                try (
+                    Stream<ClusterEntity> clusterEntities = contentQuery
+                        .setHint(FETCH_SIZE_HINT, STREAMING_FETCH_SIZE)
+                        .getResultStream()
+                ) {
+                    clusterEntities.forEach(
+                        clusterEntity -> {
+                            batch.add(clusterEntity);
+                            if (batch.size() == STREAMING_FETCH_SIZE) {
+                                this.streamClustersBatch(batch, consumer);
+                            }
+                        }
+                    );
+                }
+                this.streamClustersBatch(batch, consumer);
+                return totalCount;
+            }
+        );
+    }
+
+    /**
+     * Load the collections of the given clusters, hand them to the consumer as DTOs and clear the batch.
+     *
+     * @param batch    The clusters read from the streaming query
+     * @param consumer The consumer of the clusters
+     */
+    private void streamClustersBatch(final List<ClusterEntity> batch, final Consumer<Cluster> consumer) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final Set<Long> ids = batch.stream().map(ClusterEntity::getId).collect(Collectors.toSet());
+        // One query per collection so the rows don't multiply across collections. The clusters are already managed so
+        // the fetch joins initialize their collections.
+        for (final String query : CLUSTER_COLLECTIONS_QUERIES) {
+            this.entityManager
+                .createQuery(query, ClusterEntity.class)
+                .setParameter(IDS_PARAMETER, ids)
+                .getResultList();
+        }
+        for (final ClusterEntity clusterEntity : batch) {
+            consumer.accept(EntityV4DtoConverters.toV4ClusterDto(clusterEntity));
+            // Nothing else reads the entity so don't let the persistence context grow with the page
+            this.entityManager.detach(clusterEntity);
+        }
+        batch.clear();
+    }
+
+    /**
+     * Run the queries of a cluster search for the given parameters.
+     *
+     * @param name           cluster name
+     * @param statuses       {@link ClusterStatus} that clusters must be in to be matched
+     * @param tags           tags attached to this cluster
+     * @param minUpdateTime  min time when cluster was updated
+     * @param maxUpdateTime  max time when cluster was updated
+     * @param page           The page to get
+     * @param entityGraph    The name of the entity graph to load the clusters in the page with
+     * @param noResults      The result if no clusters match
+     * @param resultFunction Reads the query for the clusters in the page given the total number of matches
+     * @param <R>            The type of result
+     * @return The result
+     */
+    private <R> R queryClusters(
+        @Nullable final String name,
+        @Nullable final Set<ClusterStatus> statuses,
+        @Nullable final Set<String> tags,
+        @Nullable final Instant minUpdateTime,
+        @Nullable final Instant maxUpdateTime,
+        final Pageable page,
+        final String entityGraph,
+        final R noResults,
+        final BiFunction<TypedQuery<ClusterEntity>, Long, R> resultFunction
+    ) {
+        /*
+         * NOTE: This is implemented this way for a reason:
+         * 1. To solve the JPA N+1 problem: https://vladmihalcea.com/n-plus-1-query-problem/
+         * 2. To address this: https://vladmihalcea.com/fix-hibernate-hhh000104-entity-fetch-pagination-warning-message/
+         * This reduces the number of queries from potentially 100's to 3
+         */
         final Set<String> statusStrings = statuses != null
             ? statuses.stream().map(Enum::name).collect(Collectors.toSet())
             : null;
@@ -552,7 +756,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
             : this.tagRepository.findByTagIn(tags);
         if (tagEntities != null && tagEntities.size() != tags.size()) {
             // short circuit for no results as at least one of the expected tags doesn't exist
-            return new PageImpl<>(new ArrayList<>(0));
+            return noResults;
         }
 
         final CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
@@ -575,13 +779,13 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         final List<Long> clustersCount = this.entityManager.createQuery(countQuery).getResultList();
         if (clustersCount.isEmpty()) {
             // SELECT COUNT ... GROUP BY ... HAVING ... may return NULL
-            return new PageImpl<>(new ArrayList<>(0));
+            return noResults;
         }
 
         final Long totalCount = clustersCount.get(0);
         if (totalCount == 0) {
             // short circuit for no results
-            return new PageImpl<>(new ArrayList<>(0));
+            return noResults;
         }
 
         final CriteriaQuery<Long> idQuery = criteriaBuilder.createQuery(Long.class);
@@ -629,14 +833,12 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         // Need to make the same order by or results won't be accurate
         contentQuery.orderBy(orders);
 
-        final List<Cluster> clusters = this.entityManager
-            .createQuery(contentQuery)
-            .setHint(LOAD_GRAPH_HINT, this.entityManager.getEntityGraph(ClusterEntity.DTO_ENTITY_GRAPH))
-            .getResultStream()
-            .map(EntityV4DtoConverters::toV4ClusterDto)
-            .collect(Collectors.toList());
-
-        return new PageImpl<>(clusters, page, totalCount);
+        return resultFunction.apply(
+            this.entityManager
+                .createQuery(contentQuery)
+                .setHint(LOAD_GRAPH_HINT, this.entityManager.getEntityGraph(entityGraph)),
+            totalCount
+        );
     }
 
     /**
@@ -820,6 +1022,31 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Command> getCommands(@NotNull final List<@NotBlank String> ids) throws NotFoundException {
+        log.debug("[getCommands] Called for {}", ids);
+        if (ids.isEmpty()) {
+            return Lists.newArrayList();
+        }
+        final Map<String, CommandEntity> entities = this.commandRepository
+            .getCommandDtos(Sets.newHashSet(ids))
+            .stream()
+            .collect(Collectors.toMap(CommandEntity::getUniqueId, Function.identity()));
+        final List<Command> commands = Lists.newArrayList();
+        for (final String id : ids) {
+            final CommandEntity entity = entities.get(id);
+            if (entity == null) {
+                throw new NotFoundException("No command with id " + id + " exists");
+            }
+            commands.add(EntityV4DtoConverters.toV4CommandDto(entity));
+        }
+        return commands;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1040,6 +1267,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public List<Application> getApplicationsForCommand(final String id) throws NotFoundException {
         log.debug("[getApplicationsForCommand] Called for {}", id);
@@ -1052,6 +1280,20 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Instant getApplicationsForCommandUpdated(@NotBlank final String id) throws NotFoundException {
+        log.debug("[getApplicationsForCommandUpdated] Called for {}", id);
+        final Instant commandUpdated = this.getUpdatedForResource(id, Command.class);
+        return this.commandRepository
+            .findApplicationsLastUpdated(id)
+            .filter(applicationsUpdated -> applicationsUpdated.isAfter(commandUpdated))
+            .orElse(commandUpdated);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1219,6 +1461,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Set<Command> findCommandsMatchingCriterion(
         @Valid final Criterion criterion,
@@ -1455,6 +1698,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Job getJob(@NotBlank final String id) throws GenieException {
         log.debug("[getJob] Called with id {}", id);
@@ -1469,6 +1713,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public JobExecution getJobExecution(@NotBlank final String id) throws GenieException {
         log.debug("[getJobExecution] Called with id {}", id);
@@ -1483,6 +1728,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public com.netflix.genie.common.dto.JobMetadata getJobMetadata(@NotBlank final String id) throws GenieException {
         log.debug("[getJobMetadata] Called with id {}", id);
@@ -1518,7 +1764,130 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         @NotNull final Pageable page
     ) {
         log.debug("[findJobs] Called");
+        return this.queryJobs(
+            id,
+            name,
+            user,
+            statuses,
+            tags,
+            clusterName,
+            clusterId,
+            commandName,
+            commandId,
+            minStarted,
+            maxStarted,
+            minFinished,
+            maxFinished,
+            grouping,
+            groupingInstance,
+            page,
+            new PageImpl<>(new ArrayList<>(0), page, 0),
+            (contentQuery, totalCount) -> new PageImpl<>(contentQuery.getResultList(), page, totalCount)
+        );
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("checkstyle:parameternumber")
+    public long streamJobs(
+        @Nullable final String id,
+        @Nullable final String name,
+        @Nullable final String user,
+        @Nullable final Set<com.netflix.genie.common.dto.JobStatus> statuses,
+        @Nullable final Set<String> tags,
+        @Nullable final String clusterName,
+        @Nullable final String clusterId,
+        @Nullable final String commandName,
+        @Nullable final String commandId,
+        @Nullable final Instant minStarted,
+        @Nullable final Instant maxStarted,
+        @Nullable final Instant minFinished,
+        @Nullable final Instant maxFinished,
+        @Nullable final String grouping,
+        @Nullable final String groupingInstance,
+        @NotNull final Pageable page,
+        @NotNull final Consumer<JobSearchResult> consumer
+    ) {
+        log.debug("[streamJobs] Called");
+        return this.queryJobs(
+            id,
+            name,
+            user,
+            statuses,
+            tags,
+            clusterName,
+            clusterId,
+            commandName,
+            commandId,
+            minStarted,
+            maxStarted,
+            minFinished,
+            maxFinished,
+            grouping,
+            groupingInstance,
+            page,
+            0L,
+            (contentQuery, totalCount) -> {
+                try (
+                    Stream<JobSearchResult> results = contentQuery
+                        .setHint(FETCH_SIZE_HINT, STREAMING_FETCH_SIZE)
+                        .getResultStream()
+                ) {
+                    results.forEach(consumer);
+                }
+                return totalCount;
+            }
+        );
+    }
+
+    /**
+     * Run the queries of a job search for the given filter criteria.
+     *
+     * @param id               id for job
+     * @param name             name of job
+     * @param user             user who submitted job
+     * @param statuses         statuses of job
+     * @param tags             tags for the job
+     * @param clusterName      name of cluster for job
+     * @param clusterId        id of cluster for job
+     * @param commandName      name of the command run in the job
+     * @param commandId        id of the command run in the job
+     * @param minStarted       The time which the job had to start after in order to be return (inclusive)
+     * @param maxStarted       The time which the job had to start before in order to be returned (exclusive)
+     * @param minFinished      The time which the job had to finish after in order to be return (inclusive)
+     * @param maxFinished      The time which the job had to finish before in order to be returned (exclusive)
+     * @param grouping         The job grouping to search for
+     * @param groupingInstance The job grouping instance to search for
+     * @param page             Page information of job to get
+     * @param noResults        The result if no jobs match
+     * @param resultFunction   Reads the query for the results in the page given the total number of matches
+     * @param <R>              The type of result
+     * @return The result
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private <R> R queryJobs(
+        @Nullable final String id,
+        @Nullable final String name,
+        @Nullable final String user,
+        @Nullable final Set<com.netflix.genie.common.dto.JobStatus> statuses,
+        @Nullable final Set<String> tags,
+        @Nullable final String clusterName,
+        @Nullable final String clusterId,
+        @Nullable final String commandName,
+        @Nullable final String commandId,
+        @Nullable final Instant minStarted,
+        @Nullable final Instant maxStarted,
+        @Nullable final Instant minFinished,
+        @Nullable final Instant maxFinished,
+        @Nullable final String grouping,
+        @Nullable final String groupingInstance,
+        @NotNull final Pageable page,
+        final R noResults,
+        final BiFunction<TypedQuery<JobSearchResult>, Long, R> resultFunction
+    ) {
         ClusterEntity clusterEntity = null;
         if (clusterId != null) {
             final Optional<ClusterEntity> optionalClusterEntity
@@ -1527,7 +1896,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
                 clusterEntity = optionalClusterEntity.get();
             } else {
                 // Won't find anything matching the query
-                return new PageImpl<>(Lists.newArrayList(), page, 0);
+                return noResults;
             }
         }
         CommandEntity commandEntity = null;
@@ -1538,7 +1907,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
                 commandEntity = optionalCommandEntity.get();
             } else {
                 // Won't find anything matching the query
-                return new PageImpl<>(Lists.newArrayList(), page, 0);
+                return noResults;
             }
         }
 
@@ -1578,7 +1947,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         final long totalCount = this.entityManager.createQuery(countQuery).getSingleResult();
         if (totalCount == 0) {
             // short circuit for no results
-            return new PageImpl<>(new ArrayList<>(0));
+            return noResults;
         }
 
         final CriteriaQuery<JobSearchResult> contentQuery = cb.createQuery(JobSearchResult.class);
@@ -1631,13 +2000,13 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         );
         contentQuery.orderBy(orders);
 
-        final List<JobSearchResult> results = this.entityManager
-            .createQuery(contentQuery)
-            .setFirstResult(((Long) page.getOffset()).intValue())
-            .setMaxResults(page.getPageSize())
-            .getResultList();
-
-        return new PageImpl<>(results, page, totalCount);
+        return resultFunction.apply(
+            this.entityManager
+                .createQuery(contentQuery)
+                .setFirstResult(((Long) page.getOffset()).intValue())
+                .setMaxResults(page.getPageSize()),
+            totalCount
+        );
     }
     //endregion
 
@@ -1748,6 +2117,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public JobRequest getJobRequest(@NotBlank final String id) throws NotFoundException {
         log.debug("[getJobRequest] Requested for id {}", id);
@@ -1826,6 +2196,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Optional<JobSpecification> getJobSpecification(@NotBlank final String id) throws NotFoundException {
         log.debug("[getJobSpecification] Requested to get job specification for job {}", id);
@@ -1972,6 +2343,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public boolean isV4(@NotBlank final String id) throws NotFoundException {
         log.debug("[isV4] Read v4 flag from db for job {} ", id);
@@ -1984,6 +2356,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public JobStatus getJobStatus(@NotBlank final String id) throws NotFoundException {
         return DtoConverters.toV4JobStatus(
@@ -1997,6 +2370,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public ArchiveStatus getJobArchiveStatus(@NotBlank final String id) throws NotFoundException {
         try {
@@ -2014,6 +2388,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Optional<String> getJobArchiveLocation(@NotBlank final String id) throws NotFoundException {
         final CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
@@ -2036,6 +2411,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public FinishedJob getFinishedJob(@NotBlank final String id) throws NotFoundException, GenieInvalidStatusException {
         // TODO
@@ -2048,6 +2424,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public boolean isApiJob(@NotBlank final String id) throws NotFoundException {
         return this.jobRepository
@@ -2086,6 +2463,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Cluster getJobCluster(@NotBlank final String id) throws NotFoundException {
         log.debug("[getJobCluster] Called for job {}", id);
@@ -2101,6 +2479,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Command getJobCommand(@NotBlank final String id) throws NotFoundException {
         log.debug("[getJobCommand] Called for job {}", id);
@@ -2116,6 +2495,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public List<Application> getJobApplications(@NotBlank final String id) throws NotFoundException {
         log.debug("[getJobApplications] Called for job {}", id);
@@ -2132,6 +2512,77 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      */
     @Override
     @Transactional(readOnly = true)
+    public Map<String, Cluster> getClustersForJobs(@NotNull final Set<@NotBlank String> ids) throws NotFoundException {
+        log.debug("[getClustersForJobs] Called for jobs {}", ids);
+        final Map<String, Cluster> clusters = Maps.newHashMap();
+        if (ids.isEmpty()) {
+            return clusters;
+        }
+        final Set<JobClusterProjection> jobs = this.jobRepository.getJobsClusters(ids);
+        this.checkAllJobsFound(ids, jobs);
+        for (final JobClusterProjection job : jobs) {
+            job.getCluster().ifPresent(
+                cluster -> clusters.put(job.getUniqueId(), EntityV4DtoConverters.toV4ClusterDto(cluster))
+            );
+        }
+        return clusters;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Command> getCommandsForJobs(@NotNull final Set<@NotBlank String> ids) throws NotFoundException {
+        log.debug("[getCommandsForJobs] Called for jobs {}", ids);
+        final Map<String, Command> commands = Maps.newHashMap();
+        if (ids.isEmpty()) {
+            return commands;
+        }
+        final Set<JobCommandProjection> jobs = this.jobRepository.getJobsCommands(ids);
+        this.checkAllJobsFound(ids, jobs);
+        for (final JobCommandProjection job : jobs) {
+            job.getCommand().ifPresent(
+                command -> commands.put(job.getUniqueId(), EntityV4DtoConverters.toV4CommandDto(command))
+            );
+        }
+        return commands;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<Application>> getApplicationsForJobs(
+        @NotNull final Set<@NotBlank String> ids
+    ) throws NotFoundException {
+        log.debug("[getApplicationsForJobs] Called for jobs {}", ids);
+        final Map<String, List<Application>> applications = Maps.newHashMap();
+        if (ids.isEmpty()) {
+            return applications;
+        }
+        final Set<JobApplicationsProjection> jobs = this.jobRepository.getJobsApplications(ids);
+        this.checkAllJobsFound(ids, jobs);
+        for (final JobApplicationsProjection job : jobs) {
+            applications.put(
+                job.getUniqueId(),
+                job
+                    .getApplications()
+                    .stream()
+                    .map(EntityV4DtoConverters::toV4ApplicationDto)
+                    .collect(Collectors.toList())
+            );
+        }
+        return applications;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @PrimaryRead
+    @Transactional(readOnly = true)
     public String getJobHost(@NotBlank final String id) throws NotFoundException {
         log.debug("[getJobHost] Called for job {}", id);
         return this.jobRepository
@@ -2143,6 +2594,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public long getActiveJobCountForUser(@NotBlank final String user) {
         log.debug("[getActiveJobCountForUser] Called for jobs with user {}", user);
@@ -2177,6 +2629,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public long getUsedMemoryOnHost(@NotBlank final String hostname) {
         log.debug("[getUsedMemoryOnHost] Called for hostname {}", hostname);
@@ -2187,6 +2640,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Set<String> getActiveAgentJobs() {
         log.debug("[getActiveAgentJobs] Called");
@@ -2197,6 +2651,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Set<String> getUnclaimedAgentJobs() {
         log.debug("[getUnclaimedAgentJobs] Called");
@@ -2411,6 +2866,35 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
     ) throws NotFoundException {
         this.getResourceTagEntities(id, resourceClass).removeIf(entity -> tag.equals(entity.getTag()));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <R extends CommonResource> Instant getUpdatedForResource(
+        @NotBlank final String id,
+        final Class<R> resourceClass
+    ) throws NotFoundException {
+        if (resourceClass.equals(Application.class)) {
+            return this.applicationRepository
+                .findByUniqueId(id, AuditProjection.class)
+                .orElseThrow(() -> new NotFoundException("No application with id " + id + " exists"))
+                .getUpdated();
+        } else if (resourceClass.equals(Cluster.class)) {
+            return this.clusterRepository
+                .findByUniqueId(id, AuditProjection.class)
+                .orElseThrow(() -> new NotFoundException("No cluster with id " + id + " exists"))
+                .getUpdated();
+        } else if (resourceClass.equals(Command.class)) {
+            return this.commandRepository
+                .findByUniqueId(id, AuditProjection.class)
+                .orElseThrow(() -> new NotFoundException("No command with id " + id + " exists"))
+                .getUpdated();
+        } else {
+            throw new IllegalArgumentException("Unsupported type: " + resourceClass);
+        }
+    }
     //endregion
 
     //region Agent Connection APIs
@@ -2445,6 +2929,7 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
      * {@inheritDoc}
      */
     @Override
+    @PrimaryRead
     @Transactional(readOnly = true)
     public Optional<String> lookupAgentConnectionServer(@NotBlank final String jobId) {
         log.debug("[lookupAgentConnectionServer] Called for job id {}", jobId);
@@ -2538,7 +3023,12 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
     }
 
     private Set<FileEntity> createOrGetFileEntities(final Set<String> files) {
-        return files.stream().map(this::createOrGetFileEntity).collect(Collectors.toSet());
+        return this.createOrGetSharedEntities(
+            files,
+            this.fileRepository::findByFileIn,
+            FileEntity::getFile,
+            this::createOrGetFileEntity
+        );
     }
 
     private TagEntity createOrGetTagEntity(final String tag) {
@@ -2551,7 +3041,34 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
     }
 
     private Set<TagEntity> createOrGetTagEntities(final Set<String> tags) {
-        return tags.stream().map(this::createOrGetTagEntity).collect(Collectors.toSet());
+        return this.createOrGetSharedEntities(
+            tags,
+            this.tagRepository::findByTagIn,
+            TagEntity::getTag,
+            this::createOrGetTagEntity
+        );
+    }
+
+    // Existing entities are fetched with a single query. Only values not found that way (usually new ones, or ones
+    // matched differently by a case insensitive collation) go through the select then insert of createOrGetSharedEntity
+    private <E> Set<E> createOrGetSharedEntities(
+        final Set<String> values,
+        final Function<Set<String>, Set<E>> findAll,
+        final Function<E, String> valueGetter,
+        final Function<String, E> createOrGet
+    ) {
+        final Set<E> entities = Sets.newHashSet();
+        if (values.isEmpty()) {
+            return entities;
+        }
+        entities.addAll(findAll.apply(values));
+        final Set<String> foundValues = entities.stream().map(valueGetter).collect(Collectors.toSet());
+        values
+            .stream()
+            .filter(value -> !foundValues.contains(value))
+            .map(createOrGet)
+            .forEach(entities::add);
+        return entities;
     }
 
     private <E> E createOrGetSharedEntity(
@@ -2642,6 +3159,17 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         dependenciesConsumer.accept(this.createOrGetFileEntities(resources.getDependencies()));
     }
 
+    private void checkAllJobsFound(
+        final Set<String> ids,
+        final Set<? extends UniqueIdProjection> jobs
+    ) throws NotFoundException {
+        if (jobs.size() != ids.size()) {
+            final Set<String> missing = Sets.newHashSet(ids);
+            jobs.forEach(job -> missing.remove(job.getUniqueId()));
+            throw new NotFoundException("No jobs with ids " + missing + " exist");
+        }
+    }
+
     private void setEntityTags(final Set<String> tags, final Consumer<Set<TagEntity>> tagsConsumer) {
         tagsConsumer.accept(this.createOrGetTagEntities(tags));
     }
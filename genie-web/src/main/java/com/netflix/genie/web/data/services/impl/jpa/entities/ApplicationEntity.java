@@ -20,9 +20,12 @@ package com.netflix.genie.web.data.services.impl.jpa.entities;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.annotation.Nullable;
 import javax.persistence.Basic;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -52,6 +55,8 @@ import java.util.Set;
     doNotUseGetters = true
 )
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "applications")
 @NamedEntityGraphs(
     {
@@ -129,6 +134,7 @@ public class ApplicationEntity extends BaseEntity {
     @Column(name = "type")
     private String type;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "applications_configs",
@@ -142,6 +148,7 @@ public class ApplicationEntity extends BaseEntity {
     @ToString.Exclude
     private Set<FileEntity> configs = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "applications_dependencies",
@@ -154,6 +161,7 @@ public class ApplicationEntity extends BaseEntity {
     )
     private Set<FileEntity> dependencies = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "applications_tags",
@@ -20,8 +20,11 @@ package com.netflix.genie.web.data.services.impl.jpa.entities;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.annotation.Nullable;
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
@@ -48,6 +51,8 @@ import java.util.Set;
     doNotUseGetters = true
 )
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "clusters")
 @NamedEntityGraphs(
     {
@@ -59,6 +64,12 @@ import java.util.Set;
                 @NamedAttributeNode("dependencies"),
                 @NamedAttributeNode("tags")
             }
+        ),
+        @NamedEntityGraph(
+            name = ClusterEntity.STREAMING_ENTITY_GRAPH,
+            attributeNodes = {
+                @NamedAttributeNode("setupFile")
+            }
         )
     }
 )
@@ -70,8 +81,16 @@ public class ClusterEntity extends BaseEntity {
      */
     public static final String DTO_ENTITY_GRAPH = "Cluster.dto";
 
+    /**
+     * The name of the {@link javax.persistence.EntityGraph} which will eagerly load the single valued associations
+     * needed to construct a Cluster DTO. The collections are not joined so each row of the result set is one cluster
+     * and the results can be read with a fetch size.
+     */
+    public static final String STREAMING_ENTITY_GRAPH = "Cluster.streaming";
+
     private static final long serialVersionUID = -5674870110962005872L;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "clusters_configs",
@@ -85,6 +104,7 @@ public class ClusterEntity extends BaseEntity {
     @ToString.Exclude
     private Set<FileEntity> configs = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "clusters_dependencies",
@@ -98,6 +118,7 @@ public class ClusterEntity extends BaseEntity {
     @ToString.Exclude
     private Set<FileEntity> dependencies = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "clusters_tags",
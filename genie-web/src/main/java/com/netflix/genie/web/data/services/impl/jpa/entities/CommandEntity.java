@@ -24,9 +24,12 @@ import com.netflix.genie.web.exceptions.checked.PreconditionFailedException;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.annotation.Nullable;
 import javax.persistence.Basic;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.CollectionTable;
 import javax.persistence.Column;
@@ -68,6 +71,8 @@ import java.util.Set;
     doNotUseGetters = true
 )
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "commands")
 @NamedEntityGraphs(
     {
@@ -182,6 +187,7 @@ public class CommandEntity extends BaseEntity {
     private static final long serialVersionUID = -8058995173025433517L;
     private static final int HIGHEST_CRITERION_PRIORITY = 0;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
     @CollectionTable(
         name = "command_executable_arguments",
@@ -211,6 +217,7 @@ public class CommandEntity extends BaseEntity {
     @ToString.Exclude
     private JsonNode launcherExt;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "commands_configs",
@@ -224,6 +231,7 @@ public class CommandEntity extends BaseEntity {
     @ToString.Exclude
     private Set<FileEntity> configs = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "commands_dependencies",
@@ -237,6 +245,7 @@ public class CommandEntity extends BaseEntity {
     @ToString.Exclude
     private Set<FileEntity> dependencies = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "commands_tags",
@@ -250,6 +259,7 @@ public class CommandEntity extends BaseEntity {
     @ToString.Exclude
     private Set<TagEntity> tags = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "commands_applications",
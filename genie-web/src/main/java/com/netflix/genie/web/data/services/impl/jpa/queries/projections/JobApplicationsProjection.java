@@ -27,7 +27,7 @@ import java.util.List;
  * @author tgianos
  * @since 3.3.0
  */
-public interface JobApplicationsProjection {
+public interface JobApplicationsProjection extends UniqueIdProjection {
 
     /**
      * Get the applications associated with a job.
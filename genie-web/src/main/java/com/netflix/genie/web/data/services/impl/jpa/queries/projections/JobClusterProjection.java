@@ -27,7 +27,7 @@ import java.util.Optional;
  * @author tgianos
  * @since 3.3.0
  */
-public interface JobClusterProjection {
+public interface JobClusterProjection extends UniqueIdProjection {
 
     /**
      * Get the cluster that ran or is currently running a given job.
@@ -27,7 +27,7 @@ import java.util.Optional;
  * @author tgianos
  * @since 3.3.0
  */
-public interface JobCommandProjection {
+public interface JobCommandProjection extends UniqueIdProjection {
 
     /**
      * Get the command that ran or is currently running a given job.
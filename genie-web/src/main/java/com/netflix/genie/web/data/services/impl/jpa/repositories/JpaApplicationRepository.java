@@ -63,6 +63,17 @@ public interface JpaApplicationRepository extends JpaBaseRepository<ApplicationE
     @EntityGraph(value = ApplicationEntity.DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     Optional<ApplicationEntity> getApplicationDto(@Param("id") String id);
 
+    /**
+     * Get the {@link ApplicationEntity}s with the given ids but eagerly fetch all relational information needed to
+     * construct DTOs.
+     *
+     * @param ids The unique identifiers of the applications to get
+     * @return The {@link ApplicationEntity}s which exist with dto data loaded, in no particular order
+     */
+    @Query("SELECT DISTINCT a FROM ApplicationEntity a WHERE a.uniqueId IN (:ids)")
+    @EntityGraph(value = ApplicationEntity.DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
+    Set<ApplicationEntity> getApplicationDtos(@Param("ids") Set<String> ids);
+
     /**
      * Get the {@link ApplicationEntity} but eagerly fetch all command base information as well.
      *
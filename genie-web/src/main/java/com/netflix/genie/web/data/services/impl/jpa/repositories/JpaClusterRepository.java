@@ -68,4 +68,14 @@ public interface JpaClusterRepository extends JpaBaseRepository<ClusterEntity> {
     @Query("SELECT c FROM ClusterEntity c WHERE c.uniqueId = :id")
     @EntityGraph(value = ClusterEntity.DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     Optional<ClusterEntity> getClusterDto(@Param("id") String id);
+
+    /**
+     * Find the clusters with the given ids but also eagerly load all data needed for cluster DTOs.
+     *
+     * @param ids The unique identifiers of the clusters to get
+     * @return The {@link ClusterEntity}s which exist with all DTO data loaded, in no particular order
+     */
+    @Query("SELECT DISTINCT c FROM ClusterEntity c WHERE c.uniqueId IN (:ids)")
+    @EntityGraph(value = ClusterEntity.DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
+    Set<ClusterEntity> getClusterDtos(@Param("ids") Set<String> ids);
 }
@@ -119,6 +119,16 @@ public interface JpaCommandRepository extends JpaBaseRepository<CommandEntity> {
     @EntityGraph(value = CommandEntity.APPLICATIONS_DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     Optional<CommandEntity> getCommandAndApplicationsDto(@Param("id") String id);
 
+    /**
+     * Find the latest time any of the applications of the command with the given id was updated.
+     *
+     * @param id The id of the command
+     * @return The latest update time or {@link Optional#empty()} if there is no command with the given id or it has no
+     * applications
+     */
+    @Query("SELECT MAX(a.updated) FROM CommandEntity c JOIN c.applications a WHERE c.uniqueId = :id")
+    Optional<Instant> findApplicationsLastUpdated(@Param("id") String id);
+
     /**
      * Find the command with the given id but also eagerly load that commands cluster criteria.
      *
@@ -140,4 +150,14 @@ public interface JpaCommandRepository extends JpaBaseRepository<CommandEntity> {
     @Query("SELECT c FROM CommandEntity c WHERE c.uniqueId = :id")
     @EntityGraph(value = CommandEntity.DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     Optional<CommandEntity> getCommandDto(@Param("id") String id);
+
+    /**
+     * Find the commands with the given ids but also eagerly load all data needed for command DTOs.
+     *
+     * @param ids The unique identifiers of the commands to get
+     * @return The {@link CommandEntity}s which exist with all DTO data loaded, in no particular order
+     */
+    @Query("SELECT DISTINCT c FROM CommandEntity c WHERE c.uniqueId IN (:ids)")
+    @EntityGraph(value = CommandEntity.DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
+    Set<CommandEntity> getCommandDtos(@Param("ids") Set<String> ids);
 }
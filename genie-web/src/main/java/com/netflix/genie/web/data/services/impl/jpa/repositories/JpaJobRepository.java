@@ -299,4 +299,34 @@ public interface JpaJobRepository extends JpaBaseRepository<JobEntity> {
     @Query("SELECT j FROM JobEntity j WHERE j.uniqueId = :id")
     @EntityGraph(value = JobEntity.JOB_COMMAND_DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     Optional<JobCommandProjection> getJobCommand(@Param("id") String id);
+
+    /**
+     * Get the applications for a set of jobs.
+     *
+     * @param ids The unique ids of the jobs
+     * @return The {@link JobApplicationsProjection} data of the jobs which exist, in no particular order
+     */
+    @Query("SELECT DISTINCT j FROM JobEntity j WHERE j.uniqueId IN (:ids)")
+    @EntityGraph(value = JobEntity.JOB_APPLICATIONS_DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
+    Set<JobApplicationsProjection> getJobsApplications(@Param("ids") Set<String> ids);
+
+    /**
+     * Get the clusters for a set of jobs.
+     *
+     * @param ids The unique ids of the jobs
+     * @return The {@link JobClusterProjection} data of the jobs which exist, in no particular order
+     */
+    @Query("SELECT DISTINCT j FROM JobEntity j WHERE j.uniqueId IN (:ids)")
+    @EntityGraph(value = JobEntity.JOB_CLUSTER_DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
+    Set<JobClusterProjection> getJobsClusters(@Param("ids") Set<String> ids);
+
+    /**
+     * Get the commands for a set of jobs.
+     *
+     * @param ids The unique ids of the jobs
+     * @return The {@link JobCommandProjection} data of the jobs which exist, in no particular order
+     */
+    @Query("SELECT DISTINCT j FROM JobEntity j WHERE j.uniqueId IN (:ids)")
+    @EntityGraph(value = JobEntity.JOB_COMMAND_DTO_ENTITY_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
+    Set<JobCommandProjection> getJobsCommands(@Param("ids") Set<String> ids);
 }
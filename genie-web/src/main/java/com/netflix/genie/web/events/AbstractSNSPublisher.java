@@ -31,6 +31,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.Nullable;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,7 +46,7 @@ import java.util.UUID;
  */
 @Slf4j
 abstract class AbstractSNSPublisher {
-    private static final String PUBLISH_METRIC_COUNTER_NAME_FORMAT = "genie.notifications.sns.publish.counter";
+    static final String PUBLISH_METRIC_COUNTER_NAME_FORMAT = "genie.notifications.sns.publish.counter";
     private static final String EVENT_TYPE_METRIC_TAG_NAME = "type";
     private static final String EVENT_TYPE_KEY_NAME = "type";
     private static final String EVENT_ID_KEY_NAME = "id";
@@ -58,6 +59,8 @@ abstract class AbstractSNSPublisher {
 
     private final AmazonSNS snsClient;
     private final ObjectMapper mapper;
+    @Nullable
+    private final SNSNotificationsOutbox outbox;
 
     /**
      * Constructor.
@@ -72,14 +75,53 @@ abstract class AbstractSNSPublisher {
         final MeterRegistry registry,
         final AmazonSNS snsClient,
         final ObjectMapper mapper
+    ) {
+        this(properties, registry, snsClient, mapper, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param properties SNS properties
+     * @param registry   metrics registry
+     * @param snsClient  SNS client
+     * @param mapper     JSON object mapper
+     * @param outbox     outbox to publish notifications asynchronously, or null to publish them synchronously
+     */
+    AbstractSNSPublisher(
+        final SNSNotificationsProperties properties,
+        final MeterRegistry registry,
+        final AmazonSNS snsClient,
+        final ObjectMapper mapper,
+        @Nullable final SNSNotificationsOutbox outbox
     ) {
         this.properties = properties;
         this.registry = registry;
         this.snsClient = snsClient;
         this.mapper = mapper;
+        this.outbox = outbox;
     }
 
     protected void publishEvent(final EventType eventType, final HashMap<String, Object> eventDetailsMap) {
+        this.publishEvent(eventType, () -> eventDetailsMap);
+    }
+
+    /**
+     * Publish an event whose details are only gathered when the notification is about to be sent. When publishing
+     * through the outbox this happens asynchronously, otherwise immediately.
+     *
+     * @param eventType            the type of event
+     * @param eventDetailsSupplier supplier of the event details
+     */
+    protected void publishEvent(final EventType eventType, final EventDetailsSupplier eventDetailsSupplier) {
+        if (this.outbox == null) {
+            final HashMap<String, Object> eventDetailsMap = eventDetailsSupplier.get();
+            if (eventDetailsMap != null) {
+                this.publishEventNow(eventType, eventDetailsMap);
+            }
+            return;
+        }
+
         final String topic = this.properties.getTopicARN();
 
         if (StringUtils.isBlank(topic)) {
@@ -88,17 +130,32 @@ abstract class AbstractSNSPublisher {
             return;
         }
 
-        final Map<String, Object> eventMap = Maps.newHashMap();
+        // Timestamp and other common fields reflect the time of the event, not the time it's published
+        final Map<String, Object> eventMap = this.createEventMap(eventType);
+        this.outbox.offer(
+            eventType,
+            topic,
+            () -> {
+                final HashMap<String, Object> eventDetailsMap = eventDetailsSupplier.get();
+                if (eventDetailsMap == null) {
+                    return null;
+                }
+                eventMap.put(EVENT_DETAILS_KEY_NAME, eventDetailsMap);
+                return this.mapper.writeValueAsString(eventMap);
+            }
+        );
+    }
 
-        // Add static keys defined in configuration
-        eventMap.putAll(this.properties.getAdditionalEventKeys());
+    private void publishEventNow(final EventType eventType, final HashMap<String, Object> eventDetailsMap) {
+        final String topic = this.properties.getTopicARN();
 
-        // Add event type, timestamp, event id
-        eventMap.put(EVENT_TYPE_KEY_NAME, eventType.name());
-        eventMap.put(EVENT_ID_KEY_NAME, UUID.randomUUID().toString());
-        final Instant timestamp = Instant.now();
-        eventMap.put(EVENT_TIMESTAMP_KEY_NAME, timestamp.toEpochMilli());
-        eventMap.put(EVENT_ISO_TIMESTAMP_KEY_NAME, timestamp);
+        if (StringUtils.isBlank(topic)) {
+            // Likely a misconfiguration. Emit a warning.
+            log.warn("SNS Notifications enabled, but no topic specified");
+            return;
+        }
+
+        final Map<String, Object> eventMap = this.createEventMap(eventType);
 
         // Add event details
         eventMap.put(EVENT_DETAILS_KEY_NAME, eventDetailsMap);
@@ -123,6 +180,37 @@ abstract class AbstractSNSPublisher {
         }
     }
 
+    private Map<String, Object> createEventMap(final EventType eventType) {
+        final Map<String, Object> eventMap = Maps.newHashMap();
+
+        // Add static keys defined in configuration
+        eventMap.putAll(this.properties.getAdditionalEventKeys());
+
+        // Add event type, timestamp, event id
+        eventMap.put(EVENT_TYPE_KEY_NAME, eventType.name());
+        eventMap.put(EVENT_ID_KEY_NAME, UUID.randomUUID().toString());
+        final Instant timestamp = Instant.now();
+        eventMap.put(EVENT_TIMESTAMP_KEY_NAME, timestamp.toEpochMilli());
+        eventMap.put(EVENT_ISO_TIMESTAMP_KEY_NAME, timestamp);
+
+        return eventMap;
+    }
+
+    /**
+     * Supplier of the details of an event.
+     */
+    @FunctionalInterface
+    protected interface EventDetailsSupplier {
+
+        /**
+         * Gather the event details.
+         *
+         * @return the event details, or null if the event should not be published
+         */
+        @Nullable
+        HashMap<String, Object> get();
+    }
+
     /**
      * Types of event.
      */
@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.events;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.BeanClassLoaderAware;
@@ -29,6 +30,7 @@ import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.core.ResolvableType;
 
 import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An event bus implementation for the Genie application to use.
@@ -40,21 +42,31 @@ import javax.annotation.Nullable;
 public class GenieEventBusImpl implements
     GenieEventBus, ApplicationEventMulticaster, BeanClassLoaderAware, BeanFactoryAware {
 
+    static final String PUBLISH_TIMER_NAME = "genie.events.publish.timer";
+    static final String EVENT_TYPE_TAG = "eventType";
+    static final String MODE_TAG = "mode";
+    private static final String SYNC_MODE = "sync";
+    private static final String ASYNC_MODE = "async";
+
     private final SimpleApplicationEventMulticaster syncMulticaster;
     private final SimpleApplicationEventMulticaster asyncMulticaster;
+    private final MeterRegistry registry;
 
     /**
      * Constructor.
      *
      * @param syncEventMulticaster  The synchronous task multicaster to use
      * @param asyncEventMulticaster The asynchronous task multicaster to use
+     * @param registry              The meter registry
      */
     public GenieEventBusImpl(
         @NonNull final SimpleApplicationEventMulticaster syncEventMulticaster,
-        @NonNull final SimpleApplicationEventMulticaster asyncEventMulticaster
+        @NonNull final SimpleApplicationEventMulticaster asyncEventMulticaster,
+        @NonNull final MeterRegistry registry
     ) {
         this.syncMulticaster = syncEventMulticaster;
         this.asyncMulticaster = asyncEventMulticaster;
+        this.registry = registry;
     }
 
     /**
@@ -62,9 +74,13 @@ public class GenieEventBusImpl implements
      */
     @Override
     public void publishSynchronousEvent(@NonNull final ApplicationEvent event) {
-        // TODO: Metric here?
         log.debug("Publishing synchronous event {}", event);
-        this.syncMulticaster.multicastEvent(event);
+        final long start = System.nanoTime();
+        try {
+            this.syncMulticaster.multicastEvent(event);
+        } finally {
+            this.recordPublish(event, SYNC_MODE, start);
+        }
     }
 
     /**
@@ -72,9 +88,13 @@ public class GenieEventBusImpl implements
      */
     @Override
     public void publishAsynchronousEvent(@NonNull final ApplicationEvent event) {
-        // TODO: Metric here?
         log.debug("Publishing asynchronous event {}", event);
-        this.asyncMulticaster.multicastEvent(event);
+        final long start = System.nanoTime();
+        try {
+            this.asyncMulticaster.multicastEvent(event);
+        } finally {
+            this.recordPublish(event, ASYNC_MODE, start);
+        }
     }
 
     /**
@@ -132,9 +152,13 @@ public class GenieEventBusImpl implements
      */
     @Override
     public void multicastEvent(final ApplicationEvent event) {
-        // TODO: Metric here?
         log.debug("Multi-casting event {}", event);
-        this.asyncMulticaster.multicastEvent(event);
+        final long start = System.nanoTime();
+        try {
+            this.asyncMulticaster.multicastEvent(event);
+        } finally {
+            this.recordPublish(event, ASYNC_MODE, start);
+        }
     }
 
     /**
@@ -142,9 +166,13 @@ public class GenieEventBusImpl implements
      */
     @Override
     public void multicastEvent(final ApplicationEvent event, @Nullable final ResolvableType eventType) {
-        // TODO: Metric here?
         log.debug("Multi-casting event {} of type {}", event, eventType);
-        this.asyncMulticaster.multicastEvent(event, eventType);
+        final long start = System.nanoTime();
+        try {
+            this.asyncMulticaster.multicastEvent(event, eventType);
+        } finally {
+            this.recordPublish(event, ASYNC_MODE, start);
+        }
     }
 
     /**
@@ -164,4 +192,12 @@ public class GenieEventBusImpl implements
         this.syncMulticaster.setBeanFactory(beanFactory);
         this.asyncMulticaster.setBeanFactory(beanFactory);
     }
+
+    private void recordPublish(final ApplicationEvent event, final String mode, final long start) {
+        this.registry.timer(
+            PUBLISH_TIMER_NAME,
+            EVENT_TYPE_TAG, event.getClass().getSimpleName(),
+            MODE_TAG, mode
+        ).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
 }
@@ -33,6 +33,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationListener;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.stream.Collectors;
 
@@ -114,7 +115,28 @@ public class JobFinishedSNSPublisher
         final MeterRegistry registry,
         final ObjectMapper mapper
     ) {
-        super(properties, registry, snsClient, mapper);
+        this(snsClient, properties, dataServices, registry, mapper, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param snsClient    Amazon SNS client
+     * @param properties   configuration properties
+     * @param dataServices the {@link DataServices} instance to use
+     * @param registry     metrics registry
+     * @param mapper       object mapper
+     * @param outbox       outbox to publish notifications asynchronously, or null to publish them synchronously
+     */
+    public JobFinishedSNSPublisher(
+        final AmazonSNS snsClient,
+        final SNSNotificationsProperties properties,
+        final DataServices dataServices,
+        final MeterRegistry registry,
+        final ObjectMapper mapper,
+        @Nullable final SNSNotificationsOutbox outbox
+    ) {
+        super(properties, registry, snsClient, mapper, outbox);
         this.persistenceService = dataServices.getPersistenceService();
     }
 
@@ -136,12 +158,18 @@ public class JobFinishedSNSPublisher
 
         final String jobId = event.getJobId();
 
+        // With an outbox, the job is loaded when the notification is published, off the event publishing thread
+        this.publishEvent(EventType.JOB_FINISHED, () -> this.createEventDetails(jobId));
+    }
+
+    @Nullable
+    private HashMap<String, Object> createEventDetails(final String jobId) {
         final FinishedJob job;
         try {
             job = persistenceService.getFinishedJob(jobId);
         } catch (final NotFoundException | GenieInvalidStatusException e) {
             log.error("Failed to retrieve finished job: {}", jobId, e);
-            return;
+            return null;
         }
 
         log.info("Publishing SNS notification for completed job {}", jobId);
@@ -240,6 +268,6 @@ public class JobFinishedSNSPublisher
             ).collect(Collectors.toList())
         );
 
-        this.publishEvent(EventType.JOB_FINISHED, eventDetailsMap);
+        return eventDetailsMap;
     }
 }
@@ -26,6 +26,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationListener;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 
 /**
@@ -57,7 +58,26 @@ public class JobStateChangeSNSPublisher
         final MeterRegistry registry,
         final ObjectMapper mapper
     ) {
-        super(properties, registry, snsClient, mapper);
+        this(snsClient, properties, registry, mapper, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param snsClient  Amazon SNS client
+     * @param properties configuration properties
+     * @param registry   metrics registry
+     * @param mapper     object mapper
+     * @param outbox     outbox to publish notifications asynchronously, or null to publish them synchronously
+     */
+    public JobStateChangeSNSPublisher(
+        final AmazonSNS snsClient,
+        final SNSNotificationsProperties properties,
+        final MeterRegistry registry,
+        final ObjectMapper mapper,
+        @Nullable final SNSNotificationsOutbox outbox
+    ) {
+        super(properties, registry, snsClient, mapper, outbox);
     }
 
     /**
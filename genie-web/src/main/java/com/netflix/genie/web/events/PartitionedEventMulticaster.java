@@ -0,0 +1,249 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import com.netflix.genie.web.properties.AsyncEventPartitioningProperties;
+import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous event multicaster that records queueing and handling latency of each listener invocation and,
+ * if enabled, dispatches job events to single-threaded partitions.
+ * Each listener has its own set of partitions, selected from the job id, so each listener receives the events of a
+ * given job in the order they were published and a slow listener never delays the others.
+ * Events are often published from within a database transaction, so the publishing thread never waits: when a
+ * partition queue is full the invocation is dropped and counted.
+ * Events that are not related to a job are dispatched to the shared task executor.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class PartitionedEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    static final String QUEUE_TIMER_NAME = "genie.events.async.queue.timer";
+    static final String HANDLING_TIMER_NAME = "genie.events.async.handling.timer";
+    static final String DROPPED_COUNTER_NAME = "genie.events.async.partitions.dropped.counter";
+    static final String BACKLOG_GAUGE_NAME = "genie.events.async.partitions.backlog.gauge";
+    static final String EVENT_TYPE_TAG = "eventType";
+    static final String LISTENER_TAG = "listener";
+    static final String PARTITIONED_TAG = "partitioned";
+    private static final String THREAD_NAME_PREFIX = "genie-events-partition-";
+
+    private static final long IDLE_PARTITION_KEEP_ALIVE_SECONDS = 60L;
+
+    private final TaskExecutor sharedExecutor;
+    private final AsyncEventPartitioningProperties properties;
+    private final MeterRegistry registry;
+    private final Map<ApplicationListener<?>, String> listenerNames = new ConcurrentHashMap<>();
+    private final Map<ApplicationListener<?>, List<ThreadPoolExecutor>> partitionExecutors = new ConcurrentHashMap<>();
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor.
+     *
+     * @param sharedExecutor The executor used for events that are not dispatched to a partition
+     * @param properties     The partitioning properties
+     * @param registry       The meter registry
+     */
+    public PartitionedEventMulticaster(
+        final TaskExecutor sharedExecutor,
+        final AsyncEventPartitioningProperties properties,
+        final MeterRegistry registry
+    ) {
+        this.sharedExecutor = sharedExecutor;
+        this.properties = properties;
+        this.registry = registry;
+
+        this.registry.gauge(BACKLOG_GAUGE_NAME, this, PartitionedEventMulticaster::getBacklog);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multicastEvent(final ApplicationEvent event, @Nullable final ResolvableType eventType) {
+        final ResolvableType type = eventType != null ? eventType : ResolvableType.forInstance(event);
+        final String jobId = getJobId(event);
+        for (final ApplicationListener<?> listener : this.getApplicationListeners(event, type)) {
+            this.dispatch(event, listener, jobId);
+        }
+    }
+
+    /**
+     * Stop the partition threads. Invocations already queued are still delivered, later ones are executed by the
+     * publishing thread, at which point the order of the events of a job is no longer guaranteed.
+     */
+    public void shutdown() {
+        this.shutdown = true;
+        this.partitionExecutors.values().forEach(executors -> executors.forEach(ThreadPoolExecutor::shutdown));
+    }
+
+    private void dispatch(
+        final ApplicationEvent event,
+        final ApplicationListener<?> listener,
+        @Nullable final String jobId
+    ) {
+        final String listenerName = this.listenerNames.computeIfAbsent(
+            listener,
+            PartitionedEventMulticaster::getListenerName
+        );
+        final String eventName = event.getClass().getSimpleName();
+        final boolean partitioned = jobId != null && this.properties.isEnabled();
+        final long enqueuedAt = System.nanoTime();
+        final Runnable task = () -> this.invoke(event, listener, eventName, listenerName, partitioned, enqueuedAt);
+
+        if (!partitioned) {
+            this.sharedExecutor.execute(task);
+            return;
+        }
+        if (this.shutdown) {
+            task.run();
+            return;
+        }
+
+        final List<ThreadPoolExecutor> executors = this.partitionExecutors.computeIfAbsent(
+            listener,
+            key -> this.createPartitionExecutors(listenerName)
+        );
+        final ThreadPoolExecutor executor = executors.get(Math.floorMod(Objects.hashCode(jobId), executors.size()));
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            if (executor.isShutdown()) {
+                task.run();
+            } else {
+                // Never make the publisher wait, it may be holding a database transaction
+                log.warn("Partition of {} is saturated, dropping event {}", listenerName, event);
+                this.registry.counter(
+                    DROPPED_COUNTER_NAME,
+                    EVENT_TYPE_TAG, eventName,
+                    LISTENER_TAG, listenerName
+                ).increment();
+            }
+        }
+    }
+
+    private List<ThreadPoolExecutor> createPartitionExecutors(final String listenerName) {
+        final ImmutableList.Builder<ThreadPoolExecutor> executorsBuilder = ImmutableList.builder();
+        for (int i = 0; i < this.properties.getPartitions(); i++) {
+            final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+                THREAD_NAME_PREFIX + listenerName + "-" + i + "-"
+            );
+            threadFactory.setDaemon(true);
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1,
+                1,
+                IDLE_PARTITION_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(this.properties.getQueueCapacity()),
+                threadFactory
+            );
+            // Listeners with little traffic don't need to hold on to their threads
+            executor.allowCoreThreadTimeOut(true);
+            executorsBuilder.add(executor);
+        }
+        return executorsBuilder.build();
+    }
+
+    private void invoke(
+        final ApplicationEvent event,
+        final ApplicationListener<?> listener,
+        final String eventName,
+        final String listenerName,
+        final boolean partitioned,
+        final long enqueuedAt
+    ) {
+        final long start = System.nanoTime();
+        final Set<Tag> tags = Sets.newHashSet(
+            Tag.of(EVENT_TYPE_TAG, eventName),
+            Tag.of(LISTENER_TAG, listenerName),
+            Tag.of(PARTITIONED_TAG, String.valueOf(partitioned))
+        );
+        this.registry.timer(QUEUE_TIMER_NAME, tags).record(start - enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            this.invokeListener(listener, event);
+            MetricsUtils.addSuccessTags(tags);
+        } catch (final RuntimeException e) {
+            MetricsUtils.addFailureTagsWithException(tags, e);
+            log.error("Listener {} failed to handle event {}", listenerName, event, e);
+        } finally {
+            this.registry.timer(HANDLING_TIMER_NAME, tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double getBacklog() {
+        return this.partitionExecutors
+            .values()
+            .stream()
+            .flatMap(List::stream)
+            .mapToInt(executor -> executor.getQueue().size())
+            .sum();
+    }
+
+    @Nullable
+    private static String getJobId(final ApplicationEvent event) {
+        if (event instanceof BaseJobEvent) {
+            return ((BaseJobEvent) event).getId();
+        } else if (event instanceof JobStateChangeEvent) {
+            return ((JobStateChangeEvent) event).getJobId();
+        }
+        return null;
+    }
+
+    private static String getListenerName(final ApplicationListener<?> listener) {
+        if (listener instanceof ApplicationListenerMethodAdapter) {
+            // The adapter describes itself with the signature of the annotated method, keep "Class.method"
+            final String signature = listener.toString();
+            final int argumentsStart = signature.indexOf('(');
+            if (argumentsStart > 0) {
+                final int methodStart = signature.lastIndexOf(' ', argumentsStart) + 1;
+                final String method = signature.substring(methodStart, argumentsStart);
+                return method.substring(method.lastIndexOf('.', method.lastIndexOf('.') - 1) + 1);
+            }
+        }
+        final Class<?> listenerClass = ClassUtils.getUserClass(listener);
+        return StringUtils.isNotBlank(listenerClass.getSimpleName())
+            ? listenerClass.getSimpleName()
+            : listenerClass.getName();
+    }
+}
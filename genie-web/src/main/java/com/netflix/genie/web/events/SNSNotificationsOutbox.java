@@ -0,0 +1,340 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events;
+
+import com.amazonaws.services.sns.AmazonSNS;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.netflix.genie.web.properties.SNSNotificationsOutboxProperties;
+import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, in-memory buffer of SNS notifications waiting to be published.
+ * <p>
+ * Publishers add notifications without waiting for SNS, a scheduled task drains the outbox in batches whose
+ * notifications are published concurrently. Notifications that fail to publish are retried with exponential back off, up to a maximum number of attempts. Notifications waiting
+ * for a retry count against the capacity of the outbox. When the outbox is full, either the new or the oldest
+ * notification waiting for its first attempt is dropped, according to the configured policy.
+ * <p>
+ * The message of a notification is only computed when it is about to be published for the first time, which moves
+ * the cost of gathering the event details and serializing them off the thread publishing the event.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class SNSNotificationsOutbox {
+
+    private static final String SIZE_GAUGE_NAME = "genie.notifications.sns.outbox.size.gauge";
+    private static final String DROPPED_COUNTER_NAME = "genie.notifications.sns.outbox.dropped.counter";
+    private static final String WAIT_TIMER_NAME = "genie.notifications.sns.outbox.wait.timer";
+    private static final String DROP_REASON_TAG_NAME = "reason";
+    private static final String OUTBOX_FULL_DROP_REASON = "full";
+    private static final String ATTEMPTS_EXHAUSTED_DROP_REASON = "attemptsExhausted";
+    private static final String SHUTDOWN_DROP_REASON = "shutdown";
+    private static final String PUBLISH_THREAD_NAME_PREFIX = "genie-sns-outbox-";
+
+    private final AmazonSNS snsClient;
+    private final SNSNotificationsOutboxProperties properties;
+    private final MeterRegistry registry;
+    private final BlockingDeque<Notification> pendingNotifications;
+    // Only accessed while flushing
+    private final List<Notification> retryingNotifications = Lists.newLinkedList();
+    // Pending and retrying notifications, never more than the capacity
+    private final AtomicInteger size = new AtomicInteger();
+    private final ExecutorService publishExecutor;
+    private final ScheduledFuture<?> flushTask;
+
+    /**
+     * Constructor.
+     *
+     * @param snsClient     Amazon SNS client
+     * @param properties    outbox configuration properties
+     * @param taskScheduler task scheduler used to periodically flush the outbox, publishing happens on its threads
+     * @param registry      metrics registry
+     */
+    public SNSNotificationsOutbox(
+        final AmazonSNS snsClient,
+        final SNSNotificationsOutboxProperties properties,
+        final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        this.snsClient = snsClient;
+        this.properties = properties;
+        this.registry = registry;
+        // Bounded by the size, which also accounts for the retrying notifications
+        this.pendingNotifications = new LinkedBlockingDeque<>();
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(PUBLISH_THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        this.publishExecutor = Executors.newFixedThreadPool(properties.getPublishThreads(), threadFactory);
+
+        this.registry.gauge(SIZE_GAUGE_NAME, this.size);
+        this.flushTask = taskScheduler.scheduleWithFixedDelay(this::flush, properties.getFlushInterval());
+    }
+
+    /**
+     * Stop flushing periodically and make a last attempt to publish the notifications left in the outbox. The ones that
+     * fail this last attempt are dropped.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (this.flushTask != null) {
+            this.flushTask.cancel(false);
+        }
+        // No point waiting to retry at this point
+        this.flush(true);
+        this.publishExecutor.shutdown();
+    }
+
+    /**
+     * Add a notification to the outbox.
+     *
+     * @param eventType       the type of event
+     * @param topic           the SNS topic to publish to
+     * @param messageSupplier supplier of the message, invoked when the notification is first published
+     * @return true if the notification was added, false if it was dropped because the outbox is full
+     */
+    boolean offer(
+        final AbstractSNSPublisher.EventType eventType,
+        final String topic,
+        final MessageSupplier messageSupplier
+    ) {
+        final Notification notification = new Notification(eventType, topic, messageSupplier);
+        if (this.tryIncrementSize()) {
+            this.pendingNotifications.offerLast(notification);
+            return true;
+        }
+        if (this.properties.getDropPolicy() == SNSNotificationsOutboxProperties.DropPolicy.DROP_OLDEST) {
+            // Take over the place of the oldest notification, unless another thread did already or all are retrying
+            final Notification oldest = this.pendingNotifications.pollFirst();
+            if (oldest != null) {
+                this.drop(oldest, OUTBOX_FULL_DROP_REASON);
+                this.pendingNotifications.offerLast(notification);
+                return true;
+            }
+        }
+        this.drop(notification, OUTBOX_FULL_DROP_REASON);
+        return false;
+    }
+
+    private boolean tryIncrementSize() {
+        while (true) {
+            final int currentSize = this.size.get();
+            if (currentSize >= this.properties.getCapacity()) {
+                return false;
+            }
+            if (this.size.compareAndSet(currentSize, currentSize + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Publish all the notifications currently in the outbox, plus the ones whose retry is due, in batches.
+     */
+    void flush() {
+        this.flush(false);
+    }
+
+    private synchronized void flush(final boolean finalFlush) {
+        final List<Notification> batch = Lists.newArrayListWithCapacity(this.properties.getBatchSize());
+        final List<Notification> retries = Lists.newArrayList();
+        try {
+            // Retries scheduled by this flush wait for the next one
+            final long now = System.nanoTime();
+            final Iterator<Notification> retryIterator = this.retryingNotifications.iterator();
+            while (retryIterator.hasNext()) {
+                final Notification notification = retryIterator.next();
+                if (finalFlush || notification.nextAttemptNanos - now <= 0) {
+                    retries.add(notification);
+                    retryIterator.remove();
+                }
+            }
+            final Iterator<Notification> dueRetries = retries.iterator();
+            while (true) {
+                batch.clear();
+                while (dueRetries.hasNext() && batch.size() < this.properties.getBatchSize()) {
+                    batch.add(dueRetries.next());
+                }
+                this.pendingNotifications.drainTo(batch, this.properties.getBatchSize() - batch.size());
+                if (batch.isEmpty()) {
+                    return;
+                }
+                this.publishBatch(batch, finalFlush);
+            }
+        } catch (final RuntimeException e) {
+            // Don't let an unexpected error cancel the scheduled flush
+            log.error("Error flushing SNS notifications outbox", e);
+        }
+    }
+
+    private void publishBatch(final List<Notification> batch, final boolean finalFlush) {
+        log.debug("Publishing batch of {} SNS notifications", batch.size());
+        final List<CompletableFuture<Boolean>> publications = Lists.newArrayListWithCapacity(batch.size());
+        for (final Notification notification : batch) {
+            publications.add(
+                CompletableFuture.supplyAsync(() -> this.publish(notification, finalFlush), this.publishExecutor)
+            );
+        }
+        // Wait for the whole batch, the next one may contain the retries of this one
+        for (int i = 0; i < batch.size(); i++) {
+            if (publications.get(i).join()) {
+                this.size.decrementAndGet();
+            } else {
+                this.retryingNotifications.add(batch.get(i));
+            }
+        }
+    }
+
+    /**
+     * Attempt to publish a notification.
+     *
+     * @return true if the notification is done with, false if it should be retried
+     */
+    private boolean publish(final Notification notification, final boolean finalFlush) {
+        final String message;
+        try {
+            message = notification.getMessage();
+        } catch (final JsonProcessingException | RuntimeException e) {
+            // Retrying won't help
+            log.error("Failed to create SNS notification", e);
+            this.recordPublish(notification, MetricsUtils.newFailureTagsSetForException(e));
+            return true;
+        }
+        if (message == null) {
+            // Nothing to publish after all
+            return true;
+        }
+
+        try {
+            this.snsClient.publish(notification.topic, message);
+            log.debug("Published SNS notification (type: {})", notification.eventType.name());
+            this.recordPublish(notification, MetricsUtils.newSuccessTagsSet());
+            this.registry
+                .timer(WAIT_TIMER_NAME, ImmutableSet.of(notification.eventType.getTypeTag()))
+                .record(System.nanoTime() - notification.createdNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (final RuntimeException e) {
+            this.recordPublish(notification, MetricsUtils.newFailureTagsSetForException(e));
+            if (finalFlush) {
+                log.error("Failed to publish SNS notification while shutting down", e);
+                this.drop(notification, SHUTDOWN_DROP_REASON);
+                return true;
+            }
+            if (notification.attempts >= this.properties.getMaxAttempts()) {
+                log.error("Failed to publish SNS notification after {} attempts", notification.attempts, e);
+                this.drop(notification, ATTEMPTS_EXHAUSTED_DROP_REASON);
+                return true;
+            }
+            log.warn("Failed to publish SNS notification (attempt {}), will retry", notification.attempts, e);
+            notification.scheduleRetry(
+                this.properties.getRetryBackOff().toNanos() << Math.min(notification.attempts - 1, 20)
+            );
+            return false;
+        }
+    }
+
+    private void recordPublish(final Notification notification, final Set<Tag> tags) {
+        tags.add(notification.eventType.getTypeTag());
+        this.registry.counter(AbstractSNSPublisher.PUBLISH_METRIC_COUNTER_NAME_FORMAT, tags).increment();
+    }
+
+    private void drop(final Notification notification, final String reason) {
+        log.warn("Dropping SNS notification (type: {}, reason: {})", notification.eventType.name(), reason);
+        final Set<Tag> tags = Sets.newHashSet(
+            notification.eventType.getTypeTag(),
+            Tag.of(DROP_REASON_TAG_NAME, reason)
+        );
+        this.registry.counter(DROPPED_COUNTER_NAME, tags).increment();
+    }
+
+    /**
+     * Supplier of the serialized message of a notification.
+     */
+    @FunctionalInterface
+    interface MessageSupplier {
+
+        /**
+         * Create the message.
+         *
+         * @return the message to publish, or null if there is nothing to publish
+         * @throws JsonProcessingException if the message cannot be serialized
+         */
+        @Nullable
+        String get() throws JsonProcessingException;
+    }
+
+    /**
+     * A notification waiting in the outbox.
+     */
+    private static final class Notification {
+        private final AbstractSNSPublisher.EventType eventType;
+        private final String topic;
+        private final long createdNanos = System.nanoTime();
+        private MessageSupplier messageSupplier;
+        private String message;
+        private int attempts;
+        private long nextAttemptNanos;
+
+        private Notification(
+            final AbstractSNSPublisher.EventType eventType,
+            final String topic,
+            final MessageSupplier messageSupplier
+        ) {
+            this.eventType = eventType;
+            this.topic = topic;
+            this.messageSupplier = messageSupplier;
+        }
+
+        @Nullable
+        private String getMessage() throws JsonProcessingException {
+            this.attempts++;
+            if (this.messageSupplier != null) {
+                // Only computed once, retries reuse it
+                this.message = this.messageSupplier.get();
+                this.messageSupplier = null;
+            }
+            return this.message;
+        }
+
+        private void scheduleRetry(final long delayNanos) {
+            this.nextAttemptNanos = System.nanoTime() + delayNanos;
+        }
+    }
+}
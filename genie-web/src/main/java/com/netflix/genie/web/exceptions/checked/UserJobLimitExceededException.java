@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.exceptions.checked;
+
+/**
+ * An exception for when the server refuses to accept a job submission because the user already has as many active
+ * jobs as they are allowed to. The client is expected to retry once some of those jobs completed.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+public class UserJobLimitExceededException extends JobLaunchRejectedException {
+    /**
+     * Constructor.
+     */
+    public UserJobLimitExceededException() {
+        super();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param message The error message to associate with this exception
+     */
+    public UserJobLimitExceededException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cause The root cause of this exception
+     */
+    public UserJobLimitExceededException(final Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param message The error message to associate with this exception
+     * @param cause   The root cause of this exception
+     */
+    public UserJobLimitExceededException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties controlling how asynchronous events are dispatched to listeners.
+ * When partitioning is enabled, events related to a job are delivered to each listener in order, by a single-threaded
+ * executor selected from the job id among the partitions of that listener. Other events use the shared task executor.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = AsyncEventPartitioningProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class AsyncEventPartitioningProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.events.async.partitioning";
+
+    /**
+     * Whether job events are dispatched to partitioned executors.
+     */
+    private boolean enabled;
+
+    /**
+     * Number of partitions of each listener, each served by a single thread that is only kept while there are events.
+     */
+    @Min(1)
+    private int partitions = 8;
+
+    /**
+     * Maximum number of listener invocations queued in each partition. When a partition is full further invocations are
+     * dropped.
+     */
+    @Min(1)
+    private int queueCapacity = 1_000;
+}
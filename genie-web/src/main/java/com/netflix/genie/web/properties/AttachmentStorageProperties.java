@@ -0,0 +1,56 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties related to how job attachments are stored on the local filesystem.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = AttachmentStorageProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class AttachmentStorageProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.attachments";
+
+    /**
+     * Whether attachment contents are stored once, keyed by their SHA-256 digest, and shared by all the requests that
+     * sent identical attachments. Ignored on filesystems without hard link support.
+     */
+    private boolean contentAddressed = true;
+
+    /**
+     * How long to wait between two removals of the stored attachment contents no job refers to anymore.
+     */
+    @NotNull
+    private Duration blobCleanupInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,119 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import com.google.common.collect.Maps;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Properties related to routing read only persistence calls to a read replica of the database.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = DataReplicaProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class DataReplicaProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.data.replica";
+
+    /**
+     * The property that enables routing of read only calls to the replica.
+     */
+    public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
+
+    /**
+     * Whether read only persistence calls should be routed to the replica.
+     */
+    private boolean enabled;
+
+    /**
+     * JDBC URL of the replica.
+     */
+    @Nullable
+    private String url;
+
+    /**
+     * Login username of the replica. Defaults to the one of the primary when not set.
+     */
+    @Nullable
+    private String username;
+
+    /**
+     * Login password of the replica. Defaults to the one of the primary when not set.
+     */
+    @Nullable
+    private String password;
+
+    /**
+     * Fully qualified name of the JDBC driver of the replica. Auto-detected from the URL by default.
+     */
+    @Nullable
+    private String driverClassName;
+
+    /**
+     * Query run against the replica returning its replication lag in (fractional) seconds, or NULL when unknown.
+     * e.g. {@code SELECT EXTRACT(EPOCH FROM NOW() - pg_last_xact_replay_timestamp())} for PostgreSQL. Required for
+     * reads to use the replica: when not set the lag is never known and all reads use the primary.
+     */
+    @Nullable
+    private String lagQuery;
+
+    /**
+     * Interval between two measurements of the replication lag.
+     */
+    @NotNull
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * The default maximum replication lag tolerated by read only calls. Calls are routed to the primary while the
+     * replica lags more than that or its lag can't be measured.
+     */
+    @NotNull
+    private Duration maxLag = Duration.ofSeconds(30);
+
+    /**
+     * Maximum replication lag tolerated by individual persistence service methods, keyed by method name (e.g.
+     * {@code findJobs}). Overrides {@link #maxLag} for these methods.
+     */
+    @NotNull
+    private Map<String, Duration> methodMaxLag = Maps.newHashMap();
+
+    /**
+     * Get the maximum replication lag tolerated by the given persistence service method.
+     *
+     * @param methodName The name of the method
+     * @return The maximum lag
+     */
+    public Duration getMaxLag(final String methodName) {
+        return this.methodMaxLag.getOrDefault(methodName, this.maxLag);
+    }
+}
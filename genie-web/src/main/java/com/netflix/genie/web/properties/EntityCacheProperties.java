@@ -0,0 +1,64 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties related to the second level cache of the rarely changing entities (applications, clusters, commands,
+ * files and tags) of the persistence tier.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = EntityCacheProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class EntityCacheProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.data.entity-cache";
+
+    /**
+     * Whether the entities are cached in memory between transactions. The cache is local to each node. Changes made
+     * through a node evict its own entries, changes made through other nodes are only seen once entries expire.
+     */
+    private boolean enabled;
+
+    /**
+     * How long an entity (or collection of an entity) is cached after it was loaded or updated.
+     */
+    @NotNull
+    private Duration expiration = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of entries in each cache region (one per entity type and per entity collection).
+     */
+    @Min(1)
+    private long maxSize = 10_000L;
+}
@@ -0,0 +1,82 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties related to launching jobs submitted via the API.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobLaunchProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobLaunchProperties {
+
+    /**
+     * The property prefix for job launch.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.launch";
+
+    /**
+     * The property key for whether asynchronous launch is enabled or not.
+     */
+    public static final String ASYNC_ENABLED_PROPERTY = PROPERTY_PREFIX + ".async-enabled";
+
+    /**
+     * Whether jobs are resolved and launched asynchronously after the submission is saved and acknowledged.
+     */
+    private boolean asyncEnabled;
+
+    /**
+     * The number of threads resolving and launching jobs when asynchronous launch is enabled.
+     */
+    @Min(1)
+    private int asyncThreads = 8;
+
+    /**
+     * The maximum number of submissions waiting for or undergoing asynchronous launch.
+     * Submissions beyond this limit are rejected before being saved.
+     */
+    @Min(1)
+    private int asyncMaxPending = 1_000;
+
+    /**
+     * The name prefix to apply to threads of the asynchronous launch pool.
+     */
+    @NotBlank(message = "A thread prefix name is required")
+    private String asyncThreadNamePrefix = "genie-job-launch-";
+
+    /**
+     * How long shutdown waits for pending asynchronous launches to complete. Jobs whose launch has not started by
+     * then are marked failed.
+     */
+    @NotNull
+    private Duration asyncShutdownTimeout = Duration.ofSeconds(30);
+}
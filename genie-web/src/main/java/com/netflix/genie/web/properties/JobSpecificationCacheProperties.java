@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties related to the cache of job specifications served to agents.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobSpecificationCacheProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobSpecificationCacheProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.agent.job-specification-cache";
+
+    /**
+     * Whether resolved job specifications are kept in memory to serve repeated requests from agents.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a job specification is kept after it was last requested.
+     */
+    @NotNull
+    private Duration expiration = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of job specifications kept in memory.
+     */
+    @Min(1)
+    private long maxSize = 10_000L;
+}
@@ -0,0 +1,57 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties related to clients waiting for job status changes.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobStatusWatchProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobStatusWatchProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.status-watch";
+
+    /**
+     * Interval between refreshes of the status of watched jobs from the database, necessary to catch transitions
+     * persisted by other nodes.
+     */
+    @NotNull
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time a request waiting for a job status change is held before responding with the status unchanged.
+     */
+    @NotNull
+    private Duration maxWait = Duration.ofSeconds(60);
+}
@@ -25,6 +25,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -64,10 +66,18 @@ public class JobsActiveLimitProperties implements EnvironmentAware {
      */
     public static final int DEFAULT_COUNT = 100;
 
+    /**
+     * Default interval between reconciliations of the in-memory active job counts with the database.
+     */
+    public static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofSeconds(30L);
+
     private boolean enabled = DEFAULT_ENABLED;
 
     @Min(value = 1)
     private int count = DEFAULT_COUNT;
+
+    @NotNull
+    private Duration reconcileInterval = DEFAULT_RECONCILE_INTERVAL;
     private AtomicReference<Environment> environment = new AtomicReference<>();
 
     /**
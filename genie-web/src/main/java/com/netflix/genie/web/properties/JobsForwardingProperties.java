@@ -24,6 +24,8 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
 
 /**
  * Properties related to job forwarding.
@@ -47,8 +49,18 @@ public class JobsForwardingProperties {
      */
     public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
 
+    /**
+     * The property key for whether V3 job submissions this node can't run are forwarded to a node with capacity.
+     */
+    public static final String SUBMISSIONS_ENABLED_PROPERTY = PROPERTY_PREFIX + ".submissions-enabled";
+
     private boolean enabled;
 
+    private boolean submissionsEnabled;
+
+    @NotNull(message = "An interval to publish the free job memory of this node is required")
+    private Duration capacityPublishInterval = Duration.ofSeconds(10L);
+
     @NotEmpty(message = "A scheme is required for forwarding")
     private String scheme = "http";
 
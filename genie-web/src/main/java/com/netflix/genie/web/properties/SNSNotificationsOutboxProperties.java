@@ -0,0 +1,112 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties to configure the outbox buffering SNS notifications so they are published asynchronously.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = SNSNotificationsOutboxProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class SNSNotificationsOutboxProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = SNSNotificationsProperties.PROPERTY_PREFIX + ".outbox";
+
+    /**
+     * The property that determines if notifications are published asynchronously through the outbox.
+     */
+    public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
+
+    private boolean enabled;
+
+    /**
+     * Maximum number of notifications in the outbox, whether waiting to be published for the first time or to be
+     * retried.
+     */
+    @Min(1)
+    private int capacity = 1_000;
+
+    /**
+     * Maximum number of notifications published in a single batch.
+     */
+    @Min(1)
+    @Max(10)
+    private int batchSize = 10;
+
+    /**
+     * Number of threads publishing the notifications of a batch concurrently.
+     */
+    @Min(1)
+    private int publishThreads = 4;
+
+    /**
+     * Delay between the end of a flush of the outbox and the start of the next one.
+     */
+    @NotNull
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /**
+     * Maximum number of attempts to publish a notification before dropping it.
+     */
+    @Min(1)
+    private int maxAttempts = 3;
+
+    /**
+     * Delay before the first retry of a failed notification, doubled for every subsequent attempt.
+     */
+    @NotNull
+    private Duration retryBackOff = Duration.ofSeconds(1);
+
+    /**
+     * What to drop when the outbox is full.
+     */
+    @NotNull
+    private DropPolicy dropPolicy = DropPolicy.DROP_NEWEST;
+
+    /**
+     * Which notification is dropped when a new one is added to a full outbox.
+     */
+    public enum DropPolicy {
+        /**
+         * Drop the notification being added.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Drop the notification that has been waiting the longest, to make room for the one being added.
+         */
+        DROP_OLDEST
+    }
+}
@@ -34,4 +34,11 @@ public class ScriptManagerProperties {
      */
     public static final String PREFIX = "genie.scripts-manager";
     private long refreshInterval = 300_000L;
+    /**
+     * Whether scripts are evaluated by the calling thread rather than handed off to a separate thread.
+     * The timeout is then enforced cooperatively by interrupting the calling thread, which stops only scripts that
+     * check for interruption (e.g. Groovy scripts annotated with {@code @ThreadInterrupt}) or block on interruptible
+     * calls. The result of an evaluation exceeding the timeout is always discarded.
+     */
+    private boolean inlineEvaluation;
 }
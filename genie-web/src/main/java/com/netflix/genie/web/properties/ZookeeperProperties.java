@@ -48,4 +48,9 @@ public class ZookeeperProperties {
      * The base Zookeeper node path for discovery.
      */
     private String discoveryPath = "/genie/agents/";
+
+    /**
+     * The base Zookeeper node path where each node publishes the memory it has available for jobs.
+     */
+    private String capacityPath = "/genie/capacity/";
 }
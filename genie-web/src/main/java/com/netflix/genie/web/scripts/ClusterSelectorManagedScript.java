@@ -18,6 +18,7 @@
 package com.netflix.genie.web.scripts;
 
 import com.netflix.genie.common.external.dtos.v4.Cluster;
+import com.netflix.genie.common.external.dtos.v4.Command;
 import com.netflix.genie.web.exceptions.checked.ResourceSelectionException;
 import com.netflix.genie.web.properties.ClusterSelectorScriptProperties;
 import com.netflix.genie.web.selectors.ClusterSelectionContext;
@@ -26,6 +27,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Extension of {@link ResourceSelectorScript} that delegates selection of a job's cluster when more than one choice is
@@ -35,6 +37,9 @@ import java.util.Map;
  * {@code clusters} and {@code jobRequest} which will be a {@code Set} of {@link Cluster} instances
  * matching the cluster criteria and the job request that kicked off this evaluation respectively. The code expects the
  * script to return a {@link ResourceSelectorScriptResult} instance.
+ * <p>
+ * If memoization is enabled, the result is reused for job requests with the same user, criteria and type, for the same
+ * command and set of candidate cluster ids.
  *
  * @author mprimi
  * @since 4.0.0
@@ -75,6 +80,18 @@ public class ClusterSelectorManagedScript extends ResourceSelectorScript<Cluster
         return super.selectResource(context);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String getMemoizationKey(final ClusterSelectionContext context) {
+        return this.getRequestMemoizationKey(context)
+            + MEMOIZATION_KEY_SEPARATOR
+            + context.getCommand().map(Command::getId).orElse("")
+            + MEMOIZATION_KEY_SEPARATOR
+            + context.getClusters().stream().map(Cluster::getId).sorted().collect(Collectors.joining(","));
+    }
+
     /**
      * {@inheritDoc}
      */
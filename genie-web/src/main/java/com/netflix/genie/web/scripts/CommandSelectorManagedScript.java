@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.scripts;
 
+import com.netflix.genie.common.external.dtos.v4.Cluster;
 import com.netflix.genie.common.external.dtos.v4.Command;
 import com.netflix.genie.web.exceptions.checked.ResourceSelectionException;
 import com.netflix.genie.web.properties.CommandSelectorManagedScriptProperties;
@@ -25,10 +26,14 @@ import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * An extension of {@link ResourceSelectorScript} which from a set of commands and the original job request will
  * attempt to determine the best command to use for execution.
+ * <p>
+ * If memoization is enabled, the result is reused for job requests with the same user, criteria and type, for the same
+ * candidate command ids and their respective candidate cluster ids.
  *
  * @author tgianos
  * @since 4.0.0
@@ -69,6 +74,24 @@ public class CommandSelectorManagedScript extends ResourceSelectorScript<Command
         return super.selectResource(context);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String getMemoizationKey(final CommandSelectionContext context) {
+        return this.getRequestMemoizationKey(context)
+            + MEMOIZATION_KEY_SEPARATOR
+            + context.getCommandToClusters()
+            .entrySet()
+            .stream()
+            .map(
+                entry -> entry.getKey().getId()
+                    + entry.getValue().stream().map(Cluster::getId).sorted().collect(Collectors.joining(",", "[", "]"))
+            )
+            .sorted()
+            .collect(Collectors.joining(","));
+    }
+
     /**
      * {@inheritDoc}
      */
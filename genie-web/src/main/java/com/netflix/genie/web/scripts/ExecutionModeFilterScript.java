@@ -39,6 +39,8 @@ import java.util.Optional;
  * {@code jobRequest} which will be JSON strings representing job request that kicked off this evaluation.
  * The code expects the script to either return the true (to force agent execution), false (to force legacy/embedded
  * execution) or null (for no preference).
+ * <p>
+ * If memoization is enabled, the result is reused for job requests with an identical JSON representation.
  *
  * @author mprimi
  * @since 4.0.0
@@ -80,15 +82,16 @@ public class ExecutionModeFilterScript extends ManagedScript {
     public Optional<Boolean> forceAgentExecution(
         final JobRequest jobRequest
     ) throws ScriptNotConfiguredException, ScriptExecutionException {
-        final ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
+        final String jobRequestJson;
         try {
-            builder.put(JOB_REQUEST_BINDING, this.objectMapper.writeValueAsString(jobRequest));
+            jobRequestJson = this.objectMapper.writeValueAsString(jobRequest);
         } catch (final JsonProcessingException e) {
             throw new ScriptExecutionException("Failed to convert parameter: " + JOB_REQUEST_BINDING, e);
         }
-        final Map<String, Object> scriptParameters = builder.build();
+        final Map<String, Object> scriptParameters = ImmutableMap.of(JOB_REQUEST_BINDING, jobRequestJson);
 
-        final Object scriptOutput = this.evaluateScript(scriptParameters);
+        // The serialized request is the only input of the script
+        final Object scriptOutput = this.evaluateScript(scriptParameters, () -> jobRequestJson);
         log.debug("Execution mode selector returned: {} for job request: {}", scriptOutput, jobRequest);
 
         if (scriptOutput == null) {
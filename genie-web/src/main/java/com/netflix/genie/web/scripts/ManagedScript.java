@@ -17,17 +17,27 @@
  */
 package com.netflix.genie.web.scripts;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.netflix.genie.web.exceptions.checked.ScriptExecutionException;
 import com.netflix.genie.web.exceptions.checked.ScriptNotConfiguredException;
+import com.netflix.genie.web.util.MetricsConstants;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Abstract script class for components that rely on an external script to be loaded and invoked at runtime.
@@ -38,10 +48,18 @@ import java.util.Map;
  */
 @Slf4j
 public abstract class ManagedScript {
+    static final String MEMOIZATION_COUNTER_NAME = "genie.scripts.memoization.lookup.counter";
+    static final String MEMOIZATION_RESULT_TAG = "result";
+    static final String MEMOIZATION_HIT = "hit";
+    static final String MEMOIZATION_MISS = "miss";
+
     private final ScriptManager scriptManager;
     @Getter
     private final ManagedScriptBaseProperties properties;
     private final MeterRegistry registry;
+    // Caffeine does not store null values, null results are stored as empty optionals
+    private final Cache<HashCode, Optional<Object>> memoizedResults;
+    private final AtomicLong memoizedScriptVersion = new AtomicLong();
 
     protected ManagedScript(
         final ScriptManager scriptManager,
@@ -51,6 +69,11 @@ public abstract class ManagedScript {
         this.scriptManager = scriptManager;
         this.properties = properties;
         this.registry = registry;
+        this.memoizedResults = Caffeine
+            .newBuilder()
+            .expireAfterWrite(properties.getMemoizationTtl())
+            .maximumSize(properties.getMemoizationMaxSize())
+            .build();
     }
 
     /**
@@ -83,6 +106,69 @@ public abstract class ManagedScript {
         return this.scriptManager.evaluateScript(scriptUri, bindings, this.properties.getTimeout());
     }
 
+    /**
+     * Evaluate the script, reusing the result of a previous evaluation of the same version of the script with the same
+     * memoization key if memoization is enabled. Errors are never memoized. Reused results are in the form returned by
+     * {@link #toMemoizedResult(Object)}.
+     *
+     * @param scriptParameters       the script parameters
+     * @param memoizationKeySupplier supplier of a key uniquely identifying the inputs the script result depends on.
+     *                               Only invoked if memoization is enabled
+     * @return the result of the evaluation
+     * @throws ScriptExecutionException     if the script evaluation produces an error
+     * @throws ScriptNotConfiguredException if the script is not configured or not yet loaded
+     */
+    protected Object evaluateScript(
+        final Map<String, Object> scriptParameters,
+        final Supplier<String> memoizationKeySupplier
+    ) throws ScriptExecutionException, ScriptNotConfiguredException {
+        final URI scriptUri = this.properties.getSource();
+
+        if (!this.properties.isMemoizationEnabled() || scriptUri == null) {
+            return this.evaluateScript(scriptParameters);
+        }
+
+        final long scriptVersion = this.scriptManager.getScriptVersion(scriptUri);
+        if (this.memoizedScriptVersion.getAndSet(scriptVersion) != scriptVersion) {
+            // The script was reloaded, results of the previous version are unreachable (the version is part of the
+            // key) so free the space right away
+            this.memoizedResults.invalidateAll();
+        }
+
+        final HashCode key = Hashing.sha256()
+            .newHasher()
+            .putLong(scriptVersion)
+            .putString(memoizationKeySupplier.get(), StandardCharsets.UTF_8)
+            .hash();
+
+        final Optional<Object> memoizedResult = this.memoizedResults.getIfPresent(key);
+        this.registry.counter(
+            MEMOIZATION_COUNTER_NAME,
+            MetricsConstants.TagKeys.SCRIPT_URI, scriptUri.toString(),
+            MEMOIZATION_RESULT_TAG, memoizedResult != null ? MEMOIZATION_HIT : MEMOIZATION_MISS
+        ).increment();
+
+        if (memoizedResult != null) {
+            return memoizedResult.orElse(null);
+        }
+
+        final Object result = this.evaluateScript(scriptParameters);
+        this.memoizedResults.put(key, Optional.ofNullable(this.toMemoizedResult(result)));
+        return result;
+    }
+
+    /**
+     * Convert the result of an evaluation into the form kept for reuse, which is what later evaluations with the same
+     * memoization key return. By default the result itself is kept.
+     *
+     * @param result the result of the evaluation
+     * @return the result to memoize
+     */
+    @Nullable
+    protected Object toMemoizedResult(@Nullable final Object result) {
+        return result;
+    }
+
     @VisibleForTesting
     boolean isReadyToEvaluate() {
         final URI scriptUri = this.properties.getSource();
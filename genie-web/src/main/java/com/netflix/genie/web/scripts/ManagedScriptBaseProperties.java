@@ -22,7 +22,10 @@ import lombok.Setter;
 import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
 import java.net.URI;
+import java.time.Duration;
 
 /**
  * Base abstract properties for individual script classes to extend.
@@ -40,4 +43,19 @@ public abstract class ManagedScriptBaseProperties {
     private URI source;
     private long timeout = 5_000L;
     private boolean autoLoadEnabled = true;
+    /**
+     * Whether script results are cached and reused for identical inputs. Only safe for scripts whose result depends
+     * exclusively on the inputs used by the memoization key (see the individual script classes).
+     */
+    private boolean memoizationEnabled;
+    /**
+     * How long a memoized result is reused.
+     */
+    @NotNull
+    private Duration memoizationTtl = Duration.ofMinutes(1);
+    /**
+     * Maximum number of memoized results.
+     */
+    @Min(1)
+    private long memoizationMaxSize = 1_000L;
 }
@@ -18,6 +18,7 @@
 package com.netflix.genie.web.scripts;
 
 import com.google.common.collect.Maps;
+import com.netflix.genie.common.external.dtos.v4.CommonResource;
 import com.netflix.genie.common.external.dtos.v4.JobRequest;
 import com.netflix.genie.web.exceptions.checked.ResourceSelectionException;
 import com.netflix.genie.web.exceptions.checked.ScriptExecutionException;
@@ -26,7 +27,9 @@ import com.netflix.genie.web.selectors.ResourceSelectionContext;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Interface for defining the contract between the selection of a resource from a set of resources for a given
@@ -38,11 +41,13 @@ import java.util.Map;
  * @since 4.0.0
  */
 @Slf4j
-public class ResourceSelectorScript<R, C extends ResourceSelectionContext<R>> extends ManagedScript {
+public class ResourceSelectorScript<R extends CommonResource, C extends ResourceSelectionContext<R>>
+    extends ManagedScript {
 
     static final String JOB_REQUEST_BINDING = "jobRequestParameter";
     static final String JOB_ID_BINDING = "jobIdParameter";
     static final String CONTEXT_BINDING = "contextParameter";
+    static final String MEMOIZATION_KEY_SEPARATOR = "\n";
 
     /**
      * Constructor.
@@ -72,7 +77,10 @@ public class ResourceSelectorScript<R, C extends ResourceSelectionContext<R>> ex
         try {
             final Map<String, Object> parameters = Maps.newHashMap();
             this.addParametersForScript(parameters, context);
-            final Object evaluationResult = this.evaluateScript(parameters);
+            final Object evaluationResult = this.evaluateScript(parameters, () -> this.getMemoizationKey(context));
+            if (evaluationResult instanceof MemoizedSelection) {
+                return this.resolveMemoizedSelection((MemoizedSelection) evaluationResult, context);
+            }
             if (!(evaluationResult instanceof ResourceSelectorScriptResult)) {
                 throw new ResourceSelectionException(
                     "Selector evaluation returned invalid type: " + evaluationResult.getClass().getName()
@@ -97,6 +105,54 @@ public class ResourceSelectorScript<R, C extends ResourceSelectionContext<R>> ex
         }
     }
 
+    /**
+     * Memoize the id of the selected resource rather than the resource itself, which may have been updated by the time
+     * the result is reused.
+     *
+     * @param result the result of the evaluation
+     * @return the result to memoize
+     */
+    @Override
+    @Nullable
+    protected Object toMemoizedResult(@Nullable final Object result) {
+        if (!(result instanceof ResourceSelectorScriptResult)) {
+            return result;
+        }
+        final ResourceSelectorScriptResult<?> selection = (ResourceSelectorScriptResult<?>) result;
+        return new MemoizedSelection(
+            selection.getResource().map(resource -> ((CommonResource) resource).getId()).orElse(null),
+            selection.getRationale().orElse(null)
+        );
+    }
+
+    /**
+     * Build the key identifying the inputs of a selection, used to reuse selection results when memoization is enabled.
+     * The default key covers the user, the criteria and the type of the job request, and the candidate resources.
+     *
+     * @param context The selection context
+     * @return The memoization key
+     */
+    protected String getMemoizationKey(final C context) {
+        return this.getRequestMemoizationKey(context)
+            + MEMOIZATION_KEY_SEPARATOR
+            + context.getResources().stream().map(String::valueOf).sorted().collect(Collectors.joining(","));
+    }
+
+    /**
+     * Build the part of the memoization key that depends on the job request: user, criteria and API job flag.
+     *
+     * @param context The selection context
+     * @return The request portion of the memoization key
+     */
+    protected String getRequestMemoizationKey(final C context) {
+        final JobRequest jobRequest = context.getJobRequest();
+        return jobRequest.getMetadata().getUser()
+            + MEMOIZATION_KEY_SEPARATOR
+            + jobRequest.getCriteria()
+            + MEMOIZATION_KEY_SEPARATOR
+            + context.isApiJob();
+    }
+
     /**
      * Add any implementation specific parameters to the map of parameters to send to the script.
      *
@@ -110,4 +166,37 @@ public class ResourceSelectorScript<R, C extends ResourceSelectionContext<R>> ex
         parameters.put(JOB_REQUEST_BINDING, context.getJobRequest());
         parameters.put(JOB_ID_BINDING, context.getJobId());
     }
+
+    private ResourceSelectorScriptResult<R> resolveMemoizedSelection(
+        final MemoizedSelection selection,
+        final C context
+    ) throws ResourceSelectionException {
+        R resource = null;
+        if (selection.resourceId != null) {
+            // The candidates are part of the memoization key, the selected one is expected among them
+            resource = context
+                .getResources()
+                .stream()
+                .filter(candidate -> selection.resourceId.equals(candidate.getId()))
+                .findFirst()
+                .orElseThrow(() -> new ResourceSelectionException(selection.resourceId + " is not in original set"));
+        }
+        return new ResourceSelectorScriptResult.Builder<R>()
+            .withResource(resource)
+            .withRationale(selection.rationale)
+            .build();
+    }
+
+    /**
+     * The memoized form of a {@link ResourceSelectorScriptResult}.
+     */
+    private static final class MemoizedSelection {
+        private final String resourceId;
+        private final String rationale;
+
+        private MemoizedSelection(@Nullable final String resourceId, @Nullable final String rationale) {
+            this.resourceId = resourceId;
+            this.rationale = rationale;
+        }
+    }
 }
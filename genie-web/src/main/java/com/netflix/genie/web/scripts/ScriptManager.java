@@ -19,6 +19,8 @@ package com.netflix.genie.web.scripts;
 
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
 import com.netflix.genie.web.exceptions.checked.ScriptExecutionException;
 import com.netflix.genie.web.exceptions.checked.ScriptLoadingException;
 import com.netflix.genie.web.exceptions.checked.ScriptNotConfiguredException;
@@ -41,7 +43,9 @@ import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
 import javax.script.SimpleScriptContext;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -54,9 +58,11 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -76,10 +82,15 @@ import java.util.concurrent.atomic.AtomicReference;
 public class ScriptManager {
     private static final String SCRIPT_LOAD_TIMER_NAME = "genie.scripts.load.timer";
     private static final String SCRIPT_EVALUATE_TIMER_NAME = "genie.scripts.evaluate.timer";
+    // Creating a context for each evaluation is not free (it sets up readers and writers), reuse one per thread
+    private static final ThreadLocal<ReusableScriptContext> THREAD_SCRIPT_CONTEXT =
+        ThreadLocal.withInitial(ReusableScriptContext::new);
 
     private final ConcurrentMap<URI, AtomicReference<CompiledScript>> scriptsMap = Maps.newConcurrentMap();
+    private final ConcurrentMap<URI, AtomicLong> scriptVersionsMap = Maps.newConcurrentMap();
     private final ScriptManagerProperties properties;
     private final TaskScheduler taskScheduler;
+    private final TaskScheduler watchdogScheduler;
     private final ExecutorService executorService;
     private final ScriptEngineManager scriptEngineManager;
     private final ResourceLoader resourceLoader;
@@ -90,6 +101,7 @@ public class ScriptManager {
      *
      * @param properties          properties
      * @param taskScheduler       task scheduler
+     * @param watchdogScheduler   task scheduler dedicated to interrupting inline evaluations that exceed their timeout
      * @param executorService     executor service
      * @param scriptEngineManager script engine manager
      * @param resourceLoader      resource loader
@@ -98,6 +110,7 @@ public class ScriptManager {
     public ScriptManager(
         final ScriptManagerProperties properties,
         final TaskScheduler taskScheduler,
+        final TaskScheduler watchdogScheduler,
         final ExecutorService executorService,
         final ScriptEngineManager scriptEngineManager,
         final ResourceLoader resourceLoader,
@@ -105,6 +118,7 @@ public class ScriptManager {
     ) {
         this.properties = properties;
         this.taskScheduler = taskScheduler;
+        this.watchdogScheduler = watchdogScheduler;
         this.executorService = executorService;
         this.scriptEngineManager = scriptEngineManager;
         this.resourceLoader = resourceLoader;
@@ -128,10 +142,15 @@ public class ScriptManager {
             }
         );
         if (newKey.get()) {
+            final AtomicLong scriptVersion = this.scriptVersionsMap.computeIfAbsent(
+                scriptUri,
+                key -> new AtomicLong()
+            );
             this.taskScheduler.scheduleAtFixedRate(
                 new LoadScriptTask(
                     scriptUri,
                     compiledScriptReference,
+                    scriptVersion,
                     this.scriptEngineManager,
                     this.resourceLoader,
                     this.meterRegistry
@@ -178,18 +197,16 @@ public class ScriptManager {
             throw e;
         }
 
-        final ScriptContext scriptContext = new SimpleScriptContext();
-        scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
-        final Future<Object> taskFuture = this.executorService.submit(() -> compiledScript.eval(scriptContext));
-
         try {
-            final Object evaluationResult = taskFuture.get(timeout, TimeUnit.MILLISECONDS);
+            final Object evaluationResult = this.properties.isInlineEvaluation()
+                ? this.evaluateInline(compiledScript, bindings, timeout)
+                : this.evaluateAsync(compiledScript, bindings, timeout);
             MetricsUtils.addSuccessTags(tags);
             return evaluationResult;
 
-        } catch (TimeoutException | InterruptedException | ExecutionException e) {
-            // On timeout, stop evaluation. In other cases doesn't hurt
-            taskFuture.cancel(true);
+        } catch (
+            TimeoutException | InterruptedException | ExecutionException | ScriptException | RuntimeException e
+        ) {
             MetricsUtils.addFailureTagsWithException(tags, e);
             throw new ScriptExecutionException(
                 "Script evaluation failed: " + scriptUri + ": " + e.getClass().getSimpleName() + ": " + e.getMessage(),
@@ -204,6 +221,67 @@ public class ScriptManager {
         }
     }
 
+    private Object evaluateAsync(
+        final CompiledScript compiledScript,
+        final Bindings bindings,
+        final long timeout
+    ) throws TimeoutException, InterruptedException, ExecutionException {
+        final Future<Object> taskFuture = this.executorService.submit(
+            () -> evaluateWithThreadContext(compiledScript, bindings)
+        );
+        try {
+            return taskFuture.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException | ExecutionException e) {
+            // On timeout, stop evaluation. In other cases doesn't hurt
+            taskFuture.cancel(true);
+            throw e;
+        }
+    }
+
+    private Object evaluateInline(
+        final CompiledScript compiledScript,
+        final Bindings bindings,
+        final long timeout
+    ) throws TimeoutException, ScriptException {
+        final InterruptingWatchdog watchdog = new InterruptingWatchdog(Thread.currentThread());
+        // A busy shared scheduler would delay the interruption past the timeout
+        final ScheduledFuture<?> watchdogFuture = this.watchdogScheduler.schedule(
+            watchdog,
+            Instant.now().plusMillis(timeout)
+        );
+        final Object evaluationResult;
+        try {
+            evaluationResult = evaluateWithThreadContext(compiledScript, bindings);
+        } catch (final ScriptException | RuntimeException e) {
+            if (watchdog.disarm()) {
+                throw new TimeoutException("Script evaluation interrupted after " + timeout + "ms");
+            }
+            throw e;
+        } finally {
+            if (watchdogFuture != null) {
+                watchdogFuture.cancel(false);
+            }
+        }
+        if (watchdog.disarm()) {
+            // The script ignored the interruption, its result is discarded to honor the timeout
+            throw new TimeoutException("Script evaluation exceeded " + timeout + "ms");
+        }
+        return evaluationResult;
+    }
+
+    private static Object evaluateWithThreadContext(
+        final CompiledScript compiledScript,
+        final Bindings bindings
+    ) throws ScriptException {
+        final ReusableScriptContext scriptContext = THREAD_SCRIPT_CONTEXT.get();
+        scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+        try {
+            return compiledScript.eval(scriptContext);
+        } finally {
+            scriptContext.reset();
+        }
+    }
+
     private CompiledScript getCompiledScript(final URI scriptUri) throws ScriptNotConfiguredException {
         final AtomicReference<CompiledScript> compiledScriptReference = this.scriptsMap.get(scriptUri);
 
@@ -220,6 +298,18 @@ public class ScriptManager {
         return compiledScript;
     }
 
+    /**
+     * Get the version of a script, derived from a hash of its content, so it only changes when a reload picks up
+     * different content.
+     *
+     * @param scriptUri the script URI
+     * @return the current version of the script, or 0 if it was never loaded
+     */
+    long getScriptVersion(final URI scriptUri) {
+        final AtomicLong scriptVersion = this.scriptVersionsMap.get(scriptUri);
+        return scriptVersion == null ? 0L : scriptVersion.get();
+    }
+
     boolean isLoaded(final URI scriptUri) {
         try {
             getCompiledScript(scriptUri);
@@ -229,10 +319,64 @@ public class ScriptManager {
         }
     }
 
+    /**
+     * A script context that is reused across evaluations performed by the same thread.
+     */
+    private static class ReusableScriptContext extends SimpleScriptContext {
+        private final Bindings idleBindings = new SimpleBindings();
+
+        /**
+         * Drop the reference to the bindings of the last evaluation.
+         */
+        void reset() {
+            this.setBindings(this.idleBindings, ScriptContext.ENGINE_SCOPE);
+        }
+    }
+
+    /**
+     * Interrupts the thread evaluating a script inline once the timeout expires, unless it was disarmed first.
+     */
+    private static class InterruptingWatchdog implements Runnable {
+        private final Thread evaluatingThread;
+        private boolean disarmed;
+        private boolean fired;
+
+        InterruptingWatchdog(final Thread evaluatingThread) {
+            this.evaluatingThread = evaluatingThread;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void run() {
+            if (!this.disarmed) {
+                this.fired = true;
+                this.evaluatingThread.interrupt();
+            }
+        }
+
+        /**
+         * Prevent the watchdog from interrupting the evaluating thread. If it already did, clear the interrupt flag
+         * so it does not leak to the caller.
+         *
+         * @return true if the watchdog had fired
+         */
+        synchronized boolean disarm() {
+            this.disarmed = true;
+            if (this.fired) {
+                // Only clears the flag, it is known to be set by this watchdog
+                Thread.interrupted();
+            }
+            return this.fired;
+        }
+    }
+
     @Slf4j
     private static class LoadScriptTask implements Runnable {
         private final URI scriptUri;
         private final AtomicReference<CompiledScript> compiledScriptReference;
+        private final AtomicLong scriptVersion;
         private final ScriptEngineManager scriptEngineManager;
         private final ResourceLoader resourceLoader;
         private final MeterRegistry registry;
@@ -240,12 +384,14 @@ public class ScriptManager {
         LoadScriptTask(
             final URI scriptUri,
             final AtomicReference<CompiledScript> compiledScriptReference,
+            final AtomicLong scriptVersion,
             final ScriptEngineManager scriptEngineManager,
             final ResourceLoader resourceLoader,
             final MeterRegistry registry
         ) {
             this.scriptUri = scriptUri;
             this.compiledScriptReference = compiledScriptReference;
+            this.scriptVersion = scriptVersion;
             this.scriptEngineManager = scriptEngineManager;
             this.resourceLoader = resourceLoader;
             this.registry = registry;
@@ -253,7 +399,8 @@ public class ScriptManager {
 
         /**
          * Attempt to load and compile the given script. If successful, stores the resulting {@link CompiledScript} into
-         * the provided reference.
+         * the provided reference and updates the script version. Content identical to the current version is not
+         * compiled again.
          * Also records metrics.
          */
         @Override
@@ -264,8 +411,7 @@ public class ScriptManager {
             final long start = System.nanoTime();
 
             try {
-                final CompiledScript compiledScript = this.loadScript();
-                this.compiledScriptReference.set(compiledScript);
+                this.loadScript();
                 MetricsUtils.addSuccessTags(tags);
             } catch (ScriptLoadingException e) {
                 log.error("Failed to load script: " + scriptUri, e);
@@ -282,7 +428,7 @@ public class ScriptManager {
             }
         }
 
-        private CompiledScript loadScript() throws ScriptLoadingException {
+        private void loadScript() throws ScriptLoadingException {
 
             final String scriptUriString = this.scriptUri.toString();
 
@@ -313,14 +459,23 @@ public class ScriptManager {
 
             final Compilable compilable = (Compilable) engine;
 
-            final InputStream scriptInputStream;
-            try {
-                scriptInputStream = scriptResource.getInputStream();
+            final byte[] scriptContent;
+            try (InputStream scriptInputStream = scriptResource.getInputStream()) {
+                scriptContent = ByteStreams.toByteArray(scriptInputStream);
             } catch (IOException e) {
                 throw new ScriptLoadingException("Failed to read script", e);
             }
 
-            final InputStreamReader reader = new InputStreamReader(scriptInputStream, StandardCharsets.UTF_8);
+            final long contentVersion = Hashing.sha256().hashBytes(scriptContent).asLong();
+            if (contentVersion == this.scriptVersion.get() && this.compiledScriptReference.get() != null) {
+                log.debug("Script unchanged: {}", scriptUriString);
+                return;
+            }
+
+            final InputStreamReader reader = new InputStreamReader(
+                new ByteArrayInputStream(scriptContent),
+                StandardCharsets.UTF_8
+            );
             final CompiledScript compiledScript;
             try {
                 compiledScript = compilable.compile(reader);
@@ -328,8 +483,10 @@ public class ScriptManager {
                 throw new ScriptLoadingException("Failed to compile script: " + scriptUriString, e);
             }
 
+            this.compiledScriptReference.set(compiledScript);
+            // Updated after the script is replaced, so the old script results are never cached for the new version
+            this.scriptVersion.set(contentVersion);
             log.info("Successfully compiled: " + scriptUriString);
-            return compiledScript;
         }
     }
 }
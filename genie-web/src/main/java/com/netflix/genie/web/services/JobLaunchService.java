@@ -48,8 +48,12 @@ public interface JobLaunchService {
      *
      * @param jobSubmission The payload of metadata and resources making up all the information needed to launch
      *                      a job
-     * @return The id of the job. Upon return the job will at least be in {@link JobStatus#ACCEPTED} state
-     * @throws AgentLaunchException        If the system was unable to launch an agent to handle job execution
+     * @return The id of the job. Upon return the job will at least be in {@link JobStatus#ACCEPTED} state, unless the
+     * implementation launches jobs asynchronously in which case it will at least be in {@link JobStatus#RESERVED}
+     * state
+     * @throws AgentLaunchException        If the system was unable to launch an agent to handle job execution, or
+     *                                     is not accepting more jobs at the moment, or the user already has as many
+     *                                     active jobs as they are allowed to
      * @throws GenieJobResolutionException If the job, based on user input and current system state, can't be
      *                                     successfully resolved for whatever reason
      * @throws NotFoundException           When a resource that is expected to exist, like a job or a cluster, is not
@@ -0,0 +1,49 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import com.netflix.genie.common.external.dtos.v4.JobStatus;
+import com.netflix.genie.web.exceptions.checked.NotFoundException;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service that lets clients wait for a job status change rather than polling for the job status.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Validated
+public interface JobStatusWatchService {
+
+    /**
+     * Watch a job for a status change.
+     * <p>
+     * The returned future completes with the current status of the job as soon as it is different from the status
+     * known by the caller. It completes immediately if the job status is already different.
+     * Callers not interested in the outcome anymore (e.g. because of a timeout) should cancel the future.
+     *
+     * @param jobId       The id of the job to watch
+     * @param knownStatus The job status the caller is aware of
+     * @return a future that completes with the job status once it is different from {@code knownStatus}
+     * @throws NotFoundException If no job with the given id exists
+     */
+    CompletableFuture<JobStatus> watchJobStatus(@NotBlank String jobId, JobStatus knownStatus) throws NotFoundException;
+}
@@ -0,0 +1,46 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import java.util.Optional;
+
+/**
+ * Service that shares the memory each node has available for jobs with the rest of the cluster, so that job
+ * submissions a node can't accommodate can be sent to a node that can.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Validated
+public interface NodeCapacityService {
+
+    /**
+     * Find the node a job should be forwarded to because this node doesn't have enough memory left to run it.
+     * <p>
+     * The free memory of other nodes is the one they last published so it may be slightly out of date. The node
+     * receiving the job still checks its own capacity before running it.
+     *
+     * @param memory The amount of memory (in MB) the job needs
+     * @return The hostname of the node with the most free memory among the ones that can fit the job. Empty if this
+     * node can run the job itself or if no other node is known to have enough memory
+     */
+    Optional<String> findNodeForJob(@Min(1) int memory);
+}
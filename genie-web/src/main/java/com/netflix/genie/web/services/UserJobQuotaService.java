@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * Service that keeps track of the number of active jobs of each user in order to enforce the per-user active job
+ * limit without querying the database on every submission.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Validated
+public interface UserJobQuotaService {
+
+    /**
+     * Atomically reserve one active job slot for the given user, unless the user already reached the limit.
+     * <p>
+     * The job must already be persisted in an active state. The slot is released once the job reaches a final state.
+     *
+     * @param user  The user submitting the job
+     * @param jobId The id of the job being submitted
+     * @return {@literal true} if the slot was reserved, {@literal false} if the user is at or over the limit
+     */
+    boolean tryReserve(@NotBlank String user, @NotBlank String jobId);
+
+    /**
+     * Release the slot reserved for the given job, if any. Releasing a job more than once has no effect.
+     *
+     * @param jobId The id of the job
+     */
+    void release(@NotBlank String jobId);
+
+    /**
+     * Get the number of active jobs currently accounted for the given user.
+     *
+     * @param user The user
+     * @return The number of active jobs
+     */
+    long getActiveJobCount(@NotBlank String user);
+
+    /**
+     * Get the maximum number of active jobs the given user is allowed to have.
+     *
+     * @param user The user
+     * @return The active job limit
+     */
+    long getActiveJobLimit(@NotBlank String user);
+}
@@ -17,16 +17,25 @@
  */
 package com.netflix.genie.web.services.impl;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.web.exceptions.checked.SaveAttachmentException;
+import com.netflix.genie.web.properties.AttachmentStorageProperties;
 import com.netflix.genie.web.services.AttachmentService;
+import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.TaskScheduler;
 
 import javax.annotation.Nonnull;
 import java.io.File;
@@ -34,16 +43,29 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the AttachmentService interface which saves and retrieves attachments from the local filesystem.
+ * <p>
+ * When content addressing is enabled each attachment is streamed to disk exactly once, while its SHA-256 digest is
+ * computed, into a store of read-only blobs named after their digest. The per-request directories only contain hard
+ * links to those blobs, so identical attachments sent with different requests share the same bytes on disk. Blobs no
+ * request links to anymore are removed periodically in the background.
+ * <p>
+ * Attachments are always copied into the job directory. The job owns the files in its directory, a link would let it
+ * make the shared content writable again and modify it for every other request.
  *
  * @author tgianos
  * @since 3.0.0
@@ -51,14 +73,36 @@ import java.util.stream.Collectors;
 @Slf4j
 public class FileSystemAttachmentService implements AttachmentService {
 
+    private static final String BLOBS_DIRECTORY = ".blobs";
+    private static final String TMP_BLOB_SUFFIX = ".tmp";
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink";
+    private static final String SAVE_TIMER_NAME = "genie.jobs.attachments.save.timer";
+    private static final String SIZE_SUMMARY_NAME = "genie.jobs.attachments.size.summary";
+    private static final String THROUGHPUT_SUMMARY_NAME = "genie.jobs.attachments.throughput.summary";
+    private static final String COPY_COUNTER_NAME = "genie.jobs.attachments.copy.counter";
+    private static final String DEDUPLICATED_TAG = "deduplicated";
+
     private final Path attachmentDirectory;
+    private final Path blobsDirectory;
+    private final boolean contentAddressed;
+    private final MeterRegistry registry;
+    // Guards blobs that were just written but not linked yet from the removal of unreferenced blobs
+    private final ReadWriteLock blobsLock = new ReentrantReadWriteLock();
 
     /**
      * Constructor.
      *
      * @param attachmentsDirectory The directory to use or null if want to default to system temp directory
+     * @param properties           The attachment storage properties
+     * @param taskScheduler        The {@link TaskScheduler} to use to periodically remove unreferenced blobs
+     * @param registry             The metrics registry
      */
-    public FileSystemAttachmentService(final String attachmentsDirectory) {
+    public FileSystemAttachmentService(
+        final String attachmentsDirectory,
+        final AttachmentStorageProperties properties,
+        final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
         String attachmentsDirectoryPath = attachmentsDirectory;
         if (!attachmentsDirectoryPath.endsWith(File.separator)) {
             attachmentsDirectoryPath = attachmentsDirectory + File.separator;
@@ -69,6 +113,21 @@ public class FileSystemAttachmentService implements AttachmentService {
         } catch (final IOException | URISyntaxException e) {
             throw new IllegalArgumentException("Unable to create attachment directory: " + attachmentsDirectoryPath, e);
         }
+
+        // Link counts are needed to know when blobs are no longer used
+        final boolean linksSupported = this.attachmentDirectory
+            .getFileSystem()
+            .supportedFileAttributeViews()
+            .contains("unix");
+        this.contentAddressed = properties.isContentAddressed() && linksSupported;
+        this.blobsDirectory = this.attachmentDirectory.resolve(BLOBS_DIRECTORY);
+        this.registry = registry;
+        if (properties.isContentAddressed() && !linksSupported) {
+            log.warn("Link counts not supported for {}, attachments won't be deduplicated", this.attachmentDirectory);
+        }
+        if (this.contentAddressed) {
+            taskScheduler.scheduleWithFixedDelay(this::deleteUnreferencedBlobs, properties.getBlobCleanupInterval());
+        }
     }
 
     /**
@@ -138,8 +197,12 @@ public class FileSystemAttachmentService implements AttachmentService {
         Files.createDirectories(destination);
         final Path attachmentDir = this.attachmentDirectory.resolve(id);
         if (Files.exists(attachmentDir) && Files.isDirectory(attachmentDir)) {
-            // Lets use this cause I don't feel like writing a visitor
-            FileUtils.copyDirectory(attachmentDir.toFile(), destination.toFile());
+            // Request directories are flat, attachment file names are sanitized when saved
+            try (DirectoryStream<Path> attachments = Files.newDirectoryStream(attachmentDir)) {
+                for (final Path attachment : attachments) {
+                    this.transferAttachment(attachment, destination.resolve(attachment.getFileName()));
+                }
+            }
         }
     }
 
@@ -172,6 +235,7 @@ public class FileSystemAttachmentService implements AttachmentService {
     @Override
     public void deleteAttachments(final String jobId) throws IOException {
         final Path attachmentDir = this.attachmentDirectory.resolve(jobId);
+        // The blobs no longer referenced are removed in the background
         FileUtils.deleteDirectory(attachmentDir.toFile());
     }
 
@@ -189,15 +253,111 @@ public class FileSystemAttachmentService implements AttachmentService {
             // Sanitize the filename
             final Path fileName = Paths.get(rawFilename).getFileName();
             final Path file = requestDir.resolve(fileName);
+            final Set<Tag> tags = Sets.newHashSet();
+            final long start = System.nanoTime();
             try (InputStream contents = attachment.getInputStream()) {
-                final long byteCount = Files.copy(contents, file);
+                final long byteCount;
+                final boolean deduplicated;
+                if (this.contentAddressed) {
+                    deduplicated = this.writeBlobAndLink(contents, file);
+                    byteCount = Files.size(file);
+                } else {
+                    byteCount = Files.copy(contents, file);
+                    deduplicated = false;
+                }
                 log.debug("Wrote {} bytes for attachment {} to {}", byteCount, fileName, file);
+                MetricsUtils.addSuccessTags(tags);
+                this.recordSize(byteCount, deduplicated, System.nanoTime() - start);
+            } catch (final IOException | RuntimeException e) {
+                MetricsUtils.addFailureTagsWithException(tags, e);
+                throw e;
+            } finally {
+                this.registry.timer(SAVE_TIMER_NAME, tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
             uris.add(file.toUri());
         }
         return uris.build();
     }
 
+    private boolean writeBlobAndLink(final InputStream contents, final Path file) throws IOException {
+        Files.createDirectories(this.blobsDirectory);
+        // Stream the contents once to a temporary file in the store, computing the digest on the way
+        final Path tmpBlob = this.blobsDirectory.resolve(UUID.randomUUID().toString() + TMP_BLOB_SUFFIX);
+        try {
+            final String digest;
+            try (HashingInputStream hashingContents = new HashingInputStream(Hashing.sha256(), contents)) {
+                Files.copy(hashingContents, tmpBlob);
+                digest = hashingContents.hash().toString();
+            }
+            final Path blob = this.blobsDirectory.resolve(digest);
+
+            this.blobsLock.readLock().lock();
+            try {
+                final boolean deduplicated = Files.exists(blob);
+                if (!deduplicated) {
+                    // Shared content must not be modified through any of its links
+                    if (!tmpBlob.toFile().setWritable(false, false)) {
+                        log.warn("Unable to make attachment blob {} read-only", tmpBlob);
+                    }
+                    // Concurrent saves of identical content race benignly as the contents are the same
+                    Files.move(tmpBlob, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                Files.createLink(file, blob);
+                return deduplicated;
+            } finally {
+                this.blobsLock.readLock().unlock();
+            }
+        } finally {
+            Files.deleteIfExists(tmpBlob);
+        }
+    }
+
+    private void transferAttachment(final Path attachment, final Path destination) throws IOException {
+        Files.copy(attachment, destination, StandardCopyOption.REPLACE_EXISTING);
+        // Copies are private to the job, unlike the (read-only) shared content they come from
+        if (!destination.toFile().setWritable(true)) {
+            log.warn("Unable to make attachment {} writable", destination);
+        }
+        this.registry.counter(COPY_COUNTER_NAME).increment();
+    }
+
+    /**
+     * Remove the blobs which are no longer linked to by any request.
+     */
+    @VisibleForTesting
+    void deleteUnreferencedBlobs() {
+        if (!Files.isDirectory(this.blobsDirectory)) {
+            return;
+        }
+        this.blobsLock.writeLock().lock();
+        try (DirectoryStream<Path> blobs = Files.newDirectoryStream(this.blobsDirectory)) {
+            for (final Path blob : blobs) {
+                // Temporary files belong to saves in progress and are cleaned up by them
+                if (blob.getFileName().toString().endsWith(TMP_BLOB_SUFFIX)) {
+                    continue;
+                }
+                // The only remaining link is the blob itself
+                if ((Integer) Files.getAttribute(blob, LINK_COUNT_ATTRIBUTE) <= 1) {
+                    log.debug("Deleting unreferenced attachment blob {}", blob);
+                    Files.deleteIfExists(blob);
+                }
+            }
+        } catch (final IOException e) {
+            log.error("Unable to delete unreferenced attachment blobs from {}", this.blobsDirectory, e);
+        } finally {
+            this.blobsLock.writeLock().unlock();
+        }
+    }
+
+    private void recordSize(final long byteCount, final boolean deduplicated, final long elapsedNanos) {
+        this.registry.summary(SIZE_SUMMARY_NAME, DEDUPLICATED_TAG, String.valueOf(deduplicated)).record(byteCount);
+        if (elapsedNanos > 0) {
+            this.registry
+                .summary(THROUGHPUT_SUMMARY_NAME)
+                .record(byteCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        }
+    }
+
     /**
      * Temporary class for backwards compatibility till we delete all unused APIs.
      */
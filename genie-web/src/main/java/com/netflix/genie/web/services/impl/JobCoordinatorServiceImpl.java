@@ -17,7 +17,6 @@
  */
 package com.netflix.genie.web.services.impl;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.Job;
 import com.netflix.genie.common.dto.JobExecution;
@@ -49,12 +48,14 @@ import com.netflix.genie.web.services.JobCoordinatorService;
 import com.netflix.genie.web.services.JobKillService;
 import com.netflix.genie.web.services.JobResolverService;
 import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.UserJobQuotaService;
 import com.netflix.genie.web.util.MetricsConstants;
 import com.netflix.genie.web.util.MetricsUtils;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -85,6 +86,8 @@ public class JobCoordinatorServiceImpl implements JobCoordinatorService {
     private final JobResolverService jobResolverService;
     private final JobsProperties jobsProperties;
     private final String hostname;
+    @Nullable
+    private final UserJobQuotaService userJobQuotaService;
 
     // Metrics
     private final MeterRegistry registry;
@@ -109,6 +112,42 @@ public class JobCoordinatorServiceImpl implements JobCoordinatorService {
         @NotNull final JobResolverService jobResolverService,
         @NotNull final MeterRegistry registry,
         @NotBlank final String hostname
+    ) {
+        this(
+            dataServices,
+            jobKillService,
+            jobStateService,
+            jobsProperties,
+            jobResolverService,
+            registry,
+            hostname,
+            null
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dataServices        The {@link DataServices} encapsulation to use
+     * @param jobKillService      The job kill service to use
+     * @param jobStateService     The service where we report the job state and keep track of
+     *                            various metrics about jobs currently running
+     * @param jobsProperties      The jobs properties to use
+     * @param jobResolverService  The job specification service to use
+     * @param registry            The registry
+     * @param hostname            The name of the host this Genie instance is running on
+     * @param userJobQuotaService The service used to enforce the per-user active job limit or {@literal null} to
+     *                            count the active jobs of the user in the database on every submission
+     */
+    public JobCoordinatorServiceImpl(
+        @NotNull final DataServices dataServices,
+        @NotNull final JobKillService jobKillService,
+        @NotNull final JobStateService jobStateService,
+        @NotNull final JobsProperties jobsProperties,
+        @NotNull final JobResolverService jobResolverService,
+        @NotNull final MeterRegistry registry,
+        @NotBlank final String hostname,
+        @Nullable final UserJobQuotaService userJobQuotaService
     ) {
         this.jobKillService = jobKillService;
         this.jobStateService = jobStateService;
@@ -116,6 +155,7 @@ public class JobCoordinatorServiceImpl implements JobCoordinatorService {
         this.jobResolverService = jobResolverService;
         this.jobsProperties = jobsProperties;
         this.hostname = hostname;
+        this.userJobQuotaService = userJobQuotaService;
 
         // Metrics
         this.registry = registry;
@@ -189,11 +229,14 @@ public class JobCoordinatorServiceImpl implements JobCoordinatorService {
             final int memory = jobRequest.getMemory()
                 .orElse(command.getMemory().orElse(this.jobsProperties.getMemory().getDefaultJobMemory()));
 
-            final ImmutableList.Builder<Application> applicationsBuilder = ImmutableList.builder();
-            for (final JobSpecification.ExecutionResource applicationResource : jobSpecification.getApplications()) {
-                applicationsBuilder.add(this.persistenceService.getApplication(applicationResource.getId()));
-            }
-            final ImmutableList<Application> applications = applicationsBuilder.build();
+            // Load all the applications at once rather than one query per application
+            final List<Application> applications = this.persistenceService.getApplications(
+                jobSpecification
+                    .getApplications()
+                    .stream()
+                    .map(JobSpecification.ExecutionResource::getId)
+                    .collect(Collectors.toList())
+            );
 
             // Save all the runtime information
             this.setRuntimeEnvironment(jobId, cluster, command, applications, memory);
@@ -214,8 +257,16 @@ public class JobCoordinatorServiceImpl implements JobCoordinatorService {
             final JobsActiveLimitProperties activeLimit = this.jobsProperties.getActiveLimit();
             if (activeLimit.isEnabled()) {
                 final long activeJobsLimit = activeLimit.getUserLimit(jobRequest.getUser());
-                final long activeJobsCount = this.persistenceService.getActiveJobCountForUser(jobRequest.getUser());
-                if (activeJobsCount >= activeJobsLimit) {
+                final long activeJobsCount;
+                final boolean withinLimit;
+                if (this.userJobQuotaService != null) {
+                    withinLimit = this.userJobQuotaService.tryReserve(jobRequest.getUser(), jobId);
+                    activeJobsCount = this.userJobQuotaService.getActiveJobCount(jobRequest.getUser());
+                } else {
+                    activeJobsCount = this.persistenceService.getActiveJobCountForUser(jobRequest.getUser());
+                    withinLimit = activeJobsCount < activeJobsLimit;
+                }
+                if (!withinLimit) {
 
                     this.registry.counter(
                         USER_JOB_LIMIT_EXCEEDED_COUNTER_NAME,
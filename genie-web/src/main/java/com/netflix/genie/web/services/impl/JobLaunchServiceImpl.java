@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.services.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.JobStatusMessages;
 import com.netflix.genie.common.external.dtos.v4.ArchiveStatus;
@@ -29,35 +30,73 @@ import com.netflix.genie.web.dtos.JobSubmission;
 import com.netflix.genie.web.dtos.ResolvedJob;
 import com.netflix.genie.web.exceptions.checked.AgentLaunchException;
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException;
+import com.netflix.genie.web.exceptions.checked.JobLaunchRejectedException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.exceptions.checked.SaveAttachmentException;
+import com.netflix.genie.web.exceptions.checked.UserJobLimitExceededException;
 import com.netflix.genie.web.services.JobLaunchService;
 import com.netflix.genie.web.services.JobResolverService;
+import com.netflix.genie.web.services.UserJobQuotaService;
+import com.netflix.genie.web.util.MetricsConstants;
 import com.netflix.genie.web.util.MetricsUtils;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.validation.Valid;
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Default implementation of the {@link JobLaunchService}.
+ * <p>
+ * By default jobs are resolved and launched synchronously in the calling thread. If an executor is provided, once the
+ * job submission is saved the job id is returned immediately and resolution and launch are carried out by the
+ * executor. The number of submissions pending asynchronous launch is bounded, submissions exceeding the bound are
+ * rejected before they are saved. On shutdown, pending launches are given a bounded time to complete, jobs whose
+ * launch has not started by then are marked failed rather than left reserved.
+ * <p>
+ * If a {@link UserJobQuotaService} is provided, submissions of users already at their active job limit are marked
+ * failed and rejected right after they are saved.
  *
  * @author tgianos
  * @since 4.0.0
  */
 @Slf4j
-public class JobLaunchServiceImpl implements JobLaunchService {
+public class JobLaunchServiceImpl implements JobLaunchService, DisposableBean {
 
     private static final String LAUNCH_JOB_TIMER = "genie.services.jobLaunch.launchJob.timer";
+    private static final String ASYNC_LAUNCH_TIMER = "genie.services.jobLaunch.asyncLaunch.timer";
+    private static final String ASYNC_LAUNCH_WAIT_TIMER = "genie.services.jobLaunch.asyncLaunch.wait.timer";
+    private static final String ASYNC_LAUNCH_QUEUED_GAUGE = "genie.services.jobLaunch.asyncLaunch.queued.gauge";
+    private static final String ASYNC_LAUNCH_PENDING_GAUGE = "genie.services.jobLaunch.asyncLaunch.pending.gauge";
+    private static final String ASYNC_LAUNCH_REJECTED_COUNTER = "genie.services.jobLaunch.asyncLaunch.rejected.counter";
+    private static final String USER_JOB_LIMIT_EXCEEDED_COUNTER = "genie.jobs.submit.rejected.jobs-limit.counter";
+    private static final String REJECTED_MESSAGE = "Too many jobs pending launch, try again later";
+    private static final String SHUTDOWN_MESSAGE = "The server shut down before the job could be launched";
+    private static final Duration DEFAULT_ASYNC_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
 
     private final PersistenceService persistenceService;
     private final JobResolverService jobResolverService;
     private final AgentLauncher agentLauncher;
     private final MeterRegistry registry;
+    private final Executor asyncLaunchExecutor;
+    private final int asyncMaxPending;
+    private final Semaphore asyncLaunchPermits;
+    private final Duration asyncShutdownTimeout;
+    // Jobs saved and queued for asynchronous launch, whose launch has not started yet
+    private final Set<String> asyncLaunchQueuedJobs = Sets.newConcurrentHashSet();
+    private volatile boolean shuttingDown;
+    @Nullable
+    private final UserJobQuotaService userJobQuotaService;
 
     /**
      * Constructor.
@@ -72,11 +111,83 @@ public class JobLaunchServiceImpl implements JobLaunchService {
         final JobResolverService jobResolverService,
         final AgentLauncher agentLauncher,
         final MeterRegistry registry
+    ) {
+        this(dataServices, jobResolverService, agentLauncher, registry, null, 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dataServices        The {@link DataServices} instance to use
+     * @param jobResolverService  {@link JobResolverService} implementation used to resolve job details
+     * @param agentLauncher       {@link AgentLauncher} implementation to launch agents
+     * @param registry            {@link MeterRegistry} metrics repository
+     * @param asyncLaunchExecutor The executor used to resolve and launch jobs asynchronously or {@literal null} to
+     *                            resolve and launch jobs synchronously
+     * @param asyncMaxPending     The maximum number of jobs saved and not yet launched when launching asynchronously
+     */
+    public JobLaunchServiceImpl(
+        final DataServices dataServices,
+        final JobResolverService jobResolverService,
+        final AgentLauncher agentLauncher,
+        final MeterRegistry registry,
+        @Nullable final Executor asyncLaunchExecutor,
+        final int asyncMaxPending
+    ) {
+        this(
+            dataServices,
+            jobResolverService,
+            agentLauncher,
+            registry,
+            asyncLaunchExecutor,
+            asyncMaxPending,
+            DEFAULT_ASYNC_SHUTDOWN_TIMEOUT,
+            null
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dataServices        The {@link DataServices} instance to use
+     * @param jobResolverService  {@link JobResolverService} implementation used to resolve job details
+     * @param agentLauncher       {@link AgentLauncher} implementation to launch agents
+     * @param registry            {@link MeterRegistry} metrics repository
+     * @param asyncLaunchExecutor The executor used to resolve and launch jobs asynchronously or {@literal null} to
+     *                            resolve and launch jobs synchronously
+     * @param asyncMaxPending      The maximum number of jobs saved and not yet launched when launching asynchronously
+     * @param asyncShutdownTimeout How long shutdown waits for pending asynchronous launches to complete
+     * @param userJobQuotaService  The service used to enforce the per-user active job limit or {@literal null} if
+     *                             the limit is not enforced
+     */
+    public JobLaunchServiceImpl(
+        final DataServices dataServices,
+        final JobResolverService jobResolverService,
+        final AgentLauncher agentLauncher,
+        final MeterRegistry registry,
+        @Nullable final Executor asyncLaunchExecutor,
+        final int asyncMaxPending,
+        final Duration asyncShutdownTimeout,
+        @Nullable final UserJobQuotaService userJobQuotaService
     ) {
         this.persistenceService = dataServices.getPersistenceService();
         this.jobResolverService = jobResolverService;
         this.agentLauncher = agentLauncher;
         this.registry = registry;
+        this.asyncLaunchExecutor = asyncLaunchExecutor;
+        this.asyncMaxPending = asyncMaxPending;
+        this.asyncLaunchPermits = new Semaphore(asyncMaxPending);
+        this.asyncShutdownTimeout = asyncShutdownTimeout;
+        this.userJobQuotaService = userJobQuotaService;
+
+        if (this.asyncLaunchExecutor != null) {
+            this.registry.gaugeCollectionSize(ASYNC_LAUNCH_QUEUED_GAUGE, Tags.empty(), this.asyncLaunchQueuedJobs);
+            this.registry.gauge(
+                ASYNC_LAUNCH_PENDING_GAUGE,
+                this.asyncLaunchPermits,
+                permits -> this.asyncMaxPending - permits.availablePermits()
+            );
+        }
     }
 
     /**
@@ -98,55 +209,20 @@ public class JobLaunchServiceImpl implements JobLaunchService {
             /*
              * Steps:
              *
-             * 1. Save the job information
+             * 1. Save the job information and check the user is within their active job limit
              * 2. Attempt to resolve the job information (includes saving)
              * 3. Mark the job as accepted
              * 4. Launch the agent process given the implementation configured for this Genie instance
              * 5. If the agent launch fails mark the job failed else return
+             *
+             * When launching asynchronously, steps 2 to 5 are carried out by the executor.
              */
-            final String jobId = this.persistenceService.saveJobSubmission(jobSubmission);
-
-            final ResolvedJob resolvedJob;
-            try {
-                resolvedJob = this.jobResolverService.resolveJob(jobId);
-            } catch (final Throwable t) {
-                MetricsUtils.addFailureTagsWithException(tags, t);
-                this.persistenceService.updateJobStatus(
-                    jobId,
-                    JobStatus.RESERVED,
-                    JobStatus.FAILED,
-                    JobStatusMessages.FAILED_TO_RESOLVE_JOB // TODO: Move somewhere not in genie-common
-                );
-                this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
-                throw t; // Caught below for metrics gathering
-            }
-
-            // Job state should be RESOLVED now. Mark it ACCEPTED to avoid race condition with agent starting up
-            // before we get return from launchAgent and trying to set it to CLAIMED
-            try {
-                this.persistenceService.updateJobStatus(
-                    jobId,
-                    JobStatus.RESOLVED,
-                    JobStatus.ACCEPTED,
-                    "The job has been accepted by the system for execution"
-                );
-            } catch (final Throwable t) {
-                // TODO: Failed to update the status to accepted. Try to set it to failed or rely on other cleanup
-                //       mechanism?
-                throw new AgentLaunchException(t);
-            }
-
-            // Already throws an exception
-            try {
-                this.agentLauncher.launchAgent(resolvedJob);
-            } catch (final AgentLaunchException e) {
-                // TODO: this could fail as well
-                this.persistenceService.updateJobStatus(jobId, JobStatus.ACCEPTED, JobStatus.FAILED, e.getMessage());
-                this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
-                // TODO: How will we get the ID back to the user? Should we add it to an exception? We don't get
-                //       We don't get the ID until after saveJobSubmission so if that fails we'd still return nothing
-                //       Probably need multiple exceptions to be thrown from this API (if we go with checked)
-                throw e;
+            final String jobId;
+            if (this.asyncLaunchExecutor == null) {
+                jobId = this.saveJobSubmission(jobSubmission);
+                this.resolveAndLaunch(jobId);
+            } else {
+                jobId = this.saveAndQueueLaunch(jobSubmission, this.asyncLaunchExecutor);
             }
 
             MetricsUtils.addSuccessTags(tags);
@@ -160,4 +236,176 @@ public class JobLaunchServiceImpl implements JobLaunchService {
                 .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
+
+    private String saveAndQueueLaunch(
+        final JobSubmission jobSubmission,
+        final Executor executor
+    ) throws AgentLaunchException, IdAlreadyExistsException, SaveAttachmentException {
+        // Apply back-pressure before anything is saved
+        if (this.shuttingDown || !this.asyncLaunchPermits.tryAcquire()) {
+            this.registry.counter(ASYNC_LAUNCH_REJECTED_COUNTER).increment();
+            throw new JobLaunchRejectedException(REJECTED_MESSAGE);
+        }
+
+        final String jobId;
+        try {
+            jobId = this.saveJobSubmission(jobSubmission);
+        } catch (final Throwable t) {
+            this.asyncLaunchPermits.release();
+            throw t;
+        }
+
+        final long queuedAt = System.nanoTime();
+        this.asyncLaunchQueuedJobs.add(jobId);
+        try {
+            executor.execute(() -> this.asyncLaunch(jobId, queuedAt));
+        } catch (final RejectedExecutionException e) {
+            this.asyncLaunchQueuedJobs.remove(jobId);
+            this.asyncLaunchPermits.release();
+            this.registry.counter(ASYNC_LAUNCH_REJECTED_COUNTER).increment();
+            this.markRejectedJobFailed(jobId, JobStatusMessages.FAILED_TO_LAUNCH_JOB);
+            throw new JobLaunchRejectedException(REJECTED_MESSAGE, e);
+        }
+
+        return jobId;
+    }
+
+    private String saveJobSubmission(
+        final JobSubmission jobSubmission
+    ) throws IdAlreadyExistsException, SaveAttachmentException, UserJobLimitExceededException {
+        final String jobId = this.persistenceService.saveJobSubmission(jobSubmission);
+        if (this.userJobQuotaService != null) {
+            final String user = jobSubmission.getJobRequest().getMetadata().getUser();
+            if (!this.userJobQuotaService.tryReserve(user, jobId)) {
+                final long activeJobsCount = this.userJobQuotaService.getActiveJobCount(user);
+                final long activeJobsLimit = this.userJobQuotaService.getActiveJobLimit(user);
+                this.registry.counter(
+                    USER_JOB_LIMIT_EXCEEDED_COUNTER,
+                    MetricsConstants.TagKeys.USER,
+                    user,
+                    MetricsConstants.TagKeys.JOBS_USER_LIMIT,
+                    String.valueOf(activeJobsLimit)
+                ).increment();
+                final String message
+                    = "User exceeded active jobs limit (" + activeJobsCount + "/" + activeJobsLimit + ")";
+                this.markRejectedJobFailed(jobId, message);
+                throw new UserJobLimitExceededException(message);
+            }
+        }
+        return jobId;
+    }
+
+    private void markRejectedJobFailed(final String jobId, final String message) {
+        try {
+            this.persistenceService.updateJobStatus(jobId, JobStatus.RESERVED, JobStatus.FAILED, message);
+            this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
+        } catch (final Throwable t) {
+            log.error("Failed to mark job {} failed after its launch was rejected", jobId, t);
+        }
+    }
+
+    private void asyncLaunch(final String jobId, final long queuedAt) {
+        if (!this.asyncLaunchQueuedJobs.remove(jobId)) {
+            // The launch was abandoned during shutdown and the job already marked failed
+            this.asyncLaunchPermits.release();
+            return;
+        }
+        final long start = System.nanoTime();
+        this.registry.timer(ASYNC_LAUNCH_WAIT_TIMER).record(start - queuedAt, TimeUnit.NANOSECONDS);
+        final Set<Tag> tags = Sets.newHashSet();
+        try {
+            this.resolveAndLaunch(jobId);
+            MetricsUtils.addSuccessTags(tags);
+        } catch (final Throwable t) {
+            // The job status was already updated to reflect the failure where possible, nothing left to do but log
+            log.error("Failed to launch job {}", jobId, t);
+            MetricsUtils.addFailureTagsWithException(tags, t);
+        } finally {
+            this.asyncLaunchPermits.release();
+            this.registry
+                .timer(ASYNC_LAUNCH_TIMER, tags)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void resolveAndLaunch(
+        final String jobId
+    ) throws AgentLaunchException, GenieJobResolutionException, NotFoundException {
+        final ResolvedJob resolvedJob;
+        try {
+            resolvedJob = this.jobResolverService.resolveJob(jobId);
+        } catch (final Throwable t) {
+            this.persistenceService.updateJobStatus(
+                jobId,
+                JobStatus.RESERVED,
+                JobStatus.FAILED,
+                JobStatusMessages.FAILED_TO_RESOLVE_JOB // TODO: Move somewhere not in genie-common
+            );
+            this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
+            throw t; // Caught by the caller for metrics gathering
+        }
+
+        // Job state should be RESOLVED now. Mark it ACCEPTED to avoid race condition with agent starting up
+        // before we get return from launchAgent and trying to set it to CLAIMED
+        try {
+            this.persistenceService.updateJobStatus(
+                jobId,
+                JobStatus.RESOLVED,
+                JobStatus.ACCEPTED,
+                "The job has been accepted by the system for execution"
+            );
+        } catch (final Throwable t) {
+            // TODO: Failed to update the status to accepted. Try to set it to failed or rely on other cleanup
+            //       mechanism?
+            throw new AgentLaunchException(t);
+        }
+
+        // Already throws an exception
+        try {
+            this.agentLauncher.launchAgent(resolvedJob);
+        } catch (final AgentLaunchException e) {
+            // TODO: this could fail as well
+            this.persistenceService.updateJobStatus(jobId, JobStatus.ACCEPTED, JobStatus.FAILED, e.getMessage());
+            this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
+            // TODO: How will we get the ID back to the user? Should we add it to an exception? We don't get
+            //       We don't get the ID until after saveJobSubmission so if that fails we'd still return nothing
+            //       Probably need multiple exceptions to be thrown from this API (if we go with checked)
+            throw e;
+        }
+    }
+
+    /**
+     * Wait, for a bounded time, for pending asynchronous launches to complete. Then mark failed the jobs whose launch
+     * has not started, so they are not left reserved forever. New submissions are rejected from now on.
+     */
+    @Override
+    public void destroy() {
+        if (this.asyncLaunchExecutor == null) {
+            return;
+        }
+        this.shuttingDown = true;
+
+        try {
+            if (
+                this.asyncLaunchPermits.tryAcquire(
+                    this.asyncMaxPending,
+                    this.asyncShutdownTimeout.toNanos(),
+                    TimeUnit.NANOSECONDS
+                )
+            ) {
+                return;
+            }
+        } catch (final InterruptedException e) {
+            log.warn("Interrupted while waiting for pending job launches to complete");
+            Thread.currentThread().interrupt();
+        }
+
+        for (final String jobId : ImmutableList.copyOf(this.asyncLaunchQueuedJobs)) {
+            // The launch may have started in the meantime
+            if (this.asyncLaunchQueuedJobs.remove(jobId)) {
+                log.warn("Marking job {} failed, its launch did not start before shutdown", jobId);
+                this.markRejectedJobFailed(jobId, SHUTDOWN_MESSAGE);
+            }
+        }
+    }
 }
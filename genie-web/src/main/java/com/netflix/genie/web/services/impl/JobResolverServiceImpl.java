@@ -523,9 +523,9 @@ public class JobResolverServiceImpl implements JobResolverService {
             if (jobRequest.getCriteria().getApplicationIds().isEmpty()) {
                 applications.addAll(this.persistenceService.getApplicationsForCommand(commandId));
             } else {
-                for (final String applicationId : jobRequest.getCriteria().getApplicationIds()) {
-                    applications.add(this.persistenceService.getApplication(applicationId));
-                }
+                applications.addAll(
+                    this.persistenceService.getApplications(jobRequest.getCriteria().getApplicationIds())
+                );
             }
             log.info(
                 "Resolved applications {} for job {}",
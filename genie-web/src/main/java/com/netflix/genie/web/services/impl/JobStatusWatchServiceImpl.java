@@ -0,0 +1,205 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.external.dtos.v4.JobStatus;
+import com.netflix.genie.web.data.services.DataServices;
+import com.netflix.genie.web.data.services.PersistenceService;
+import com.netflix.genie.web.events.JobStateChangeEvent;
+import com.netflix.genie.web.exceptions.checked.NotFoundException;
+import com.netflix.genie.web.properties.JobStatusWatchProperties;
+import com.netflix.genie.web.services.JobStatusWatchService;
+import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.validation.constraints.NotBlank;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link JobStatusWatchService} that notifies watchers using the {@link JobStateChangeEvent}
+ * published locally for every status transition.
+ * <p>
+ * The status of a job is loaded from the database when the first watcher for that job arrives on this node, further
+ * watchers are served from memory. Transitions persisted by other nodes are picked up by a periodic refresh of the
+ * jobs that have watchers, so the database load is proportional to the number of distinct jobs being watched rather
+ * than the number of clients waiting.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class JobStatusWatchServiceImpl implements JobStatusWatchService, ApplicationListener<JobStateChangeEvent> {
+
+    private static final String WATCHED_JOBS_GAUGE_NAME = "genie.jobs.statusWatch.watchedJobs.gauge";
+    private static final String REFRESH_TIMER_NAME = "genie.jobs.statusWatch.refresh.timer";
+
+    private final PersistenceService persistenceService;
+    private final MeterRegistry registry;
+    private final Map<String, WatchedJob> watchedJobs = Maps.newConcurrentMap();
+
+    /**
+     * Constructor.
+     *
+     * @param dataServices  The {@link DataServices} instance to use
+     * @param taskScheduler The task scheduler used to periodically refresh watched jobs
+     * @param properties    The job status watch properties
+     * @param registry      The metrics registry
+     */
+    public JobStatusWatchServiceImpl(
+        final DataServices dataServices,
+        final TaskScheduler taskScheduler,
+        final JobStatusWatchProperties properties,
+        final MeterRegistry registry
+    ) {
+        this.persistenceService = dataServices.getPersistenceService();
+        this.registry = registry;
+
+        this.registry.gaugeMapSize(WATCHED_JOBS_GAUGE_NAME, ImmutableSet.of(), this.watchedJobs);
+        taskScheduler.scheduleWithFixedDelay(this::refreshWatchedJobs, properties.getRefreshInterval());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<JobStatus> watchJobStatus(
+        @NotBlank final String jobId,
+        final JobStatus knownStatus
+    ) throws NotFoundException {
+        final CompletableFuture<JobStatus> future = new CompletableFuture<>();
+        while (true) {
+            WatchedJob watchedJob = this.watchedJobs.get(jobId);
+            if (watchedJob == null) {
+                // First watcher for this job on this node
+                final JobStatus currentStatus = this.persistenceService.getJobStatus(jobId);
+                watchedJob = this.watchedJobs.computeIfAbsent(jobId, id -> new WatchedJob(currentStatus));
+            }
+            // Retry if the job was concurrently evicted
+            if (watchedJob.addWatcher(knownStatus, future)) {
+                return future;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onApplicationEvent(final JobStateChangeEvent event) {
+        final WatchedJob watchedJob = this.watchedJobs.get(event.getJobId());
+        if (watchedJob != null) {
+            watchedJob.updateStatus(event.getNewStatus());
+        }
+    }
+
+    private void refreshWatchedJobs() {
+        final Set<Tag> tags = MetricsUtils.newSuccessTagsSet();
+        final long start = System.nanoTime();
+        try {
+            for (final Map.Entry<String, WatchedJob> entry : this.watchedJobs.entrySet()) {
+                final String jobId = entry.getKey();
+                final WatchedJob watchedJob = entry.getValue();
+                if (watchedJob.evictIfIdle()) {
+                    this.watchedJobs.remove(jobId, watchedJob);
+                } else if (watchedJob.needsRefresh()) {
+                    try {
+                        watchedJob.updateStatus(this.persistenceService.getJobStatus(jobId));
+                    } catch (final NotFoundException e) {
+                        log.warn("Watched job {} not found", jobId);
+                    }
+                }
+            }
+        } catch (final Exception e) {
+            log.error("Error refreshing watched jobs status", e);
+            tags.addAll(MetricsUtils.newFailureTagsSetForException(e));
+        } finally {
+            this.registry
+                .timer(REFRESH_TIMER_NAME, tags)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The last known status of a job and the callers waiting for it to change.
+     */
+    private static final class WatchedJob {
+        private final Set<CompletableFuture<JobStatus>> watchers = Sets.newHashSet();
+        private JobStatus status;
+        private boolean watchedSinceLastRefresh = true;
+        private boolean evicted;
+
+        private WatchedJob(final JobStatus status) {
+            this.status = status;
+        }
+
+        private synchronized boolean addWatcher(
+            final JobStatus knownStatus,
+            final CompletableFuture<JobStatus> future
+        ) {
+            if (this.evicted) {
+                return false;
+            }
+            this.watchedSinceLastRefresh = true;
+            if (this.status != knownStatus) {
+                future.complete(this.status);
+            } else {
+                this.watchers.add(future);
+                future.whenComplete((status, throwable) -> this.removeWatcher(future));
+            }
+            return true;
+        }
+
+        private synchronized void removeWatcher(final CompletableFuture<JobStatus> future) {
+            this.watchers.remove(future);
+        }
+
+        private synchronized void updateStatus(final JobStatus newStatus) {
+            // Final states are final, ignore late (out of order) updates
+            if (this.status == newStatus || this.status.isFinished()) {
+                return;
+            }
+            this.status = newStatus;
+            for (final CompletableFuture<JobStatus> watcher : Sets.newHashSet(this.watchers)) {
+                watcher.complete(newStatus);
+            }
+            this.watchers.clear();
+        }
+
+        private synchronized boolean needsRefresh() {
+            return !this.watchers.isEmpty() && !this.status.isFinished();
+        }
+
+        private synchronized boolean evictIfIdle() {
+            if (this.watchers.isEmpty() && !this.watchedSinceLastRefresh) {
+                this.evicted = true;
+            }
+            this.watchedSinceLastRefresh = false;
+            return this.evicted;
+        }
+    }
+}
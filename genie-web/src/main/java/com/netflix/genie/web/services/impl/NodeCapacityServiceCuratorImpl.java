@@ -0,0 +1,244 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.netflix.genie.common.internal.util.GenieHostInfo;
+import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.NodeCapacityService;
+import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.PathChildrenCache;
+import org.apache.curator.framework.recipes.cache.PathChildrenCacheEvent;
+import org.apache.curator.utils.ZKPaths;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.validation.constraints.Min;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link NodeCapacityService} that shares the free job memory of each node through Zookeeper.
+ * <p>
+ * Each node periodically publishes the memory it has left for jobs in an ephemeral node named after its hostname, so
+ * the entry of a node that goes away disappears with its session. The entries of all the nodes are watched through a
+ * {@link PathChildrenCache} so finding a node to forward a job to doesn't query Zookeeper. While the cache is not in
+ * sync with Zookeeper no node is selected and jobs are handled locally as if forwarding was disabled.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class NodeCapacityServiceCuratorImpl implements NodeCapacityService, Closeable {
+
+    private static final String METRICS_PREFIX = "genie.jobs.forwarding.capacity.";
+    private static final String PUBLISH_TIMER_NAME = METRICS_PREFIX + "publish.timer";
+    private static final String NODES_GAUGE_NAME = METRICS_PREFIX + "nodes.gauge";
+    private static final String SELECTION_COUNTER_NAME = METRICS_PREFIX + "selection.counter";
+    private static final String SELECTION_RESULT_TAG_NAME = "result";
+    private static final Set<Tag> SELECTION_FOUND_TAGS = ImmutableSet.of(Tag.of(SELECTION_RESULT_TAG_NAME, "found"));
+    private static final Set<Tag> SELECTION_NONE_TAGS = ImmutableSet.of(Tag.of(SELECTION_RESULT_TAG_NAME, "none"));
+    private static final Set<Tag> SELECTION_BYPASS_TAGS = ImmutableSet.of(Tag.of(SELECTION_RESULT_TAG_NAME, "bypass"));
+
+    private final String localHostname;
+    private final String localNodePath;
+    private final CuratorFramework client;
+    private final PathChildrenCache capacityCache;
+    private final JobStateService jobStateService;
+    private final JobsProperties jobsProperties;
+    private final MeterRegistry registry;
+    private volatile boolean inSync;
+
+    /**
+     * Constructor.
+     *
+     * @param genieHostInfo   The genie local host information
+     * @param client          The curator framework client
+     * @param capacityPath    The Zookeeper path under which the nodes publish their free memory
+     * @param capacityCache   The (not yet started) cache of {@code capacityPath}, this instance takes care of starting
+     *                        and closing it
+     * @param jobStateService The service keeping track of the memory used by the jobs running on this node
+     * @param jobsProperties  The jobs properties
+     * @param taskScheduler   The task scheduler used to periodically publish the free memory of this node
+     * @param registry        The metrics registry
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public NodeCapacityServiceCuratorImpl(
+        final GenieHostInfo genieHostInfo,
+        final CuratorFramework client,
+        final String capacityPath,
+        final PathChildrenCache capacityCache,
+        final JobStateService jobStateService,
+        final JobsProperties jobsProperties,
+        final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        this.localHostname = genieHostInfo.getHostname();
+        this.localNodePath = ZKPaths.makePath(capacityPath, this.localHostname);
+        this.client = client;
+        this.capacityCache = capacityCache;
+        this.jobStateService = jobStateService;
+        this.jobsProperties = jobsProperties;
+        this.registry = registry;
+
+        this.registry.gauge(
+            NODES_GAUGE_NAME,
+            ImmutableSet.of(),
+            this.capacityCache,
+            cache -> cache.getCurrentData().size()
+        );
+
+        this.capacityCache.getListenable().addListener((cacheClient, event) -> this.handleCacheEvent(event));
+        try {
+            this.capacityCache.start(PathChildrenCache.StartMode.POST_INITIALIZED_EVENT);
+        } catch (final Exception e) {
+            log.error("Failed to start node capacity cache, job submissions won't be forwarded", e);
+        }
+
+        taskScheduler.scheduleAtFixedRate(
+            this::publishFreeMemory,
+            this.jobsProperties.getForwarding().getCapacityPublishInterval()
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<String> findNodeForJob(@Min(1) final int memory) {
+        final int localFreeMemory = this.getLocalFreeMemory();
+        if (localFreeMemory >= memory) {
+            return Optional.empty();
+        }
+
+        if (!this.inSync) {
+            log.debug("Node capacity cache out of sync, not looking for another node to run the job");
+            this.registry.counter(SELECTION_COUNTER_NAME, SELECTION_BYPASS_TAGS).increment();
+            return Optional.empty();
+        }
+
+        String selectedHostname = null;
+        int selectedFreeMemory = memory - 1;
+        for (final ChildData childData : this.capacityCache.getCurrentData()) {
+            final String hostname = ZKPaths.getNodeFromPath(childData.getPath());
+            if (this.localHostname.equals(hostname) || childData.getData() == null) {
+                continue;
+            }
+            final int freeMemory;
+            try {
+                freeMemory = Integer.parseInt(new String(childData.getData(), StandardCharsets.UTF_8));
+            } catch (final NumberFormatException e) {
+                log.warn("Ignoring invalid free memory published by node {}", hostname);
+                continue;
+            }
+            if (freeMemory > selectedFreeMemory) {
+                selectedHostname = hostname;
+                selectedFreeMemory = freeMemory;
+            }
+        }
+
+        if (selectedHostname == null) {
+            log.debug("No other node has {} MB of memory available for a job", memory);
+            this.registry.counter(SELECTION_COUNTER_NAME, SELECTION_NONE_TAGS).increment();
+            return Optional.empty();
+        }
+
+        log.debug(
+            "Selected node {} with {} MB available for a job needing {} MB ({} MB available locally)",
+            selectedHostname,
+            selectedFreeMemory,
+            memory,
+            localFreeMemory
+        );
+        this.registry.counter(SELECTION_COUNTER_NAME, SELECTION_FOUND_TAGS).increment();
+        return Optional.of(selectedHostname);
+    }
+
+    /**
+     * Stop watching the free memory of the other nodes.
+     *
+     * @throws IOException If the cache fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        this.capacityCache.close();
+    }
+
+    /**
+     * Publish the free memory of this node, creating the entry if it doesn't exist (e.g. on the first run or after
+     * the Zookeeper session expired).
+     */
+    void publishFreeMemory() {
+        final byte[] data = Integer.toString(this.getLocalFreeMemory()).getBytes(StandardCharsets.UTF_8);
+        Set<Tag> tags = MetricsUtils.newSuccessTagsSet();
+        final long start = System.nanoTime();
+        try {
+            try {
+                this.client.setData().forPath(this.localNodePath, data);
+            } catch (final KeeperException.NoNodeException e) {
+                this.client
+                    .create()
+                    .creatingParentsIfNeeded()
+                    .withMode(CreateMode.EPHEMERAL)
+                    .forPath(this.localNodePath, data);
+            }
+        } catch (final Exception e) {
+            log.error("Failed to publish the free job memory of this node", e);
+            tags = MetricsUtils.newFailureTagsSetForException(e);
+        } finally {
+            this.registry.timer(
+                PUBLISH_TIMER_NAME,
+                tags
+            ).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int getLocalFreeMemory() {
+        return this.jobsProperties.getMemory().getMaxSystemMemory() - this.jobStateService.getUsedMemory();
+    }
+
+    private void handleCacheEvent(final PathChildrenCacheEvent event) {
+        switch (event.getType()) {
+            case INITIALIZED:
+            case CONNECTION_RECONNECTED:
+                log.info("Node capacity cache in sync");
+                this.inSync = true;
+                break;
+
+            case CONNECTION_SUSPENDED:
+            case CONNECTION_LOST:
+                log.info("Node capacity cache out of sync: {}", event.getType());
+                this.inSync = false;
+                break;
+
+            default:
+                log.debug("Ignoring node capacity cache event: {}", event.getType());
+        }
+    }
+}
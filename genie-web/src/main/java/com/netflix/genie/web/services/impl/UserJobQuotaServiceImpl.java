@@ -0,0 +1,292 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.dto.UserResourcesSummary;
+import com.netflix.genie.common.external.dtos.v4.JobStatus;
+import com.netflix.genie.web.data.services.DataServices;
+import com.netflix.genie.web.data.services.PersistenceService;
+import com.netflix.genie.web.events.JobStateChangeEvent;
+import com.netflix.genie.web.properties.JobsActiveLimitProperties;
+import com.netflix.genie.web.services.UserJobQuotaService;
+import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.validation.constraints.NotBlank;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of {@link UserJobQuotaService} that keeps the active job count of each user in memory.
+ * <p>
+ * Counts are seeded from the database, incremented atomically as jobs are submitted on this node and decremented
+ * using the {@link JobStateChangeEvent} published locally when a job reaches a final state. Concurrent submissions
+ * from the same user on this node can therefore not both slip under the limit.
+ * <p>
+ * Jobs submitted or completed through other nodes are only accounted for once the counts are periodically reconciled
+ * with the database. Reconciliation errs on the side of over-counting: jobs reserved while the database is being
+ * queried may be counted twice until the following reconciliation.
+ * <p>
+ * Since the in-memory counts can lag behind the database, a submission that would take the last slot of a user, or
+ * go beyond it, is checked against the database instead. By then the job is persisted in an active state, so of any
+ * two such concurrent submissions, regardless of the node they go through, at least one sees the other in its count.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Slf4j
+public class UserJobQuotaServiceImpl implements UserJobQuotaService, ApplicationListener<JobStateChangeEvent> {
+
+    private static final String TRACKED_USERS_GAUGE_NAME = "genie.jobs.activeLimit.trackedUsers.gauge";
+    private static final String RECONCILE_TIMER_NAME = "genie.jobs.activeLimit.reconcile.timer";
+    private static final String CHECK_TIMER_NAME = "genie.jobs.activeLimit.check.timer";
+
+    // Jobs that finish through other nodes never produce a local event, forget them eventually. Their slot is
+    // released by the reconciliation regardless.
+    private static final Duration RESERVATION_RETENTION = Duration.ofDays(1L);
+
+    private final PersistenceService persistenceService;
+    private final JobsActiveLimitProperties activeLimit;
+    private final MeterRegistry registry;
+    private final Map<String, UserQuota> quotas = Maps.newConcurrentMap();
+    private final Cache<String, String> reservations;
+    private volatile boolean seeded;
+
+    /**
+     * Constructor.
+     *
+     * @param dataServices  The {@link DataServices} instance to use
+     * @param taskScheduler The task scheduler used to periodically reconcile the counts with the database
+     * @param activeLimit   The active job limit properties
+     * @param registry      The metrics registry
+     */
+    public UserJobQuotaServiceImpl(
+        final DataServices dataServices,
+        final TaskScheduler taskScheduler,
+        final JobsActiveLimitProperties activeLimit,
+        final MeterRegistry registry
+    ) {
+        this.persistenceService = dataServices.getPersistenceService();
+        this.activeLimit = activeLimit;
+        this.registry = registry;
+        this.reservations = Caffeine
+            .newBuilder()
+            .expireAfterWrite(RESERVATION_RETENTION)
+            .build();
+
+        this.registry.gaugeMapSize(TRACKED_USERS_GAUGE_NAME, ImmutableSet.of(), this.quotas);
+        taskScheduler.scheduleWithFixedDelay(this::reconcile, activeLimit.getReconcileInterval());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryReserve(@NotBlank final String user, @NotBlank final String jobId) {
+        if (!this.seeded) {
+            // Don't let submissions through unchecked before the scheduler got to the first reconciliation
+            this.seed();
+        }
+
+        final long limit = this.getActiveJobLimit(user);
+        final AtomicBoolean reserved = new AtomicBoolean(false);
+        this.quotas.compute(
+            user,
+            (key, quota) -> {
+                final UserQuota current = quota == null ? UserQuota.NONE : quota;
+                if (current.activeJobs + 1 >= limit) {
+                    // Close to the limit, the count may be off by the jobs of other nodes. Leave it to the database.
+                    return quota;
+                }
+                this.reservations.put(jobId, user);
+                reserved.set(true);
+                return new UserQuota(current.activeJobs + 1, current.reservedSinceReconcile + 1);
+            }
+        );
+        return reserved.get() || this.tryReserveFromDatabase(user, jobId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release(@NotBlank final String jobId) {
+        final String user = this.reservations.asMap().remove(jobId);
+        if (user != null) {
+            this.quotas.computeIfPresent(
+                user,
+                (key, quota) -> new UserQuota(Math.max(0L, quota.activeJobs - 1), quota.reservedSinceReconcile)
+            );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getActiveJobCount(@NotBlank final String user) {
+        final UserQuota quota = this.quotas.get(user);
+        return quota == null ? 0L : quota.activeJobs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getActiveJobLimit(@NotBlank final String user) {
+        return this.activeLimit.getUserLimit(user);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onApplicationEvent(final JobStateChangeEvent event) {
+        if (event.getNewStatus().isFinished()) {
+            this.release(event.getJobId());
+        }
+    }
+
+    private boolean tryReserveFromDatabase(final String user, final String jobId, final long limit) {
+        final Set<Tag> tags = Sets.newHashSet();
+        final long start = System.nanoTime();
+        try {
+            // The job is already persisted in an active state so the count includes it
+            final long activeJobsCount = this.persistenceService.getActiveJobCountForUser(user);
+            final boolean withinLimit = activeJobsCount <= limit;
+            log.debug("User {} has {} active jobs including job {}, limit is {}", user, activeJobsCount, jobId, limit);
+
+            // Catch up with the database, without losing the jobs reserved on this node while it was being queried
+            this.quotas.compute(
+                user,
+                (key, quota) -> {
+                    final UserQuota current = quota == null ? UserQuota.NONE : quota;
+                    if (withinLimit) {
+                        this.reservations.put(jobId, user);
+                        return new UserQuota(
+                            Math.max(current.activeJobs + 1, activeJobsCount),
+                            current.reservedSinceReconcile + 1
+                        );
+                    }
+                    // The rejected job is not going to stay active
+                    return new UserQuota(
+                        Math.max(current.activeJobs, activeJobsCount - 1),
+                        current.reservedSinceReconcile
+                    );
+                }
+            );
+            MetricsUtils.addSuccessTags(tags);
+            return withinLimit;
+        } catch (final Throwable t) {
+            MetricsUtils.addFailureTagsWithException(tags, t);
+            throw t;
+        } finally {
+            this.registry
+                .timer(CHECK_TIMER_NAME, tags)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void seed() {
+        if (!this.seeded) {
+            this.reconcile();
+        }
+    }
+
+    /**
+     * Replace the in-memory counts with the ones in the database, plus the jobs reserved since the query started.
+     */
+    synchronized void reconcile() {
+        final Set<Tag> tags = Sets.newHashSet();
+        final long start = System.nanoTime();
+        try {
+            // Jobs reserved from here on may or may not be included in the query results, count them on top
+            for (final String user : this.quotas.keySet()) {
+                this.quotas.computeIfPresent(user, (key, quota) -> new UserQuota(quota.activeJobs, 0L));
+            }
+
+            final Map<String, Long> activeJobCounts = Maps.newHashMap();
+            for (final boolean api : new boolean[]{true, false}) {
+                for (final UserResourcesSummary summary : this.persistenceService.getUserResourcesSummaries(
+                    JobStatus.getActiveStatuses(),
+                    api
+                ).values()) {
+                    activeJobCounts.merge(summary.getUser(), summary.getRunningJobsCount(), Long::sum);
+                }
+            }
+
+            for (final Map.Entry<String, Long> entry : activeJobCounts.entrySet()) {
+                this.quotas.merge(
+                    entry.getKey(),
+                    new UserQuota(entry.getValue(), 0L),
+                    (quota, fromDatabase) -> new UserQuota(
+                        fromDatabase.activeJobs + quota.reservedSinceReconcile,
+                        quota.reservedSinceReconcile
+                    )
+                );
+            }
+            for (final String user : this.quotas.keySet()) {
+                if (!activeJobCounts.containsKey(user)) {
+                    // Drop users without active jobs, unless they submitted some since the query started
+                    this.quotas.computeIfPresent(
+                        user,
+                        (key, quota) -> quota.reservedSinceReconcile == 0L
+                            ? null
+                            : new UserQuota(quota.reservedSinceReconcile, quota.reservedSinceReconcile)
+                    );
+                }
+            }
+            this.seeded = true;
+            MetricsUtils.addSuccessTags(tags);
+        } catch (final Exception e) {
+            log.error("Error reconciling active job counts with the database", e);
+            MetricsUtils.addFailureTagsWithException(tags, e);
+        } finally {
+            this.registry
+                .timer(RECONCILE_TIMER_NAME, tags)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The number of active jobs of a user and how many of those were reserved since the last reconciliation started.
+     */
+    private static final class UserQuota {
+        private static final UserQuota NONE = new UserQuota(0L, 0L);
+
+        private final long activeJobs;
+        private final long reservedSinceReconcile;
+
+        private UserQuota(final long activeJobs, final long reservedSinceReconcile) {
+            this.activeJobs = activeJobs;
+            this.reservedSinceReconcile = reservedSinceReconcile;
+        }
+    }
+}
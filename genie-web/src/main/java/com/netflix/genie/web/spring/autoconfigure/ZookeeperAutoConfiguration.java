@@ -17,20 +17,33 @@
  */
 package com.netflix.genie.web.spring.autoconfigure;
 
+import com.netflix.genie.common.internal.util.GenieHostInfo;
 import com.netflix.genie.web.agent.services.impl.AgentRoutingServiceCuratorDiscoveryImpl;
+import com.netflix.genie.web.properties.JobsForwardingProperties;
+import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.properties.ZookeeperProperties;
+import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.NodeCapacityService;
+import com.netflix.genie.web.services.impl.NodeCapacityServiceCuratorImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.PathChildrenCache;
 import org.apache.curator.framework.state.ConnectionStateListener;
+import org.apache.curator.utils.ZKPaths;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.apache.curator.x.discovery.ServiceDiscoveryBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.zookeeper.config.LeaderInitiatorFactoryBean;
+import org.springframework.scheduling.TaskScheduler;
 
 /**
  * Auto configuration for Zookeper components.
@@ -92,6 +105,74 @@ public class ZookeeperAutoConfiguration {
             .build();
     }
 
+    /**
+     * The Curator cache of the agent connections registered in Service Discovery, used to route requests to the node
+     * an agent is connected to without querying Zookeeper on each lookup.
+     * The cache is started by its consumer and closed together with the context.
+     *
+     * @param client              The curator framework client to use
+     * @param zookeeperProperties The Zookeeper properties to use
+     * @return {@link PathChildrenCache} bean watching the agent connection service instances
+     */
+    @Bean
+    @ConditionalOnMissingBean(PathChildrenCache.class)
+    PathChildrenCache agentRoutingCache(
+        final CuratorFramework client,
+        final ZookeeperProperties zookeeperProperties
+    ) {
+        return new PathChildrenCache(
+            client,
+            ZKPaths.makePath(
+                zookeeperProperties.getDiscoveryPath(),
+                AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME
+            ),
+            true
+        );
+    }
+
+    /**
+     * The service sharing the free job memory of this node with the other nodes through Zookeeper, used to forward V3
+     * job submissions this node can't run to a node that can.
+     * The cache of the published entries is not a bean of its own so it can't be mistaken for the agent routing cache.
+     *
+     * @param genieHostInfo       Information about the host the Genie process is running on
+     * @param client              The curator framework client to use
+     * @param zookeeperProperties The Zookeeper properties to use
+     * @param jobStateService     The service keeping track of the memory used by the jobs running on this node
+     * @param jobsProperties      The jobs properties to use
+     * @param taskScheduler       The task scheduler used to publish the free memory of this node
+     * @param registry            The metrics registry to use
+     * @return A {@link NodeCapacityServiceCuratorImpl} instance
+     */
+    @Bean
+    @ConditionalOnProperty(value = JobsForwardingProperties.SUBMISSIONS_ENABLED_PROPERTY, havingValue = "true")
+    @ConditionalOnMissingBean(NodeCapacityService.class)
+    public NodeCapacityServiceCuratorImpl nodeCapacityService(
+        final GenieHostInfo genieHostInfo,
+        final CuratorFramework client,
+        final ZookeeperProperties zookeeperProperties,
+        @Qualifier("jobMonitoringCoordinator") final JobStateService jobStateService,
+        final JobsProperties jobsProperties,
+        @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        // Curator rejects paths ending with a separator, which the configured paths have by convention
+        final String capacityPath = StringUtils.removeEnd(
+            zookeeperProperties.getCapacityPath(),
+            ZKPaths.PATH_SEPARATOR
+        );
+        return new NodeCapacityServiceCuratorImpl(
+            genieHostInfo,
+            client,
+            capacityPath,
+            new PathChildrenCache(client, capacityPath, true),
+            jobStateService,
+            jobsProperties,
+            taskScheduler,
+            registry
+        );
+    }
+
     /**
      * The Curator-client connection state listenable.
      *
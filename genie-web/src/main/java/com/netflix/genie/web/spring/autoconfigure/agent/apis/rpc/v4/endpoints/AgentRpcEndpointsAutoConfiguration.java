@@ -36,6 +36,7 @@ import com.netflix.genie.web.agent.services.AgentJobService;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.properties.AgentFileStreamProperties;
 import com.netflix.genie.web.properties.HeartBeatProperties;
+import com.netflix.genie.web.properties.JobSpecificationCacheProperties;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -58,6 +59,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
     {
         AgentFileStreamProperties.class,
         HeartBeatProperties.class,
+        JobSpecificationCacheProperties.class,
     }
 )
 public class AgentRpcEndpointsAutoConfiguration {
@@ -150,6 +152,8 @@ public class AgentRpcEndpointsAutoConfiguration {
      * @param agentJobService          The {@link AgentJobService} instance to use
      * @param jobServiceProtoConverter The {@link JobServiceProtoConverter} instance to use
      * @param protoErrorComposer       The {@link JobServiceProtoErrorComposer} instance to use
+     * @param cacheProperties          The job specification cache properties
+     * @param registry                 The meter registry
      * @return A {@link GRpcJobServiceImpl} instance
      */
     @Bean
@@ -157,9 +161,17 @@ public class AgentRpcEndpointsAutoConfiguration {
     public GRpcJobServiceImpl gRpcJobService(
         final AgentJobService agentJobService,
         final JobServiceProtoConverter jobServiceProtoConverter,
-        final JobServiceProtoErrorComposer protoErrorComposer
+        final JobServiceProtoErrorComposer protoErrorComposer,
+        final JobSpecificationCacheProperties cacheProperties,
+        final MeterRegistry registry
     ) {
-        return new GRpcJobServiceImpl(agentJobService, jobServiceProtoConverter, protoErrorComposer);
+        return new GRpcJobServiceImpl(
+            agentJobService,
+            jobServiceProtoConverter,
+            protoErrorComposer,
+            cacheProperties,
+            registry
+        );
     }
 
     /**
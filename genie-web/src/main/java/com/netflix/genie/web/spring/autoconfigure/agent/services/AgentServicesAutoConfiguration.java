@@ -36,6 +36,7 @@ import com.netflix.genie.web.properties.AgentConfigurationProperties;
 import com.netflix.genie.web.services.JobResolverService;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.PathChildrenCache;
 import org.apache.curator.framework.state.ConnectionStateListener;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -140,6 +141,7 @@ public class AgentServicesAutoConfiguration {
      * @param taskScheduler                    The task scheduler
      * @param listenableCuratorConnectionState the connection state listenable
      * @param registry                         The metrics registry
+     * @param agentRoutingCache                The cache of agent connections registered in service discovery
      * @return A {@link AgentRoutingServiceImpl} instance
      */
     @Bean
@@ -150,14 +152,16 @@ public class AgentServicesAutoConfiguration {
         final ServiceDiscovery<AgentRoutingServiceCuratorDiscoveryImpl.Agent> serviceDiscovery,
         @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
         final Listenable<ConnectionStateListener> listenableCuratorConnectionState,
-        final MeterRegistry registry
+        final MeterRegistry registry,
+        final PathChildrenCache agentRoutingCache
     ) {
         return new AgentRoutingServiceCuratorDiscoveryImpl(
             genieHostInfo,
             serviceDiscovery,
             taskScheduler,
             listenableCuratorConnectionState,
-            registry
+            registry,
+            agentRoutingCache
         );
     }
 
@@ -21,6 +21,7 @@ import com.netflix.genie.common.external.util.GenieObjectMapper;
 import com.netflix.genie.web.properties.HttpProperties;
 import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.properties.RetryProperties;
+import com.netflix.genie.web.properties.SearchStreamingProperties;
 import com.netflix.genie.web.resources.writers.DefaultDirectoryWriter;
 import com.netflix.genie.web.resources.writers.DirectoryWriter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -55,7 +56,8 @@ import java.util.Collections;
 @EnableConfigurationProperties(
     {
         HttpProperties.class,
-        RetryProperties.class
+        RetryProperties.class,
+        SearchStreamingProperties.class
     }
 )
 public class ApisAutoConfiguration {
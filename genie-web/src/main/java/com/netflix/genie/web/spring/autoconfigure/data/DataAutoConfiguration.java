@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.spring.autoconfigure.data;
 
+import com.netflix.genie.web.data.cache.EntityCacheHibernatePropertiesCustomizer;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.data.services.impl.jpa.JpaPersistenceServiceImpl;
@@ -29,9 +30,11 @@ import com.netflix.genie.web.data.services.impl.jpa.repositories.JpaFileReposito
 import com.netflix.genie.web.data.services.impl.jpa.repositories.JpaJobRepository;
 import com.netflix.genie.web.data.services.impl.jpa.repositories.JpaRepositories;
 import com.netflix.genie.web.data.services.impl.jpa.repositories.JpaTagRepository;
+import com.netflix.genie.web.properties.EntityCacheProperties;
 import com.netflix.genie.web.services.AttachmentService;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -47,6 +50,11 @@ import javax.persistence.EntityManager;
 @Configuration
 @EnableJpaRepositories("com.netflix.genie.web.data.services.impl.jpa.repositories")
 @EntityScan("com.netflix.genie.web.data.services.impl.jpa.entities")
+@EnableConfigurationProperties(
+    {
+        EntityCacheProperties.class
+    }
+)
 public class DataAutoConfiguration {
 
     /**
@@ -116,4 +124,18 @@ public class DataAutoConfiguration {
     ) {
         return new JpaPersistenceServiceImpl(entityManager, jpaRepositories, attachmentService);
     }
+
+    /**
+     * Configure the Hibernate second level cache of the rarely changing entities.
+     *
+     * @param entityCacheProperties The entity cache properties
+     * @return A {@link EntityCacheHibernatePropertiesCustomizer} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(EntityCacheHibernatePropertiesCustomizer.class)
+    public EntityCacheHibernatePropertiesCustomizer genieEntityCacheHibernatePropertiesCustomizer(
+        final EntityCacheProperties entityCacheProperties
+    ) {
+        return new EntityCacheHibernatePropertiesCustomizer(entityCacheProperties);
+    }
 }
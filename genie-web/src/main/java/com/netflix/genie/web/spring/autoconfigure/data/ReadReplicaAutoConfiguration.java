@@ -0,0 +1,186 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.spring.autoconfigure.data;
+
+import com.netflix.genie.web.aspects.ReadReplicaRoutingAspect;
+import com.netflix.genie.web.data.routing.ReadReplicaRoutingDataSource;
+import com.netflix.genie.web.data.routing.ReplicaLagMonitor;
+import com.netflix.genie.web.properties.DataReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+
+/**
+ * Auto configuration routing read only data service calls to a read replica of the database, when enabled.
+ * <p>
+ * Replaces the data source Spring Boot would otherwise create for {@code spring.datasource.*} with two connection
+ * pools, one for the primary and one for the replica (configured via {@code genie.data.replica.*}), behind a
+ * {@link ReadReplicaRoutingDataSource}.
+ *
+ * @author agent
+ * @since 4.0.0
+ */
+@Configuration
+@ConditionalOnProperty(value = DataReplicaProperties.ENABLED_PROPERTY, havingValue = "true")
+@AutoConfigureBefore(
+    {
+        DataSourceAutoConfiguration.class
+    }
+)
+@EnableConfigurationProperties(
+    {
+        DataSourceProperties.class,
+        DataReplicaProperties.class
+    }
+)
+public class ReadReplicaAutoConfiguration {
+
+    private static final String REPLICA_POOL_NAME = "genie-replica";
+
+    /**
+     * The connection pool of the primary database, configured like the default Spring Boot data source.
+     *
+     * @param dataSourceProperties The {@code spring.datasource} properties
+     * @return A {@link HikariDataSource} connected to the primary
+     */
+    @Bean(name = "geniePrimaryDataSource")
+    @ConditionalOnMissingBean(name = "geniePrimaryDataSource")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource geniePrimaryDataSource(final DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+    }
+
+    /**
+     * The connection pool of the read replica. Pool settings can be tuned via {@code genie.data.replica.hikari.*}.
+     *
+     * @param dataSourceProperties The {@code spring.datasource} properties to fall back on for credentials
+     * @param replicaProperties    The replica properties
+     * @return A {@link HikariDataSource} connected to the replica
+     * @throws IllegalArgumentException If no replica URL is configured
+     */
+    @Bean(name = "genieReplicaDataSource")
+    @ConditionalOnMissingBean(name = "genieReplicaDataSource")
+    @ConfigurationProperties(prefix = DataReplicaProperties.PROPERTY_PREFIX + ".hikari")
+    public HikariDataSource genieReplicaDataSource(
+        final DataSourceProperties dataSourceProperties,
+        final DataReplicaProperties replicaProperties
+    ) {
+        if (StringUtils.isBlank(replicaProperties.getUrl())) {
+            throw new IllegalArgumentException(
+                DataReplicaProperties.PROPERTY_PREFIX + ".url is required when the read replica is enabled"
+            );
+        }
+        final HikariDataSource dataSource = DataSourceBuilder
+            .create(dataSourceProperties.getClassLoader())
+            .type(HikariDataSource.class)
+            .url(replicaProperties.getUrl())
+            .username(
+                StringUtils.defaultIfBlank(replicaProperties.getUsername(), dataSourceProperties.determineUsername())
+            )
+            .password(
+                StringUtils.defaultIfBlank(replicaProperties.getPassword(), dataSourceProperties.determinePassword())
+            )
+            .driverClassName(replicaProperties.getDriverClassName())
+            .build();
+        dataSource.setPoolName(REPLICA_POOL_NAME);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The monitor of the replication lag of the read replica.
+     *
+     * @param replicaDataSource The replica data source
+     * @param replicaProperties The replica properties
+     * @param taskScheduler     The task scheduler to use
+     * @param registry          The metrics registry
+     * @return A {@link ReplicaLagMonitor} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(ReplicaLagMonitor.class)
+    public ReplicaLagMonitor genieReplicaLagMonitor(
+        @Qualifier("genieReplicaDataSource") final DataSource replicaDataSource,
+        final DataReplicaProperties replicaProperties,
+        @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        return new ReplicaLagMonitor(replicaDataSource, replicaProperties, taskScheduler, registry);
+    }
+
+    /**
+     * The data source used by JPA, routing connections between the primary and the replica.
+     * <p>
+     * Connections are fetched lazily so that the routing happens once the transaction is known to be read only.
+     *
+     * @param primaryDataSource The primary data source
+     * @param replicaDataSource The replica data source
+     * @param lagMonitor        The replica lag monitor
+     * @param replicaProperties The replica properties
+     * @param registry          The metrics registry
+     * @return The routing {@link DataSource}
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("geniePrimaryDataSource") final DataSource primaryDataSource,
+        @Qualifier("genieReplicaDataSource") final DataSource replicaDataSource,
+        final ReplicaLagMonitor lagMonitor,
+        final DataReplicaProperties replicaProperties,
+        final MeterRegistry registry
+    ) {
+        return new LazyConnectionDataSourceProxy(
+            new ReadReplicaRoutingDataSource(
+                primaryDataSource,
+                replicaDataSource,
+                lagMonitor,
+                replicaProperties,
+                registry
+            )
+        );
+    }
+
+    /**
+     * The aspect recording which data service calls may be served by the replica.
+     *
+     * @return A {@link ReadReplicaRoutingAspect} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(ReadReplicaRoutingAspect.class)
+    public ReadReplicaRoutingAspect readReplicaRoutingAspect() {
+        return new ReadReplicaRoutingAspect();
+    }
+}
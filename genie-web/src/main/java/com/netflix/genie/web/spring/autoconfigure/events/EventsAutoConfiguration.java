@@ -19,8 +19,12 @@ package com.netflix.genie.web.spring.autoconfigure.events;
 
 import com.netflix.genie.web.events.GenieEventBus;
 import com.netflix.genie.web.events.GenieEventBusImpl;
+import com.netflix.genie.web.events.PartitionedEventMulticaster;
+import com.netflix.genie.web.properties.AsyncEventPartitioningProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
@@ -34,26 +38,48 @@ import org.springframework.core.task.SyncTaskExecutor;
  * @since 3.1.2
  */
 @Configuration
+@EnableConfigurationProperties(
+    {
+        AsyncEventPartitioningProperties.class
+    }
+)
 public class EventsAutoConfiguration {
 
+    /**
+     * The multicaster used to deliver asynchronous events to listeners.
+     *
+     * @param asyncTaskExecutor The asynchronous task executor to use for events not bound to a partition
+     * @param properties        The partitioning properties
+     * @param registry          The meter registry
+     * @return A {@link PartitionedEventMulticaster} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "genieAsyncEventMulticaster")
+    public PartitionedEventMulticaster genieAsyncEventMulticaster(
+        @Qualifier("genieAsyncTaskExecutor") final AsyncTaskExecutor asyncTaskExecutor,
+        final AsyncEventPartitioningProperties properties,
+        final MeterRegistry registry
+    ) {
+        return new PartitionedEventMulticaster(asyncTaskExecutor, properties, registry);
+    }
+
     /**
      * A multicast event publisher to replace the default one used by Spring via the ApplicationContext.
      *
-     * @param syncTaskExecutor  The synchronous task executor to use
-     * @param asyncTaskExecutor The asynchronous task executor to use
+     * @param syncTaskExecutor      The synchronous task executor to use
+     * @param asyncEventMulticaster The multicaster to use for asynchronous events
+     * @param registry              The meter registry
      * @return The application event multicaster to use
      */
     @Bean
     @ConditionalOnMissingBean(GenieEventBus.class)
     public GenieEventBusImpl applicationEventMulticaster(
         @Qualifier("genieSyncTaskExecutor") final SyncTaskExecutor syncTaskExecutor,
-        @Qualifier("genieAsyncTaskExecutor") final AsyncTaskExecutor asyncTaskExecutor
+        @Qualifier("genieAsyncEventMulticaster") final SimpleApplicationEventMulticaster asyncEventMulticaster,
+        final MeterRegistry registry
     ) {
         final SimpleApplicationEventMulticaster syncMulticaster = new SimpleApplicationEventMulticaster();
         syncMulticaster.setTaskExecutor(syncTaskExecutor);
-
-        final SimpleApplicationEventMulticaster asyncMulticaster = new SimpleApplicationEventMulticaster();
-        asyncMulticaster.setTaskExecutor(asyncTaskExecutor);
-        return new GenieEventBusImpl(syncMulticaster, asyncMulticaster);
+        return new GenieEventBusImpl(syncMulticaster, asyncEventMulticaster, registry);
     }
 }
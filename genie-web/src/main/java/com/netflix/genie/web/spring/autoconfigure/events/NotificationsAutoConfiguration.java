@@ -26,13 +26,20 @@ import com.netflix.genie.web.events.GenieEventBus;
 import com.netflix.genie.web.events.JobFinishedSNSPublisher;
 import com.netflix.genie.web.events.JobNotificationMetricPublisher;
 import com.netflix.genie.web.events.JobStateChangeSNSPublisher;
+import com.netflix.genie.web.events.SNSNotificationsOutbox;
+import com.netflix.genie.web.properties.SNSNotificationsOutboxProperties;
 import com.netflix.genie.web.properties.SNSNotificationsProperties;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.Optional;
 
 /**
  * Beans related to external notifications.
@@ -43,11 +50,14 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @EnableConfigurationProperties(
     {
-        SNSNotificationsProperties.class
+        SNSNotificationsProperties.class,
+        SNSNotificationsOutboxProperties.class,
     }
 )
 public class NotificationsAutoConfiguration {
 
+    private static final int SINGLE_THREAD = 1;
+
     /**
      * Create {@link PersistedJobStatusObserver} if one does not exist.
      *
@@ -77,12 +87,51 @@ public class NotificationsAutoConfiguration {
         return new JobNotificationMetricPublisher(registry);
     }
 
+    /**
+     * Get the task scheduler used to flush the {@link SNSNotificationsOutbox}, so publishing to SNS doesn't hold up
+     * other tasks.
+     *
+     * @return The task scheduler
+     */
+    @Bean
+    @ConditionalOnProperty(value = SNSNotificationsOutboxProperties.ENABLED_PROPERTY, havingValue = "true")
+    @ConditionalOnMissingBean(name = "snsNotificationsOutboxTaskScheduler")
+    public TaskScheduler snsNotificationsOutboxTaskScheduler() {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(SINGLE_THREAD);
+        scheduler.setThreadNamePrefix("genie-sns-outbox-");
+        return scheduler;
+    }
+
+    /**
+     * Create a {@link SNSNotificationsOutbox} to publish SNS notifications asynchronously, if enabled and unless one
+     * exists in the context already.
+     *
+     * @param snsClient     the Amazon SNS client
+     * @param properties    the outbox configuration properties
+     * @param taskScheduler the task scheduler used to flush the outbox
+     * @param registry      the metrics registry
+     * @return a {@link SNSNotificationsOutbox}
+     */
+    @Bean
+    @ConditionalOnProperty(value = SNSNotificationsOutboxProperties.ENABLED_PROPERTY, havingValue = "true")
+    @ConditionalOnMissingBean(SNSNotificationsOutbox.class)
+    public SNSNotificationsOutbox snsNotificationsOutbox(
+        final AmazonSNS snsClient,
+        final SNSNotificationsOutboxProperties properties,
+        @Qualifier("snsNotificationsOutboxTaskScheduler") final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        return new SNSNotificationsOutbox(snsClient, properties, taskScheduler, registry);
+    }
+
     /**
      * Create a {@link JobStateChangeSNSPublisher} unless one exists in the context already.
      *
      * @param snsClient  the Amazon SNS client
      * @param properties configuration properties
      * @param registry   the metrics registry
+     * @param outbox     the outbox to publish notifications through, if enabled
      * @return a {@link JobStateChangeSNSPublisher}
      */
     @Bean
@@ -91,13 +140,15 @@ public class NotificationsAutoConfiguration {
     public JobStateChangeSNSPublisher jobNotificationsSNSPublisher(
         final SNSNotificationsProperties properties,
         final MeterRegistry registry,
-        final AmazonSNS snsClient
+        final AmazonSNS snsClient,
+        final Optional<SNSNotificationsOutbox> outbox
     ) {
         return new JobStateChangeSNSPublisher(
             snsClient,
             properties,
             registry,
-            GenieObjectMapper.getMapper()
+            GenieObjectMapper.getMapper(),
+            outbox.orElse(null)
         );
     }
 
@@ -108,6 +159,7 @@ public class NotificationsAutoConfiguration {
      * @param registry     the metrics registry
      * @param snsClient    the Amazon SNS client
      * @param dataServices The {@link DataServices} instance to use
+     * @param outbox       the outbox to publish notifications through, if enabled
      * @return a {@link JobFinishedSNSPublisher}
      */
     @Bean
@@ -117,14 +169,16 @@ public class NotificationsAutoConfiguration {
         final SNSNotificationsProperties properties,
         final MeterRegistry registry,
         final AmazonSNS snsClient,
-        final DataServices dataServices
+        final DataServices dataServices,
+        final Optional<SNSNotificationsOutbox> outbox
     ) {
         return new JobFinishedSNSPublisher(
             snsClient,
             properties,
             dataServices,
             registry,
-            GenieObjectMapper.getMapper()
+            GenieObjectMapper.getMapper(),
+            outbox.orElse(null)
         );
     }
 }
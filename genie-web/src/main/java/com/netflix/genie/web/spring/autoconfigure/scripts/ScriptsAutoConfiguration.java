@@ -37,6 +37,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import javax.script.ScriptEngineManager;
 import java.util.List;
@@ -59,11 +60,28 @@ import java.util.concurrent.Executors;
 )
 public class ScriptsAutoConfiguration {
 
+    private static final int SINGLE_THREAD = 1;
+
+    /**
+     * Get the task scheduler used to interrupt scripts evaluated inline once their timeout expires.
+     *
+     * @return The task scheduler
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "scriptWatchdogTaskScheduler")
+    public TaskScheduler scriptWatchdogTaskScheduler() {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(SINGLE_THREAD);
+        scheduler.setThreadNamePrefix("genie-script-watchdog-");
+        return scheduler;
+    }
+
     /**
      * Create a {@link ScriptManager} unless one exists.
      *
      * @param scriptManagerProperties properties
      * @param taskScheduler           task scheduler
+     * @param watchdogScheduler       task scheduler used to interrupt inline evaluations exceeding their timeout
      * @param resourceLoader          resource loader
      * @param meterRegistry           meter registry
      * @return a {@link ScriptManager}
@@ -73,12 +91,14 @@ public class ScriptsAutoConfiguration {
     ScriptManager scriptManager(
         final ScriptManagerProperties scriptManagerProperties,
         @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
+        @Qualifier("scriptWatchdogTaskScheduler") final TaskScheduler watchdogScheduler,
         final ResourceLoader resourceLoader,
         final MeterRegistry meterRegistry
     ) {
         return new ScriptManager(
             scriptManagerProperties,
             taskScheduler,
+            watchdogScheduler,
             Executors.newCachedThreadPool(),
             new ScriptEngineManager(),
             resourceLoader,
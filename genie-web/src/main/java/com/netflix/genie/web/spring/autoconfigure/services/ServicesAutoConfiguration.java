@@ -28,8 +28,11 @@ import com.netflix.genie.web.agent.services.AgentRoutingService;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.events.GenieEventBus;
 import com.netflix.genie.web.jobs.workflow.WorkflowTask;
+import com.netflix.genie.web.properties.AttachmentStorageProperties;
 import com.netflix.genie.web.properties.ExponentialBackOffTriggerProperties;
 import com.netflix.genie.web.properties.FileCacheProperties;
+import com.netflix.genie.web.properties.JobLaunchProperties;
+import com.netflix.genie.web.properties.JobStatusWatchProperties;
 import com.netflix.genie.web.properties.JobsActiveLimitProperties;
 import com.netflix.genie.web.properties.JobsCleanupProperties;
 import com.netflix.genie.web.properties.JobsForwardingProperties;
@@ -51,8 +54,10 @@ import com.netflix.genie.web.services.JobKillServiceV4;
 import com.netflix.genie.web.services.JobLaunchService;
 import com.netflix.genie.web.services.JobResolverService;
 import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.JobStatusWatchService;
 import com.netflix.genie.web.services.JobSubmitterService;
 import com.netflix.genie.web.services.MailService;
+import com.netflix.genie.web.services.UserJobQuotaService;
 import com.netflix.genie.web.services.impl.ArchivedJobServiceImpl;
 import com.netflix.genie.web.services.impl.CacheGenieFileTransferService;
 import com.netflix.genie.web.services.impl.DiskJobFileServiceImpl;
@@ -64,8 +69,10 @@ import com.netflix.genie.web.services.impl.JobKillServiceImpl;
 import com.netflix.genie.web.services.impl.JobKillServiceV3;
 import com.netflix.genie.web.services.impl.JobLaunchServiceImpl;
 import com.netflix.genie.web.services.impl.JobResolverServiceImpl;
+import com.netflix.genie.web.services.impl.JobStatusWatchServiceImpl;
 import com.netflix.genie.web.services.impl.LocalFileTransferImpl;
 import com.netflix.genie.web.services.impl.LocalJobRunner;
+import com.netflix.genie.web.services.impl.UserJobQuotaServiceImpl;
 import com.netflix.genie.web.tasks.job.JobCompletionService;
 import com.netflix.genie.web.util.ProcessChecker;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -74,17 +81,22 @@ import org.apache.commons.exec.Executor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.ServiceLocatorFactoryBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import javax.validation.constraints.NotEmpty;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Configuration for all the services.
@@ -104,6 +116,9 @@ import java.util.List;
         JobsUsersProperties.class,
         ExponentialBackOffTriggerProperties.class,
         JobsActiveLimitProperties.class,
+        JobLaunchProperties.class,
+        JobStatusWatchProperties.class,
+        AttachmentStorageProperties.class,
     }
 )
 @Slf4j
@@ -276,13 +291,14 @@ public class ServicesAutoConfiguration {
     /**
      * Get an instance of the JobCoordinatorService.
      *
-     * @param dataServices       The {@link DataServices} encapsulation instance to use
-     * @param jobKillService     The job kill service to use
-     * @param jobStateService    The running job metrics service to use
-     * @param jobsProperties     The jobs properties to use
-     * @param jobResolverService The job specification service to use
-     * @param registry           The metrics registry to use
-     * @param genieHostInfo      Information about the host the Genie process is running on
+     * @param dataServices        The {@link DataServices} encapsulation instance to use
+     * @param jobKillService      The job kill service to use
+     * @param jobStateService     The running job metrics service to use
+     * @param jobsProperties      The jobs properties to use
+     * @param jobResolverService  The job specification service to use
+     * @param registry            The metrics registry to use
+     * @param genieHostInfo       Information about the host the Genie process is running on
+     * @param userJobQuotaService The service enforcing the per-user active job limit, if enabled
      * @return An instance of the JobCoordinatorService.
      */
     @Bean
@@ -294,7 +310,8 @@ public class ServicesAutoConfiguration {
         final JobsProperties jobsProperties,
         final JobResolverService jobResolverService,
         final MeterRegistry registry,
-        final GenieHostInfo genieHostInfo
+        final GenieHostInfo genieHostInfo,
+        final Optional<UserJobQuotaService> userJobQuotaService
     ) {
         return new JobCoordinatorServiceImpl(
             dataServices,
@@ -303,20 +320,34 @@ public class ServicesAutoConfiguration {
             jobsProperties,
             jobResolverService,
             registry,
-            genieHostInfo.getHostname()
+            genieHostInfo.getHostname(),
+            userJobQuotaService.orElse(null)
         );
     }
 
     /**
      * The attachment service to use.
      *
-     * @param jobsProperties All properties related to jobs
+     * @param jobsProperties              All properties related to jobs
+     * @param attachmentStorageProperties The properties related to how attachments are stored
+     * @param taskScheduler               The {@link TaskScheduler} to use to remove unreferenced attachment contents
+     * @param registry                    The metrics registry to use
      * @return The attachment service to use
      */
     @Bean
     @ConditionalOnMissingBean(AttachmentService.class)
-    public FileSystemAttachmentService attachmentService(final JobsProperties jobsProperties) {
-        return new FileSystemAttachmentService(jobsProperties.getLocations().getAttachments().toString());
+    public FileSystemAttachmentService attachmentService(
+        final JobsProperties jobsProperties,
+        final AttachmentStorageProperties attachmentStorageProperties,
+        @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        return new FileSystemAttachmentService(
+            jobsProperties.getLocations().getAttachments().toString(),
+            attachmentStorageProperties,
+            taskScheduler,
+            registry
+        );
     }
 
     /**
@@ -450,13 +481,38 @@ public class ServicesAutoConfiguration {
         );
     }
 
+    /**
+     * Provide the executor used to resolve and launch jobs asynchronously, if asynchronous launch is enabled.
+     *
+     * @param jobLaunchProperties The job launch properties
+     * @return The {@link AsyncTaskExecutor} instance
+     */
+    @Bean
+    @ConditionalOnProperty(value = JobLaunchProperties.ASYNC_ENABLED_PROPERTY, havingValue = "true")
+    @ConditionalOnMissingBean(name = "genieJobLaunchExecutor")
+    public AsyncTaskExecutor genieJobLaunchExecutor(final JobLaunchProperties jobLaunchProperties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobLaunchProperties.getAsyncThreads());
+        executor.setThreadNamePrefix(jobLaunchProperties.getAsyncThreadNamePrefix());
+        // Pending launches are bounded by the service, the queue never holds more than that
+        executor.setQueueCapacity(jobLaunchProperties.getAsyncMaxPending());
+        // Launches still queued when the job launch service shuts down are failed by the service, only wait (for a
+        // bounded time) for launches already in progress
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds((int) jobLaunchProperties.getAsyncShutdownTimeout().getSeconds());
+        return executor;
+    }
+
     /**
      * Provide a {@link JobLaunchService} implementation if one isn't available.
      *
-     * @param dataServices       The {@link DataServices} instance to use
-     * @param jobResolverService The {@link JobResolverService} implementation to use
-     * @param agentLauncher      The {@link AgentLauncher} implementation to use
-     * @param registry           The metrics registry to use
+     * @param dataServices           The {@link DataServices} instance to use
+     * @param jobResolverService     The {@link JobResolverService} implementation to use
+     * @param agentLauncher          The {@link AgentLauncher} implementation to use
+     * @param registry               The metrics registry to use
+     * @param jobLaunchProperties    The job launch properties
+     * @param genieJobLaunchExecutor The executor to launch jobs asynchronously, if enabled
+     * @param userJobQuotaService    The service enforcing the per-user active job limit, if enabled
      * @return A {@link JobLaunchServiceImpl} instance
      */
     @Bean
@@ -465,9 +521,63 @@ public class ServicesAutoConfiguration {
         final DataServices dataServices,
         final JobResolverService jobResolverService,
         final AgentLauncher agentLauncher,
+        final MeterRegistry registry,
+        final JobLaunchProperties jobLaunchProperties,
+        @Qualifier("genieJobLaunchExecutor") final Optional<AsyncTaskExecutor> genieJobLaunchExecutor,
+        final Optional<UserJobQuotaService> userJobQuotaService
+    ) {
+        return new JobLaunchServiceImpl(
+            dataServices,
+            jobResolverService,
+            agentLauncher,
+            registry,
+            genieJobLaunchExecutor.orElse(null),
+            jobLaunchProperties.getAsyncMaxPending(),
+            jobLaunchProperties.getAsyncShutdownTimeout(),
+            userJobQuotaService.orElse(null)
+        );
+    }
+
+    /**
+     * Provide a {@link UserJobQuotaService} implementation if the per-user active job limit is enabled and one isn't
+     * available.
+     *
+     * @param dataServices   The {@link DataServices} instance to use
+     * @param taskScheduler  The {@link TaskScheduler} to use to reconcile the active job counts with the database
+     * @param jobsProperties All properties related to jobs
+     * @param registry       The metrics registry to use
+     * @return A {@link UserJobQuotaServiceImpl} instance
+     */
+    @Bean
+    @ConditionalOnProperty(value = JobsActiveLimitProperties.ENABLED_PROPERTY, havingValue = "true")
+    @ConditionalOnMissingBean(UserJobQuotaService.class)
+    public UserJobQuotaServiceImpl userJobQuotaService(
+        final DataServices dataServices,
+        @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
+        final JobsProperties jobsProperties,
+        final MeterRegistry registry
+    ) {
+        return new UserJobQuotaServiceImpl(dataServices, taskScheduler, jobsProperties.getActiveLimit(), registry);
+    }
+
+    /**
+     * Provide a {@link JobStatusWatchService} implementation if one isn't available.
+     *
+     * @param dataServices             The {@link DataServices} instance to use
+     * @param taskScheduler            The {@link TaskScheduler} to use to refresh the status of watched jobs
+     * @param jobStatusWatchProperties The job status watch properties
+     * @param registry                 The metrics registry to use
+     * @return A {@link JobStatusWatchServiceImpl} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(JobStatusWatchService.class)
+    public JobStatusWatchServiceImpl jobStatusWatchService(
+        final DataServices dataServices,
+        @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
+        final JobStatusWatchProperties jobStatusWatchProperties,
         final MeterRegistry registry
     ) {
-        return new JobLaunchServiceImpl(dataServices, jobResolverService, agentLauncher, registry);
+        return new JobStatusWatchServiceImpl(dataServices, taskScheduler, jobStatusWatchProperties, registry);
     }
 
     /**
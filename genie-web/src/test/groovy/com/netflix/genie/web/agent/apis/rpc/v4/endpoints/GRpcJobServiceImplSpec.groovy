@@ -47,7 +47,10 @@ import com.netflix.genie.proto.JobSpecificationResponse
 import com.netflix.genie.proto.ReserveJobIdRequest
 import com.netflix.genie.proto.ReserveJobIdResponse
 import com.netflix.genie.web.agent.services.AgentJobService
+import com.netflix.genie.web.properties.JobSpecificationCacheProperties
 import io.grpc.stub.StreamObserver
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.apache.commons.lang3.StringUtils
 import org.assertj.core.util.Sets
 import spock.lang.Specification
@@ -75,13 +78,23 @@ class GRpcJobServiceImplSpec extends Specification {
     StreamObserver<GetJobStatusResponse> getJobStatusResponseObserver
     StreamObserver<ChangeJobArchiveStatusResponse> changeJobArchiveStatusObserver
     JobServiceProtoConverter jobServiceProtoConverter
+    JobSpecificationCacheProperties cacheProperties
+    MeterRegistry registry
 
     def setup() {
         this.id = UUID.randomUUID().toString()
         this.errorMessageComposer = Mock(JobServiceProtoErrorComposer)
         this.jobServiceProtoConverter = Mock(JobServiceProtoConverter)
         this.agentJobService = Mock(AgentJobService)
-        this.gRpcJobService = new GRpcJobServiceImpl(agentJobService, jobServiceProtoConverter, errorMessageComposer)
+        this.cacheProperties = new JobSpecificationCacheProperties()
+        this.registry = new SimpleMeterRegistry()
+        this.gRpcJobService = new GRpcJobServiceImpl(
+            agentJobService,
+            jobServiceProtoConverter,
+            errorMessageComposer,
+            cacheProperties,
+            registry
+        )
         this.handshakeResponseObserver = Mock(StreamObserver)
         this.configureResponseObserver = Mock(StreamObserver)
         this.reserveJobIdResponseObserver = Mock(StreamObserver)
@@ -272,6 +285,98 @@ class GRpcJobServiceImplSpec extends Specification {
         1 * jobSpecificationResponseObserver.onCompleted()
     }
 
+    def "Job specification responses are cached once resolved"() {
+        JobSpecificationRequest request = JobSpecificationRequest.newBuilder().setId(id).build()
+        JobSpecification jobSpecification = Mock(JobSpecification)
+        JobSpecificationResponse response = JobSpecificationResponse.newBuilder().build()
+
+        when:
+        gRpcJobService.resolveJobSpecification(request, jobSpecificationResponseObserver)
+
+        then:
+        1 * agentJobService.resolveJobSpecification(id) >> jobSpecification
+        1 * jobServiceProtoConverter.toJobSpecificationResponseProto(jobSpecification) >> response
+        1 * jobSpecificationResponseObserver.onNext(response)
+        1 * jobSpecificationResponseObserver.onCompleted()
+
+        when: "The agent fetches the specification and retries the fetch"
+        gRpcJobService.getJobSpecification(request, jobSpecificationResponseObserver)
+        gRpcJobService.getJobSpecification(request, jobSpecificationResponseObserver)
+
+        then:
+        0 * agentJobService.getJobSpecification(_)
+        0 * jobServiceProtoConverter.toJobSpecificationResponseProto(_)
+        2 * jobSpecificationResponseObserver.onNext(response)
+        2 * jobSpecificationResponseObserver.onCompleted()
+        registry
+            .get("genie.agents.jobSpecificationCache.lookup.counter")
+            .tags("rpc", "getJobSpecification", "result", "hit")
+            .counter()
+            .count() == 2
+        registry
+            .get("genie.agents.jobSpecificationCache.lookup.counter")
+            .tags("rpc", "resolveJobSpecification", "result", "miss")
+            .counter()
+            .count() == 1
+
+        when: "The agent retries the resolution"
+        gRpcJobService.resolveJobSpecification(request, jobSpecificationResponseObserver)
+
+        then:
+        0 * agentJobService.resolveJobSpecification(_)
+        1 * jobSpecificationResponseObserver.onNext(response)
+        1 * jobSpecificationResponseObserver.onCompleted()
+    }
+
+    def "Job specification errors are not cached"() {
+        JobSpecificationRequest request = JobSpecificationRequest.newBuilder().setId(id).build()
+        Exception exception = new GenieJobSpecificationNotFoundException()
+        JobSpecificationResponse errorResponse = JobSpecificationResponse.newBuilder().build()
+        JobSpecification jobSpecification = Mock(JobSpecification)
+        JobSpecificationResponse response = JobSpecificationResponse.newBuilder().build()
+
+        when:
+        gRpcJobService.getJobSpecification(request, jobSpecificationResponseObserver)
+
+        then:
+        1 * agentJobService.getJobSpecification(id) >> { throw exception }
+        1 * errorMessageComposer.toProtoJobSpecificationResponse(exception) >> errorResponse
+        1 * jobSpecificationResponseObserver.onNext(errorResponse)
+
+        when:
+        gRpcJobService.getJobSpecification(request, jobSpecificationResponseObserver)
+
+        then:
+        1 * agentJobService.getJobSpecification(id) >> jobSpecification
+        1 * jobServiceProtoConverter.toJobSpecificationResponseProto(jobSpecification) >> response
+        1 * jobSpecificationResponseObserver.onNext(response)
+    }
+
+    def "Job specification responses are not cached if disabled"() {
+        JobSpecificationRequest request = JobSpecificationRequest.newBuilder().setId(id).build()
+        JobSpecification jobSpecification = Mock(JobSpecification)
+        JobSpecificationResponse response = JobSpecificationResponse.newBuilder().build()
+        JobSpecificationCacheProperties properties = new JobSpecificationCacheProperties()
+        properties.setEnabled(false)
+        GRpcJobServiceImpl service = new GRpcJobServiceImpl(
+            agentJobService,
+            jobServiceProtoConverter,
+            errorMessageComposer,
+            properties,
+            registry
+        )
+
+        when:
+        service.getJobSpecification(request, jobSpecificationResponseObserver)
+        service.getJobSpecification(request, jobSpecificationResponseObserver)
+
+        then:
+        2 * agentJobService.getJobSpecification(id) >> jobSpecification
+        2 * jobServiceProtoConverter.toJobSpecificationResponseProto(jobSpecification) >> response
+        2 * jobSpecificationResponseObserver.onNext(response)
+        registry.find("genie.agents.jobSpecificationCache.lookup.counter").counter() == null
+    }
+
     def "Dry run resolve job specification -- successful"() {
         DryRunJobSpecificationRequest request = DryRunJobSpecificationRequest.newBuilder().build()
         JobRequest jobRequest = Mock(JobRequest)
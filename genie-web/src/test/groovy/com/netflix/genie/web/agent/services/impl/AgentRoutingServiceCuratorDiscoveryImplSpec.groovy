@@ -27,11 +27,17 @@ import io.micrometer.core.instrument.Tag
 import io.micrometer.core.instrument.Timer
 import org.apache.curator.framework.CuratorFramework
 import org.apache.curator.framework.listen.Listenable
+import org.apache.curator.framework.listen.ListenerContainer
+import org.apache.curator.framework.recipes.cache.ChildData
+import org.apache.curator.framework.recipes.cache.PathChildrenCache
+import org.apache.curator.framework.recipes.cache.PathChildrenCacheEvent
+import org.apache.curator.framework.recipes.cache.PathChildrenCacheListener
 import org.apache.curator.framework.state.ConnectionState
 import org.apache.curator.framework.state.ConnectionStateListener
 import org.apache.curator.x.discovery.ServiceDiscovery
 import org.apache.curator.x.discovery.ServiceInstance
 import org.apache.curator.x.discovery.ServiceType
+import org.apache.curator.x.discovery.details.JsonInstanceSerializer
 import org.apache.zookeeper.KeeperException
 import org.springframework.scheduling.TaskScheduler
 import org.springframework.scheduling.Trigger
@@ -50,7 +56,10 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
     ScheduledFuture<?> scheduledFuture
     String localHostname
     Counter counter
+    Counter lookupCounter
     Timer timer
+    PathChildrenCache routingCache
+    ListenerContainer<PathChildrenCacheListener> routingCacheListenable
 
     void setup() {
         this.genieHostInfo = Mock(GenieHostInfo)
@@ -61,7 +70,13 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         this.scheduledFuture = Mock(ScheduledFuture)
         this.localHostname = UUID.randomUUID().toString()
         this.counter = Mock(Counter)
+        this.lookupCounter = Mock(Counter)
         this.timer = Mock(Timer)
+        this.routingCache = Mock(PathChildrenCache)
+        this.routingCacheListenable = Mock(ListenerContainer)
+
+        this.routingCache.getListenable() >> this.routingCacheListenable
+        this.meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ROUTING_TABLE_LOOKUP_COUNTER_NAME, _) >> this.lookupCounter
     }
 
     def "Agent service instance POJO can serialize and deserialize"() {
@@ -98,7 +113,8 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
             serviceDiscovery,
             taskScheduler,
             listenableConnectionState,
-            meterRegistry
+            meterRegistry,
+            routingCache
         )
 
         then:
@@ -205,7 +221,8 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
             serviceDiscovery,
             taskScheduler,
             listenableConnectionState,
-            meterRegistry
+            meterRegistry,
+            routingCache
         )
 
         then:
@@ -341,7 +358,8 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
             serviceDiscovery,
             taskScheduler,
             listenableConnectionState,
-            meterRegistry
+            meterRegistry,
+            routingCache
         )
 
         then:
@@ -436,7 +454,8 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
             serviceDiscovery,
             taskScheduler,
             listenableConnectionState,
-            meterRegistry
+            meterRegistry,
+            routingCache
         )
 
         then:
@@ -478,7 +497,8 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
             serviceDiscovery,
             taskScheduler,
             listenableConnectionState,
-            meterRegistry
+            meterRegistry,
+            routingCache
         )
 
         then:
@@ -548,4 +568,183 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         serviceInstance2.getAddress() == localHostname
         serviceInstance2.getPayload() == serviceInstance1.getPayload()
     }
+
+    def "Lookups and refreshes use the routing table when in sync"() {
+        setup:
+        CuratorFramework client = Mock(CuratorFramework)
+        String remoteHostname = UUID.randomUUID().toString()
+        String localJobId = UUID.randomUUID().toString()
+        String remoteJobId = UUID.randomUUID().toString()
+        String unknownJobId = UUID.randomUUID().toString()
+        JsonInstanceSerializer<AgentRoutingServiceCuratorDiscoveryImpl.Agent> serializer =
+            new JsonInstanceSerializer<>(AgentRoutingServiceCuratorDiscoveryImpl.Agent)
+
+        ServiceInstance<AgentRoutingServiceCuratorDiscoveryImpl.Agent> remoteInstance = new ServiceInstance<>(
+            AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME,
+            remoteJobId,
+            remoteHostname,
+            null,
+            null,
+            new AgentRoutingServiceCuratorDiscoveryImpl.Agent(remoteJobId),
+            Instant.now().getEpochSecond(),
+            ServiceType.DYNAMIC,
+            null
+        )
+        ServiceInstance<AgentRoutingServiceCuratorDiscoveryImpl.Agent> localInstance
+
+        Runnable reconciliationTask
+        PathChildrenCacheListener routingCacheListener
+
+        when:
+        AgentRoutingService agentRoutingService = new AgentRoutingServiceCuratorDiscoveryImpl(
+            genieHostInfo,
+            serviceDiscovery,
+            taskScheduler,
+            listenableConnectionState,
+            meterRegistry,
+            routingCache
+        )
+
+        then:
+        1 * genieHostInfo.getHostname() >> localHostname
+        1 * taskScheduler.schedule(_ as Runnable, _ as Trigger) >> {
+            args ->
+                reconciliationTask = args[0] as Runnable
+                return scheduledFuture
+        }
+        1 * meterRegistry.gaugeMapSize(AgentRoutingServiceCuratorDiscoveryImpl.ROUTING_TABLE_GAUGE_NAME, _, _)
+        1 * meterRegistry.gauge(AgentRoutingServiceCuratorDiscoveryImpl.ROUTING_TABLE_STALENESS_GAUGE_NAME, _, _, _)
+        1 * routingCacheListenable.addListener(_ as PathChildrenCacheListener) >> {
+            args ->
+                routingCacheListener = args[0] as PathChildrenCacheListener
+        }
+        1 * routingCache.start(PathChildrenCache.StartMode.POST_INITIALIZED_EVENT)
+        reconciliationTask != null
+        routingCacheListener != null
+
+        when: "The cache is not initialized yet"
+        String hostname = agentRoutingService.getHostnameForAgentConnection(remoteJobId).orElse(null)
+
+        then: "Lookups bypass the routing table"
+        1 * meterRegistry.counter(
+            AgentRoutingServiceCuratorDiscoveryImpl.ROUTING_TABLE_LOOKUP_COUNTER_NAME,
+            { it.contains(Tag.of("result", "bypass")) }
+        ) >> lookupCounter
+        1 * lookupCounter.increment()
+        1 * serviceDiscovery.queryForInstance(AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME, remoteJobId) >> remoteInstance
+        hostname == remoteHostname
+
+        when: "A local agent connects and is registered"
+        agentRoutingService.handleClientConnected(localJobId)
+        reconciliationTask.run()
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_CONNECTED_COUNTER_NAME, _) >> counter
+        1 * serviceDiscovery.registerService(_ as ServiceInstance) >> {
+            args ->
+                localInstance = args[0] as ServiceInstance<AgentRoutingServiceCuratorDiscoveryImpl.Agent>
+        }
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_REGISTERED_TIMER_NAME, _) >> timer
+        1 * serviceDiscovery.updateService(_ as ServiceInstance)
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_REFRESH_TIMER_NAME, _) >> timer
+        localInstance != null
+
+        when: "The cache is populated and initialized"
+        routingCacheListener.childEvent(
+            client,
+            new PathChildrenCacheEvent(
+                PathChildrenCacheEvent.Type.CHILD_ADDED,
+                new ChildData("/discovery/agent_connections/" + remoteJobId, null, serializer.serialize(remoteInstance))
+            )
+        )
+        routingCacheListener.childEvent(
+            client,
+            new PathChildrenCacheEvent(
+                PathChildrenCacheEvent.Type.CHILD_ADDED,
+                new ChildData("/discovery/agent_connections/" + localJobId, null, serializer.serialize(localInstance))
+            )
+        )
+        routingCacheListener.childEvent(client, new PathChildrenCacheEvent(PathChildrenCacheEvent.Type.INITIALIZED, null))
+        String hostnameRemote = agentRoutingService.getHostnameForAgentConnection(remoteJobId).orElse(null)
+        String hostnameUnknown = agentRoutingService.getHostnameForAgentConnection(unknownJobId).orElse(null)
+
+        then: "Lookups are served by the routing table, misses fall back to the discovery service"
+        1 * meterRegistry.counter(
+            AgentRoutingServiceCuratorDiscoveryImpl.ROUTING_TABLE_LOOKUP_COUNTER_NAME,
+            { it.contains(Tag.of("result", "hit")) }
+        ) >> lookupCounter
+        1 * meterRegistry.counter(
+            AgentRoutingServiceCuratorDiscoveryImpl.ROUTING_TABLE_LOOKUP_COUNTER_NAME,
+            { it.contains(Tag.of("result", "miss")) }
+        ) >> lookupCounter
+        2 * lookupCounter.increment()
+        0 * serviceDiscovery.queryForInstance(AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME, remoteJobId)
+        1 * serviceDiscovery.queryForInstance(AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME, unknownJobId) >> null
+        hostnameRemote == remoteHostname
+        hostnameUnknown == null
+
+        when: "An agent connected moments ago is not in the routing table yet"
+        hostnameUnknown = agentRoutingService.getHostnameForAgentConnection(unknownJobId).orElse(null)
+
+        then: "It is found by querying the discovery service"
+        1 * meterRegistry.counter(
+            AgentRoutingServiceCuratorDiscoveryImpl.ROUTING_TABLE_LOOKUP_COUNTER_NAME,
+            { it.contains(Tag.of("result", "miss")) }
+        ) >> lookupCounter
+        1 * serviceDiscovery.queryForInstance(
+            AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME,
+            unknownJobId
+        ) >> remoteInstance
+        hostnameUnknown == remoteHostname
+
+        when: "The local registration is up to date"
+        reconciliationTask.run()
+
+        then: "It is not refreshed"
+        0 * serviceDiscovery.registerService(_)
+        0 * serviceDiscovery.updateService(_)
+
+        when: "The local registration is removed (e.g., by a different node)"
+        routingCacheListener.childEvent(
+            client,
+            new PathChildrenCacheEvent(
+                PathChildrenCacheEvent.Type.CHILD_REMOVED,
+                new ChildData("/discovery/agent_connections/" + localJobId, null, null)
+            )
+        )
+        reconciliationTask.run()
+
+        then: "It is refreshed"
+        1 * serviceDiscovery.updateService(localInstance) >> {
+            throw new KeeperException.NoNodeException("...")
+        }
+        1 * serviceDiscovery.registerService(localInstance)
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_REFRESH_TIMER_NAME, _) >> timer
+
+        when: "The cache connection is suspended"
+        routingCacheListener.childEvent(
+            client,
+            new PathChildrenCacheEvent(PathChildrenCacheEvent.Type.CONNECTION_SUSPENDED, null)
+        )
+        hostname = agentRoutingService.getHostnameForAgentConnection(remoteJobId).orElse(null)
+
+        then: "Lookups bypass the routing table"
+        1 * meterRegistry.counter(
+            AgentRoutingServiceCuratorDiscoveryImpl.ROUTING_TABLE_LOOKUP_COUNTER_NAME,
+            { it.contains(Tag.of("result", "bypass")) }
+        ) >> lookupCounter
+        1 * serviceDiscovery.queryForInstance(AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME, remoteJobId) >> null
+        hostname == null
+
+        when: "The cache re-connects"
+        routingCacheListener.childEvent(
+            client,
+            new PathChildrenCacheEvent(PathChildrenCacheEvent.Type.CONNECTION_RECONNECTED, null)
+        )
+        hostname = agentRoutingService.getHostnameForAgentConnection(remoteJobId).orElse(null)
+
+        then:
+        0 * serviceDiscovery.queryForInstance(_, _)
+        hostname == remoteHostname
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ *
+ *  Copyright 2018 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.aspects
+
+import com.netflix.genie.common.external.dtos.v4.JobStatus
+import com.netflix.genie.web.data.routing.ReadReplicaRoutingContext
+import com.netflix.genie.web.data.services.PersistenceService
+import com.netflix.genie.web.data.services.impl.jpa.JpaPersistenceServiceImpl
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link ReadReplicaRoutingAspect}.
+ *
+ * @author agent
+ */
+class ReadReplicaRoutingAspectSpec extends Specification {
+
+    JpaPersistenceServiceImpl dataService
+    PersistenceService dataServiceProxy
+
+    def setup() {
+        this.dataService = Mock(JpaPersistenceServiceImpl)
+        def factory = new AspectJProxyFactory(this.dataService)
+        factory.addAspect(new ReadReplicaRoutingAspect())
+        this.dataServiceProxy = factory.getProxy()
+    }
+
+    def cleanup() {
+        ReadReplicaRoutingContext.clear()
+    }
+
+    def "Read only calls are eligible for the replica"() {
+        def id = UUID.randomUUID().toString()
+        Optional<String> method = null
+
+        when:
+        this.dataServiceProxy.getJob(id)
+
+        then:
+        1 * this.dataService.getJob(id) >> {
+            method = ReadReplicaRoutingContext.getReplicaEligibleMethod()
+            return null
+        }
+        method == Optional.of("getJob")
+        !ReadReplicaRoutingContext.isSet()
+    }
+
+    def "Calls needing to read their own writes and writes are pinned to the primary"() {
+        def id = UUID.randomUUID().toString()
+        Optional<String> method = null
+
+        when:
+        this.dataServiceProxy.getJobStatus(id)
+
+        then:
+        1 * this.dataService.getJobStatus(id) >> {
+            method = ReadReplicaRoutingContext.getReplicaEligibleMethod()
+            return JobStatus.RUNNING
+        }
+        method == Optional.empty()
+        !ReadReplicaRoutingContext.isSet()
+
+        when:
+        this.dataServiceProxy.updateJobStatus(id, JobStatus.RUNNING, JobStatus.SUCCEEDED, null)
+
+        then:
+        1 * this.dataService.updateJobStatus(id, JobStatus.RUNNING, JobStatus.SUCCEEDED, null) >> {
+            method = ReadReplicaRoutingContext.getReplicaEligibleMethod()
+        }
+        method == Optional.empty()
+        !ReadReplicaRoutingContext.isSet()
+    }
+
+    def "Nested calls follow the decision of the outermost call"() {
+        def id = UUID.randomUUID().toString()
+        Optional<String> method = null
+        ReadReplicaRoutingContext.set(null)
+
+        when:
+        this.dataServiceProxy.getJob(id)
+
+        then:
+        1 * this.dataService.getJob(id) >> {
+            method = ReadReplicaRoutingContext.getReplicaEligibleMethod()
+            return null
+        }
+        method == Optional.empty()
+        ReadReplicaRoutingContext.isSet()
+    }
+
+    def "Order is between the retries and the transaction"() {
+        expect:
+        new ReadReplicaRoutingAspect().getOrder() == 1
+    }
+}
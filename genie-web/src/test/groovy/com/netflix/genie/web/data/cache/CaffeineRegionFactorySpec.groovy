@@ -0,0 +1,88 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.cache
+
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.netflix.genie.web.data.routing.ReadReplicaRoutingContext
+import org.hibernate.engine.spi.SharedSessionContractImplementor
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link CaffeineRegionFactory}.
+ *
+ * @author agent
+ */
+class CaffeineRegionFactorySpec extends Specification {
+
+    SharedSessionContractImplementor session
+    CaffeineRegionFactory.CaffeineStorageAccess storageAccess
+
+    def setup() {
+        this.session = Mock(SharedSessionContractImplementor)
+        this.storageAccess = new CaffeineRegionFactory.CaffeineStorageAccess(Caffeine.newBuilder().build())
+    }
+
+    def cleanup() {
+        ReadReplicaRoutingContext.clear()
+    }
+
+    def "Entries can be put, read and evicted"() {
+        when:
+        this.storageAccess.putIntoCache("foo", "bar", this.session)
+        this.storageAccess.putIntoCache("baz", "qux", this.session)
+
+        then:
+        this.storageAccess.contains("foo")
+        this.storageAccess.getFromCache("foo", this.session) == "bar"
+
+        when:
+        this.storageAccess.evictData("foo")
+
+        then:
+        !this.storageAccess.contains("foo")
+        this.storageAccess.getFromCache("foo", this.session) == null
+        this.storageAccess.contains("baz")
+
+        when:
+        this.storageAccess.evictData()
+
+        then:
+        !this.storageAccess.contains("baz")
+    }
+
+    def "Entities loaded from the read replica are not cached"() {
+        this.storageAccess.putIntoCache("foo", "fromPrimary", this.session)
+        ReadReplicaRoutingContext.set("getCluster")
+        ReadReplicaRoutingContext.setRoutedToReplica()
+
+        when:
+        this.storageAccess.putIntoCache("foo", "fromReplica", this.session)
+        this.storageAccess.putIntoCache("bar", "fromReplica", this.session)
+
+        then: "Cached entries are still served"
+        this.storageAccess.getFromCache("foo", this.session) == "fromPrimary"
+        !this.storageAccess.contains("bar")
+
+        when:
+        ReadReplicaRoutingContext.clear()
+        this.storageAccess.putIntoCache("bar", "fromPrimary", this.session)
+
+        then:
+        this.storageAccess.getFromCache("bar", this.session) == "fromPrimary"
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *
+ *  Copyright 2018 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.cache
+
+import com.netflix.genie.web.properties.EntityCacheProperties
+import org.hibernate.cfg.AvailableSettings
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specifications for {@link EntityCacheHibernatePropertiesCustomizer}.
+ *
+ * @author agent
+ */
+class EntityCacheHibernatePropertiesCustomizerSpec extends Specification {
+
+    EntityCacheProperties cacheProperties
+    EntityCacheHibernatePropertiesCustomizer customizer
+
+    def setup() {
+        this.cacheProperties = new EntityCacheProperties()
+        this.customizer = new EntityCacheHibernatePropertiesCustomizer(this.cacheProperties)
+    }
+
+    def "Second level cache is turned off when disabled"() {
+        def hibernateProperties = [:]
+
+        when:
+        this.customizer.customize(hibernateProperties)
+
+        then:
+        hibernateProperties == [(AvailableSettings.USE_SECOND_LEVEL_CACHE): false]
+    }
+
+    def "A Caffeine region factory is configured when enabled"() {
+        this.cacheProperties.setEnabled(true)
+        this.cacheProperties.setExpiration(Duration.ofSeconds(30))
+        this.cacheProperties.setMaxSize(100L)
+        def hibernateProperties = [:]
+
+        when:
+        this.customizer.customize(hibernateProperties)
+
+        then:
+        hibernateProperties[AvailableSettings.USE_SECOND_LEVEL_CACHE] == true
+        hibernateProperties[AvailableSettings.USE_QUERY_CACHE] == false
+        hibernateProperties[AvailableSettings.CACHE_REGION_FACTORY] instanceof CaffeineRegionFactory
+        hibernateProperties[AvailableSettings.GENERATE_STATISTICS] == true
+
+        when: "Customized again, e.g. by another persistence unit"
+        def otherHibernateProperties = [:]
+        this.customizer.customize(otherHibernateProperties)
+
+        then: "Each gets its own factory"
+        !otherHibernateProperties[AvailableSettings.CACHE_REGION_FACTORY]
+            .is(hibernateProperties[AvailableSettings.CACHE_REGION_FACTORY])
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *
+ *  Copyright 2018 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.routing
+
+import com.netflix.genie.web.properties.DataReplicaProperties
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.time.Duration
+
+/**
+ * Specifications for {@link ReadReplicaRoutingDataSource}.
+ *
+ * @author agent
+ */
+class ReadReplicaRoutingDataSourceSpec extends Specification {
+
+    DataSource primary
+    DataSource replica
+    Connection primaryConnection
+    Connection replicaConnection
+    ReplicaLagMonitor lagMonitor
+    DataReplicaProperties properties
+    SimpleMeterRegistry registry
+    ReadReplicaRoutingDataSource dataSource
+
+    def setup() {
+        this.primaryConnection = Mock(Connection)
+        this.replicaConnection = Mock(Connection)
+        this.primary = Mock(DataSource) {
+            getConnection() >> this.primaryConnection
+        }
+        this.replica = Mock(DataSource) {
+            getConnection() >> this.replicaConnection
+        }
+        this.lagMonitor = Mock(ReplicaLagMonitor)
+        this.properties = new DataReplicaProperties()
+        this.properties.setMaxLag(Duration.ofSeconds(10))
+        this.properties.setMethodMaxLag(["findJobs": Duration.ofSeconds(60)])
+        this.registry = new SimpleMeterRegistry()
+        this.dataSource = new ReadReplicaRoutingDataSource(
+            this.primary,
+            this.replica,
+            this.lagMonitor,
+            this.properties,
+            this.registry
+        )
+    }
+
+    def cleanup() {
+        ReadReplicaRoutingContext.clear()
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false)
+    }
+
+    def "Calls not eligible for the replica use the primary"() {
+        when:
+        def connection = this.dataSource.getConnection()
+
+        then:
+        connection == this.primaryConnection
+        count("primary", "primaryRequired") == 1
+
+        when:
+        ReadReplicaRoutingContext.set(null)
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true)
+        connection = this.dataSource.getConnection()
+
+        then:
+        connection == this.primaryConnection
+        count("primary", "primaryRequired") == 2
+    }
+
+    def "Read write transactions use the primary"() {
+        ReadReplicaRoutingContext.set("getJob")
+
+        when:
+        def connection = this.dataSource.getConnection()
+
+        then:
+        connection == this.primaryConnection
+        count("primary", "readWrite") == 1
+        !ReadReplicaRoutingContext.isRoutedToReplica()
+    }
+
+    def "Read only transactions use the replica while it lags less than tolerated"() {
+        ReadReplicaRoutingContext.set("getJob")
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true)
+
+        when:
+        def connection = this.dataSource.getConnection()
+
+        then:
+        1 * this.lagMonitor.getLag() >> Optional.of(Duration.ofSeconds(1))
+        connection == this.replicaConnection
+        count("replica", "withinLag") == 1
+        ReadReplicaRoutingContext.isRoutedToReplica()
+
+        when:
+        connection = this.dataSource.getConnection()
+
+        then:
+        1 * this.lagMonitor.getLag() >> Optional.of(Duration.ofSeconds(30))
+        connection == this.primaryConnection
+        count("primary", "lagExceeded") == 1
+
+        when:
+        connection = this.dataSource.getConnection()
+
+        then:
+        1 * this.lagMonitor.getLag() >> Optional.empty()
+        connection == this.primaryConnection
+        count("primary", "lagUnknown") == 1
+    }
+
+    def "Staleness tolerance can be configured per method"() {
+        ReadReplicaRoutingContext.set("findJobs")
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true)
+
+        when:
+        def connection = this.dataSource.getConnection()
+
+        then:
+        1 * this.lagMonitor.getLag() >> Optional.of(Duration.ofSeconds(30))
+        connection == this.replicaConnection
+        count("replica", "withinLag") == 1
+    }
+
+    private double count(final String pool, final String reason) {
+        def counter = this.registry
+            .find("genie.data.routing.connections.counter")
+            .tags("pool", pool, "reason", reason)
+            .counter()
+        return counter == null ? 0 : counter.count()
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ *  Copyright 2018 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.routing
+
+import com.netflix.genie.web.properties.DataReplicaProperties
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.ResultSetMetaData
+import java.sql.SQLException
+import java.sql.Statement
+import java.time.Duration
+
+/**
+ * Specifications for {@link ReplicaLagMonitor}.
+ *
+ * @author agent
+ */
+class ReplicaLagMonitorSpec extends Specification {
+
+    static final String LAG_QUERY = "SELECT lag"
+
+    DataSource dataSource
+    Connection connection
+    Statement statement
+    ResultSet resultSet
+    TaskScheduler taskScheduler
+    SimpleMeterRegistry registry
+    DataReplicaProperties properties
+
+    def setup() {
+        this.resultSet = Mock(ResultSet) {
+            getMetaData() >> Mock(ResultSetMetaData) {
+                getColumnCount() >> 1
+            }
+        }
+        this.statement = Mock(Statement)
+        this.connection = Mock(Connection) {
+            createStatement() >> this.statement
+        }
+        this.dataSource = Mock(DataSource) {
+            getConnection() >> this.connection
+        }
+        this.taskScheduler = Mock(TaskScheduler)
+        this.registry = new SimpleMeterRegistry()
+        this.properties = new DataReplicaProperties()
+    }
+
+    def "Without a lag query the lag is never known"() {
+        when:
+        def monitor = new ReplicaLagMonitor(this.dataSource, this.properties, this.taskScheduler, this.registry)
+
+        then:
+        0 * this.taskScheduler.scheduleWithFixedDelay(_ as Runnable, _ as Duration)
+        !monitor.getLag().isPresent()
+        Double.isNaN(gauge())
+    }
+
+    def "Lag is measured periodically"() {
+        this.properties.setLagQuery(LAG_QUERY)
+        this.properties.setLagCheckInterval(Duration.ofSeconds(3))
+
+        when:
+        def monitor = new ReplicaLagMonitor(this.dataSource, this.properties, this.taskScheduler, this.registry)
+
+        then:
+        1 * this.taskScheduler.scheduleWithFixedDelay(_ as Runnable, Duration.ofSeconds(3))
+        !monitor.getLag().isPresent()
+        Double.isNaN(gauge())
+
+        when:
+        monitor.measure()
+
+        then:
+        1 * this.statement.executeQuery(LAG_QUERY) >> this.resultSet
+        2 * this.resultSet.next() >>> [true, false]
+        1 * this.resultSet.getDouble(1) >> 2.5d
+        monitor.getLag() == Optional.of(Duration.ofMillis(2_500))
+        gauge() == 2.5d
+
+        when: "The replica reports no lag, e.g. replication stopped"
+        monitor.measure()
+
+        then:
+        1 * this.statement.executeQuery(LAG_QUERY) >> this.resultSet
+        2 * this.resultSet.next() >>> [true, false]
+        1 * this.resultSet.getDouble(1) >> 0.0d
+        1 * this.resultSet.wasNull() >> true
+        !monitor.getLag().isPresent()
+
+        when:
+        monitor.measure()
+
+        then:
+        1 * this.statement.executeQuery(LAG_QUERY) >> { throw new SQLException("unreachable") }
+        !monitor.getLag().isPresent()
+        Double.isNaN(gauge())
+    }
+
+    private double gauge() {
+        return this.registry.find("genie.data.replica.lag.gauge").gauge().value()
+    }
+}
@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.events
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.springframework.beans.factory.BeanFactory
 import org.springframework.context.ApplicationEvent
 import org.springframework.context.ApplicationListener
@@ -33,7 +34,8 @@ class GenieEventBusImplSpec extends Specification {
 
     def syncMulticaster = Mock(SimpleApplicationEventMulticaster)
     def asyncMulticaster = Mock(SimpleApplicationEventMulticaster)
-    def eventBus = new GenieEventBusImpl(this.syncMulticaster, this.asyncMulticaster)
+    def registry = new SimpleMeterRegistry()
+    def eventBus = new GenieEventBusImpl(this.syncMulticaster, this.asyncMulticaster, this.registry)
 
     def "Can publish synchronous event"() {
         def event = Mock(ApplicationEvent)
@@ -44,6 +46,11 @@ class GenieEventBusImplSpec extends Specification {
         then:
         1 * this.syncMulticaster.multicastEvent(event)
         0 * this.asyncMulticaster.multicastEvent(event)
+        this.registry
+            .get(GenieEventBusImpl.PUBLISH_TIMER_NAME)
+            .tag(GenieEventBusImpl.MODE_TAG, "sync")
+            .timer()
+            .count() == 1
     }
 
     def "Can publish asynchronous event"() {
@@ -55,6 +62,23 @@ class GenieEventBusImplSpec extends Specification {
         then:
         0 * this.syncMulticaster.multicastEvent(event)
         1 * this.asyncMulticaster.multicastEvent(event)
+        this.registry
+            .get(GenieEventBusImpl.PUBLISH_TIMER_NAME)
+            .tag(GenieEventBusImpl.MODE_TAG, "async")
+            .timer()
+            .count() == 1
+    }
+
+    def "Publication is timed when the multicaster fails"() {
+        def event = Mock(ApplicationEvent)
+
+        when:
+        this.eventBus.publishSynchronousEvent(event)
+
+        then:
+        1 * this.syncMulticaster.multicastEvent(event) >> { throw new IllegalStateException("test") }
+        thrown(IllegalStateException)
+        this.registry.get(GenieEventBusImpl.PUBLISH_TIMER_NAME).timer().count() == 1
     }
 
     def "Can add application listener"() {
@@ -0,0 +1,231 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events
+
+import com.netflix.genie.common.external.dtos.v4.JobStatus
+import com.netflix.genie.web.properties.AsyncEventPartitioningProperties
+import com.netflix.genie.web.util.MetricsConstants
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.context.ApplicationContext
+import org.springframework.context.ApplicationEvent
+import org.springframework.context.ApplicationListener
+import org.springframework.context.event.ContextRefreshedEvent
+import org.springframework.core.task.TaskExecutor
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+/**
+ * Specifications for {@link PartitionedEventMulticaster}.
+ *
+ * @author agent
+ */
+class PartitionedEventMulticasterSpec extends Specification {
+    TaskExecutor sharedExecutor
+    AsyncEventPartitioningProperties properties
+    MeterRegistry registry
+
+    def setup() {
+        this.sharedExecutor = Mock(TaskExecutor)
+        this.properties = new AsyncEventPartitioningProperties()
+        this.registry = new SimpleMeterRegistry()
+    }
+
+    def "Events are dispatched to the shared executor when partitioning is disabled"() {
+        def multicaster = new PartitionedEventMulticaster(this.sharedExecutor, this.properties, this.registry)
+        def listener = Mock(ApplicationListener)
+        def event = new JobStateChangeEvent("foo", JobStatus.INIT, JobStatus.RUNNING, this)
+        multicaster.addApplicationListener(listener)
+        Runnable task
+
+        when:
+        multicaster.multicastEvent(event)
+
+        then:
+        1 * this.sharedExecutor.execute(_ as Runnable) >> { args -> task = args[0] as Runnable }
+        0 * listener.onApplicationEvent(_)
+
+        when:
+        task.run()
+
+        then:
+        1 * listener.onApplicationEvent(event)
+        this.registry
+            .get(PartitionedEventMulticaster.QUEUE_TIMER_NAME)
+            .tag(PartitionedEventMulticaster.EVENT_TYPE_TAG, JobStateChangeEvent.getSimpleName())
+            .tag(PartitionedEventMulticaster.PARTITIONED_TAG, "false")
+            .timer()
+            .count() == 1
+        this.registry
+            .get(PartitionedEventMulticaster.HANDLING_TIMER_NAME)
+            .tag(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.SUCCESS)
+            .timer()
+            .count() == 1
+    }
+
+    def "Listener failures are recorded and not propagated"() {
+        def multicaster = new PartitionedEventMulticaster(this.sharedExecutor, this.properties, this.registry)
+        def listener = Mock(ApplicationListener) {
+            onApplicationEvent(_) >> { throw new IllegalStateException("test") }
+        }
+        multicaster.addApplicationListener(listener)
+
+        when:
+        multicaster.multicastEvent(new ContextRefreshedEvent(Mock(ApplicationContext)))
+
+        then:
+        1 * this.sharedExecutor.execute(_ as Runnable) >> { args -> (args[0] as Runnable).run() }
+        noExceptionThrown()
+        this.registry
+            .get(PartitionedEventMulticaster.HANDLING_TIMER_NAME)
+            .tag(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.FAILURE)
+            .tag(MetricsConstants.TagKeys.EXCEPTION_CLASS, IllegalStateException.getCanonicalName())
+            .timer()
+            .count() == 1
+    }
+
+    def "Job events are delivered in order to each listener when partitioned"() {
+        this.properties.setEnabled(true)
+        this.properties.setPartitions(4)
+        def multicaster = new PartitionedEventMulticaster(this.sharedExecutor, this.properties, this.registry)
+        def eventCount = 200
+        def received1 = new CopyOnWriteArrayList<ApplicationEvent>()
+        def received2 = new CopyOnWriteArrayList<ApplicationEvent>()
+        def latch = new CountDownLatch(2 * eventCount)
+        [received1, received2].each { received ->
+            multicaster.addApplicationListener(
+                { ApplicationEvent e ->
+                    received.add(e)
+                    latch.countDown()
+                } as ApplicationListener
+            )
+        }
+        def published = (1..eventCount).collect {
+            new JobStateChangeEvent("job" + (it % 3), JobStatus.INIT, JobStatus.RUNNING, this)
+        }
+
+        when:
+        published.each { multicaster.multicastEvent(it) }
+
+        then:
+        0 * this.sharedExecutor.execute(_)
+        latch.await(10, TimeUnit.SECONDS)
+        ["job0", "job1", "job2"].each { jobId ->
+            def expected = published.findAll { it.getJobId() == jobId }
+            assert received1.findAll { (it as JobStateChangeEvent).getJobId() == jobId } == expected
+            assert received2.findAll { (it as JobStateChangeEvent).getJobId() == jobId } == expected
+        }
+        this.registry
+            .get(PartitionedEventMulticaster.QUEUE_TIMER_NAME)
+            .tag(PartitionedEventMulticaster.PARTITIONED_TAG, "true")
+            .timers()
+            .sum { it.count() } == 2 * eventCount
+
+        cleanup:
+        multicaster.shutdown()
+    }
+
+    def "Saturated partitions drop events rather than make the publisher wait"() {
+        this.properties.setEnabled(true)
+        this.properties.setPartitions(1)
+        this.properties.setQueueCapacity(1)
+        def multicaster = new PartitionedEventMulticaster(this.sharedExecutor, this.properties, this.registry)
+        def release = new CountDownLatch(1)
+        def publisherThread = Thread.currentThread()
+        def handlingThreads = new CopyOnWriteArrayList<Thread>()
+        def handledEvents = new CopyOnWriteArrayList<JobStatus>()
+        def handled = new CountDownLatch(2)
+        def started = new CountDownLatch(1)
+        multicaster.addApplicationListener(
+            { ApplicationEvent e ->
+                started.countDown()
+                handlingThreads.add(Thread.currentThread())
+                handledEvents.add(((JobStateChangeEvent) e).getNewStatus())
+                release.await(10, TimeUnit.SECONDS)
+                handled.countDown()
+            } as ApplicationListener
+        )
+
+        when: "The partition thread is busy and its queue is full"
+        multicaster.multicastEvent(new JobStateChangeEvent("foo", JobStatus.RESERVED, JobStatus.INIT, this))
+        started.await(10, TimeUnit.SECONDS)
+        multicaster.multicastEvent(new JobStateChangeEvent("foo", JobStatus.INIT, JobStatus.RUNNING, this))
+
+        then:
+        this.registry.get(PartitionedEventMulticaster.BACKLOG_GAUGE_NAME).gauge().value() == 1
+
+        when:
+        multicaster.multicastEvent(new JobStateChangeEvent("foo", JobStatus.RUNNING, JobStatus.SUCCEEDED, this))
+
+        then: "The publisher returns right away and the event is dropped"
+        this.registry
+            .get(PartitionedEventMulticaster.DROPPED_COUNTER_NAME)
+            .tag(PartitionedEventMulticaster.EVENT_TYPE_TAG, JobStateChangeEvent.getSimpleName())
+            .counter()
+            .count() == 1
+
+        when:
+        release.countDown()
+
+        then:
+        handled.await(10, TimeUnit.SECONDS)
+        handledEvents == [JobStatus.INIT, JobStatus.RUNNING]
+        !handlingThreads.contains(publisherThread)
+
+        cleanup:
+        release.countDown()
+        multicaster.shutdown()
+    }
+
+    def "A saturated listener does not delay the other listeners"() {
+        this.properties.setEnabled(true)
+        this.properties.setPartitions(1)
+        this.properties.setQueueCapacity(1)
+        def multicaster = new PartitionedEventMulticaster(this.sharedExecutor, this.properties, this.registry)
+        def release = new CountDownLatch(1)
+        def eventCount = 5
+        def fastHandled = new LinkedBlockingQueue<ApplicationEvent>()
+        multicaster.addApplicationListener(
+            { ApplicationEvent e -> release.await(10, TimeUnit.SECONDS) } as ApplicationListener
+        )
+        multicaster.addApplicationListener({ ApplicationEvent e -> fastHandled.add(e) } as ApplicationListener)
+
+        when:
+        def delivered = (1..eventCount).collect {
+            multicaster.multicastEvent(new JobStateChangeEvent("foo", JobStatus.INIT, JobStatus.RUNNING, this))
+            fastHandled.poll(10, TimeUnit.SECONDS)
+        }
+
+        then: "Every event reached the fast listener while the slow one dropped what didn't fit in its queue"
+        delivered.every { it != null }
+        def dropped = this.registry
+            .find(PartitionedEventMulticaster.DROPPED_COUNTER_NAME)
+            .counters()
+            .sum { it.count() }
+        dropped >= eventCount - 2
+        dropped <= eventCount - 1
+
+        cleanup:
+        release.countDown()
+        multicaster.shutdown()
+    }
+}
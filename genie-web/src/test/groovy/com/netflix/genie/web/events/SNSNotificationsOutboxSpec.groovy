@@ -0,0 +1,293 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events
+
+import com.amazonaws.services.sns.AmazonSNS
+import com.amazonaws.services.sns.model.InternalErrorException
+import com.amazonaws.services.sns.model.PublishResult
+import com.fasterxml.jackson.databind.JsonMappingException
+import com.netflix.genie.common.external.dtos.v4.Criterion
+import com.netflix.genie.common.external.dtos.v4.JobStatus
+import com.netflix.genie.common.external.util.GenieObjectMapper
+import com.netflix.genie.common.internal.dtos.v4.FinishedJob
+import com.netflix.genie.web.data.services.DataServices
+import com.netflix.genie.web.data.services.PersistenceService
+import com.netflix.genie.web.properties.SNSNotificationsOutboxProperties
+import com.netflix.genie.web.properties.SNSNotificationsProperties
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.ScheduledFuture
+
+/**
+ * Specifications for {@link SNSNotificationsOutbox}.
+ *
+ * @author agent
+ */
+class SNSNotificationsOutboxSpec extends Specification {
+    static final AbstractSNSPublisher.EventType TYPE = AbstractSNSPublisher.EventType.JOB_STATUS_CHANGE
+
+    AmazonSNS snsClient
+    SNSNotificationsOutboxProperties properties
+    TaskScheduler taskScheduler
+    ScheduledFuture flushTask
+    MeterRegistry registry
+    String topic
+
+    def setup() {
+        this.snsClient = Mock(AmazonSNS)
+        this.properties = new SNSNotificationsOutboxProperties()
+        this.properties.setBatchSize(2)
+        this.properties.setCapacity(3)
+        this.properties.setRetryBackOff(Duration.ZERO)
+        this.flushTask = Mock(ScheduledFuture)
+        this.taskScheduler = Mock(TaskScheduler) {
+            scheduleWithFixedDelay(_ as Runnable, _ as Duration) >> this.flushTask
+        }
+        this.registry = new SimpleMeterRegistry()
+        this.topic = UUID.randomUUID().toString()
+    }
+
+    def "Notifications are published asynchronously in batches"() {
+        when:
+        SNSNotificationsOutbox outbox = this.createOutbox()
+        outbox.offer(TYPE, this.topic, { "m1" })
+        outbox.offer(TYPE, this.topic, { "m2" })
+        outbox.offer(TYPE, this.topic, { "m3" })
+
+        then:
+        1 * this.taskScheduler.scheduleWithFixedDelay(_ as Runnable, this.properties.getFlushInterval()) >> flushTask
+        0 * this.snsClient.publish(_, _)
+        this.registry.get("genie.notifications.sns.outbox.size.gauge").gauge().value() == 3
+
+        when:
+        outbox.flush()
+
+        then: "The notifications of a batch are published concurrently"
+        1 * this.snsClient.publish(this.topic, "m1") >> new PublishResult()
+        1 * this.snsClient.publish(this.topic, "m2") >> new PublishResult()
+        1 * this.snsClient.publish(this.topic, "m3") >> new PublishResult()
+        this.registry.get("genie.notifications.sns.outbox.size.gauge").gauge().value() == 0
+        this.registry.get("genie.notifications.sns.publish.counter").tag("status", "success").counter().count() == 3
+        this.registry.get("genie.notifications.sns.outbox.wait.timer").timer().count() == 3
+    }
+
+    def "Failed notifications are retried, then dropped"() {
+        this.properties.setMaxAttempts(2)
+        SNSNotificationsOutbox outbox = this.createOutbox()
+        int messageCreations = 0
+
+        when:
+        outbox.offer(TYPE, this.topic, { messageCreations++; "m1" })
+        outbox.offer(TYPE, this.topic, { "m2" })
+        outbox.flush()
+
+        then: "Retries wait for the next flush"
+        1 * this.snsClient.publish(this.topic, "m1") >> { throw new InternalErrorException("...") }
+        1 * this.snsClient.publish(this.topic, "m2") >> { throw new InternalErrorException("...") }
+        this.registry.get("genie.notifications.sns.outbox.size.gauge").gauge().value() == 2
+
+        when:
+        outbox.flush()
+
+        then:
+        1 * this.snsClient.publish(this.topic, "m1") >> new PublishResult()
+        1 * this.snsClient.publish(this.topic, "m2") >> { throw new InternalErrorException("...") }
+        messageCreations == 1
+        this.registry.get("genie.notifications.sns.outbox.size.gauge").gauge().value() == 0
+        this.registry.get("genie.notifications.sns.publish.counter").tag("status", "failure").counter().count() == 3
+        this.registry
+            .get("genie.notifications.sns.outbox.dropped.counter")
+            .tag("reason", "attemptsExhausted")
+            .counter()
+            .count() == 1
+
+        when:
+        outbox.flush()
+
+        then:
+        0 * this.snsClient.publish(_, _)
+    }
+
+    def "Notifications without message or that fail serialization are not published nor retried"() {
+        SNSNotificationsOutbox outbox = this.createOutbox()
+
+        when:
+        outbox.offer(TYPE, this.topic, { null })
+        outbox.offer(TYPE, this.topic, { throw new JsonMappingException(null, "...") })
+        outbox.flush()
+        outbox.flush()
+
+        then:
+        0 * this.snsClient.publish(_, _)
+        this.registry.get("genie.notifications.sns.outbox.size.gauge").gauge().value() == 0
+        this.registry.get("genie.notifications.sns.publish.counter").tag("status", "failure").counter().count() == 1
+    }
+
+    @Unroll
+    def "When full, drop the #dropPolicy notification"() {
+        this.properties.setDropPolicy(dropPolicy)
+        SNSNotificationsOutbox outbox = this.createOutbox()
+
+        when:
+        def added = (1..4).collect { i -> outbox.offer(TYPE, this.topic, { "m" + i }) }
+        outbox.flush()
+
+        then:
+        added == expectedAdded
+        1 * this.snsClient.publish(this.topic, expectedPublished[0]) >> new PublishResult()
+        1 * this.snsClient.publish(this.topic, expectedPublished[1]) >> new PublishResult()
+        1 * this.snsClient.publish(this.topic, expectedPublished[2]) >> new PublishResult()
+        0 * this.snsClient.publish(_, _)
+        this.registry.get("genie.notifications.sns.outbox.dropped.counter").tag("reason", "full").counter().count() == 1
+
+        where:
+        dropPolicy                                              | expectedAdded             | expectedPublished
+        SNSNotificationsOutboxProperties.DropPolicy.DROP_NEWEST | [true, true, true, false] | ["m1", "m2", "m3"]
+        SNSNotificationsOutboxProperties.DropPolicy.DROP_OLDEST | [true, true, true, true]  | ["m2", "m3", "m4"]
+    }
+
+    @Unroll
+    def "Notifications waiting for a retry count against the capacity with #dropPolicy policy"() {
+        this.properties.setDropPolicy(dropPolicy)
+        this.properties.setRetryBackOff(Duration.ofHours(1))
+        SNSNotificationsOutbox outbox = this.createOutbox()
+
+        when:
+        outbox.offer(TYPE, this.topic, { "m1" })
+        outbox.offer(TYPE, this.topic, { "m2" })
+        outbox.offer(TYPE, this.topic, { "m3" })
+        outbox.flush()
+
+        then:
+        3 * this.snsClient.publish(this.topic, _ as String) >> { throw new InternalErrorException("...") }
+        this.registry.get("genie.notifications.sns.outbox.size.gauge").gauge().value() == 3
+
+        when:
+        def added = outbox.offer(TYPE, this.topic, { "m4" })
+
+        then: "Retrying notifications are never displaced"
+        !added
+        this.registry.get("genie.notifications.sns.outbox.size.gauge").gauge().value() == 3
+        this.registry.get("genie.notifications.sns.outbox.dropped.counter").tag("reason", "full").counter().count() == 1
+
+        where:
+        dropPolicy << SNSNotificationsOutboxProperties.DropPolicy.values()
+    }
+
+    def "Shutdown publishes the notifications left without waiting for retries"() {
+        this.properties.setRetryBackOff(Duration.ofHours(1))
+        SNSNotificationsOutbox outbox = this.createOutbox()
+
+        when:
+        outbox.offer(TYPE, this.topic, { "m1" })
+        outbox.flush()
+
+        then:
+        1 * this.snsClient.publish(this.topic, "m1") >> { throw new InternalErrorException("...") }
+
+        when:
+        outbox.offer(TYPE, this.topic, { "m2" })
+        outbox.shutdown()
+
+        then:
+        1 * this.flushTask.cancel(false)
+        1 * this.snsClient.publish(this.topic, "m1") >> new PublishResult()
+        1 * this.snsClient.publish(this.topic, "m2") >> new PublishResult()
+    }
+
+    def "Notifications failing to publish at shutdown are dropped"() {
+        SNSNotificationsOutbox outbox = this.createOutbox()
+
+        when:
+        outbox.offer(TYPE, this.topic, { "m1" })
+        outbox.offer(TYPE, this.topic, { "m2" })
+        outbox.shutdown()
+
+        then:
+        1 * this.snsClient.publish(this.topic, "m1") >> { throw new InternalErrorException("...") }
+        1 * this.snsClient.publish(this.topic, "m2") >> new PublishResult()
+        this.registry.get("genie.notifications.sns.outbox.size.gauge").gauge().value() == 0
+        this.registry
+            .get("genie.notifications.sns.outbox.dropped.counter")
+            .tag("reason", "shutdown")
+            .counter()
+            .count() == 1
+    }
+
+    def "Publishers defer work to the outbox"() {
+        SNSNotificationsOutbox outbox = this.createOutbox()
+        SNSNotificationsProperties snsProperties = new SNSNotificationsProperties()
+        snsProperties.setEnabled(true)
+        snsProperties.setTopicARN(this.topic)
+        PersistenceService persistenceService = Mock(PersistenceService)
+        DataServices dataServices = Mock(DataServices) {
+            getPersistenceService() >> persistenceService
+        }
+        JobFinishedSNSPublisher publisher = new JobFinishedSNSPublisher(
+            this.snsClient,
+            snsProperties,
+            dataServices,
+            this.registry,
+            GenieObjectMapper.getMapper(),
+            outbox
+        )
+        String jobId = UUID.randomUUID().toString()
+        FinishedJob finishedJob = Mock(FinishedJob) {
+            getName() >> "name"
+            getUser() >> "user"
+            getVersion() >> "version"
+            getCommandCriterion() >> new Criterion.Builder().withName("foo").build()
+            getCreated() >> Instant.now()
+            getStatus() >> JobStatus.SUCCEEDED
+            getTags() >> []
+            getClusterCriteria() >> []
+            getApplications() >> []
+            getCommandArgs() >> []
+            _ >> Optional.empty()
+        }
+
+        when:
+        publisher.onApplicationEvent(new JobStateChangeEvent(jobId, JobStatus.RUNNING, JobStatus.SUCCEEDED, this))
+
+        then: "The job is not loaded on the event publishing thread"
+        0 * persistenceService.getFinishedJob(_)
+        0 * this.snsClient.publish(_, _)
+
+        when:
+        outbox.flush()
+
+        then:
+        1 * persistenceService.getFinishedJob(jobId) >> finishedJob
+        1 * this.snsClient.publish(this.topic, _ as String) >> { args ->
+            def message = GenieObjectMapper.getMapper().readTree(args[1] as String)
+            assert message.get("type").asText() == "JOB_FINISHED"
+            assert message.get("details").get("jobId").asText() == jobId
+            return new PublishResult()
+        }
+    }
+
+    private SNSNotificationsOutbox createOutbox() {
+        return new SNSNotificationsOutbox(this.snsClient, this.properties, this.taskScheduler, this.registry)
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link AsyncEventPartitioningProperties}.
+ *
+ * @author agent
+ */
+class AsyncEventPartitioningPropertiesSpec extends Specification {
+
+    def "Defaults, setters, getters"() {
+        when:
+        def properties = new AsyncEventPartitioningProperties()
+
+        then:
+        !properties.isEnabled()
+        properties.getPartitions() == 8
+        properties.getQueueCapacity() == 1_000
+
+        when:
+        properties.setEnabled(true)
+        properties.setPartitions(2)
+        properties.setQueueCapacity(10)
+
+        then:
+        properties.isEnabled()
+        properties.getPartitions() == 2
+        properties.getQueueCapacity() == 10
+    }
+}
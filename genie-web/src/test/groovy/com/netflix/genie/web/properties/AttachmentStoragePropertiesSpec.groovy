@@ -0,0 +1,47 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specifications for {@link AttachmentStorageProperties}.
+ *
+ * @author agent
+ */
+class AttachmentStoragePropertiesSpec extends Specification {
+
+    def "Defaults, setters, getters"() {
+        when:
+        def properties = new AttachmentStorageProperties()
+
+        then:
+        properties.isContentAddressed()
+        properties.getBlobCleanupInterval() == Duration.ofMinutes(10)
+
+        when:
+        properties.setContentAddressed(false)
+        properties.setBlobCleanupInterval(Duration.ofMinutes(1))
+
+        then:
+        !properties.isContentAddressed()
+        properties.getBlobCleanupInterval() == Duration.ofMinutes(1)
+    }
+}
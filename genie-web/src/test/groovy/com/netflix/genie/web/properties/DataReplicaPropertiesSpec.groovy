@@ -0,0 +1,70 @@
+/*
+ *
+ *  Copyright 2018 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specifications for {@link DataReplicaProperties}.
+ *
+ * @author agent
+ */
+class DataReplicaPropertiesSpec extends Specification {
+
+    def "Defaults, setters, getters"() {
+        when:
+        def properties = new DataReplicaProperties()
+
+        then:
+        !properties.isEnabled()
+        properties.getUrl() == null
+        properties.getUsername() == null
+        properties.getPassword() == null
+        properties.getDriverClassName() == null
+        properties.getLagQuery() == null
+        properties.getLagCheckInterval() == Duration.ofSeconds(5)
+        properties.getMaxLag() == Duration.ofSeconds(30)
+        properties.getMethodMaxLag().isEmpty()
+        properties.getMaxLag("findJobs") == Duration.ofSeconds(30)
+
+        when:
+        properties.setEnabled(true)
+        properties.setUrl("jdbc:mysql://replica:3306/genie")
+        properties.setUsername("reader")
+        properties.setPassword("secret")
+        properties.setDriverClassName("org.mariadb.jdbc.Driver")
+        properties.setLagQuery("SELECT 0")
+        properties.setLagCheckInterval(Duration.ofSeconds(1))
+        properties.setMaxLag(Duration.ofSeconds(2))
+        properties.setMethodMaxLag(["findJobs": Duration.ofMinutes(1)])
+
+        then:
+        properties.isEnabled()
+        properties.getUrl() == "jdbc:mysql://replica:3306/genie"
+        properties.getUsername() == "reader"
+        properties.getPassword() == "secret"
+        properties.getDriverClassName() == "org.mariadb.jdbc.Driver"
+        properties.getLagQuery() == "SELECT 0"
+        properties.getLagCheckInterval() == Duration.ofSeconds(1)
+        properties.getMaxLag() == Duration.ofSeconds(2)
+        properties.getMaxLag("findJobs") == Duration.ofMinutes(1)
+        properties.getMaxLag("findClusters") == Duration.ofSeconds(2)
+    }
+}
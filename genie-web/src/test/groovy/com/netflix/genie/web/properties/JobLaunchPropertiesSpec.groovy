@@ -0,0 +1,56 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specifications for {@link JobLaunchProperties}.
+ *
+ * @author agent
+ */
+class JobLaunchPropertiesSpec extends Specification {
+
+    def "Defaults, setters, getters"() {
+        when:
+        def properties = new JobLaunchProperties()
+
+        then:
+        !properties.isAsyncEnabled()
+        properties.getAsyncThreads() == 8
+        properties.getAsyncMaxPending() == 1_000
+        properties.getAsyncThreadNamePrefix() == "genie-job-launch-"
+        properties.getAsyncShutdownTimeout() == Duration.ofSeconds(30)
+
+        when:
+        properties.setAsyncEnabled(true)
+        properties.setAsyncThreads(2)
+        properties.setAsyncMaxPending(10)
+        properties.setAsyncThreadNamePrefix("foo-")
+        properties.setAsyncShutdownTimeout(Duration.ofSeconds(5))
+
+        then:
+        properties.isAsyncEnabled()
+        properties.getAsyncThreads() == 2
+        properties.getAsyncMaxPending() == 10
+        properties.getAsyncThreadNamePrefix() == "foo-"
+        properties.getAsyncShutdownTimeout() == Duration.ofSeconds(5)
+    }
+}
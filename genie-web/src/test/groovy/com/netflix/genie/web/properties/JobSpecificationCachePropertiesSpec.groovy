@@ -0,0 +1,50 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specifications for {@link JobSpecificationCacheProperties}.
+ *
+ * @author agent
+ */
+class JobSpecificationCachePropertiesSpec extends Specification {
+
+    def "Defaults, setters, getters"() {
+        when:
+        def properties = new JobSpecificationCacheProperties()
+
+        then:
+        properties.isEnabled()
+        properties.getExpiration() == Duration.ofMinutes(10)
+        properties.getMaxSize() == 10_000L
+
+        when:
+        properties.setEnabled(false)
+        properties.setExpiration(Duration.ofSeconds(30))
+        properties.setMaxSize(100L)
+
+        then:
+        !properties.isEnabled()
+        properties.getExpiration() == Duration.ofSeconds(30)
+        properties.getMaxSize() == 100L
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specifications for {@link SNSNotificationsOutboxProperties}.
+ *
+ * @author agent
+ */
+class SNSNotificationsOutboxPropertiesSpec extends Specification {
+
+    def "Defaults, setters, getters"() {
+        when:
+        def properties = new SNSNotificationsOutboxProperties()
+
+        then:
+        !properties.isEnabled()
+        properties.getCapacity() == 1_000
+        properties.getBatchSize() == 10
+        properties.getPublishThreads() == 4
+        properties.getFlushInterval() == Duration.ofMillis(500)
+        properties.getMaxAttempts() == 3
+        properties.getRetryBackOff() == Duration.ofSeconds(1)
+        properties.getDropPolicy() == SNSNotificationsOutboxProperties.DropPolicy.DROP_NEWEST
+
+        when:
+        properties.setEnabled(true)
+        properties.setCapacity(10)
+        properties.setBatchSize(5)
+        properties.setPublishThreads(2)
+        properties.setFlushInterval(Duration.ofSeconds(2))
+        properties.setMaxAttempts(1)
+        properties.setRetryBackOff(Duration.ofSeconds(3))
+        properties.setDropPolicy(SNSNotificationsOutboxProperties.DropPolicy.DROP_OLDEST)
+
+        then:
+        properties.isEnabled()
+        properties.getCapacity() == 10
+        properties.getBatchSize() == 5
+        properties.getPublishThreads() == 2
+        properties.getFlushInterval() == Duration.ofSeconds(2)
+        properties.getMaxAttempts() == 1
+        properties.getRetryBackOff() == Duration.ofSeconds(3)
+        properties.getDropPolicy() == SNSNotificationsOutboxProperties.DropPolicy.DROP_OLDEST
+    }
+}
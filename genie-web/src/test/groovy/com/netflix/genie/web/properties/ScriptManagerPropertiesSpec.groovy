@@ -32,4 +32,15 @@ class ScriptManagerPropertiesSpec extends Specification {
         this.scriptManagerProperties.setRefreshInterval(5_000L)
         this.scriptManagerProperties.getRefreshInterval() == 5_000L
     }
+
+    def "Inline evaluation"() {
+        expect:
+        !this.scriptManagerProperties.isInlineEvaluation()
+
+        when:
+        this.scriptManagerProperties.setInlineEvaluation(true)
+
+        then:
+        this.scriptManagerProperties.isInlineEvaluation()
+    }
 }
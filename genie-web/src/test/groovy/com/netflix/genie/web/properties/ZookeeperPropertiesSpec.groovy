@@ -28,13 +28,16 @@ class ZookeeperPropertiesSpec extends Specification {
         then:
         zkProperties.getLeaderPath() == "/genie/leader/"
         zkProperties.getDiscoveryPath() == "/genie/agents/"
+        zkProperties.getCapacityPath() == "/genie/capacity/"
 
         when:
         zkProperties.setLeaderPath("/genie/my-cluster/leader/")
         zkProperties.setDiscoveryPath("/genie/my-cluster/agents/")
+        zkProperties.setCapacityPath("/genie/my-cluster/capacity/")
 
         then:
         zkProperties.getLeaderPath() == "/genie/my-cluster/leader/"
         zkProperties.getDiscoveryPath() == "/genie/my-cluster/agents/"
+        zkProperties.getCapacityPath() == "/genie/my-cluster/capacity/"
     }
 }
@@ -0,0 +1,89 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.scripts
+
+import com.netflix.genie.common.external.dtos.v4.Cluster
+import com.netflix.genie.common.external.dtos.v4.ExecutionResourceCriteria
+import com.netflix.genie.common.external.dtos.v4.JobRequest
+import com.netflix.genie.common.external.dtos.v4.JobRequestMetadata
+import com.netflix.genie.web.properties.ClusterSelectorScriptProperties
+import com.netflix.genie.web.selectors.ClusterSelectionContext
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import javax.script.Bindings
+
+/**
+ * Specifications for {@link ClusterSelectorManagedScript}.
+ *
+ * @author agent
+ */
+class ClusterSelectorManagedScriptSpec extends Specification {
+
+    def "Memoized selections resolve to the current instance of the selected cluster"() {
+        def uri = new URI("file:///selector.groovy")
+        def scriptManager = Mock(ScriptManager)
+        def properties = new ClusterSelectorScriptProperties()
+        properties.setSource(uri)
+        properties.setMemoizationEnabled(true)
+        def script = new ClusterSelectorManagedScript(scriptManager, properties, new SimpleMeterRegistry())
+        def jobRequest = Mock(JobRequest) {
+            getMetadata() >> Mock(JobRequestMetadata) {
+                getUser() >> "user"
+            }
+            getCriteria() >> Mock(ExecutionResourceCriteria)
+        }
+        def cluster = Mock(Cluster) {
+            getId() >> "cluster1"
+        }
+        def otherCluster = Mock(Cluster) {
+            getId() >> "cluster2"
+        }
+        def updatedCluster = Mock(Cluster) {
+            getId() >> "cluster1"
+        }
+        def otherUpdatedCluster = Mock(Cluster) {
+            getId() >> "cluster2"
+        }
+        def selection = new ResourceSelectorScriptResult.Builder<Cluster>()
+            .withResource(cluster)
+            .withRationale("because")
+            .build()
+
+        when:
+        def result = script.selectResource(
+            new ClusterSelectionContext("job1", jobRequest, true, null, [cluster, otherCluster] as Set)
+        )
+
+        then:
+        _ * scriptManager.getScriptVersion(uri) >> 1L
+        1 * scriptManager.evaluateScript(uri, _ as Bindings, _ as Long) >> selection
+        result.getResource().get().is(cluster)
+
+        when: "The clusters were updated since"
+        def memoizedResult = script.selectResource(
+            new ClusterSelectionContext("job2", jobRequest, true, null, [updatedCluster, otherUpdatedCluster] as Set)
+        )
+
+        then:
+        _ * scriptManager.getScriptVersion(uri) >> 1L
+        0 * scriptManager.evaluateScript(_, _, _)
+        memoizedResult.getResource().get().is(updatedCluster)
+        memoizedResult.getRationale() == Optional.of("because")
+    }
+}
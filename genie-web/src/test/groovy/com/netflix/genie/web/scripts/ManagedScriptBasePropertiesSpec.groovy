@@ -19,6 +19,8 @@ package com.netflix.genie.web.scripts
 
 import spock.lang.Specification
 
+import java.time.Duration
+
 
 class ManagedScriptBasePropertiesSpec extends Specification {
     TestProperties testProperties
@@ -32,16 +34,25 @@ class ManagedScriptBasePropertiesSpec extends Specification {
         this.testProperties.getSource() == null
         this.testProperties.getTimeout() == 5_000L
         this.testProperties.isAutoLoadEnabled()
+        !this.testProperties.isMemoizationEnabled()
+        this.testProperties.getMemoizationTtl() == Duration.ofMinutes(1)
+        this.testProperties.getMemoizationMaxSize() == 1_000L
 
         when:
         this.testProperties.setSource(new URI("file:///foo.js"))
         this.testProperties.setTimeout(333L)
         this.testProperties.setAutoLoadEnabled(false)
+        this.testProperties.setMemoizationEnabled(true)
+        this.testProperties.setMemoizationTtl(Duration.ofSeconds(10))
+        this.testProperties.setMemoizationMaxSize(10L)
 
         then:
         this.testProperties.getSource() != null
         this.testProperties.getTimeout() == 333L
         !this.testProperties.isAutoLoadEnabled()
+        this.testProperties.isMemoizationEnabled()
+        this.testProperties.getMemoizationTtl() == Duration.ofSeconds(10)
+        this.testProperties.getMemoizationMaxSize() == 10L
     }
 
     private static class TestProperties extends ManagedScriptBaseProperties {
@@ -18,8 +18,10 @@
 package com.netflix.genie.web.scripts
 
 import com.google.common.collect.ImmutableMap
+import com.netflix.genie.web.exceptions.checked.ScriptExecutionException
 import com.netflix.genie.web.exceptions.checked.ScriptNotConfiguredException
 import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import spock.lang.Specification
 
 import javax.script.Bindings
@@ -88,6 +90,75 @@ class ManagedScriptSpec extends Specification {
         returned == result
     }
 
+    def "Evaluate Script with memoization"() {
+        def parameters = ImmutableMap.of("x", "y")
+        def uri = new URI("file:///foo.js")
+        def registry = new SimpleMeterRegistry()
+        this.properties.setSource(uri)
+        this.properties.setMemoizationEnabled(true)
+        def memoizingScript = new TestScript(this.scriptManager, this.properties, registry)
+
+        when: "Memoization is disabled"
+        this.properties.setMemoizationEnabled(false)
+        memoizingScript.evaluateScript(parameters, { throw new IllegalStateException("Unexpected") })
+        memoizingScript.evaluateScript(parameters, { throw new IllegalStateException("Unexpected") })
+
+        then: "Every invocation evaluates the script"
+        2 * this.scriptManager.evaluateScript(uri, _ as Bindings, _ as Long) >> "foo"
+
+        when: "Memoization is enabled"
+        this.properties.setMemoizationEnabled(true)
+        def result1 = memoizingScript.evaluateScript(parameters, { "key1" })
+        def result2 = memoizingScript.evaluateScript(parameters, { "key1" })
+        def result3 = memoizingScript.evaluateScript(parameters, { "key2" })
+        def result4 = memoizingScript.evaluateScript(parameters, { "key2" })
+
+        then: "The script is evaluated once per key, including null results"
+        _ * this.scriptManager.getScriptVersion(uri) >> 1L
+        1 * this.scriptManager.evaluateScript(uri, _ as Bindings, _ as Long) >> "bar"
+        1 * this.scriptManager.evaluateScript(uri, _ as Bindings, _ as Long) >> null
+        result1 == "bar"
+        result2 == "bar"
+        result3 == null
+        result4 == null
+        registry
+            .get(ManagedScript.MEMOIZATION_COUNTER_NAME)
+            .tag(ManagedScript.MEMOIZATION_RESULT_TAG, ManagedScript.MEMOIZATION_HIT)
+            .counter()
+            .count() == 2
+        registry
+            .get(ManagedScript.MEMOIZATION_COUNTER_NAME)
+            .tag(ManagedScript.MEMOIZATION_RESULT_TAG, ManagedScript.MEMOIZATION_MISS)
+            .counter()
+            .count() == 2
+
+        when: "Evaluation fails"
+        memoizingScript.evaluateScript(parameters, { "key3" })
+
+        then:
+        _ * this.scriptManager.getScriptVersion(uri) >> 1L
+        1 * this.scriptManager.evaluateScript(uri, _ as Bindings, _ as Long) >> {
+            throw new ScriptExecutionException("...")
+        }
+        thrown(ScriptExecutionException)
+
+        when: "The same key is evaluated again"
+        def result5 = memoizingScript.evaluateScript(parameters, { "key3" })
+
+        then: "Failures are not memoized"
+        _ * this.scriptManager.getScriptVersion(uri) >> 1L
+        1 * this.scriptManager.evaluateScript(uri, _ as Bindings, _ as Long) >> "baz"
+        result5 == "baz"
+
+        when: "The script is reloaded"
+        def result6 = memoizingScript.evaluateScript(parameters, { "key1" })
+
+        then: "Memoized results are discarded"
+        _ * this.scriptManager.getScriptVersion(uri) >> 2L
+        1 * this.scriptManager.evaluateScript(uri, _ as Bindings, _ as Long) >> "qux"
+        result6 == "qux"
+    }
+
     private class TestScript extends ManagedScript {
         TestScript(
             final ScriptManager scriptManager,
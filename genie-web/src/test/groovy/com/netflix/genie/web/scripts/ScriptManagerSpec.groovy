@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.scripts
 
+import com.google.common.hash.Hashing
 import com.netflix.genie.web.exceptions.checked.ScriptExecutionException
 import com.netflix.genie.web.exceptions.checked.ScriptLoadingException
 import com.netflix.genie.web.exceptions.checked.ScriptNotConfiguredException
@@ -34,9 +35,11 @@ import spock.lang.Specification
 import javax.script.Bindings
 import javax.script.Compilable
 import javax.script.CompiledScript
+import javax.script.ScriptContext
 import javax.script.ScriptEngine
 import javax.script.ScriptEngineManager
 import javax.script.ScriptException
+import java.nio.charset.StandardCharsets
 import java.time.Duration
 import java.time.Instant
 import java.util.concurrent.ExecutorService
@@ -49,6 +52,7 @@ import java.util.concurrent.atomic.AtomicReference
 class ScriptManagerSpec extends Specification {
     ScriptManagerProperties scriptManagerProperties
     TaskScheduler taskScheduler
+    TaskScheduler watchdogScheduler
     ExecutorService executorService
     ScriptEngineManager scriptEngineManager
     ResourceLoader resourceLoader
@@ -58,6 +62,7 @@ class ScriptManagerSpec extends Specification {
     void setup() {
         this.scriptManagerProperties = new ScriptManagerProperties()
         this.taskScheduler = Mock(TaskScheduler)
+        this.watchdogScheduler = Mock(TaskScheduler)
         this.executorService = Mock(ExecutorService)
         this.scriptEngineManager = Mock(ScriptEngineManager)
         this.resourceLoader = Mock(ResourceLoader)
@@ -66,6 +71,7 @@ class ScriptManagerSpec extends Specification {
         this.scriptManager = new ScriptManager(
             scriptManagerProperties,
             taskScheduler,
+            watchdogScheduler,
             executorService,
             scriptEngineManager,
             resourceLoader,
@@ -107,7 +113,10 @@ class ScriptManagerSpec extends Specification {
 
         Resource scriptResource = Mock(Resource)
         ScriptEngine engine = Mock(CompilableScriptEngine)
-        InputStream inputStream = Mock(InputStream)
+        byte[] content = "v1".getBytes(StandardCharsets.UTF_8)
+        byte[] updatedContent = "v2".getBytes(StandardCharsets.UTF_8)
+        long version = Hashing.sha256().hashBytes(content).asLong()
+        long updatedVersion = Hashing.sha256().hashBytes(updatedContent).asLong()
         CompiledScript compiledScript = Mock(CompiledScript)
         CompiledScript recompiledScript = Mock(CompiledScript)
 
@@ -133,7 +142,7 @@ class ScriptManagerSpec extends Specification {
         1 * resourceLoader.getResource(scriptUri.toString()) >> scriptResource
         1 * scriptResource.exists() >> true
         1 * scriptEngineManager.getEngineByExtension("js") >> engine
-        1 * scriptResource.getInputStream() >> inputStream
+        1 * scriptResource.getInputStream() >> new ByteArrayInputStream(content)
         1 * engine.compile(_ as Reader) >> compiledScript
         1 * meterRegistry.timer(
             ScriptManager.SCRIPT_LOAD_TIMER_NAME,
@@ -141,6 +150,24 @@ class ScriptManagerSpec extends Specification {
         ) >> timer
         1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
         compiledScript == compiledScriptReference.get()
+        this.scriptManager.getScriptVersion(scriptUri) == version
+
+        when: "Reloading finds the same content"
+        loadScriptTask.run()
+
+        then: "The script is not compiled again and its version is unchanged"
+        1 * resourceLoader.getResource(scriptUri.toString()) >> scriptResource
+        1 * scriptResource.exists() >> true
+        1 * scriptEngineManager.getEngineByExtension("js") >> engine
+        1 * scriptResource.getInputStream() >> new ByteArrayInputStream(content)
+        0 * engine.compile(_)
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_LOAD_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(loadingSuccessTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        compiledScript == compiledScriptReference.get()
+        this.scriptManager.getScriptVersion(scriptUri) == version
 
         when: "Error loading resource"
         loadScriptTask.run()
@@ -167,6 +194,7 @@ class ScriptManagerSpec extends Specification {
         ) >> timer
         1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
         compiledScript == compiledScriptReference.get()
+        this.scriptManager.getScriptVersion(scriptUri) == version
 
         when: "Engine does not exist for extension"
         loadScriptTask.run()
@@ -218,7 +246,7 @@ class ScriptManagerSpec extends Specification {
         1 * resourceLoader.getResource(scriptUri.toString()) >> scriptResource
         1 * scriptResource.exists() >> true
         1 * scriptEngineManager.getEngineByExtension("js") >> engine
-        1 * scriptResource.getInputStream() >> inputStream
+        1 * scriptResource.getInputStream() >> new ByteArrayInputStream(updatedContent)
         1 * engine.compile(_ as Reader) >> { throw new ScriptException("...") }
         1 * meterRegistry.timer(
             ScriptManager.SCRIPT_LOAD_TIMER_NAME,
@@ -226,6 +254,7 @@ class ScriptManagerSpec extends Specification {
         ) >> timer
         1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
         compiledScript == compiledScriptReference.get()
+        this.scriptManager.getScriptVersion(scriptUri) == version
 
         when: "Loading succeeds and replaces previously compiled script"
         loadScriptTask.run()
@@ -234,7 +263,7 @@ class ScriptManagerSpec extends Specification {
         1 * resourceLoader.getResource(scriptUri.toString()) >> scriptResource
         1 * scriptResource.exists() >> true
         1 * scriptEngineManager.getEngineByExtension("js") >> engine
-        1 * scriptResource.getInputStream() >> inputStream
+        1 * scriptResource.getInputStream() >> new ByteArrayInputStream(updatedContent)
         1 * engine.compile(_ as Reader) >> recompiledScript
         1 * meterRegistry.timer(
             ScriptManager.SCRIPT_LOAD_TIMER_NAME,
@@ -242,6 +271,7 @@ class ScriptManagerSpec extends Specification {
         ) >> timer
         1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
         recompiledScript == compiledScriptReference.get()
+        this.scriptManager.getScriptVersion(scriptUri) == updatedVersion
     }
 
     def "LoadScriptTask -- script with no extension"() {
@@ -365,6 +395,83 @@ class ScriptManagerSpec extends Specification {
         result == evaluationResult
     }
 
+    def "evaluateScript inline"() {
+        URI scriptUri = new URI("s3://genie/scripts/myscript.groovy")
+        CompiledScript compiledScript = Mock(CompiledScript)
+        Object evaluationResult = new Object()
+        Timer timer = Mock(Timer)
+        Bindings bindings = Mock(Bindings)
+        long timeout = 5_000L
+        ScheduledFuture watchdogFuture = Mock(ScheduledFuture)
+        Runnable watchdog
+        ScriptContext firstContext
+
+        Set<Tag> evalSuccessTags = MetricsUtils.newSuccessTagsSet()
+        Set<Tag> evalTimeoutTags = MetricsUtils.newFailureTagsSetForException(new TimeoutException("..."))
+        Set<Tag> evalErrorTags = MetricsUtils.newFailureTagsSetForException(new ScriptException("..."))
+
+        this.scriptManagerProperties.setInlineEvaluation(true)
+        this.scriptManager.scriptsMap.put(scriptUri, new AtomicReference<>(compiledScript))
+
+        when: "Evaluation completes in time"
+        def result = this.scriptManager.evaluateScript(scriptUri, bindings, timeout)
+
+        then: "It runs on the calling thread"
+        0 * executorService.submit(_)
+        0 * taskScheduler.schedule(_, _)
+        1 * watchdogScheduler.schedule(_ as Runnable, _ as Instant) >> watchdogFuture
+        1 * compiledScript.eval(_ as ScriptContext) >> { args ->
+            firstContext = args[0] as ScriptContext
+            assert firstContext.getBindings(ScriptContext.ENGINE_SCOPE) == bindings
+            return evaluationResult
+        }
+        1 * watchdogFuture.cancel(false)
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_EVALUATE_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(evalSuccessTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        result == evaluationResult
+        firstContext.getBindings(ScriptContext.ENGINE_SCOPE) != bindings
+
+        when: "The watchdog fires but the script ignores the interruption"
+        this.scriptManager.evaluateScript(scriptUri, bindings, timeout)
+
+        then: "The result is discarded and the interrupt flag does not leak"
+        1 * watchdogScheduler.schedule(_ as Runnable, _ as Instant) >> { args ->
+            watchdog = args[0] as Runnable
+            return watchdogFuture
+        }
+        1 * compiledScript.eval(_ as ScriptContext) >> { args ->
+            assert args[0].is(firstContext)
+            watchdog.run()
+            return evaluationResult
+        }
+        1 * watchdogFuture.cancel(false)
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_EVALUATE_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(evalTimeoutTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        def e = thrown(ScriptExecutionException)
+        e.getCause() instanceof TimeoutException
+        !Thread.currentThread().isInterrupted()
+
+        when: "The script fails"
+        this.scriptManager.evaluateScript(scriptUri, bindings, timeout)
+
+        then:
+        1 * watchdogScheduler.schedule(_ as Runnable, _ as Instant) >> watchdogFuture
+        1 * compiledScript.eval(_ as ScriptContext) >> { throw new ScriptException("...") }
+        1 * watchdogFuture.cancel(false)
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_EVALUATE_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(evalErrorTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        thrown(ScriptExecutionException)
+    }
+
     abstract class CompilableScriptEngine implements ScriptEngine, Compilable {
     }
 
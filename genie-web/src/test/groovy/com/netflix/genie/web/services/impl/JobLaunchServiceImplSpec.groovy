@@ -18,6 +18,8 @@
 package com.netflix.genie.web.services.impl
 
 import com.netflix.genie.common.external.dtos.v4.ArchiveStatus
+import com.netflix.genie.common.external.dtos.v4.JobMetadata
+import com.netflix.genie.common.external.dtos.v4.JobRequest
 import com.netflix.genie.common.external.dtos.v4.JobStatus
 import com.netflix.genie.common.internal.exceptions.checked.GenieJobResolutionException
 import com.netflix.genie.web.agent.launchers.AgentLauncher
@@ -27,12 +29,19 @@ import com.netflix.genie.web.dtos.JobSubmission
 import com.netflix.genie.web.dtos.ResolvedJob
 import com.netflix.genie.web.exceptions.checked.AgentLaunchException
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException
+import com.netflix.genie.web.exceptions.checked.JobLaunchRejectedException
 import com.netflix.genie.web.exceptions.checked.NotFoundException
 import com.netflix.genie.web.exceptions.checked.SaveAttachmentException
+import com.netflix.genie.web.exceptions.checked.UserJobLimitExceededException
 import com.netflix.genie.web.services.JobResolverService
+import com.netflix.genie.web.services.UserJobQuotaService
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import spock.lang.Specification
 
+import java.time.Duration
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+
 /**
  * Specifications for {@link JobLaunchServiceImpl}.
  *
@@ -171,4 +180,279 @@ class JobLaunchServiceImplSpec extends Specification {
         0 * persistenceService.updateJobStatus(jobId, JobStatus.ACCEPTED, JobStatus.FAILED, _ as String)
         thrown(AgentLaunchException)
     }
+
+    def "asynchronous launch returns the job id before the job is launched"() {
+        def persistenceService = Mock(PersistenceService)
+        def jobResolverService = Mock(JobResolverService)
+        def agentLauncher = Mock(AgentLauncher)
+        def registry = new SimpleMeterRegistry()
+        def dataServices = Mock(DataServices) {
+            getPersistenceService() >> persistenceService
+        }
+        def tasks = new ArrayList<Runnable>()
+        def executor = { Runnable task -> tasks.add(task) } as Executor
+        def service = new JobLaunchServiceImpl(dataServices, jobResolverService, agentLauncher, registry, executor, 2)
+
+        def jobId1 = UUID.randomUUID().toString()
+        def jobId2 = UUID.randomUUID().toString()
+        def resolvedJob = Mock(ResolvedJob)
+        def jobSubmission = Mock(JobSubmission)
+
+        when:
+        def savedJobId1 = service.launchJob(jobSubmission)
+        def savedJobId2 = service.launchJob(jobSubmission)
+
+        then:
+        2 * persistenceService.saveJobSubmission(jobSubmission) >>> [jobId1, jobId2]
+        0 * jobResolverService.resolveJob(_ as String)
+        0 * agentLauncher.launchAgent(_ as ResolvedJob)
+        savedJobId1 == jobId1
+        savedJobId2 == jobId2
+        tasks.size() == 2
+        registry.get("genie.services.jobLaunch.asyncLaunch.queued.gauge").gauge().value() == 2
+        registry.get("genie.services.jobLaunch.asyncLaunch.pending.gauge").gauge().value() == 2
+
+        when: "Too many launches are pending"
+        service.launchJob(jobSubmission)
+
+        then: "The submission is rejected without being saved"
+        0 * persistenceService.saveJobSubmission(_ as JobSubmission)
+        thrown(JobLaunchRejectedException)
+        registry.get("genie.services.jobLaunch.asyncLaunch.rejected.counter").counter().count() == 1
+
+        when:
+        tasks.get(0).run()
+
+        then:
+        1 * jobResolverService.resolveJob(jobId1) >> resolvedJob
+        1 * persistenceService.updateJobStatus(jobId1, JobStatus.RESOLVED, JobStatus.ACCEPTED, _ as String)
+        1 * agentLauncher.launchAgent(resolvedJob)
+        registry.get("genie.services.jobLaunch.asyncLaunch.queued.gauge").gauge().value() == 1
+        registry.get("genie.services.jobLaunch.asyncLaunch.pending.gauge").gauge().value() == 1
+        registry.get("genie.services.jobLaunch.asyncLaunch.wait.timer").timer().count() == 1
+
+        when: "Resolution fails"
+        tasks.get(1).run()
+
+        then: "The job is marked failed and the error is not propagated"
+        1 * jobResolverService.resolveJob(jobId2) >> {
+            throw new GenieJobResolutionException("fail")
+        }
+        1 * persistenceService.updateJobStatus(jobId2, JobStatus.RESERVED, JobStatus.FAILED, _ as String)
+        1 * persistenceService.updateJobArchiveStatus(jobId2, ArchiveStatus.NO_FILES)
+        0 * agentLauncher.launchAgent(_ as ResolvedJob)
+        noExceptionThrown()
+        registry.get("genie.services.jobLaunch.asyncLaunch.queued.gauge").gauge().value() == 0
+        registry.get("genie.services.jobLaunch.asyncLaunch.pending.gauge").gauge().value() == 0
+        registry.get("genie.services.jobLaunch.asyncLaunch.timer").timers().size() == 2
+    }
+
+    def "asynchronous launch handles errors before the launch is queued"() {
+        def persistenceService = Mock(PersistenceService)
+        def jobResolverService = Mock(JobResolverService)
+        def agentLauncher = Mock(AgentLauncher)
+        def registry = new SimpleMeterRegistry()
+        def dataServices = Mock(DataServices) {
+            getPersistenceService() >> persistenceService
+        }
+        def executor = Mock(Executor)
+        def service = new JobLaunchServiceImpl(dataServices, jobResolverService, agentLauncher, registry, executor, 1)
+
+        def jobId = UUID.randomUUID().toString()
+        def jobSubmission = Mock(JobSubmission)
+
+        when:
+        service.launchJob(jobSubmission)
+
+        then:
+        1 * persistenceService.saveJobSubmission(jobSubmission) >> {
+            throw new IdAlreadyExistsException("try again")
+        }
+        0 * executor.execute(_ as Runnable)
+        thrown(IdAlreadyExistsException)
+        registry.get("genie.services.jobLaunch.asyncLaunch.pending.gauge").gauge().value() == 0
+
+        when:
+        service.launchJob(jobSubmission)
+
+        then:
+        1 * persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        1 * executor.execute(_ as Runnable) >> {
+            throw new RejectedExecutionException("full")
+        }
+        1 * persistenceService.updateJobStatus(jobId, JobStatus.RESERVED, JobStatus.FAILED, _ as String)
+        1 * persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES)
+        thrown(JobLaunchRejectedException)
+        registry.get("genie.services.jobLaunch.asyncLaunch.rejected.counter").counter().count() == 1
+        registry.get("genie.services.jobLaunch.asyncLaunch.queued.gauge").gauge().value() == 0
+        registry.get("genie.services.jobLaunch.asyncLaunch.pending.gauge").gauge().value() == 0
+    }
+
+    def "asynchronous launches that did not start before shutdown are marked failed"() {
+        def persistenceService = Mock(PersistenceService)
+        def jobResolverService = Mock(JobResolverService)
+        def agentLauncher = Mock(AgentLauncher)
+        def registry = new SimpleMeterRegistry()
+        def dataServices = Mock(DataServices) {
+            getPersistenceService() >> persistenceService
+        }
+        def tasks = new ArrayList<Runnable>()
+        def executor = { Runnable task -> tasks.add(task) } as Executor
+        def service = new JobLaunchServiceImpl(
+            dataServices,
+            jobResolverService,
+            agentLauncher,
+            registry,
+            executor,
+            2,
+            Duration.ofMillis(10),
+            null
+        )
+
+        def jobId = UUID.randomUUID().toString()
+        def jobSubmission = Mock(JobSubmission)
+
+        when:
+        service.launchJob(jobSubmission)
+        service.destroy()
+
+        then: "The queued job is marked failed"
+        1 * persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        1 * persistenceService.updateJobStatus(jobId, JobStatus.RESERVED, JobStatus.FAILED, _ as String)
+        1 * persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES)
+        registry.get("genie.services.jobLaunch.asyncLaunch.queued.gauge").gauge().value() == 0
+
+        when: "The executor runs the abandoned launch"
+        tasks.get(0).run()
+
+        then: "The job is not launched"
+        0 * jobResolverService.resolveJob(_ as String)
+        0 * agentLauncher.launchAgent(_ as ResolvedJob)
+
+        when: "A job is submitted after shutdown"
+        service.launchJob(jobSubmission)
+
+        then: "It is rejected without being saved"
+        0 * persistenceService.saveJobSubmission(_ as JobSubmission)
+        thrown(JobLaunchRejectedException)
+    }
+
+    def "shutdown waits for pending asynchronous launches"() {
+        def persistenceService = Mock(PersistenceService)
+        def jobResolverService = Mock(JobResolverService)
+        def agentLauncher = Mock(AgentLauncher)
+        def registry = new SimpleMeterRegistry()
+        def dataServices = Mock(DataServices) {
+            getPersistenceService() >> persistenceService
+        }
+        def executor = { Runnable task -> new Thread({ sleep(100); task.run() }).start() } as Executor
+        def service = new JobLaunchServiceImpl(
+            dataServices,
+            jobResolverService,
+            agentLauncher,
+            registry,
+            executor,
+            2,
+            Duration.ofSeconds(10),
+            null
+        )
+
+        def jobId = UUID.randomUUID().toString()
+        def resolvedJob = Mock(ResolvedJob)
+        def jobSubmission = Mock(JobSubmission)
+
+        when:
+        service.launchJob(jobSubmission)
+        service.destroy()
+
+        then: "The job is launched before shutdown completes"
+        1 * persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        1 * jobResolverService.resolveJob(jobId) >> resolvedJob
+        1 * persistenceService.updateJobStatus(jobId, JobStatus.RESOLVED, JobStatus.ACCEPTED, _ as String)
+        1 * agentLauncher.launchAgent(resolvedJob)
+        0 * persistenceService.updateJobStatus(jobId, JobStatus.RESERVED, JobStatus.FAILED, _ as String)
+    }
+
+    def "submissions of users at their active job limit are rejected"() {
+        def persistenceService = Mock(PersistenceService)
+        def jobResolverService = Mock(JobResolverService)
+        def agentLauncher = Mock(AgentLauncher)
+        def userJobQuotaService = Mock(UserJobQuotaService)
+        def registry = new SimpleMeterRegistry()
+        def dataServices = Mock(DataServices) {
+            getPersistenceService() >> persistenceService
+        }
+        def executor = Mock(Executor)
+        def service = new JobLaunchServiceImpl(
+            dataServices,
+            jobResolverService,
+            agentLauncher,
+            registry,
+            null,
+            1,
+            Duration.ofSeconds(1),
+            userJobQuotaService
+        )
+        def asyncService = new JobLaunchServiceImpl(
+            dataServices,
+            jobResolverService,
+            agentLauncher,
+            registry,
+            executor,
+            1,
+            Duration.ofSeconds(1),
+            userJobQuotaService
+        )
+
+        def jobId = UUID.randomUUID().toString()
+        def user = UUID.randomUUID().toString()
+        def resolvedJob = Mock(ResolvedJob)
+        def jobMetadata = Mock(JobMetadata) {
+            getUser() >> user
+        }
+        def jobRequest = Mock(JobRequest) {
+            getMetadata() >> jobMetadata
+        }
+        def jobSubmission = Mock(JobSubmission) {
+            getJobRequest() >> jobRequest
+        }
+
+        when:
+        def savedJobId = service.launchJob(jobSubmission)
+
+        then:
+        1 * persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        1 * userJobQuotaService.tryReserve(user, jobId) >> true
+        1 * jobResolverService.resolveJob(jobId) >> resolvedJob
+        1 * persistenceService.updateJobStatus(jobId, JobStatus.RESOLVED, JobStatus.ACCEPTED, _ as String)
+        1 * agentLauncher.launchAgent(resolvedJob)
+        savedJobId == jobId
+
+        when:
+        service.launchJob(jobSubmission)
+
+        then:
+        1 * persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        1 * userJobQuotaService.tryReserve(user, jobId) >> false
+        1 * userJobQuotaService.getActiveJobCount(user) >> 5L
+        1 * userJobQuotaService.getActiveJobLimit(user) >> 5L
+        1 * persistenceService.updateJobStatus(jobId, JobStatus.RESERVED, JobStatus.FAILED, _ as String)
+        1 * persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES)
+        0 * jobResolverService.resolveJob(_ as String)
+        0 * agentLauncher.launchAgent(_ as ResolvedJob)
+        thrown(UserJobLimitExceededException)
+        registry.get("genie.jobs.submit.rejected.jobs-limit.counter").tag("user", user).counter().count() == 1
+
+        when:
+        asyncService.launchJob(jobSubmission)
+
+        then: "The job is not queued and the pending launch permit is given back"
+        1 * persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        1 * userJobQuotaService.tryReserve(user, jobId) >> false
+        1 * persistenceService.updateJobStatus(jobId, JobStatus.RESERVED, JobStatus.FAILED, _ as String)
+        1 * persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES)
+        0 * executor.execute(_ as Runnable)
+        thrown(UserJobLimitExceededException)
+        registry.get("genie.services.jobLaunch.asyncLaunch.pending.gauge").gauge().value() == 0
+    }
 }
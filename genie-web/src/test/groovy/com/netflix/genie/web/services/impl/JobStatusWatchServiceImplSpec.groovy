@@ -0,0 +1,176 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl
+
+import com.netflix.genie.common.external.dtos.v4.JobStatus
+import com.netflix.genie.web.data.services.DataServices
+import com.netflix.genie.web.data.services.PersistenceService
+import com.netflix.genie.web.events.JobStateChangeEvent
+import com.netflix.genie.web.exceptions.checked.NotFoundException
+import com.netflix.genie.web.properties.JobStatusWatchProperties
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+
+/**
+ * Specifications for {@link JobStatusWatchServiceImpl}.
+ *
+ * @author agent
+ */
+class JobStatusWatchServiceImplSpec extends Specification {
+    PersistenceService persistenceService
+    TaskScheduler taskScheduler
+    JobStatusWatchProperties properties
+    MeterRegistry registry
+    JobStatusWatchServiceImpl service
+
+    def setup() {
+        this.persistenceService = Mock(PersistenceService)
+        this.taskScheduler = Mock(TaskScheduler)
+        this.properties = new JobStatusWatchProperties()
+        this.registry = new SimpleMeterRegistry()
+        DataServices dataServices = Mock(DataServices) {
+            getPersistenceService() >> this.persistenceService
+        }
+
+        this.service = new JobStatusWatchServiceImpl(dataServices, this.taskScheduler, this.properties, this.registry)
+    }
+
+    def "Refresh task is scheduled"() {
+        when:
+        new JobStatusWatchServiceImpl(
+            Mock(DataServices),
+            this.taskScheduler,
+            this.properties,
+            this.registry
+        )
+
+        then:
+        1 * this.taskScheduler.scheduleWithFixedDelay(_ as Runnable, this.properties.getRefreshInterval())
+    }
+
+    def "Watch completes immediately if status is different"() {
+        when:
+        CompletableFuture<JobStatus> future = this.service.watchJobStatus("foo", JobStatus.ACCEPTED)
+
+        then:
+        1 * this.persistenceService.getJobStatus("foo") >> JobStatus.RUNNING
+        future.isDone()
+        future.get() == JobStatus.RUNNING
+    }
+
+    def "Watch of a missing job fails"() {
+        when:
+        this.service.watchJobStatus("foo", JobStatus.RUNNING)
+
+        then:
+        1 * this.persistenceService.getJobStatus("foo") >> { throw new NotFoundException("...") }
+        thrown(NotFoundException)
+    }
+
+    def "Watchers are notified of local state changes"() {
+        when:
+        CompletableFuture<JobStatus> future1 = this.service.watchJobStatus("foo", JobStatus.RUNNING)
+        CompletableFuture<JobStatus> future2 = this.service.watchJobStatus("foo", JobStatus.RUNNING)
+
+        then: "The database is only queried once"
+        1 * this.persistenceService.getJobStatus("foo") >> JobStatus.RUNNING
+        !future1.isDone()
+        !future2.isDone()
+        this.registry.get("genie.jobs.statusWatch.watchedJobs.gauge").gauge().value() == 1
+
+        when: "Another job changes state"
+        this.service.onApplicationEvent(new JobStateChangeEvent("bar", JobStatus.RUNNING, JobStatus.KILLED, this))
+
+        then:
+        !future1.isDone()
+        !future2.isDone()
+
+        when:
+        this.service.onApplicationEvent(new JobStateChangeEvent("foo", JobStatus.RUNNING, JobStatus.SUCCEEDED, this))
+
+        then:
+        future1.get() == JobStatus.SUCCEEDED
+        future2.get() == JobStatus.SUCCEEDED
+
+        when: "A new watcher arrives after the job finished"
+        CompletableFuture<JobStatus> future3 = this.service.watchJobStatus("foo", JobStatus.RUNNING)
+
+        then: "It's served from memory"
+        0 * this.persistenceService.getJobStatus(_)
+        future3.get() == JobStatus.SUCCEEDED
+    }
+
+    def "Watched jobs are refreshed from the database and evicted when idle"() {
+        Runnable refreshTask
+        MeterRegistry registry = new SimpleMeterRegistry()
+        TaskScheduler scheduler = Mock(TaskScheduler) {
+            1 * scheduleWithFixedDelay(_ as Runnable, _ as Duration) >> { args ->
+                refreshTask = args[0] as Runnable
+                return null
+            }
+        }
+        DataServices dataServices = Mock(DataServices) {
+            getPersistenceService() >> this.persistenceService
+        }
+        JobStatusWatchServiceImpl watchService = new JobStatusWatchServiceImpl(
+            dataServices,
+            scheduler,
+            this.properties,
+            registry
+        )
+
+        when:
+        CompletableFuture<JobStatus> future = watchService.watchJobStatus("foo", JobStatus.INIT)
+        CompletableFuture<JobStatus> cancelledFuture = watchService.watchJobStatus("bar", JobStatus.INIT)
+
+        then:
+        1 * this.persistenceService.getJobStatus("foo") >> JobStatus.INIT
+        1 * this.persistenceService.getJobStatus("bar") >> JobStatus.INIT
+        refreshTask != null
+
+        when: "The status is changed by another node and one of the watchers goes away"
+        cancelledFuture.cancel(false)
+        refreshTask.run()
+
+        then: "Only jobs that still have watchers are queried"
+        1 * this.persistenceService.getJobStatus("foo") >> JobStatus.RUNNING
+        0 * this.persistenceService.getJobStatus("bar")
+        future.get() == JobStatus.RUNNING
+        registry.get("genie.jobs.statusWatch.watchedJobs.gauge").gauge().value() == 2
+        registry.get("genie.jobs.statusWatch.refresh.timer").timer().count() == 1
+
+        when: "Nobody watched the jobs since the last refresh"
+        refreshTask.run()
+
+        then:
+        0 * this.persistenceService.getJobStatus(_)
+        registry.get("genie.jobs.statusWatch.watchedJobs.gauge").gauge().value() == 0
+
+        when: "A job is watched again after eviction"
+        CompletableFuture<JobStatus> reloadedFuture = watchService.watchJobStatus("foo", JobStatus.RUNNING)
+
+        then: "It's loaded from the database again"
+        1 * this.persistenceService.getJobStatus("foo") >> JobStatus.FAILED
+        reloadedFuture.get() == JobStatus.FAILED
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl
+
+import com.netflix.genie.common.internal.util.GenieHostInfo
+import com.netflix.genie.web.properties.JobsProperties
+import com.netflix.genie.web.services.JobStateService
+import com.netflix.genie.web.util.MetricsConstants
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.apache.curator.framework.CuratorFramework
+import org.apache.curator.framework.api.ACLBackgroundPathAndBytesable
+import org.apache.curator.framework.api.CreateBuilder
+import org.apache.curator.framework.api.ProtectACLCreateModeStatPathAndBytesable
+import org.apache.curator.framework.api.SetDataBuilder
+import org.apache.curator.framework.listen.ListenerContainer
+import org.apache.curator.framework.recipes.cache.ChildData
+import org.apache.curator.framework.recipes.cache.PathChildrenCache
+import org.apache.curator.framework.recipes.cache.PathChildrenCacheEvent
+import org.apache.curator.framework.recipes.cache.PathChildrenCacheListener
+import org.apache.zookeeper.CreateMode
+import org.apache.zookeeper.KeeperException
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+
+/**
+ * Specifications for {@link NodeCapacityServiceCuratorImpl}.
+ *
+ * @author agent
+ */
+class NodeCapacityServiceCuratorImplSpec extends Specification {
+
+    static final String CAPACITY_PATH = "/genie/capacity"
+
+    String localHostname
+    CuratorFramework client
+    PathChildrenCache capacityCache
+    ListenerContainer<PathChildrenCacheListener> capacityCacheListenable
+    JobStateService jobStateService
+    JobsProperties jobsProperties
+    TaskScheduler taskScheduler
+    MeterRegistry registry
+
+    def setup() {
+        this.localHostname = UUID.randomUUID().toString()
+        this.client = Mock(CuratorFramework)
+        this.capacityCache = Mock(PathChildrenCache)
+        this.capacityCacheListenable = Mock(ListenerContainer)
+        this.jobStateService = Mock(JobStateService)
+        this.jobsProperties = JobsProperties.getJobsPropertiesDefaults()
+        this.jobsProperties.getMemory().setMaxSystemMemory(10_240)
+        this.taskScheduler = Mock(TaskScheduler)
+        this.registry = new SimpleMeterRegistry()
+
+        this.capacityCache.getListenable() >> this.capacityCacheListenable
+    }
+
+    def "Can find the node with the most free memory"() {
+        PathChildrenCacheListener listener
+        def nodes = [
+            this.createChildData(this.localHostname, "10240"),
+            this.createChildData("host1", "1024"),
+            this.createChildData("host2", "4096"),
+            this.createChildData("host3", "3072"),
+            this.createChildData("host4", "not a number"),
+        ]
+
+        when:
+        def service = this.createService()
+
+        then:
+        1 * this.capacityCacheListenable.addListener(_ as PathChildrenCacheListener) >> {
+            args -> listener = args[0] as PathChildrenCacheListener
+        }
+        1 * this.capacityCache.start(PathChildrenCache.StartMode.POST_INITIALIZED_EVENT)
+        1 * this.taskScheduler.scheduleAtFixedRate(_ as Runnable, Duration.ofSeconds(10L))
+        listener != null
+
+        when: "This node has enough memory"
+        def node = service.findNodeForJob(1_024)
+
+        then:
+        1 * this.jobStateService.getUsedMemory() >> 1_024
+        0 * this.capacityCache.getCurrentData()
+        !node.isPresent()
+
+        when: "The cache isn't initialized yet"
+        node = service.findNodeForJob(2_048)
+
+        then:
+        1 * this.jobStateService.getUsedMemory() >> 9_216
+        0 * this.capacityCache.getCurrentData()
+        !node.isPresent()
+
+        when: "The cache is initialized"
+        listener.childEvent(this.client, new PathChildrenCacheEvent(PathChildrenCacheEvent.Type.INITIALIZED, null))
+        node = service.findNodeForJob(2_048)
+
+        then:
+        1 * this.jobStateService.getUsedMemory() >> 9_216
+        1 * this.capacityCache.getCurrentData() >> nodes
+        node.orElse(null) == "host2"
+
+        when: "No other node has enough memory"
+        node = service.findNodeForJob(8_192)
+
+        then:
+        1 * this.jobStateService.getUsedMemory() >> 9_216
+        1 * this.capacityCache.getCurrentData() >> nodes
+        !node.isPresent()
+
+        when: "The connection to Zookeeper is lost"
+        listener.childEvent(
+            this.client,
+            new PathChildrenCacheEvent(PathChildrenCacheEvent.Type.CONNECTION_LOST, null)
+        )
+        node = service.findNodeForJob(2_048)
+
+        then:
+        1 * this.jobStateService.getUsedMemory() >> 9_216
+        0 * this.capacityCache.getCurrentData()
+        !node.isPresent()
+
+        when: "The connection is re-established"
+        listener.childEvent(
+            this.client,
+            new PathChildrenCacheEvent(PathChildrenCacheEvent.Type.CONNECTION_RECONNECTED, null)
+        )
+        node = service.findNodeForJob(2_048)
+
+        then:
+        1 * this.jobStateService.getUsedMemory() >> 9_216
+        1 * this.capacityCache.getCurrentData() >> nodes
+        node.orElse(null) == "host2"
+    }
+
+    def "Publishes the free memory of this node"() {
+        def setDataBuilder = Mock(SetDataBuilder)
+        def createBuilder = Mock(CreateBuilder)
+        def parentsCreateBuilder = Mock(ProtectACLCreateModeStatPathAndBytesable)
+        def modeCreateBuilder = Mock(ACLBackgroundPathAndBytesable)
+        def localNodePath = CAPACITY_PATH + "/" + this.localHostname
+        def service = this.createService()
+
+        when: "The entry of this node doesn't exist yet"
+        service.publishFreeMemory()
+
+        then:
+        1 * this.jobStateService.getUsedMemory() >> 4_096
+        1 * this.client.setData() >> setDataBuilder
+        1 * setDataBuilder.forPath(localNodePath, this.toBytes("6144")) >> {
+            throw new KeeperException.NoNodeException(localNodePath)
+        }
+        1 * this.client.create() >> createBuilder
+        1 * createBuilder.creatingParentsIfNeeded() >> parentsCreateBuilder
+        1 * parentsCreateBuilder.withMode(CreateMode.EPHEMERAL) >> modeCreateBuilder
+        1 * modeCreateBuilder.forPath(localNodePath, this.toBytes("6144"))
+
+        when: "The entry exists"
+        service.publishFreeMemory()
+
+        then:
+        1 * this.jobStateService.getUsedMemory() >> 0
+        1 * this.client.setData() >> setDataBuilder
+        1 * setDataBuilder.forPath(localNodePath, this.toBytes("10240"))
+        0 * this.client.create()
+
+        when: "Zookeeper can't be reached"
+        service.publishFreeMemory()
+
+        then:
+        noExceptionThrown()
+        1 * this.jobStateService.getUsedMemory() >> 0
+        1 * this.client.setData() >> setDataBuilder
+        1 * setDataBuilder.forPath(localNodePath, _) >> { throw new KeeperException.ConnectionLossException() }
+        0 * this.client.create()
+        this.registry
+            .find(NodeCapacityServiceCuratorImpl.PUBLISH_TIMER_NAME)
+            .tag(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.FAILURE)
+            .timer()
+            .count() == 1L
+        this.registry
+            .find(NodeCapacityServiceCuratorImpl.PUBLISH_TIMER_NAME)
+            .tag(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.SUCCESS)
+            .timer()
+            .count() == 2L
+    }
+
+    def "Closes the cache"() {
+        def service = this.createService()
+
+        when:
+        service.close()
+
+        then:
+        1 * this.capacityCache.close()
+    }
+
+    private NodeCapacityServiceCuratorImpl createService() {
+        return new NodeCapacityServiceCuratorImpl(
+            new GenieHostInfo(this.localHostname),
+            this.client,
+            CAPACITY_PATH,
+            this.capacityCache,
+            this.jobStateService,
+            this.jobsProperties,
+            this.taskScheduler,
+            this.registry
+        )
+    }
+
+    private ChildData createChildData(final String hostname, final String freeMemory) {
+        return new ChildData(CAPACITY_PATH + "/" + hostname, null, this.toBytes(freeMemory))
+    }
+
+    private static byte[] toBytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8)
+    }
+}
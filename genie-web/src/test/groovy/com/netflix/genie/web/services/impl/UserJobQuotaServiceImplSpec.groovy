@@ -0,0 +1,200 @@
+/*
+ *
+ *  Copyright 2020 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl
+
+import com.netflix.genie.common.dto.UserResourcesSummary
+import com.netflix.genie.common.external.dtos.v4.JobStatus
+import com.netflix.genie.web.data.services.DataServices
+import com.netflix.genie.web.data.services.PersistenceService
+import com.netflix.genie.web.events.JobStateChangeEvent
+import com.netflix.genie.web.properties.JobsActiveLimitProperties
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link UserJobQuotaServiceImpl}.
+ *
+ * @author agent
+ */
+class UserJobQuotaServiceImplSpec extends Specification {
+    PersistenceService persistenceService
+    TaskScheduler taskScheduler
+    JobsActiveLimitProperties properties
+    MeterRegistry registry
+    UserJobQuotaServiceImpl service
+
+    def setup() {
+        this.persistenceService = Mock(PersistenceService)
+        this.taskScheduler = Mock(TaskScheduler)
+        this.properties = new JobsActiveLimitProperties()
+        this.properties.setEnabled(true)
+        this.properties.setCount(2)
+        this.registry = new SimpleMeterRegistry()
+        DataServices dataServices = Mock(DataServices) {
+            getPersistenceService() >> this.persistenceService
+        }
+
+        this.service = new UserJobQuotaServiceImpl(dataServices, this.taskScheduler, this.properties, this.registry)
+    }
+
+    def "Reconcile task is scheduled"() {
+        when:
+        new UserJobQuotaServiceImpl(
+            Mock(DataServices),
+            this.taskScheduler,
+            this.properties,
+            this.registry
+        )
+
+        then:
+        1 * this.taskScheduler.scheduleWithFixedDelay(_ as Runnable, this.properties.getReconcileInterval())
+    }
+
+    def "Counts are seeded from the database before the first reservation"() {
+        this.properties.setCount(3)
+
+        when:
+        boolean reserved = this.service.tryReserve("foo", "job1")
+
+        then:
+        1 * this.persistenceService.getUserResourcesSummaries(JobStatus.getActiveStatuses(), true) >> [
+            "foo": new UserResourcesSummary("foo", 1, 1024)
+        ]
+        1 * this.persistenceService.getUserResourcesSummaries(JobStatus.getActiveStatuses(), false) >> [:]
+        0 * this.persistenceService.getActiveJobCountForUser(_)
+        reserved
+        this.service.getActiveJobCount("foo") == 2
+    }
+
+    def "Reservations close to the limit are checked against the database"() {
+        when:
+        boolean reserved1 = this.service.tryReserve("foo", "job1")
+        boolean reserved2 = this.service.tryReserve("foo", "job2")
+
+        then: "Only the reservation of the last slot asks the database"
+        2 * this.persistenceService.getUserResourcesSummaries(_, _) >> [:]
+        1 * this.persistenceService.getActiveJobCountForUser("foo") >> 2L
+        reserved1
+        reserved2
+        this.service.getActiveJobCount("foo") == 2
+        this.registry.get("genie.jobs.activeLimit.check.timer").tag("status", "success").timer().count() == 1
+
+        when: "Other nodes started jobs for the user"
+        boolean reserved3 = this.service.tryReserve("foo", "job3")
+
+        then: "The database count, which includes the job being checked, wins"
+        1 * this.persistenceService.getActiveJobCountForUser("foo") >> 4L
+        !reserved3
+        this.service.getActiveJobCount("foo") == 3
+    }
+
+    def "Database errors while checking a reservation are propagated"() {
+        when:
+        this.service.tryReserve("foo", "job1")
+
+        then:
+        2 * this.persistenceService.getUserResourcesSummaries(_, _) >> [
+            "foo": new UserResourcesSummary("foo", 2, 2048)
+        ]
+        1 * this.persistenceService.getActiveJobCountForUser("foo") >> { throw new RuntimeException("db down") }
+        thrown(RuntimeException)
+        this.service.getActiveJobCount("foo") == 4
+        this.registry.get("genie.jobs.activeLimit.check.timer").tag("status", "failure").timer().count() == 1
+    }
+
+    def "Finished jobs release their reservation once"() {
+        when:
+        boolean reserved1 = this.service.tryReserve("foo", "job1")
+        boolean reserved2 = this.service.tryReserve("foo", "job2")
+        boolean reserved3 = this.service.tryReserve("foo", "job3")
+
+        then:
+        2 * this.persistenceService.getUserResourcesSummaries(_, _) >> [:]
+        2 * this.persistenceService.getActiveJobCountForUser("foo") >>> [2L, 3L]
+        reserved1
+        reserved2
+        !reserved3
+        this.service.getActiveJobCount("foo") == 2
+
+        when: "A job transitions to a non-final state"
+        this.service.onApplicationEvent(new JobStateChangeEvent("job1", JobStatus.CLAIMED, JobStatus.INIT, this))
+
+        then:
+        this.service.getActiveJobCount("foo") == 2
+
+        when: "A job finishes"
+        this.service.onApplicationEvent(new JobStateChangeEvent("job1", JobStatus.RUNNING, JobStatus.SUCCEEDED, this))
+        this.service.release("job1")
+
+        then:
+        this.service.getActiveJobCount("foo") == 1
+    }
+
+    def "Reconciliation replaces counts with the database ones"() {
+        when:
+        this.service.tryReserve("foo", "job1")
+        this.service.tryReserve("bar", "job2")
+
+        then:
+        2 * this.persistenceService.getUserResourcesSummaries(_, _) >> [:]
+        this.service.getActiveJobCount("foo") == 1
+        this.service.getActiveJobCount("bar") == 1
+
+        when: "Jobs were started or completed through other nodes"
+        this.service.reconcile()
+
+        then:
+        1 * this.persistenceService.getUserResourcesSummaries(JobStatus.getActiveStatuses(), true) >> [
+            "foo": new UserResourcesSummary("foo", 2, 2048)
+        ]
+        1 * this.persistenceService.getUserResourcesSummaries(JobStatus.getActiveStatuses(), false) >> [
+            "foo": new UserResourcesSummary("foo", 1, 1024),
+            "baz": new UserResourcesSummary("baz", 1, 1024)
+        ]
+        this.service.getActiveJobCount("foo") == 3
+        this.service.getActiveJobCount("bar") == 0
+        this.service.getActiveJobCount("baz") == 1
+        this.registry.get("genie.jobs.activeLimit.trackedUsers.gauge").gauge().value() == 2
+
+        when:
+        boolean reserved = this.service.tryReserve("foo", "job3")
+
+        then:
+        1 * this.persistenceService.getActiveJobCountForUser("foo") >> 4L
+        !reserved
+    }
+
+    def "Reconciliation errors keep the current counts"() {
+        when:
+        this.service.tryReserve("foo", "job1")
+
+        then:
+        2 * this.persistenceService.getUserResourcesSummaries(_, _) >> [:]
+
+        when:
+        this.service.reconcile()
+
+        then:
+        1 * this.persistenceService.getUserResourcesSummaries(_, _) >> { throw new RuntimeException("db down") }
+        noExceptionThrown()
+        this.service.getActiveJobCount("foo") == 1
+        this.registry.get("genie.jobs.activeLimit.reconcile.timer").tag("status", "failure").timer().count() == 1
+    }
+}
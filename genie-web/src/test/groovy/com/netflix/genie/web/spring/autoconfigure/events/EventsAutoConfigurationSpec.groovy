@@ -17,6 +17,9 @@
  */
 package com.netflix.genie.web.spring.autoconfigure.events
 
+import com.netflix.genie.web.properties.AsyncEventPartitioningProperties
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.springframework.core.task.AsyncTaskExecutor
 import org.springframework.core.task.SyncTaskExecutor
 import spock.lang.Specification
@@ -32,11 +35,18 @@ class EventsAutoConfigurationSpec extends Specification {
         def config = new EventsAutoConfiguration()
         def syncExecutor = Mock(SyncTaskExecutor)
         def asyncExecutor = Mock(AsyncTaskExecutor)
+        MeterRegistry registry = new SimpleMeterRegistry()
 
         when:
-        def eventBus = config.applicationEventMulticaster(syncExecutor, asyncExecutor)
+        def asyncMulticaster = config.genieAsyncEventMulticaster(
+            asyncExecutor,
+            new AsyncEventPartitioningProperties(),
+            registry
+        )
+        def eventBus = config.applicationEventMulticaster(syncExecutor, asyncMulticaster, registry)
 
         then:
+        asyncMulticaster != null
         eventBus != null
     }
 }
@@ -22,8 +22,12 @@ import com.netflix.genie.web.data.observers.PersistedJobStatusObserver
 import com.netflix.genie.web.events.GenieEventBus
 import com.netflix.genie.web.events.JobNotificationMetricPublisher
 import com.netflix.genie.web.events.JobStateChangeSNSPublisher
+import com.netflix.genie.web.events.SNSNotificationsOutbox
+import com.netflix.genie.web.properties.SNSNotificationsOutboxProperties
 import com.netflix.genie.web.properties.SNSNotificationsProperties
 import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.scheduling.TaskScheduler
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler
 import spock.lang.Specification
 
 class NotificationsAutoConfigurationSpec extends Specification {
@@ -62,10 +66,37 @@ class NotificationsAutoConfigurationSpec extends Specification {
         JobStateChangeSNSPublisher publisher = this.config.jobNotificationsSNSPublisher(
             snsProperties,
             registry,
-            snsClient
+            snsClient,
+            Optional.empty()
         )
 
         then:
         publisher != null
     }
+
+    def "snsNotificationsOutboxTaskScheduler"() {
+        when:
+        TaskScheduler taskScheduler = this.config.snsNotificationsOutboxTaskScheduler()
+
+        then:
+        taskScheduler instanceof ThreadPoolTaskScheduler
+        ((ThreadPoolTaskScheduler) taskScheduler).getPoolSize() == 1
+    }
+
+    def "snsNotificationsOutbox"() {
+        TaskScheduler taskScheduler = Mock(TaskScheduler)
+        SNSNotificationsOutboxProperties outboxProperties = new SNSNotificationsOutboxProperties()
+
+        when:
+        SNSNotificationsOutbox outbox = this.config.snsNotificationsOutbox(
+            Mock(AmazonSNS),
+            outboxProperties,
+            taskScheduler,
+            registry
+        )
+
+        then:
+        outbox != null
+        1 * taskScheduler.scheduleWithFixedDelay(_ as Runnable, outboxProperties.getFlushInterval())
+    }
 }
@@ -17,14 +17,37 @@
  */
 package com.netflix.genie.web.apis.rest.v3.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.servlet.HandlerMapping;
 
 import javax.servlet.http.HttpServletRequest;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -35,6 +58,14 @@ import java.util.UUID;
  */
 class ControllerUtilsTest {
 
+    /**
+     * Clear any request bound to the thread by a test.
+     */
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     /**
      * Test the getRemainingPath method.
      */
@@ -105,4 +136,149 @@ class ControllerUtilsTest {
             .assertThat(ControllerUtils.getRequestRoot(request, "genie/genie.done"))
             .isEqualTo(new URL("https://genie.com/api/v3/jobs/1234/output/"));
     }
+
+    /**
+     * Test the entity tag methods.
+     */
+    @Test
+    void canMatchETags() {
+        final Instant updated = Instant.ofEpochMilli(1_583_020_800_123L);
+        final String eTag = ControllerUtils.getETag(updated);
+        Assertions.assertThat(eTag).isEqualTo("\"1583020800123\"");
+        Assertions.assertThat(ControllerUtils.getETag(updated.plusMillis(1L))).isNotEqualTo(eTag);
+
+        Assertions.assertThat(ControllerUtils.matchesIfNoneMatch(null, eTag)).isFalse();
+        Assertions.assertThat(ControllerUtils.matchesIfNoneMatch("", eTag)).isFalse();
+        Assertions.assertThat(ControllerUtils.matchesIfNoneMatch("\"1583020800122\"", eTag)).isFalse();
+        Assertions.assertThat(ControllerUtils.matchesIfNoneMatch("not quoted", eTag)).isFalse();
+        Assertions.assertThat(ControllerUtils.matchesIfNoneMatch(eTag, eTag)).isTrue();
+        Assertions.assertThat(ControllerUtils.matchesIfNoneMatch("W/" + eTag, eTag)).isTrue();
+        Assertions.assertThat(ControllerUtils.matchesIfNoneMatch("\"1\", " + eTag, eTag)).isTrue();
+        Assertions.assertThat(ControllerUtils.matchesIfNoneMatch("*", eTag)).isTrue();
+    }
+
+    /**
+     * Test the cacheable response methods.
+     */
+    @Test
+    void canBuildCacheableResponses() {
+        final Instant updated = Instant.now();
+        final String eTag = ControllerUtils.getETag(updated);
+        final String body = UUID.randomUUID().toString();
+
+        final ResponseEntity<String> okResponse = ControllerUtils.cacheableResponse(body, updated);
+        Assertions.assertThat(okResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(okResponse.getBody()).isEqualTo(body);
+        Assertions.assertThat(okResponse.getHeaders().getETag()).isEqualTo(eTag);
+        Assertions
+            .assertThat(okResponse.getHeaders().getCacheControl())
+            .isEqualTo(CacheControl.noCache().getHeaderValue());
+
+        final ResponseEntity<String> notModifiedResponse = ControllerUtils.notModifiedResponse(eTag);
+        Assertions.assertThat(notModifiedResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertThat(notModifiedResponse.hasBody()).isFalse();
+        Assertions.assertThat(notModifiedResponse.getHeaders().getETag()).isEqualTo(eTag);
+        Assertions.assertThat(notModifiedResponse.getHeaders().containsKey(HttpHeaders.CACHE_CONTROL)).isTrue();
+    }
+
+    /**
+     * Test the compact paged model method.
+     */
+    @Test
+    void canBuildCompactPagedModels() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v3/jobs");
+        request.setQueryString("name=Test%20%25&page=1&size=2&compact=true");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        final List<String> content = Lists.newArrayList("one", "two");
+        final PagedModel<String> model = ControllerUtils.toCompactPagedModel(
+            new PageImpl<>(content, PageRequest.of(1, 2), 7L),
+            "/api/v3/jobs/{id}"
+        );
+
+        Assertions.assertThat(model.getContent()).containsExactlyElementsOf(content);
+        Assertions.assertThat(model.getMetadata()).isEqualTo(new PagedModel.PageMetadata(2L, 1L, 7L, 4L));
+        Assertions
+            .assertThat(model.getLink(IanaLinkRelations.SELF).map(Link::getHref))
+            .contains("http://localhost/api/v3/jobs?name=Test%20%25&page=1&size=2&compact=true");
+        Assertions
+            .assertThat(model.getLink(IanaLinkRelations.FIRST).map(Link::getHref))
+            .contains("http://localhost/api/v3/jobs?name=Test%20%25&size=2&compact=true&page=0");
+        Assertions
+            .assertThat(model.getLink(IanaLinkRelations.PREV).map(Link::getHref))
+            .contains("http://localhost/api/v3/jobs?name=Test%20%25&size=2&compact=true&page=0");
+        Assertions
+            .assertThat(model.getLink(IanaLinkRelations.NEXT).map(Link::getHref))
+            .contains("http://localhost/api/v3/jobs?name=Test%20%25&size=2&compact=true&page=2");
+        Assertions
+            .assertThat(model.getLink(IanaLinkRelations.LAST).map(Link::getHref))
+            .contains("http://localhost/api/v3/jobs?name=Test%20%25&size=2&compact=true&page=3");
+        final Link item = model.getRequiredLink(IanaLinkRelations.ITEM);
+        Assertions.assertThat(item.getHref()).isEqualTo("http://localhost/api/v3/jobs/{id}");
+        Assertions.assertThat(item.isTemplated()).isTrue();
+
+        final PagedModel<String> onlyPage = ControllerUtils.toCompactPagedModel(
+            new PageImpl<>(content),
+            "/api/v3/jobs/{id}"
+        );
+        Assertions
+            .assertThat(onlyPage.getLinks().stream().map(Link::getRel).map(LinkRelation::value))
+            .containsExactlyInAnyOrder(IanaLinkRelations.SELF_VALUE, IanaLinkRelations.ITEM_VALUE);
+    }
+
+    /**
+     * Test the streaming compact paged model method.
+     *
+     * @throws Exception on error writing or reading the body
+     */
+    @Test
+    void canStreamCompactPagedModels() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v3/jobs");
+        request.setQueryString("page=1&size=2&stream=true");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        final List<String> content = Lists.newArrayList("one", "two");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final WebAsyncTask<Void> task = ControllerUtils.<String>toStreamingCompactPagedModel(
+            PageRequest.of(1, 2),
+            "stringList",
+            "/api/v3/jobs/{id}",
+            consumer -> {
+                content.forEach(consumer);
+                return 5L;
+            },
+            response,
+            Duration.ofMinutes(3)
+        );
+        Assertions.assertThat(task.getTimeout()).isEqualTo(Duration.ofMinutes(3).toMillis());
+
+        // The body is written after the request thread is released
+        RequestContextHolder.resetRequestAttributes();
+        task.getCallable().call();
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(response.getContentType()).isEqualTo(MediaTypes.HAL_JSON_VALUE);
+
+        final JsonNode json = GenieObjectMapper.getMapper().readTree(response.getContentAsByteArray());
+        Assertions
+            .assertThat(json.get("_embedded").get("stringList"))
+            .extracting(JsonNode::asText)
+            .containsExactlyElementsOf(content);
+        Assertions.assertThat(json.get("page").get("size").asLong()).isEqualTo(2L);
+        Assertions.assertThat(json.get("page").get("number").asLong()).isEqualTo(1L);
+        Assertions.assertThat(json.get("page").get("totalElements").asLong()).isEqualTo(5L);
+        Assertions.assertThat(json.get("page").get("totalPages").asLong()).isEqualTo(3L);
+        final JsonNode links = json.get("_links");
+        Assertions
+            .assertThat(links.get("self").get("href").asText())
+            .isEqualTo("http://localhost/api/v3/jobs?page=1&size=2&stream=true");
+        Assertions
+            .assertThat(links.get("prev").get("href").asText())
+            .isEqualTo("http://localhost/api/v3/jobs?size=2&stream=true&page=0");
+        Assertions
+            .assertThat(links.get("last").get("href").asText())
+            .isEqualTo("http://localhost/api/v3/jobs?size=2&stream=true&page=2");
+        Assertions.assertThat(links.get("item").get("href").asText()).isEqualTo("http://localhost/api/v3/jobs/{id}");
+        Assertions.assertThat(links.get("item").get("templated").asBoolean()).isTrue();
+        Assertions.assertThat(links.get("self").has("templated")).isFalse();
+    }
 }
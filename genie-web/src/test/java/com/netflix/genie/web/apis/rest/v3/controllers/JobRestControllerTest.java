@@ -17,12 +17,18 @@
  */
 package com.netflix.genie.web.apis.rest.v3.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.netflix.genie.common.dto.ClusterCriteria;
 import com.netflix.genie.common.dto.JobRequest;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.common.exceptions.GenieServerUnavailableException;
+import com.netflix.genie.common.external.dtos.v4.Application;
 import com.netflix.genie.common.external.dtos.v4.ArchiveStatus;
 import com.netflix.genie.common.external.dtos.v4.JobStatus;
 import com.netflix.genie.common.internal.exceptions.checked.GenieCheckedException;
@@ -42,11 +48,16 @@ import com.netflix.genie.web.apis.rest.v3.hateoas.assemblers.RootModelAssembler;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
+import com.netflix.genie.web.exceptions.checked.PreconditionFailedException;
+import com.netflix.genie.web.properties.JobStatusWatchProperties;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.SearchStreamingProperties;
 import com.netflix.genie.web.services.AttachmentService;
 import com.netflix.genie.web.services.JobCoordinatorService;
 import com.netflix.genie.web.services.JobDirectoryServerService;
 import com.netflix.genie.web.services.JobLaunchService;
+import com.netflix.genie.web.services.JobStatusWatchService;
+import com.netflix.genie.web.services.NodeCapacityService;
 import com.netflix.genie.web.util.JobExecutionModeSelector;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -60,18 +71,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -81,9 +101,12 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -103,6 +126,7 @@ class JobRestControllerTest {
     private JobExecutionModeSelector jobExecutionModeSelector;
     private JobsProperties jobsProperties;
     private Environment environment;
+    private JobStatusWatchService jobStatusWatchService;
 
     private JobRestController controller;
 
@@ -134,6 +158,7 @@ class JobRestControllerTest {
         this.jobExecutionModeSelector = Mockito.mock(JobExecutionModeSelector.class);
         this.jobsProperties = JobsProperties.getJobsPropertiesDefaults();
         this.environment = Mockito.mock(Environment.class);
+        this.jobStatusWatchService = Mockito.mock(JobStatusWatchService.class);
         Mockito.when(this.jobExecutionModeSelector.executeWithAgent(
             Mockito.any(JobRequest.class),
             Mockito.any(HttpServletRequest.class))
@@ -159,7 +184,11 @@ class JobRestControllerTest {
             this.agentRoutingService,
             this.environment,
             Mockito.mock(AttachmentService.class),
-            jobExecutionModeSelector
+            jobExecutionModeSelector,
+            this.jobStatusWatchService,
+            new JobStatusWatchProperties(),
+            new SearchStreamingProperties(),
+            Mockito.mock(NodeCapacityService.class)
         );
     }
 
@@ -844,7 +873,11 @@ class JobRestControllerTest {
             this.agentRoutingService,
             this.environment,
             Mockito.mock(AttachmentService.class),
-            this.jobExecutionModeSelector
+            this.jobExecutionModeSelector,
+            this.jobStatusWatchService,
+            new JobStatusWatchProperties(),
+            new SearchStreamingProperties(),
+            Mockito.mock(NodeCapacityService.class)
         );
         jobController.getJobOutput(jobId, null, request, response);
 
@@ -895,6 +928,230 @@ class JobRestControllerTest {
             .withMessage(errorMessage);
     }
 
+    /**
+     * Make sure the batch endpoints return the resources of the jobs in the order they were requested and refuse too
+     * many ids before going to the database.
+     */
+    @Test
+    void canGetResourcesForJobsInBatch() throws GenieCheckedException {
+        final String job1Id = UUID.randomUUID().toString();
+        final String job2Id = UUID.randomUUID().toString();
+        final Map<String, List<Application>> applications = Maps.newHashMap();
+        applications.put(job2Id, Lists.newArrayList());
+        applications.put(job1Id, Lists.newArrayList());
+        Mockito
+            .when(this.persistenceService.getApplicationsForJobs(Sets.newHashSet(job1Id, job2Id)))
+            .thenReturn(applications);
+
+        Assertions
+            .assertThat(this.controller.getJobsApplications(Lists.newArrayList(job1Id, job2Id, job1Id)).keySet())
+            .containsExactly(job1Id, job2Id);
+        Assertions
+            .assertThat(this.controller.getJobsClusters(Lists.newArrayList(job1Id, job2Id)))
+            .isEmpty();
+
+        final List<String> tooManyIds = Collections.nCopies(ControllerUtils.MAX_BATCH_SIZE + 1, job1Id);
+        Assertions
+            .assertThatExceptionOfType(PreconditionFailedException.class)
+            .isThrownBy(() -> this.controller.getJobsCommands(tooManyIds));
+        Mockito.verify(this.persistenceService, Mockito.never()).getCommandsForJobs(Mockito.anySet());
+    }
+
+    /**
+     * Make sure a submission this node has no memory for is forwarded to the node selected instead of run locally.
+     */
+    @Test
+    void canForwardSubmissionToNodeWithCapacity() throws GenieException, GenieCheckedException, IOException {
+        this.jobsProperties.getForwarding().setEnabled(true);
+        final String jobId = UUID.randomUUID().toString();
+        final String forwardHostname = UUID.randomUUID().toString();
+        final JobCoordinatorService jobCoordinatorService = Mockito.mock(JobCoordinatorService.class);
+        final NodeCapacityService nodeCapacityService = Mockito.mock(NodeCapacityService.class);
+        Mockito
+            .when(nodeCapacityService.findNodeForJob(this.jobsProperties.getMemory().getDefaultJobMemory()))
+            .thenReturn(Optional.of(forwardHostname));
+        final JobRestController jobController = this.createController(jobCoordinatorService, nodeCapacityService);
+
+        final MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.POST.name(), "/api/v3/jobs");
+        request.addHeader("X-Forwarded-For", "10.0.0.1");
+        request.setRemoteAddr("10.0.0.2");
+        final ResponseEntity<Void> response = this.submitJob(jobController, jobId, request);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualByComparingTo(HttpStatus.ACCEPTED);
+        Assertions.assertThat(response.getHeaders().getLocation()).hasPath("/api/v3/jobs/" + jobId);
+        final ArgumentCaptor<RequestCallback> requestCallbackCaptor = ArgumentCaptor.forClass(RequestCallback.class);
+        Mockito
+            .verify(this.restTemplate, Mockito.times(1))
+            .execute(
+                Mockito.eq("http://" + forwardHostname + ":8080/api/v3/jobs"),
+                Mockito.eq(HttpMethod.POST),
+                requestCallbackCaptor.capture(),
+                Mockito.any()
+            );
+        final MockClientHttpRequest forwardRequest = new MockClientHttpRequest();
+        requestCallbackCaptor.getValue().doWithRequest(forwardRequest);
+        Assertions.assertThat(forwardRequest.getHeaders().get("X-Forwarded-For")).containsExactly("10.0.0.1,10.0.0.2");
+        Assertions.assertThat(forwardRequest.getBodyAsString()).contains(jobId);
+        Mockito
+            .verify(jobCoordinatorService, Mockito.never())
+            .coordinateJob(Mockito.any(JobRequest.class), Mockito.any());
+    }
+
+    /**
+     * Make sure a submission is run locally if the node selected to run it can't be reached.
+     */
+    @Test
+    void canRunSubmissionLocallyIfForwardingFails() throws GenieException, GenieCheckedException {
+        this.jobsProperties.getForwarding().setEnabled(true);
+        final String jobId = UUID.randomUUID().toString();
+        final JobCoordinatorService jobCoordinatorService = Mockito.mock(JobCoordinatorService.class);
+        final NodeCapacityService nodeCapacityService = Mockito.mock(NodeCapacityService.class);
+        Mockito
+            .when(nodeCapacityService.findNodeForJob(Mockito.anyInt()))
+            .thenReturn(Optional.of(UUID.randomUUID().toString()));
+        Mockito
+            .when(this.restTemplate.execute(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any()))
+            .thenThrow(new ResourceAccessException("Connection refused"));
+        final JobRestController jobController = this.createController(jobCoordinatorService, nodeCapacityService);
+
+        final MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.POST.name(), "/api/v3/jobs");
+        this.submitJob(jobController, jobId, request);
+
+        Mockito
+            .verify(jobCoordinatorService, Mockito.times(1))
+            .coordinateJob(Mockito.any(JobRequest.class), Mockito.any());
+    }
+
+    /**
+     * Make sure a submission that was already forwarded once, or when forwarding is disabled, is run locally.
+     */
+    @Test
+    void wontForwardSubmissionTwiceOrIfNotEnabled() throws GenieException, GenieCheckedException {
+        final JobCoordinatorService jobCoordinatorService = Mockito.mock(JobCoordinatorService.class);
+        final NodeCapacityService nodeCapacityService = Mockito.mock(NodeCapacityService.class);
+        Mockito
+            .when(nodeCapacityService.findNodeForJob(Mockito.anyInt()))
+            .thenReturn(Optional.of(UUID.randomUUID().toString()));
+        final JobRestController jobController = this.createController(jobCoordinatorService, nodeCapacityService);
+
+        this.jobsProperties.getForwarding().setEnabled(false);
+        this.submitJob(
+            jobController,
+            UUID.randomUUID().toString(),
+            new MockHttpServletRequest(HttpMethod.POST.name(), "/api/v3/jobs")
+        );
+
+        this.jobsProperties.getForwarding().setEnabled(true);
+        final MockHttpServletRequest forwardedRequest = new MockHttpServletRequest(
+            HttpMethod.POST.name(),
+            "/api/v3/jobs"
+        );
+        forwardedRequest.addHeader(JobConstants.GENIE_FORWARDED_FROM_HEADER, "http://localhost:8080/api/v3/jobs");
+        this.submitJob(jobController, UUID.randomUUID().toString(), forwardedRequest);
+
+        Mockito.verify(nodeCapacityService, Mockito.never()).findNodeForJob(Mockito.anyInt());
+        Mockito
+            .verify(this.restTemplate, Mockito.never())
+            .execute(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito
+            .verify(jobCoordinatorService, Mockito.times(2))
+            .coordinateJob(Mockito.any(JobRequest.class), Mockito.any());
+    }
+
+    /**
+     * Make sure watching the job status returns the new status once it changes and stops watching on completion.
+     */
+    @Test
+    void canWatchJobStatus() throws GenieCheckedException, GeniePreconditionException {
+        final String jobId = UUID.randomUUID().toString();
+        final CompletableFuture<JobStatus> statusFuture = new CompletableFuture<>();
+        Mockito
+            .when(this.jobStatusWatchService.watchJobStatus(jobId, JobStatus.RUNNING))
+            .thenReturn(statusFuture);
+
+        final DeferredResult<JsonNode> result = this.controller.watchJobStatus(jobId, "RUNNING", 10_000L);
+        Assertions.assertThat(result.hasResult()).isFalse();
+        Assertions.assertThat(result.getResult()).isNull();
+
+        statusFuture.complete(JobStatus.SUCCEEDED);
+        Assertions.assertThat(result.hasResult()).isTrue();
+        Assertions
+            .assertThat(((JsonNode) result.getResult()).get("status").asText())
+            .isEqualTo(com.netflix.genie.common.dto.JobStatus.SUCCEEDED.toString());
+    }
+
+    /**
+     * Make sure an invalid known status is rejected before anything is watched.
+     */
+    @Test
+    void cantWatchJobStatusWithInvalidStatus() throws GenieCheckedException {
+        final String jobId = UUID.randomUUID().toString();
+        Assertions
+            .assertThatExceptionOfType(GeniePreconditionException.class)
+            .isThrownBy(() -> this.controller.watchJobStatus(jobId, UUID.randomUUID().toString(), null));
+        Mockito.verify(this.jobStatusWatchService, Mockito.never()).watchJobStatus(Mockito.anyString(), Mockito.any());
+    }
+
+    private JobRestController createController(
+        final JobCoordinatorService jobCoordinatorService,
+        final NodeCapacityService nodeCapacityService
+    ) {
+        final MeterRegistry registry = Mockito.mock(MeterRegistry.class);
+        Mockito.when(registry.counter(Mockito.anyString())).thenReturn(Mockito.mock(Counter.class));
+
+        final DataServices dataServices = Mockito.mock(DataServices.class);
+        Mockito.when(dataServices.getPersistenceService()).thenReturn(this.persistenceService);
+
+        return new JobRestController(
+            Mockito.mock(JobLaunchService.class),
+            dataServices,
+            jobCoordinatorService,
+            this.createMockResourceAssembler(),
+            new GenieHostInfo(this.hostname),
+            this.restTemplate,
+            this.jobDirectoryServerService,
+            this.jobsProperties,
+            registry,
+            this.agentRoutingService,
+            this.environment,
+            Mockito.mock(AttachmentService.class),
+            this.jobExecutionModeSelector,
+            this.jobStatusWatchService,
+            new JobStatusWatchProperties(),
+            new SearchStreamingProperties(),
+            nodeCapacityService
+        );
+    }
+
+    private ResponseEntity<Void> submitJob(
+        final JobRestController jobController,
+        final String jobId,
+        final MockHttpServletRequest request
+    ) throws GenieException, GenieCheckedException {
+        Mockito
+            .when(
+                this.environment.getProperty(JobConstants.JOB_SUBMISSION_ENABLED_PROPERTY_KEY, Boolean.class, true)
+            )
+            .thenReturn(true);
+        final JobRequest jobRequest = new JobRequest.Builder(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            Lists.newArrayList(new ClusterCriteria(Sets.newHashSet(UUID.randomUUID().toString()))),
+            Sets.newHashSet(UUID.randomUUID().toString())
+        )
+            .withId(jobId)
+            .build();
+
+        // Needed to build the location of the job in the response
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            return jobController.submitJob(jobRequest, null, null, request);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     private EntityModelAssemblers createMockResourceAssembler() {
         return new EntityModelAssemblers(
             Mockito.mock(ApplicationModelAssembler.class),
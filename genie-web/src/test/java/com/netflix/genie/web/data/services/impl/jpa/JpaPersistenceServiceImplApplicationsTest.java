@@ -79,6 +79,26 @@ class JpaPersistenceServiceImplApplicationsTest {
             .isThrownBy(() -> this.persistenceService.getApplication(id));
     }
 
+    @Test
+    void testGetApplicationsEmpty() throws NotFoundException {
+        Assertions.assertThat(this.persistenceService.getApplications(Lists.newArrayList())).isEmpty();
+        Mockito.verify(this.jpaApplicationRepository, Mockito.never()).getApplicationDtos(Mockito.anySet());
+    }
+
+    @Test
+    void testGetApplicationsOneNotExists() {
+        final String missingId = UUID.randomUUID().toString();
+        final ApplicationEntity applicationEntity = Mockito.mock(ApplicationEntity.class);
+        Mockito.when(applicationEntity.getUniqueId()).thenReturn(APP_1_ID);
+        Mockito
+            .when(this.jpaApplicationRepository.getApplicationDtos(Sets.newHashSet(APP_1_ID, missingId)))
+            .thenReturn(Sets.newHashSet(applicationEntity));
+        Assertions
+            .assertThatExceptionOfType(NotFoundException.class)
+            .isThrownBy(() -> this.persistenceService.getApplications(Lists.newArrayList(missingId, APP_1_ID)));
+        Mockito.verify(this.jpaApplicationRepository, Mockito.times(1)).getApplicationDtos(Mockito.anySet());
+    }
+
     @Test
     void testCreateApplicationAlreadyExists() {
         final ApplicationRequest request = new ApplicationRequest.Builder(
@@ -212,6 +212,53 @@ class JpaPersistenceServiceImplJobsTest {
         Assertions.assertThat(argument.getValue().getRequestedApplications()).isEmpty();
     }
 
+    @Test
+    void existingTagsAreFoundWithASingleQuery() throws GenieException {
+        final JobRequest jobRequest = new JobRequest.Builder(
+            JOB_1_NAME,
+            JOB_1_USER,
+            JOB_1_VERSION,
+            Lists.newArrayList(new ClusterCriteria(Sets.newHashSet("hi"))),
+            Sets.newHashSet("bye")
+        )
+            .withId(JOB_1_ID)
+            .withCommandArgs(JOB_1_COMMAND_ARGS)
+            .withTags(Sets.newHashSet("foo", "bar", "baz"))
+            .build();
+        final JobMetadata metadata = new JobMetadata
+            .Builder()
+            .withClientHost(UUID.randomUUID().toString())
+            .withUserAgent(UUID.randomUUID().toString())
+            .withNumAttachments(0)
+            .withTotalSizeOfAttachments(0L)
+            .build();
+        final Job job = new Job.Builder(JOB_1_NAME, JOB_1_USER, JOB_1_VERSION)
+            .withStatus(com.netflix.genie.common.dto.JobStatus.INIT)
+            .withStatusMsg("Job is initializing")
+            .withCommandArgs(JOB_1_COMMAND_ARGS)
+            .build();
+        final JobExecution execution = new JobExecution.Builder(UUID.randomUUID().toString()).build();
+
+        Mockito
+            .when(this.tagRepository.findByTagIn(Sets.newHashSet("foo", "bar", "baz")))
+            .thenReturn(Sets.newHashSet(new TagEntity("foo"), new TagEntity("bar")));
+        Mockito.when(this.tagRepository.findByTag("baz")).thenReturn(Optional.empty());
+        Mockito
+            .when(this.tagRepository.saveAndFlush(Mockito.any(TagEntity.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        final ArgumentCaptor<JobEntity> argument = ArgumentCaptor.forClass(JobEntity.class);
+        this.persistenceService.createJob(jobRequest, metadata, job, execution);
+        Mockito.verify(this.jobRepository).save(argument.capture());
+        Assertions
+            .assertThat(argument.getValue().getTags().stream().map(TagEntity::getTag).collect(Collectors.toSet()))
+            .containsExactlyInAnyOrder("foo", "bar", "baz");
+        Mockito.verify(this.tagRepository, Mockito.never()).findByTag("foo");
+        Mockito.verify(this.tagRepository, Mockito.never()).findByTag("bar");
+        Mockito.verify(this.tagRepository, Mockito.times(1)).findByTag("baz");
+        Mockito.verify(this.tagRepository, Mockito.times(1)).saveAndFlush(new TagEntity("baz"));
+    }
+
     @Test
     void testCreateJobWithNoId() {
         final JobRequest jobRequest = new JobRequest.Builder(
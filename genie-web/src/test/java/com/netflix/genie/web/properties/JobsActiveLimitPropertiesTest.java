@@ -23,6 +23,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.core.env.Environment;
 
+import java.time.Duration;
+
 /**
  * Unit tests for JobsActiveLimitProperties.
  *
@@ -47,6 +49,9 @@ class JobsActiveLimitPropertiesTest {
     void canConstruct() {
         Assertions.assertThat(this.properties.isEnabled()).isEqualTo(JobsActiveLimitProperties.DEFAULT_ENABLED);
         Assertions.assertThat(this.properties.getCount()).isEqualTo(JobsActiveLimitProperties.DEFAULT_COUNT);
+        Assertions
+            .assertThat(this.properties.getReconcileInterval())
+            .isEqualTo(JobsActiveLimitProperties.DEFAULT_RECONCILE_INTERVAL);
         Assertions
             .assertThat(this.properties.getUserLimit("SomeUser"))
             .isEqualTo(JobsActiveLimitProperties.DEFAULT_COUNT);
@@ -72,6 +77,16 @@ class JobsActiveLimitPropertiesTest {
         Assertions.assertThat(this.properties.getCount()).isEqualTo(newCountValue);
     }
 
+    /**
+     * Make sure we can set the reconcile interval field.
+     */
+    @Test
+    void canSetReconcileInterval() {
+        final Duration newReconcileInterval = Duration.ofMinutes(5L);
+        this.properties.setReconcileInterval(newReconcileInterval);
+        Assertions.assertThat(this.properties.getReconcileInterval()).isEqualTo(newReconcileInterval);
+    }
+
     /**
      * Make sure environment is used when looking for a user-specific limit override.
      */
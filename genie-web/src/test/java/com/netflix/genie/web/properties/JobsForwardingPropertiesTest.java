@@ -21,6 +21,7 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.UUID;
 
 /**
@@ -49,6 +50,8 @@ class JobsForwardingPropertiesTest {
         Assertions.assertThat(this.properties.isEnabled()).isFalse();
         Assertions.assertThat(this.properties.getScheme()).isEqualTo("http");
         Assertions.assertThat(this.properties.getPort()).isEqualTo(8080);
+        Assertions.assertThat(this.properties.isSubmissionsEnabled()).isFalse();
+        Assertions.assertThat(this.properties.getCapacityPublishInterval()).isEqualTo(Duration.ofSeconds(10L));
     }
 
     /**
@@ -79,4 +82,23 @@ class JobsForwardingPropertiesTest {
         this.properties.setPort(port);
         Assertions.assertThat(this.properties.getPort()).isEqualTo(port);
     }
+
+    /**
+     * Make sure setting the submissions enabled property is persisted.
+     */
+    @Test
+    void canEnableSubmissions() {
+        this.properties.setSubmissionsEnabled(true);
+        Assertions.assertThat(this.properties.isSubmissionsEnabled()).isTrue();
+    }
+
+    /**
+     * Make sure setting the capacity publish interval property is persisted.
+     */
+    @Test
+    void canSetCapacityPublishInterval() {
+        final Duration interval = Duration.ofSeconds(3L);
+        this.properties.setCapacityPublishInterval(interval);
+        Assertions.assertThat(this.properties.getCapacityPublishInterval()).isEqualTo(interval);
+    }
 }
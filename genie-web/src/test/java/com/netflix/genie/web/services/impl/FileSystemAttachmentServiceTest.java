@@ -22,21 +22,30 @@ import com.google.common.collect.Sets;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.web.exceptions.checked.SaveAttachmentException;
+import com.netflix.genie.web.properties.AttachmentStorageProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.TaskScheduler;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -53,11 +62,27 @@ class FileSystemAttachmentServiceTest {
     @TempDir
     Path folder;
 
+    private MeterRegistry registry;
+    private TaskScheduler taskScheduler;
     private FileSystemAttachmentService service;
 
     @BeforeEach
     void setup() {
-        this.service = new FileSystemAttachmentService("file://" + this.folder.toFile().getAbsolutePath());
+        this.registry = new SimpleMeterRegistry();
+        this.taskScheduler = Mockito.mock(TaskScheduler.class);
+        this.service = new FileSystemAttachmentService(
+            "file://" + this.folder.toFile().getAbsolutePath(),
+            new AttachmentStorageProperties(),
+            this.taskScheduler,
+            this.registry
+        );
+    }
+
+    @Test
+    void schedulesRemovalOfUnreferencedBlobs() {
+        Mockito
+            .verify(this.taskScheduler)
+            .scheduleWithFixedDelay(Mockito.any(Runnable.class), Mockito.eq(Duration.ofMinutes(10)));
     }
 
     @Test
@@ -200,6 +225,153 @@ class FileSystemAttachmentServiceTest {
             .isEqualTo(currentContents);
     }
 
+    /**
+     * Make sure identical attachments sent for different jobs are stored once and removed once no longer used.
+     *
+     * @throws SaveAttachmentException on error running service API
+     * @throws IOException             on error accessing the file system
+     */
+    @Test
+    void identicalAttachmentsAreDeduplicated() throws SaveAttachmentException, IOException {
+        final String job1Id = UUID.randomUUID().toString();
+        final String job2Id = UUID.randomUUID().toString();
+        final byte[] contents = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+
+        this.service.saveAttachments(job1Id, Sets.newHashSet(this.createResource("query.q", contents)));
+        this.service.saveAttachments(job2Id, Sets.newHashSet(this.createResource("other.q", contents)));
+
+        final Path job1Attachment = this.folder.resolve(job1Id).resolve("query.q");
+        final Path job2Attachment = this.folder.resolve(job2Id).resolve("other.q");
+        Assertions.assertThat(job1Attachment).hasBinaryContent(contents);
+        Assertions.assertThat(job2Attachment).hasBinaryContent(contents);
+        Assertions.assertThat(Files.isSameFile(job1Attachment, job2Attachment)).isTrue();
+        Assertions
+            .assertThat(Files.getPosixFilePermissions(job1Attachment))
+            .doesNotContain(PosixFilePermission.OWNER_WRITE);
+        final Path blobs = this.folder.resolve(".blobs");
+        Assertions.assertThat(Files.list(blobs).count()).isEqualTo(1L);
+        Assertions
+            .assertThat(
+                this.registry.get("genie.jobs.attachments.size.summary").tag("deduplicated", "true").summary().count()
+            )
+            .isEqualTo(1L);
+
+        // Still used by the second job
+        this.service.deleteAttachments(job1Id);
+        this.service.deleteUnreferencedBlobs();
+        Assertions.assertThat(job2Attachment).hasBinaryContent(contents);
+        Assertions.assertThat(Files.list(blobs).count()).isEqualTo(1L);
+
+        // Only removed once the cleanup runs
+        this.service.deleteAttachments(job2Id);
+        Assertions.assertThat(Files.list(blobs).count()).isEqualTo(1L);
+        this.service.deleteUnreferencedBlobs();
+        Assertions.assertThat(Files.list(blobs).count()).isEqualTo(0L);
+    }
+
+    /**
+     * Make sure attachments are copied into the job directory, so the job can't modify the shared content.
+     *
+     * @throws SaveAttachmentException on error running service API
+     * @throws IOException             on error accessing the file system
+     */
+    @Test
+    void copiesAttachmentsIntoJobDirectory() throws SaveAttachmentException, IOException {
+        final String jobId = UUID.randomUUID().toString();
+        final byte[] contents = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        this.service.saveAttachments(jobId, Sets.newHashSet(this.createResource("query.q", contents)));
+
+        final Path jobDirectory = this.folder.resolve(UUID.randomUUID().toString());
+        this.service.copyAll(jobId, jobDirectory);
+
+        final Path saved = this.folder.resolve(jobId).resolve("query.q");
+        final Path copied = jobDirectory.resolve("query.q");
+        Assertions.assertThat(copied).hasBinaryContent(contents);
+        Assertions.assertThat(Files.isSameFile(copied, saved)).isFalse();
+        Assertions.assertThat(Files.getPosixFilePermissions(copied)).contains(PosixFilePermission.OWNER_WRITE);
+        Assertions
+            .assertThat(this.registry.get("genie.jobs.attachments.copy.counter").counter().count())
+            .isEqualTo(1.0);
+
+        // The job modifying its copy doesn't affect the shared content
+        Files.write(copied, "modified".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThat(saved).hasBinaryContent(contents);
+
+        // Removing the attachments doesn't affect the job directory
+        this.service.deleteAttachments(jobId);
+        Assertions.assertThat(copied).hasBinaryContent("modified".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Make sure attachments are written directly when content addressing is disabled.
+     *
+     * @throws SaveAttachmentException on error running service API
+     * @throws IOException             on error accessing the file system
+     */
+    @Test
+    void canSaveAttachmentsWithoutContentAddressing() throws SaveAttachmentException, IOException {
+        final AttachmentStorageProperties properties = new AttachmentStorageProperties();
+        properties.setContentAddressed(false);
+        final FileSystemAttachmentService attachmentService = new FileSystemAttachmentService(
+            "file://" + this.folder.toFile().getAbsolutePath(),
+            properties,
+            this.taskScheduler,
+            this.registry
+        );
+        final String jobId = UUID.randomUUID().toString();
+        final byte[] contents = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        attachmentService.saveAttachments(jobId, Sets.newHashSet(this.createResource("query.q", contents)));
+
+        Assertions.assertThat(this.folder.resolve(jobId).resolve("query.q")).hasBinaryContent(contents);
+        Assertions.assertThat(this.folder.resolve(".blobs")).doesNotExist();
+    }
+
+    /**
+     * Make sure large attachments are streamed to disk and their size and throughput are recorded.
+     *
+     * @throws SaveAttachmentException on error running service API
+     * @throws IOException             on error accessing the file system
+     */
+    @Test
+    void canSaveLargeAttachment() throws SaveAttachmentException, IOException {
+        final int size = 64 * 1024 * 1024;
+        final Path source = this.folder.resolve(UUID.randomUUID().toString());
+        final byte[] chunk = new byte[1024 * 1024];
+        new Random().nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int i = 0; i < size / chunk.length; i++) {
+                out.write(chunk);
+            }
+        }
+
+        final String jobId = UUID.randomUUID().toString();
+        this.service.saveAttachments(jobId, Sets.newHashSet(new FileSystemResource(source)));
+
+        final Path saved = this.folder.resolve(jobId).resolve(source.getFileName());
+        Assertions.assertThat(saved).hasSameContentAs(source);
+        Assertions
+            .assertThat(
+                this.registry.get("genie.jobs.attachments.size.summary").tag("deduplicated", "false").summary()
+                    .totalAmount()
+            )
+            .isEqualTo(size);
+        Assertions
+            .assertThat(this.registry.get("genie.jobs.attachments.throughput.summary").summary().count())
+            .isEqualTo(1L);
+        Assertions
+            .assertThat(this.registry.get("genie.jobs.attachments.save.timer").tag("status", "success").timer().count())
+            .isEqualTo(1L);
+    }
+
+    private ByteArrayResource createResource(final String filename, final byte[] contents) {
+        return new ByteArrayResource(contents) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+
     private Set<Path> saveAttachments(final String jobId) throws GenieException, IOException {
         final Set<Path> attachments = Sets.newHashSet();
         for (int i = 0; i < 10; i++) {
@@ -46,6 +46,7 @@ import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.services.JobKillService;
 import com.netflix.genie.web.services.JobResolverService;
 import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.UserJobQuotaService;
 import com.netflix.genie.web.util.MetricsConstants;
 import com.netflix.genie.web.util.MetricsUtils;
 import io.micrometer.core.instrument.Counter;
@@ -221,12 +222,13 @@ public class JobCoordinatorServiceImplTest {
         final String application0Id = UUID.randomUUID().toString();
         final Application application0 = Mockito.mock(Application.class);
         Mockito.when(application0.getId()).thenReturn(application0Id);
-        Mockito.when(this.persistenceService.getApplication(application0Id)).thenReturn(application0);
 
         final String application1Id = UUID.randomUUID().toString();
         final Application application1 = Mockito.mock(Application.class);
         Mockito.when(application1.getId()).thenReturn(application1Id);
-        Mockito.when(this.persistenceService.getApplication(application1Id)).thenReturn(application1);
+        Mockito
+            .when(this.persistenceService.getApplications(Lists.newArrayList(application0Id, application1Id)))
+            .thenReturn(Lists.newArrayList(application0, application1));
 
         final String archiveLocation = UUID.randomUUID().toString();
 
@@ -355,12 +357,13 @@ public class JobCoordinatorServiceImplTest {
         final String application0Id = UUID.randomUUID().toString();
         final Application application0 = Mockito.mock(Application.class);
         Mockito.when(application0.getId()).thenReturn(application0Id);
-        Mockito.when(this.persistenceService.getApplication(application0Id)).thenReturn(application0);
 
         final String application1Id = UUID.randomUUID().toString();
         final Application application1 = Mockito.mock(Application.class);
         Mockito.when(application1.getId()).thenReturn(application1Id);
-        Mockito.when(this.persistenceService.getApplication(application1Id)).thenReturn(application1);
+        Mockito
+            .when(this.persistenceService.getApplications(Lists.newArrayList(application0Id, application1Id)))
+            .thenReturn(Lists.newArrayList(application0, application1));
 
         final String archiveLocation = UUID.randomUUID().toString();
 
@@ -462,12 +465,13 @@ public class JobCoordinatorServiceImplTest {
         final String application0Id = UUID.randomUUID().toString();
         final Application application0 = Mockito.mock(Application.class);
         Mockito.when(application0.getId()).thenReturn(application0Id);
-        Mockito.when(this.persistenceService.getApplication(application0Id)).thenReturn(application0);
 
         final String application1Id = UUID.randomUUID().toString();
         final Application application1 = Mockito.mock(Application.class);
         Mockito.when(application1.getId()).thenReturn(application1Id);
-        Mockito.when(this.persistenceService.getApplication(application1Id)).thenReturn(application1);
+        Mockito
+            .when(this.persistenceService.getApplications(Lists.newArrayList(application0Id, application1Id)))
+            .thenReturn(Lists.newArrayList(application0, application1));
 
         final String archiveLocation = UUID.randomUUID().toString();
 
@@ -592,12 +596,13 @@ public class JobCoordinatorServiceImplTest {
         final String application0Id = UUID.randomUUID().toString();
         final Application application0 = Mockito.mock(Application.class);
         Mockito.when(application0.getId()).thenReturn(application0Id);
-        Mockito.when(this.persistenceService.getApplication(application0Id)).thenReturn(application0);
 
         final String application1Id = UUID.randomUUID().toString();
         final Application application1 = Mockito.mock(Application.class);
         Mockito.when(application1.getId()).thenReturn(application1Id);
-        Mockito.when(this.persistenceService.getApplication(application1Id)).thenReturn(application1);
+        Mockito
+            .when(this.persistenceService.getApplications(Lists.newArrayList(application0Id, application1Id)))
+            .thenReturn(Lists.newArrayList(application0, application1));
 
         final String archiveLocation = UUID.randomUUID().toString();
 
@@ -700,12 +705,13 @@ public class JobCoordinatorServiceImplTest {
         final String application0Id = UUID.randomUUID().toString();
         final Application application0 = Mockito.mock(Application.class);
         Mockito.when(application0.getId()).thenReturn(application0Id);
-        Mockito.when(this.persistenceService.getApplication(application0Id)).thenReturn(application0);
 
         final String application1Id = UUID.randomUUID().toString();
         final Application application1 = Mockito.mock(Application.class);
         Mockito.when(application1.getId()).thenReturn(application1Id);
-        Mockito.when(this.persistenceService.getApplication(application1Id)).thenReturn(application1);
+        Mockito
+            .when(this.persistenceService.getApplications(Lists.newArrayList(application0Id, application1Id)))
+            .thenReturn(Lists.newArrayList(application0, application1));
 
         final String archiveLocation = UUID.randomUUID().toString();
 
@@ -795,6 +801,155 @@ public class JobCoordinatorServiceImplTest {
         }
     }
 
+    /**
+     * Test the coordinate job method reject to accept a job if the user has reached the limit of allowed active jobs
+     * according to the quota service, without counting the active jobs in the database.
+     *
+     * @throws GenieCheckedException If there is any problem
+     * @throws GenieException        If there is any problem
+     */
+    @Test(expected = GenieUserLimitExceededException.class)
+    public void cantCoordinateJobUserJobLimitIsExceededWithQuotaService() throws GenieException, GenieCheckedException {
+        final int userActiveJobsLimit = 5;
+        this.jobsProperties.getActiveLimit().setEnabled(true);
+        this.jobsProperties.getActiveLimit().setCount(userActiveJobsLimit);
+
+        final Set<String> commandCriteria = Sets.newHashSet(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString()
+        );
+
+        final JobRequest jobRequest = this.getJobRequest(false, commandCriteria, null, null);
+        final JobMetadata jobMetadata = this.getJobMetadata();
+
+        final String clusterId = UUID.randomUUID().toString();
+        final Cluster cluster = Mockito.mock(Cluster.class);
+        Mockito.when(cluster.getId()).thenReturn(clusterId);
+        Mockito.when(this.persistenceService.getCluster(clusterId)).thenReturn(cluster);
+
+        final String commandId = UUID.randomUUID().toString();
+        final Command command = Mockito.mock(Command.class);
+        Mockito.when(command.getId()).thenReturn(commandId);
+        Mockito.when(command.getMemory()).thenReturn(Optional.of(1));
+        Mockito.when(this.persistenceService.getCommand(commandId)).thenReturn(command);
+
+        final String application0Id = UUID.randomUUID().toString();
+        final Application application0 = Mockito.mock(Application.class);
+        Mockito.when(application0.getId()).thenReturn(application0Id);
+
+        final String application1Id = UUID.randomUUID().toString();
+        final Application application1 = Mockito.mock(Application.class);
+        Mockito.when(application1.getId()).thenReturn(application1Id);
+        Mockito
+            .when(this.persistenceService.getApplications(Lists.newArrayList(application0Id, application1Id)))
+            .thenReturn(Lists.newArrayList(application0, application1));
+
+        final String archiveLocation = UUID.randomUUID().toString();
+
+        final JobSpecification jobSpecification = new JobSpecification(
+            null,
+            null,
+            new JobSpecification.ExecutionResource(
+                jobRequest.getId().orElseThrow(IllegalArgumentException::new),
+                new ExecutionEnvironment(null, null, null)
+            ),
+            new JobSpecification.ExecutionResource(
+                clusterId,
+                new ExecutionEnvironment(null, null, null)
+            ),
+            new JobSpecification.ExecutionResource(
+                commandId,
+                new ExecutionEnvironment(null, null, null)
+            ),
+            Lists.newArrayList(
+                new JobSpecification.ExecutionResource(
+                    application0Id,
+                    new ExecutionEnvironment(null, null, null)
+                ),
+                new JobSpecification.ExecutionResource(
+                    application1Id,
+                    new ExecutionEnvironment(null, null, null)
+                )
+            ),
+            null,
+            false,
+            new File("/tmp/genie/jobs/" + JOB_1_ID),
+            archiveLocation,
+            null
+        );
+        final JobEnvironment jobEnvironment = Mockito.mock(JobEnvironment.class);
+        final ResolvedJob resolvedJob = new ResolvedJob(jobSpecification, jobEnvironment, v4JobMetadata);
+
+        Mockito
+            .when(
+                this.specificationService.resolveJob(
+                    Mockito.anyString(),
+                    Mockito.any(com.netflix.genie.common.external.dtos.v4.JobRequest.class),
+                    Mockito.eq(true)
+                )
+            )
+            .thenReturn(resolvedJob);
+
+        final UserJobQuotaService userJobQuotaService = Mockito.mock(UserJobQuotaService.class);
+        Mockito
+            .when(userJobQuotaService.tryReserve(jobRequest.getUser(), JOB_1_ID))
+            .thenReturn(false);
+        Mockito
+            .when(userJobQuotaService.getActiveJobCount(jobRequest.getUser()))
+            .thenReturn(Long.valueOf(userActiveJobsLimit));
+        final JobCoordinatorService quotaJobCoordinatorService = new JobCoordinatorServiceImpl(
+            new DataServices(this.persistenceService),
+            this.jobKillService,
+            this.jobStateService,
+            this.jobsProperties,
+            this.specificationService,
+            this.registry,
+            HOST_NAME,
+            userJobQuotaService
+        );
+
+        final Counter limitExceededCounter = Mockito.mock(Counter.class);
+
+        Mockito
+            .when(this.registry.counter(
+                Mockito.eq(JobCoordinatorServiceImpl.USER_JOB_LIMIT_EXCEEDED_COUNTER_NAME),
+                Mockito.eq(MetricsConstants.TagKeys.USER),
+                Mockito.eq(jobRequest.getUser()),
+                Mockito.eq(MetricsConstants.TagKeys.JOBS_USER_LIMIT),
+                Mockito.eq(String.valueOf(userActiveJobsLimit))
+            ))
+            .thenReturn(limitExceededCounter);
+
+        try {
+            quotaJobCoordinatorService.coordinateJob(jobRequest, jobMetadata);
+        } finally {
+            Mockito
+                .verify(this.persistenceService, Mockito.never())
+                .getActiveJobCountForUser(Mockito.anyString());
+            Mockito
+                .verify(this.coordinationTimer, Mockito.times(1))
+                .record(Mockito.anyLong(), Mockito.eq(TimeUnit.NANOSECONDS));
+            Mockito
+                .verify(this.registry, Mockito.times(1))
+                .timer(
+                    JobCoordinatorServiceImpl.OVERALL_COORDINATION_TIMER_NAME,
+                    MetricsUtils.newFailureTagsSetForException(
+                        new GenieUserLimitExceededException("test", "test", "test")
+                    )
+                );
+            Mockito
+                .verify(this.setJobEnvironmentTimer, Mockito.times(1))
+                .record(Mockito.anyLong(), Mockito.eq(TimeUnit.NANOSECONDS));
+            Mockito
+                .verify(this.registry, Mockito.times(1))
+                .timer(JobCoordinatorServiceImpl.SET_JOB_ENVIRONMENT_TIMER_NAME, SUCCESS_TIMER_TAGS);
+            Mockito
+                .verify(limitExceededCounter, Mockito.times(1))
+                .increment();
+        }
+    }
+
     /**
      * Test the coordinate job method.
      *
@@ -826,12 +981,13 @@ public class JobCoordinatorServiceImplTest {
         final String application0Id = UUID.randomUUID().toString();
         final Application application0 = Mockito.mock(Application.class);
         Mockito.when(application0.getId()).thenReturn(application0Id);
-        Mockito.when(this.persistenceService.getApplication(application0Id)).thenReturn(application0);
 
         final String application1Id = UUID.randomUUID().toString();
         final Application application1 = Mockito.mock(Application.class);
         Mockito.when(application1.getId()).thenReturn(application1Id);
-        Mockito.when(this.persistenceService.getApplication(application1Id)).thenReturn(application1);
+        Mockito
+            .when(this.persistenceService.getApplications(Lists.newArrayList(application0Id, application1Id)))
+            .thenReturn(Lists.newArrayList(application0, application1));
 
         final String archiveLocation = UUID.randomUUID().toString();
 
@@ -17,9 +17,17 @@
  */
 package com.netflix.genie.web.spring.autoconfigure;
 
+import com.netflix.genie.common.internal.util.GenieHostInfo;
+import com.netflix.genie.web.properties.JobsForwardingProperties;
+import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.properties.ZookeeperProperties;
+import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.NodeCapacityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.PathChildrenCache;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -29,6 +37,7 @@ import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.zookeeper.config.LeaderInitiatorFactoryBean;
+import org.springframework.scheduling.TaskScheduler;
 
 /**
  * Unit tests for the {@link ZookeeperAutoConfiguration} class.
@@ -56,6 +65,7 @@ class ZookeeperAutoConfigurationTest {
                 Assertions.assertThat(context).doesNotHaveBean(ZookeeperProperties.class);
                 Assertions.assertThat(context).doesNotHaveBean(LeaderInitiatorFactoryBean.class);
                 Assertions.assertThat(context).doesNotHaveBean(ServiceDiscovery.class);
+                Assertions.assertThat(context).doesNotHaveBean(PathChildrenCache.class);
                 Assertions.assertThat(context).doesNotHaveBean(Listenable.class);
             }
         );
@@ -73,7 +83,25 @@ class ZookeeperAutoConfigurationTest {
                     Assertions.assertThat(context).hasSingleBean(ZookeeperProperties.class);
                     Assertions.assertThat(context).hasSingleBean(LeaderInitiatorFactoryBean.class);
                     Assertions.assertThat(context).hasSingleBean(ServiceDiscovery.class);
+                    Assertions.assertThat(context).hasSingleBean(PathChildrenCache.class);
                     Assertions.assertThat(context).hasSingleBean(Listenable.class);
+                    Assertions.assertThat(context).doesNotHaveBean(NodeCapacityService.class);
+                }
+            );
+    }
+
+    /**
+     * Test the node capacity service is created when Zookeeper and submission forwarding are enabled.
+     */
+    @Test
+    void expectedBeansWithSubmissionForwardingEnabled() {
+        this.contextRunner
+            .withUserConfiguration(ZookeeperMockConfig.class, NodeCapacityMockConfig.class)
+            .withPropertyValues(JobsForwardingProperties.SUBMISSIONS_ENABLED_PROPERTY + "=true")
+            .run(
+                context -> {
+                    Assertions.assertThat(context).hasSingleBean(NodeCapacityService.class);
+                    Assertions.assertThat(context).hasSingleBean(PathChildrenCache.class);
                 }
             );
     }
@@ -99,4 +127,61 @@ class ZookeeperAutoConfigurationTest {
             return curatorFramework;
         }
     }
+
+    /**
+     * Mock configuration for the dependencies of the node capacity service.
+     */
+    @Configuration
+    static class NodeCapacityMockConfig {
+
+        /**
+         * Host info bean.
+         *
+         * @return Host info instance.
+         */
+        @Bean
+        GenieHostInfo genieHostInfo() {
+            return new GenieHostInfo("genie.example.com");
+        }
+
+        /**
+         * Mocked bean.
+         *
+         * @return Mocked bean instance.
+         */
+        @Bean
+        JobStateService jobMonitoringCoordinator() {
+            return Mockito.mock(JobStateService.class);
+        }
+
+        /**
+         * Jobs properties bean.
+         *
+         * @return Jobs properties instance.
+         */
+        @Bean
+        JobsProperties jobsProperties() {
+            return JobsProperties.getJobsPropertiesDefaults();
+        }
+
+        /**
+         * Mocked bean.
+         *
+         * @return Mocked bean instance.
+         */
+        @Bean
+        TaskScheduler genieTaskScheduler() {
+            return Mockito.mock(TaskScheduler.class);
+        }
+
+        /**
+         * Metrics registry bean.
+         *
+         * @return Metrics registry instance.
+         */
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
 }
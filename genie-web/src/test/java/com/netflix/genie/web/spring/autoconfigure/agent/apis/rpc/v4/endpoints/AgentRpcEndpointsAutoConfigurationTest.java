@@ -35,6 +35,7 @@ import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.properties.AgentFileStreamProperties;
 import com.netflix.genie.web.properties.HeartBeatProperties;
+import com.netflix.genie.web.properties.JobSpecificationCacheProperties;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -93,6 +94,9 @@ class AgentRpcEndpointsAutoConfigurationTest {
                     Assertions
                         .assertThat(context)
                         .hasSingleBean(JobKillServiceGrpc.JobKillServiceImplBase.class);
+                    Assertions
+                        .assertThat(context)
+                        .hasSingleBean(JobSpecificationCacheProperties.class);
                     Assertions
                         .assertThat(context)
                         .hasSingleBean(GRpcJobServiceImpl.class);
@@ -144,6 +148,9 @@ class AgentRpcEndpointsAutoConfigurationTest {
                     Assertions
                         .assertThat(context)
                         .hasSingleBean(JobKillServiceGrpc.JobKillServiceImplBase.class);
+                    Assertions
+                        .assertThat(context)
+                        .hasSingleBean(JobSpecificationCacheProperties.class);
                     Assertions
                         .assertThat(context)
                         .doesNotHaveBean(GRpcJobServiceImpl.class);
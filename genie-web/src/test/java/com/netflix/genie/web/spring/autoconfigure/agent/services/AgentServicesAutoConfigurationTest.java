@@ -32,6 +32,7 @@ import com.netflix.genie.web.services.JobResolverService;
 import com.netflix.genie.web.spring.autoconfigure.agent.apis.rpc.v4.endpoints.AgentRpcEndpointsAutoConfiguration;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.PathChildrenCache;
 import org.apache.curator.framework.state.ConnectionStateListener;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.assertj.core.api.Assertions;
@@ -153,5 +154,10 @@ class AgentServicesAutoConfigurationTest {
         Listenable<ConnectionStateListener> listenableCuratorConnectionState() {
             return Mockito.mock(Listenable.class);
         }
+
+        @Bean
+        PathChildrenCache agentRoutingCache() {
+            return Mockito.mock(PathChildrenCache.class, Mockito.RETURNS_MOCKS);
+        }
     }
 }
@@ -62,6 +62,7 @@ class ScriptsAutoConfigurationTest {
                     Assertions.assertThat(context).hasSingleBean(ExecutionModeFilterScriptProperties.class);
 
                     Assertions.assertThat(context).hasSingleBean(ScriptManager.class);
+                    Assertions.assertThat(context).hasBean("scriptWatchdogTaskScheduler");
                     Assertions.assertThat(context).doesNotHaveBean(ClusterSelectorManagedScript.class);
                     Assertions.assertThat(context).doesNotHaveBean(CommandSelectorManagedScript.class);
                     Assertions.assertThat(context).doesNotHaveBean(ExecutionModeFilterScript.class);
@@ -57,10 +57,12 @@ import org.mockito.Mockito;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.TaskScheduler;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -185,7 +187,24 @@ class ServicesAutoConfigurationTest {
                     JobsProperties.getJobsPropertiesDefaults(),
                     Mockito.mock(JobResolverService.class),
                     Mockito.mock(MeterRegistry.class),
-                    new GenieHostInfo(UUID.randomUUID().toString())
+                    new GenieHostInfo(UUID.randomUUID().toString()),
+                    Optional.empty()
+                )
+            )
+            .isNotNull();
+    }
+
+    @Test
+    void canGetUserJobQuotaServiceBean() {
+        final DataServices dataServices = Mockito.mock(DataServices.class);
+        Mockito.when(dataServices.getPersistenceService()).thenReturn(Mockito.mock(PersistenceService.class));
+        Assertions
+            .assertThat(
+                this.servicesAutoConfiguration.userJobQuotaService(
+                    dataServices,
+                    Mockito.mock(TaskScheduler.class),
+                    JobsProperties.getJobsPropertiesDefaults(),
+                    Mockito.mock(MeterRegistry.class)
                 )
             )
             .isNotNull();